@@ -117,6 +117,10 @@ public class SecurityConfiguration {
                                                 .hasRole(ROLE_CUSTOMER)
                                                 .pathMatchers("/api/service-requests/technician/my-requests")
                                                 .hasRole(ROLE_TECHNICIAN)
+                                                .pathMatchers("/api/service-requests/bulk/**")
+                                                .hasAnyRole(ROLE_ADMIN, ROLE_MANAGER)
+                                                .pathMatchers("/api/service-requests/search/**")
+                                                .hasAnyRole(ROLE_ADMIN, ROLE_MANAGER)
                                                 .pathMatchers("/api/service-requests/*/complete")
                                                 .hasRole(ROLE_TECHNICIAN)
                                                 .pathMatchers("/api/service-requests/*/accept").hasRole(ROLE_TECHNICIAN)
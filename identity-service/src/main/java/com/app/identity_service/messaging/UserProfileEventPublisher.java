@@ -0,0 +1,36 @@
+package com.app.identity_service.messaging;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.app.identity_service.config.RabbitConfig;
+import com.app.identity_service.messaging.event.UserProfileChangedEvent;
+
+// Forwards profile changes to RabbitMQ once the transaction has committed.
+// Delivery is best effort: consumers rebuild their copies from the users API.
+@Component
+public class UserProfileEventPublisher {
+
+    private static final Logger log = LoggerFactory.getLogger(UserProfileEventPublisher.class);
+
+    private final RabbitTemplate rabbitTemplate;
+
+    public UserProfileEventPublisher(RabbitTemplate rabbitTemplate) {
+        this.rabbitTemplate = rabbitTemplate;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void publish(UserProfileChangedEvent event) {
+        try {
+            rabbitTemplate.convertAndSend(RabbitConfig.IDENTITY_EXCHANGE, event.getType().routingKey(), event);
+            log.debug("Published {} for user {}", event.getType(), event.getUserId());
+        } catch (AmqpException e) {
+            log.warn("Could not publish {} for user {}: {}", event.getType(), event.getUserId(), e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.app.identity_service.messaging.event;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+import com.app.identity_service.entity.UserProfile;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Snapshot of a user profile after a committed change, for services that keep
+// their own copy of a customer's contact details
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserProfileChangedEvent implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    public enum Type {
+        PROFILE_CREATED, PROFILE_UPDATED;
+
+        public String routingKey() {
+            return "user." + name().toLowerCase();
+        }
+    }
+
+    private Type type;
+    private String userId;
+    private String name;
+    private String phone;
+    private String address;
+    private String city;
+    private String state;
+    private String pincode;
+    private Instant occurredAt;
+
+    public static UserProfileChangedEvent of(Type type, UserProfile profile) {
+        UserProfileChangedEvent event = new UserProfileChangedEvent();
+        event.type = type;
+        event.userId = profile.getUserId();
+        event.name = profile.getName();
+        event.phone = profile.getPhone();
+        event.address = profile.getAddress();
+        event.city = profile.getCity();
+        event.state = profile.getState();
+        event.pincode = profile.getPincode();
+        event.occurredAt = Instant.now();
+        return event;
+    }
+}
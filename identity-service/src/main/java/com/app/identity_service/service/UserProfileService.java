@@ -5,7 +5,9 @@ import com.app.identity_service.dto.UserProfileResponse;
 import com.app.identity_service.entity.UserProfile;
 import com.app.identity_service.exception.DuplicateProfileException;
 import com.app.identity_service.exception.ResourceNotFoundException;
+import com.app.identity_service.messaging.event.UserProfileChangedEvent;
 import com.app.identity_service.repository.UserProfileRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -16,9 +18,12 @@ public class UserProfileService {
     private static final String RESOURCE_USER_PROFILE = "UserProfile";
 
     private final UserProfileRepository userProfileRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public UserProfileService(UserProfileRepository userProfileRepository) {
+    public UserProfileService(UserProfileRepository userProfileRepository,
+                              ApplicationEventPublisher eventPublisher) {
         this.userProfileRepository = userProfileRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     public UserProfileResponse createProfile(
@@ -36,9 +41,7 @@ public class UserProfileService {
         profile.setState(request.getState());
         profile.setPincode(request.getPincode());
 
-        return mapToUserProfileResponse(
-                userProfileRepository.save(profile)
-        );
+        return saveAndAnnounce(profile, UserProfileChangedEvent.Type.PROFILE_CREATED);
     }
 
     public UserProfileResponse getProfileByUserId(String userId) {
@@ -75,9 +78,14 @@ public class UserProfileService {
         if (request.getState() != null) profile.setState(request.getState());
         if (request.getPincode() != null) profile.setPincode(request.getPincode());
 
-        return mapToUserProfileResponse(
-                userProfileRepository.save(profile)
-        );
+        return saveAndAnnounce(profile, UserProfileChangedEvent.Type.PROFILE_UPDATED);
+    }
+
+    // The event goes out after commit, see UserProfileEventPublisher
+    private UserProfileResponse saveAndAnnounce(UserProfile profile, UserProfileChangedEvent.Type type) {
+        UserProfile saved = userProfileRepository.save(profile);
+        eventPublisher.publishEvent(UserProfileChangedEvent.of(type, saved));
+        return mapToUserProfileResponse(saved);
     }
 
     private UserProfileResponse mapToUserProfileResponse(UserProfile profile) {
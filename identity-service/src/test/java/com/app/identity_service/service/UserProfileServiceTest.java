@@ -5,13 +5,16 @@ import com.app.identity_service.dto.UserProfileResponse;
 import com.app.identity_service.entity.UserProfile;
 import com.app.identity_service.exception.DuplicateProfileException;
 import com.app.identity_service.exception.ResourceNotFoundException;
+import com.app.identity_service.messaging.event.UserProfileChangedEvent;
 import com.app.identity_service.repository.UserProfileRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.util.Optional;
 
@@ -25,6 +28,9 @@ class UserProfileServiceTest {
     @Mock
     private UserProfileRepository userProfileRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private UserProfileService userProfileService;
 
@@ -75,6 +81,7 @@ class UserProfileServiceTest {
             userProfileService.createProfile("user-1", profileRequest));
         
         verify(userProfileRepository, never()).save(any(UserProfile.class));
+        verifyNoInteractions(eventPublisher);
     }
 
     @Test
@@ -133,6 +140,13 @@ class UserProfileServiceTest {
         assertEquals("9876543210", userProfile.getPhone());
         assertEquals("456 Oak Ave", userProfile.getAddress());
         verify(userProfileRepository, times(1)).save(any(UserProfile.class));
+
+        ArgumentCaptor<UserProfileChangedEvent> event = ArgumentCaptor.forClass(UserProfileChangedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertEquals(UserProfileChangedEvent.Type.PROFILE_UPDATED, event.getValue().getType());
+        assertEquals("user-1", event.getValue().getUserId());
+        assertEquals("Jane Doe", event.getValue().getName());
+        assertEquals("user.profile_updated", event.getValue().getType().routingKey());
     }
 
     @Test
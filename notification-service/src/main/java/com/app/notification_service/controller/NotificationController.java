@@ -16,6 +16,7 @@ import org.springframework.web.bind.annotation.RestController;
 
 import com.app.notification_service.dto.IdMessageResponse;
 import com.app.notification_service.dto.LoginCredentialsRequest;
+import com.app.notification_service.dto.NotificationBatchRequest;
 import com.app.notification_service.dto.NotificationRequest;
 import com.app.notification_service.dto.NotificationResponse;
 import com.app.notification_service.entity.Notification;
@@ -51,6 +52,21 @@ public class NotificationController {
                 .body(new IdMessageResponse(response.getId(), "Notification sent successfully"));
     }
 
+    @PostMapping("/send-batch")
+    public ResponseEntity<List<IdMessageResponse>> sendNotifications(
+            @Valid @RequestBody NotificationBatchRequest request) {
+
+        log.info("POST /api/notifications/send-batch - Sending {} notifications",
+                request.getNotifications().size());
+
+        List<NotificationResponse> responses = notificationService.sendNotifications(request.getNotifications());
+
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(responses.stream()
+                        .map(response -> new IdMessageResponse(response.getId(), "Notification sent successfully"))
+                        .toList());
+    }
+
     @PostMapping("/send-credentials")
     public ResponseEntity<Void> sendCredentialEmail(
             @Valid @RequestBody LoginCredentialsRequest request) {
@@ -0,0 +1,22 @@
+package com.app.notification_service.dto;
+
+import java.util.List;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Notification Batch Request DTO
+// Many notifications sent in one call, e.g. after a bulk update of service requests
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationBatchRequest {
+
+    @NotEmpty(message = "At least one notification is required")
+    @Size(max = 500, message = "At most 500 notifications per batch")
+    private List<@Valid NotificationRequest> notifications;
+}
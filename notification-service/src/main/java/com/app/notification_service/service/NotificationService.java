@@ -9,6 +9,8 @@ import java.util.List;
 public interface NotificationService {
     NotificationResponse sendNotification(NotificationRequest request);
 
+    List<NotificationResponse> sendNotifications(List<NotificationRequest> requests);
+
     void sendCredentialEmail(LoginCredentialsRequest request);
 
     List<NotificationResponse> getNotificationsForUser(String userId);
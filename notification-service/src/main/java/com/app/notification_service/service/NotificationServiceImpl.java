@@ -43,14 +43,49 @@ public class NotificationServiceImpl implements NotificationService {
     public NotificationResponse sendNotification(NotificationRequest request) {
         log.info("Processing notification request");
 
-        // Validate email requirement for EMAIL type notifications
+        validateRecipient(request);
+
+        log.debug("Creating notification entity");
+        Notification saved = notificationRepository.save(toEntity(request));
+
+        publishEvent(saved, request.getRecipientEmail());
+        log.info("Notification event published and queued");
+
+        return mapToResponse(saved);
+    }
+
+    // Send many notifications with one insert batch
+    // @param requests notifications to send; all are validated before any is saved
+    // @return NotificationResponse list in request order
+    // @throws BadRequestException if any EMAIL notification has no recipient email
+    @Override
+    @Transactional
+    public List<NotificationResponse> sendNotifications(List<NotificationRequest> requests) {
+        log.info("Processing batch of {} notifications", requests.size());
+
+        requests.forEach(this::validateRecipient);
+
+        List<Notification> saved = notificationRepository.saveAll(
+                requests.stream().map(this::toEntity).toList());
+
+        for (int i = 0; i < saved.size(); i++) {
+            publishEvent(saved.get(i), requests.get(i).getRecipientEmail());
+        }
+        log.info("{} notification events published and queued", saved.size());
+
+        return saved.stream().map(this::mapToResponse).toList();
+    }
+
+    // Validate email requirement for EMAIL type notifications
+    private void validateRecipient(NotificationRequest request) {
         if (request.getType() == NotificationType.EMAIL &&
                 (request.getRecipientEmail() == null || request.getRecipientEmail().isBlank())) {
             log.warn("EMAIL notification requires recipient email but none provided");
             throw new BadRequestException("Recipient email is required for EMAIL type notifications");
         }
+    }
 
-        log.debug("Creating notification entity");
+    private Notification toEntity(NotificationRequest request) {
         Notification notification = new Notification();
         notification.setUserId(request.getUserId());
         notification.setType(request.getType());
@@ -59,22 +94,20 @@ public class NotificationServiceImpl implements NotificationService {
         notification.setMessage(request.getMessage());
         notification.setRead(false);
         notification.setSentAt(LocalDateTime.now());
+        return notification;
+    }
 
-        Notification saved = notificationRepository.save(notification);
-
-        // Publish notification event for async processing
+    // Publish notification event for async processing
+    private void publishEvent(Notification saved, String recipientEmail) {
         NotificationEvent event = new NotificationEvent();
         event.setNotificationId(saved.getId());
         event.setUserId(saved.getUserId());
         event.setNotificationType(saved.getType());
         event.setMessage(saved.getMessage());
-        event.setRecipientEmail(request.getRecipientEmail());
+        event.setRecipientEmail(recipientEmail);
         event.setSubject(saved.getSubject());
         event.setEmailType(EmailType.NOTIFICATION);
         eventPublisher.publish(event);
-        log.info("Notification event published and queued");
-
-        return mapToResponse(saved);
     }
 
     // Send login credentials via email to a new user
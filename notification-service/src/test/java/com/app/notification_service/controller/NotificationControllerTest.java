@@ -1,6 +1,7 @@
 package com.app.notification_service.controller;
 
 import com.app.notification_service.dto.LoginCredentialsRequest;
+import com.app.notification_service.dto.NotificationBatchRequest;
 import com.app.notification_service.dto.NotificationRequest;
 import com.app.notification_service.dto.NotificationResponse;
 import com.app.notification_service.entity.Notification;
@@ -119,6 +120,26 @@ class NotificationControllerTest {
                 .andExpect(status().isBadRequest());
     }
 
+    @Test
+    void sendNotifications_ShouldReturnCreatedIds() throws Exception {
+        when(notificationService.sendNotifications(anyList())).thenReturn(List.of(notificationResponse));
+
+        mockMvc.perform(post("/api/notifications/send-batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(
+                        new NotificationBatchRequest(List.of(notificationRequest)))))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$[0].id").value("notif-1"));
+    }
+
+    @Test
+    void sendNotifications_ShouldReturnBadRequest_WhenBatchEmpty() throws Exception {
+        mockMvc.perform(post("/api/notifications/send-batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new NotificationBatchRequest(List.of()))))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void sendCredentialEmail_ShouldReturnAccepted() throws Exception {
         LoginCredentialsRequest request = new LoginCredentialsRequest();
@@ -105,6 +105,31 @@ class NotificationServiceImplTest {
         verify(eventPublisher, never()).publish(any(NotificationEvent.class));
     }
 
+    @Test
+    void sendNotifications_ShouldSaveBatchOnceAndPublishPerNotification() {
+        when(notificationRepository.saveAll(anyList())).thenReturn(List.of(notification, notification));
+
+        List<NotificationResponse> responses =
+                notificationService.sendNotifications(List.of(notificationRequest, notificationRequest));
+
+        assertEquals(2, responses.size());
+        verify(notificationRepository, times(1)).saveAll(anyList());
+        verify(notificationRepository, never()).save(any(Notification.class));
+        verify(eventPublisher, times(2)).publish(any(NotificationEvent.class));
+    }
+
+    @Test
+    void sendNotifications_ShouldRejectWholeBatch_WhenAnyEmailLacksRecipient() {
+        NotificationRequest email = new NotificationRequest("user-2", NotificationType.EMAIL, null,
+                "Subject", "Message", null);
+
+        assertThrows(BadRequestException.class, () ->
+                notificationService.sendNotifications(List.of(notificationRequest, email)));
+
+        verify(notificationRepository, never()).saveAll(anyList());
+        verify(eventPublisher, never()).publish(any(NotificationEvent.class));
+    }
+
     @Test
     void sendNotification_ShouldThrowBadRequest_WhenEmailTypeWithBlankRecipient() {
         notificationRequest.setType(NotificationType.EMAIL);
@@ -0,0 +1,23 @@
+package com.app.service_operations_service.client;
+
+import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+
+import com.app.service_operations_service.client.dto.NotificationBatchRequest;
+import com.app.service_operations_service.client.dto.NotificationRequest;
+import com.app.service_operations_service.config.FeignConfig;
+
+// Notification-service calls made by the completion outbox, without a
+// fallback so a failed send fails the task
+@FeignClient(name = "notification-service", contextId = "completionNotificationClient", path = "/api/notifications",
+        configuration = FeignConfig.class)
+public interface CompletionNotificationClient {
+
+    @PostMapping("/send")
+    void sendNotification(@RequestBody NotificationRequest request);
+
+    @PostMapping("/send-batch")
+    void sendNotifications(@RequestBody NotificationBatchRequest request);
+
+}
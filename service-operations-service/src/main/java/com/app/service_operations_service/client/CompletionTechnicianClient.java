@@ -0,0 +1,21 @@
+package com.app.service_operations_service.client;
+
+import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+
+import com.app.service_operations_service.client.dto.WorkloadAdjustmentRequest;
+
+// Technician-service calls made by the completion outbox. Deliberately without
+// a fallback: a failed call has to throw so the task is retried, not be logged
+// and counted as done.
+@FeignClient(name = "technician-service", contextId = "completionTechnicianClient", path = "/api/technicians")
+public interface CompletionTechnicianClient {
+
+    // Applied at most once per idempotency key
+    @PutMapping("/workload/adjust")
+    void adjustWorkloads(@RequestHeader("Idempotency-Key") String idempotencyKey,
+            @RequestBody WorkloadAdjustmentRequest request);
+
+}
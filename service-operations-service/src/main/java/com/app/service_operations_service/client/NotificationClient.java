@@ -1,5 +1,6 @@
 package com.app.service_operations_service.client;
 
+import com.app.service_operations_service.client.dto.NotificationBatchRequest;
 import com.app.service_operations_service.client.dto.NotificationRequest;
 import com.app.service_operations_service.client.fallback.NotificationClientFallback;
 import com.app.service_operations_service.config.FeignConfig;
@@ -15,4 +16,9 @@ public interface NotificationClient {
     @CircuitBreaker(name = "notification-service", fallbackMethod = "sendNotificationFallback")
     void sendNotification(@RequestBody NotificationRequest request);
 
+    // Up to 500 notifications saved and queued in one call
+    @PostMapping("/send-batch")
+    @CircuitBreaker(name = "notification-service", fallbackMethod = "sendNotificationsFallback")
+    void sendNotifications(@RequestBody NotificationBatchRequest request);
+
 }
@@ -1,5 +1,6 @@
 package com.app.service_operations_service.client;
 
+import java.util.List;
 import java.util.Map;
 
 import com.app.service_operations_service.client.fallback.TechnicianClientFallback;
@@ -7,10 +8,16 @@ import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestParam;
 
+import com.app.service_operations_service.client.dto.TechnicianBatchRequest;
 import com.app.service_operations_service.client.dto.TechnicianProfileResponse;
+import com.app.service_operations_service.client.dto.WorkloadAdjustmentRequest;
+import com.app.service_operations_service.dto.PagedResponse;
 
 @FeignClient(name = "technician-service", path = "/api/technicians", fallback = TechnicianClientFallback.class)
 public interface TechnicianClient {
@@ -19,6 +26,11 @@ public interface TechnicianClient {
     @CircuitBreaker(name = "technician-service", fallbackMethod = "getTechnicianFallback")
     TechnicianProfileResponse getTechnician(@PathVariable("id") String id);
 
+    // Up to 200 profiles per call, in request order; unknown ids are left out
+    @PostMapping("/batch")
+    @CircuitBreaker(name = "technician-service", fallbackMethod = "getTechniciansFallback")
+    List<TechnicianProfileResponse> getTechnicians(@RequestBody TechnicianBatchRequest request);
+
     @GetMapping("/by-user/{userId}")
     @CircuitBreaker(name = "technician-service", fallbackMethod = "getTechnicianByUserIdFallback")
     TechnicianProfileResponse getTechnicianByUserId(@PathVariable("userId") String userId);
@@ -27,6 +39,18 @@ public interface TechnicianClient {
     @CircuitBreaker(name = "technician-service", fallbackMethod = "updateWorkloadFallback")
     void updateWorkload(@PathVariable("id") String id, @RequestParam("current") Integer currentWorkload);
 
+    // Relative changes for up to 200 technicians, clamped to [0, maxWorkload];
+    // applied at most once per idempotency key
+    @PutMapping("/workload/adjust")
+    @CircuitBreaker(name = "technician-service", fallbackMethod = "adjustWorkloadsFallback")
+    void adjustWorkloads(@RequestHeader("Idempotency-Key") String idempotencyKey,
+            @RequestBody WorkloadAdjustmentRequest request);
+
+    // Technicians that are available and below maxWorkload, ordered by (currentWorkload, id)
+    @GetMapping("/available")
+    @CircuitBreaker(name = "technician-service", fallbackMethod = "getAvailableFallback")
+    PagedResponse<TechnicianProfileResponse> getAvailable(@RequestParam("page") int page, @RequestParam("size") int size);
+
     @GetMapping("/stats")
     @CircuitBreaker(name = "technician-service", fallbackMethod = "getStatsFallback")
     Map<String, Object> getStats();
@@ -0,0 +1,14 @@
+package com.app.service_operations_service.client.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationBatchRequest {
+    private List<NotificationRequest> notifications;
+}
@@ -25,4 +25,5 @@ public class TechnicianProfileResponse {
     private Integer currentWorkload;
     private Integer maxWorkload;
     private Instant createdAt;
+    private Long version;
 }
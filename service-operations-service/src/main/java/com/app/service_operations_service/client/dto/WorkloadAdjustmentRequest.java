@@ -0,0 +1,15 @@
+package com.app.service_operations_service.client.dto;
+
+import java.util.Map;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Relative workload changes keyed by technician profile id
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class WorkloadAdjustmentRequest {
+    private Map<String, Integer> deltas;
+}
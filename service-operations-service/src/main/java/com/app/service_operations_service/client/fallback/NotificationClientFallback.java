@@ -1,6 +1,7 @@
 package com.app.service_operations_service.client.fallback;
 
 import com.app.service_operations_service.client.NotificationClient;
+import com.app.service_operations_service.client.dto.NotificationBatchRequest;
 import com.app.service_operations_service.client.dto.NotificationRequest;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
@@ -15,4 +16,9 @@ public class NotificationClientFallback implements NotificationClient {
     public void sendNotification(NotificationRequest request) {
         log.warn("Notification service is unavailable. Cannot send notification to: {}", request.getRecipientEmail());
     }
+
+    @Override
+    public void sendNotifications(NotificationBatchRequest request) {
+        log.warn("Notification service is unavailable. Cannot send {} notifications", request.getNotifications().size());
+    }
 }
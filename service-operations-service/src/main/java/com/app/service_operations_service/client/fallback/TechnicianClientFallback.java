@@ -1,7 +1,10 @@
 package com.app.service_operations_service.client.fallback;
 
 import com.app.service_operations_service.client.TechnicianClient;
+import com.app.service_operations_service.client.dto.TechnicianBatchRequest;
 import com.app.service_operations_service.client.dto.TechnicianProfileResponse;
+import com.app.service_operations_service.client.dto.WorkloadAdjustmentRequest;
+import com.app.service_operations_service.dto.PagedResponse;
 import java.util.List;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
@@ -21,6 +24,12 @@ public class TechnicianClientFallback implements TechnicianClient {
         return null;
     }
 
+    @Override
+    public List<TechnicianProfileResponse> getTechnicians(TechnicianBatchRequest request) {
+        log.warn("Technician service is unavailable. Cannot fetch {} technicians", request.getIds().size());
+        return null;
+    }
+
     @Override
     public TechnicianProfileResponse getTechnicianByUserId(String userId) {
         log.warn("Technician service is unavailable. Cannot fetch technician by user ID: {}", userId);
@@ -32,6 +41,18 @@ public class TechnicianClientFallback implements TechnicianClient {
         log.warn("Technician service is unavailable. Cannot update workload for technician: {}", id);
     }
 
+    @Override
+    public void adjustWorkloads(String idempotencyKey, WorkloadAdjustmentRequest request) {
+        log.warn("Technician service is unavailable. Cannot adjust workload for {} technicians",
+                request.getDeltas().size());
+    }
+
+    @Override
+    public PagedResponse<TechnicianProfileResponse> getAvailable(int page, int size) {
+        log.warn("Technician service is unavailable. Cannot fetch available technicians");
+        return null;
+    }
+
     @Override
     public Map<String, Object> getStats() {
         log.warn("Technician service is unavailable. Cannot fetch technician stats");
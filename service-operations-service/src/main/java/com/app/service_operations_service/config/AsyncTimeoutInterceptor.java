@@ -0,0 +1,24 @@
+package com.app.service_operations_service.config;
+
+import java.util.concurrent.Callable;
+
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.async.AsyncWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+
+// A StreamingResponseBody always runs under the MVC default async timeout. A
+// handler that needs its own puts it in ms under TIMEOUT_ATTRIBUTE, and it is
+// applied here before the async request starts; 0 or less means no timeout.
+public class AsyncTimeoutInterceptor implements CallableProcessingInterceptor {
+
+    public static final String TIMEOUT_ATTRIBUTE = AsyncTimeoutInterceptor.class.getName() + ".timeout";
+
+    @Override
+    public <T> void beforeConcurrentHandling(NativeWebRequest request, Callable<T> task) {
+        Object timeout = request.getAttribute(TIMEOUT_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (timeout instanceof Long timeoutMs && request instanceof AsyncWebRequest asyncRequest) {
+            asyncRequest.setTimeout(timeoutMs);
+        }
+    }
+}
@@ -63,6 +63,19 @@ public class MongoConfig {
         };
     }
 
+    @Bean
+    @Order(2)
+    public ApplicationRunner ensureMongoIndexes(MongoTemplate mongoTemplate, MongoMappingContext mongoMappingContext) {
+        return args -> {
+            try {
+                int ensured = new MongoIndexInitializer(mongoTemplate, mongoMappingContext).ensureIndexes();
+                log.info("Ensured {} MongoDB indexes", ensured);
+            } catch (Exception e) {
+                log.warn("Could not ensure MongoDB indexes at startup: {}", e.getMessage());
+            }
+        };
+    }
+
     @Bean
     public MongoCustomConversions customConversions() {
         List<Converter<?, ?>> converters = new ArrayList<>();
@@ -0,0 +1,64 @@
+package com.app.service_operations_service.config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import com.app.service_operations_service.model.CompletionTask;
+import com.app.service_operations_service.model.Invoice;
+import com.app.service_operations_service.model.RequestView;
+import com.app.service_operations_service.model.ServiceCategory;
+import com.app.service_operations_service.model.ServiceItem;
+import com.app.service_operations_service.model.ServiceRequest;
+
+// Creates the indexes declared with @Indexed/@CompoundIndex on the documents.
+// Spring Data's automatic index creation stays off; createIndex is a no-op for
+// an index that already exists with the same spec, so this runs on every start.
+public class MongoIndexInitializer {
+
+    private static final Logger log = LoggerFactory.getLogger(MongoIndexInitializer.class);
+
+    static final List<Class<?>> INDEXED_DOCUMENTS =
+            List.of(ServiceRequest.class, Invoice.class, ServiceItem.class, ServiceCategory.class,
+                    CompletionTask.class, RequestView.class);
+
+    private final MongoTemplate mongoTemplate;
+    private final MongoMappingContext mappingContext;
+
+    public MongoIndexInitializer(MongoTemplate mongoTemplate, MongoMappingContext mappingContext) {
+        this.mongoTemplate = mongoTemplate;
+        this.mappingContext = mappingContext;
+    }
+
+    // Returns the number of indexes ensured; a failing index (e.g. duplicates
+    // under a unique key) is logged and does not stop the others
+    public int ensureIndexes() {
+        int ensured = 0;
+        for (Class<?> document : INDEXED_DOCUMENTS) {
+            IndexOperations indexOps = mongoTemplate.indexOps(document);
+            for (IndexDefinition index : resolve(document)) {
+                try {
+                    indexOps.ensureIndex(index);
+                    ensured++;
+                } catch (RuntimeException e) {
+                    log.warn("Could not create index {} on {}: {}",
+                            index.getIndexOptions().get("name"), document.getSimpleName(), e.getMessage());
+                }
+            }
+        }
+        return ensured;
+    }
+
+    List<IndexDefinition> resolve(Class<?> document) {
+        List<IndexDefinition> indexes = new ArrayList<>();
+        new MongoPersistentEntityIndexResolver(mappingContext).resolveIndexFor(document).forEach(indexes::add);
+        return indexes;
+    }
+}
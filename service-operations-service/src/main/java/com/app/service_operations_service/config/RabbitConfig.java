@@ -0,0 +1,65 @@
+package com.app.service_operations_service.config;
+
+import org.springframework.amqp.core.AnonymousQueue;
+import org.springframework.amqp.core.Binding;
+import org.springframework.amqp.core.BindingBuilder;
+import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.core.TopicExchange;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@Configuration
+public class RabbitConfig {
+
+    public static final String TECHNICIAN_EXCHANGE = "technician.events";
+    public static final String TECHNICIAN_ROUTING_PATTERN = "technician.#";
+
+    // Routing keys are service-request.<type> and invoice.<type>; status changes
+    // go out as service-request.status.<status>
+    public static final String OPERATIONS_EXCHANGE = "service-operations.events";
+
+    // Routing keys are user.profile_created and user.profile_updated
+    public static final String IDENTITY_EXCHANGE = "identity.events";
+
+    @Bean
+    public TopicExchange technicianExchange() {
+        return new TopicExchange(TECHNICIAN_EXCHANGE, true, false);
+    }
+
+    @Bean
+    public TopicExchange operationsExchange() {
+        return new TopicExchange(OPERATIONS_EXCHANGE, true, false);
+    }
+
+    @Bean
+    public TopicExchange identityExchange() {
+        return new TopicExchange(IDENTITY_EXCHANGE, true, false);
+    }
+
+    // One auto-delete queue per instance: every instance keeps its own directory
+    @Bean
+    public Queue technicianDirectoryQueue() {
+        return new AnonymousQueue();
+    }
+
+    @Bean
+    public Binding technicianDirectoryBinding(@Qualifier("technicianDirectoryQueue") Queue technicianDirectoryQueue,
+            @Qualifier("technicianExchange") TopicExchange technicianExchange) {
+        return BindingBuilder.bind(technicianDirectoryQueue)
+                .to(technicianExchange)
+                .with(TECHNICIAN_ROUTING_PATTERN);
+    }
+
+    // Payload type comes from the listener parameter, not the producer's class name
+    @Bean
+    public MessageConverter messageConverter(ObjectMapper objectMapper) {
+        Jackson2JsonMessageConverter converter = new Jackson2JsonMessageConverter(objectMapper);
+        converter.setAlwaysConvertToInferredType(true);
+        return converter;
+    }
+}
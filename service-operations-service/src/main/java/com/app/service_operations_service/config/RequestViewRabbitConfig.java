@@ -0,0 +1,56 @@
+package com.app.service_operations_service.config;
+
+import org.springframework.amqp.core.Binding;
+import org.springframework.amqp.core.BindingBuilder;
+import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.core.QueueBuilder;
+import org.springframework.amqp.core.TopicExchange;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// Queues feeding the request_views projection. Unlike the directory queue they
+// are durable and shared by every instance, since the view is shared too, and
+// single-active-consumer keeps each queue's events in publish order.
+@Configuration
+@ConditionalOnProperty(name = "app.request-views.enabled", havingValue = "true")
+public class RequestViewRabbitConfig {
+
+    public static final String REQUEST_QUEUE = "service-operations.request-views.requests";
+    public static final String TECHNICIAN_QUEUE = "service-operations.request-views.technicians";
+    public static final String CUSTOMER_QUEUE = "service-operations.request-views.customers";
+
+    @Bean
+    public Queue requestViewRequestQueue() {
+        return QueueBuilder.durable(REQUEST_QUEUE).singleActiveConsumer().build();
+    }
+
+    @Bean
+    public Queue requestViewTechnicianQueue() {
+        return QueueBuilder.durable(TECHNICIAN_QUEUE).singleActiveConsumer().build();
+    }
+
+    @Bean
+    public Queue requestViewCustomerQueue() {
+        return QueueBuilder.durable(CUSTOMER_QUEUE).singleActiveConsumer().build();
+    }
+
+    @Bean
+    public Binding requestViewRequestBinding(@Qualifier("requestViewRequestQueue") Queue queue,
+            @Qualifier("operationsExchange") TopicExchange operationsExchange) {
+        return BindingBuilder.bind(queue).to(operationsExchange).with("service-request.#");
+    }
+
+    @Bean
+    public Binding requestViewTechnicianBinding(@Qualifier("requestViewTechnicianQueue") Queue queue,
+            @Qualifier("technicianExchange") TopicExchange technicianExchange) {
+        return BindingBuilder.bind(queue).to(technicianExchange).with(RabbitConfig.TECHNICIAN_ROUTING_PATTERN);
+    }
+
+    @Bean
+    public Binding requestViewCustomerBinding(@Qualifier("requestViewCustomerQueue") Queue queue,
+            @Qualifier("identityExchange") TopicExchange identityExchange) {
+        return BindingBuilder.bind(queue).to(identityExchange).with("user.#");
+    }
+}
@@ -0,0 +1,13 @@
+package com.app.service_operations_service.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+// Turns on @Scheduled for the whole service. The jobs (SLA tick and sweep,
+// completion outbox poll, typeahead refresh, dispatch) share the scheduler
+// pool sized by spring.task.scheduling.pool.size, one thread each, so a slow
+// run of one never delays the others.
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -1,26 +1,43 @@
 package com.app.service_operations_service.controller;
 
+import java.time.LocalDate;
 import java.util.List;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.app.service_operations_service.config.AsyncTimeoutInterceptor;
+import com.app.service_operations_service.dto.billing.CategoryRevenueEntry;
 import com.app.service_operations_service.dto.billing.CreateInvoiceRequest;
 import com.app.service_operations_service.dto.billing.InvoiceResponse;
 import com.app.service_operations_service.dto.billing.PaymentUpdateRequest;
 import com.app.service_operations_service.dto.billing.RevenueReportResponse;
+import com.app.service_operations_service.dto.billing.ServiceNameBackfillResponse;
 import com.app.service_operations_service.dto.billing.MonthlyRevenueEntry;
 import com.app.service_operations_service.dto.IdMessageResponse;
+import com.app.service_operations_service.model.enums.PaymentStatus;
 import com.app.service_operations_service.security.RequestUser;
 import com.app.service_operations_service.service.BillingService;
+import com.app.service_operations_service.service.CategoryRevenueService;
+import com.app.service_operations_service.service.InvoiceBackfillService;
+import com.app.service_operations_service.service.InvoiceExportService;
+import com.app.service_operations_service.util.UserContext;
 
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 
 @RestController
@@ -28,9 +45,21 @@ import jakarta.validation.Valid;
 public class BillingController {
 
     private final BillingService billingService;
-
-    public BillingController(BillingService billingService) {
+    private final InvoiceBackfillService invoiceBackfillService;
+    private final CategoryRevenueService categoryRevenueService;
+    private final InvoiceExportService invoiceExportService;
+    // A full export outlives the default async timeout; 0 or less means none
+    private final long exportTimeoutMs;
+
+    public BillingController(BillingService billingService, InvoiceBackfillService invoiceBackfillService,
+                             CategoryRevenueService categoryRevenueService,
+                             InvoiceExportService invoiceExportService,
+                             @Value("${app.billing.export-timeout-ms:1800000}") long exportTimeoutMs) {
         this.billingService = billingService;
+        this.invoiceBackfillService = invoiceBackfillService;
+        this.categoryRevenueService = categoryRevenueService;
+        this.invoiceExportService = invoiceExportService;
+        this.exportTimeoutMs = exportTimeoutMs;
     }
 
     @PostMapping("/invoices")
@@ -73,13 +102,63 @@ public class BillingController {
         billingService.updatePayment(id, request);
     }
 
+    // from/to are inclusive calendar days; both optional
     @GetMapping("/reports/revenue")
-    public RevenueReportResponse revenueReport() {
-        return billingService.revenueReport();
+    public RevenueReportResponse revenueReport(
+            @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(value = "byPaymentMethod", defaultValue = "false") boolean byPaymentMethod) {
+        return billingService.revenueReport(from, to, byPaymentMethod);
     }
 
     @GetMapping("/reports/revenue/monthly")
-    public List<MonthlyRevenueEntry> monthlyRevenue() {
-        return billingService.monthlyRevenue();
+    public List<MonthlyRevenueEntry> monthlyRevenue(
+            @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(value = "byPaymentMethod", defaultValue = "false") boolean byPaymentMethod) {
+        return billingService.monthlyRevenue(from, to, byPaymentMethod);
+    }
+
+    // Paid revenue per service category, highest first, with a per-service breakdown
+    @GetMapping("/reports/revenue/categories")
+    public List<CategoryRevenueEntry> revenueByCategory(
+            @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return categoryRevenueService.revenueByCategory(from, to);
+    }
+
+    // All invoices in the range as CSV or NDJSON, streamed as they are read;
+    // from/to are inclusive calendar days, both optional
+    @GetMapping("/invoices/export")
+    public ResponseEntity<StreamingResponseBody> exportInvoices(
+            RequestUser user,
+            HttpServletRequest request,
+            @RequestParam(value = "format", defaultValue = "csv") String format,
+            @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(value = "paymentStatus", required = false) String paymentStatus) {
+        UserContext.requireAuthenticated(user.userId());
+        UserContext.requireRole(user.role(), UserContext.Role.ADMIN);
+        InvoiceExportService.Format exportFormat = InvoiceExportService.Format.valueOf(format.toUpperCase());
+        PaymentStatus status = paymentStatus == null || paymentStatus.isBlank()
+                ? null
+                : PaymentStatus.valueOf(paymentStatus.toUpperCase());
+        invoiceExportService.validate(from, to);
+
+        request.setAttribute(AsyncTimeoutInterceptor.TIMEOUT_ATTRIBUTE, exportTimeoutMs);
+        StreamingResponseBody body = out -> invoiceExportService.export(from, to, status, exportFormat, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.contentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"invoices." + exportFormat.fileExtension() + "\"")
+                .body(body);
+    }
+
+    // Copy service names onto invoices created before they were stored there
+    @PostMapping("/admin/backfill/service-names")
+    public ServiceNameBackfillResponse backfillServiceNames(RequestUser user) {
+        UserContext.requireAuthenticated(user.userId());
+        UserContext.requireRole(user.role(), UserContext.Role.ADMIN);
+        return invoiceBackfillService.backfillServiceNames();
     }
 }
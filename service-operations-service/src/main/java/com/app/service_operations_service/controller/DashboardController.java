@@ -1,23 +1,36 @@
 package com.app.service_operations_service.controller;
 
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.app.service_operations_service.dto.dashboard.CategoryStatsResponse;
+import com.app.service_operations_service.dto.dashboard.DailyTrendEntry;
 import com.app.service_operations_service.dto.dashboard.DashboardSummaryResponse;
 import com.app.service_operations_service.dto.dashboard.ResolutionTimeResponse;
+import com.app.service_operations_service.dto.dashboard.RollupRebuildResponse;
 import com.app.service_operations_service.dto.dashboard.TechnicianWorkloadResponse;
+import com.app.service_operations_service.security.RequestUser;
 import com.app.service_operations_service.service.DashboardService;
+import com.app.service_operations_service.service.TrendService;
+import com.app.service_operations_service.util.UserContext;
 
 @RestController
 @RequestMapping("/api/dashboard")
 public class DashboardController {
 
     private final DashboardService dashboardService;
+    private final TrendService trendService;
 
-    public DashboardController(DashboardService dashboardService) {
+    public DashboardController(DashboardService dashboardService, TrendService trendService) {
         this.dashboardService = dashboardService;
+        this.trendService = trendService;
     }
 
     // Get comprehensive dashboard summary
@@ -49,4 +62,23 @@ public class DashboardController {
     public CategoryStatsResponse getCategoryStats() {
         return dashboardService.getCategoryStatistics();
     }
+
+    // Requests created, completed and cancelled plus paid revenue per day,
+    // read from the daily rollups. Defaults to the last 365 days.
+    @GetMapping("/trends")
+    public List<DailyTrendEntry> getTrends(
+            @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return trendService.getDailyTrends(from, to);
+    }
+
+    // Recompute the daily rollups from requests and invoices. Counter updates
+    // that land during the rebuild are dropped, so run it while request and
+    // payment writes are paused (e.g. in a maintenance window).
+    @PostMapping("/trends/rebuild")
+    public RollupRebuildResponse rebuildTrends(RequestUser user) {
+        UserContext.requireAuthenticated(user.userId());
+        UserContext.requireRole(user.role(), UserContext.Role.ADMIN);
+        return trendService.rebuild();
+    }
 }
@@ -0,0 +1,29 @@
+package com.app.service_operations_service.controller;
+
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.app.service_operations_service.dto.diagnostics.IndexUsageReport;
+import com.app.service_operations_service.security.RequestUser;
+import com.app.service_operations_service.service.diagnostics.IndexDiagnosticsService;
+import com.app.service_operations_service.util.UserContext;
+
+@RestController
+@RequestMapping("/api/diagnostics")
+public class DiagnosticsController {
+
+    private final IndexDiagnosticsService indexDiagnosticsService;
+
+    public DiagnosticsController(IndexDiagnosticsService indexDiagnosticsService) {
+        this.indexDiagnosticsService = indexDiagnosticsService;
+    }
+
+    // Winning plan of every repository query; collectionScans > 0 means a missing index
+    @GetMapping("/index-usage")
+    public IndexUsageReport indexUsage(RequestUser user) {
+        UserContext.requireAuthenticated(user.userId());
+        UserContext.requireRole(user.role(), UserContext.Role.ADMIN, UserContext.Role.MANAGER);
+        return indexDiagnosticsService.explainRepositoryQueries();
+    }
+}
@@ -0,0 +1,29 @@
+package com.app.service_operations_service.controller;
+
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.app.service_operations_service.dto.dispatch.DispatchRunResponse;
+import com.app.service_operations_service.security.RequestUser;
+import com.app.service_operations_service.service.dispatch.DispatchService;
+import com.app.service_operations_service.util.UserContext;
+
+@RestController
+@RequestMapping("/api/dispatch")
+public class DispatchController {
+
+    private final DispatchService dispatchService;
+
+    public DispatchController(DispatchService dispatchService) {
+        this.dispatchService = dispatchService;
+    }
+
+    // Run one dispatch batch now instead of waiting for the scheduler
+    @PostMapping("/run")
+    public DispatchRunResponse run(RequestUser user) {
+        UserContext.requireAuthenticated(user.userId());
+        UserContext.requireRole(user.role(), UserContext.Role.ADMIN, UserContext.Role.MANAGER);
+        return dispatchService.runBatch();
+    }
+}
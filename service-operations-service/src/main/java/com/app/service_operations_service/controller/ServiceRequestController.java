@@ -1,12 +1,11 @@
 package com.app.service_operations_service.controller;
 
+import java.time.LocalDate;
 import java.util.List;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -18,10 +17,15 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 
-import com.app.service_operations_service.dto.PagedResponse;
+import com.app.service_operations_service.dto.CursorPage;
 import com.app.service_operations_service.dto.requests.AcceptRejectRequest;
 import com.app.service_operations_service.dto.requests.AssignRequest;
+import com.app.service_operations_service.dto.requests.BulkAssignRequest;
+import com.app.service_operations_service.dto.requests.BulkStatusRequest;
+import com.app.service_operations_service.dto.requests.BulkUpdateResponse;
 import com.app.service_operations_service.dto.requests.CreateServiceRequest;
+import com.app.service_operations_service.dto.requests.RequestSuggestion;
+import com.app.service_operations_service.dto.requests.RequestViewRebuildResponse;
 import com.app.service_operations_service.dto.requests.ServiceRequestResponse;
 import com.app.service_operations_service.dto.requests.ServiceRequestStatsResponse;
 import com.app.service_operations_service.dto.requests.ServiceRequestWithCustomerResponse;
@@ -31,7 +35,11 @@ import com.app.service_operations_service.dto.requests.RescheduleServiceRequest;
 import com.app.service_operations_service.dto.IdMessageResponse;
 import com.app.service_operations_service.exception.UnauthorizedException;
 import com.app.service_operations_service.security.RequestUser;
+import com.app.service_operations_service.service.ServiceRequestBulkService;
 import com.app.service_operations_service.service.ServiceRequestService;
+import com.app.service_operations_service.service.search.RequestTypeahead;
+import com.app.service_operations_service.service.views.RequestViewProjector;
+import com.app.service_operations_service.util.UserContext;
 import com.app.service_operations_service.util.ValidationUtil;
 
 import jakarta.validation.Valid;
@@ -47,9 +55,19 @@ public class ServiceRequestController {
         private static final String REQUEST_ID = "requestId";
 
         private final ServiceRequestService serviceRequestService;
-
-        public ServiceRequestController(ServiceRequestService serviceRequestService) {
+        private final ServiceRequestBulkService bulkService;
+        private final RequestViewProjector viewProjector;
+        private final RequestTypeahead typeahead;
+
+        public ServiceRequestController(
+                        ServiceRequestService serviceRequestService,
+                        ServiceRequestBulkService bulkService,
+                        RequestViewProjector viewProjector,
+                        RequestTypeahead typeahead) {
                 this.serviceRequestService = serviceRequestService;
+                this.bulkService = bulkService;
+                this.viewProjector = viewProjector;
+                this.typeahead = typeahead;
         }
 
         private String validateAndGetUserId(RequestUser user) {
@@ -74,24 +92,58 @@ public class ServiceRequestController {
                                 "Service request created successfully");
         }
 
+        // Listings are keyset-paged newest first: pass nextCursor back as ?cursor=
+        // for the following page. includeTotal=true adds a count query.
         @GetMapping
-        public PagedResponse<ServiceRequestResponse> getAll(
-                        @RequestParam(value = "page", defaultValue = "0") int page,
+        public CursorPage<ServiceRequestResponse> getAll(
+                        @RequestParam(value = "cursor", required = false) String cursor,
                         @RequestParam(value = "size", defaultValue = "20") int size,
-                        @RequestParam(value = "sort", defaultValue = "createdAt") String sortBy) {
+                        @RequestParam(value = "includeTotal", defaultValue = "false") boolean includeTotal) {
 
-                log.debug("Fetching service requests - page: {}, size: {}, sort: {}", page, size, sortBy);
-                Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, sortBy));
-                return serviceRequestService.getAll(pageable);
+                log.debug("Fetching service requests - size: {}, includeTotal: {}", size, includeTotal);
+                return serviceRequestService.getAll(cursor, size, includeTotal);
         }
 
         @GetMapping("/status/{status}")
-        public List<ServiceRequestResponse> getByStatus(
-                        @PathVariable("status") String status) {
+        public CursorPage<ServiceRequestResponse> getByStatus(
+                        @PathVariable("status") String status,
+                        @RequestParam(value = "cursor", required = false) String cursor,
+                        @RequestParam(value = "size", defaultValue = "20") int size,
+                        @RequestParam(value = "includeTotal", defaultValue = "false") boolean includeTotal) {
 
                 ValidationUtil.validateNotBlank(status, "status");
                 log.debug("Fetching service requests by status");
-                return serviceRequestService.getByStatus(status);
+                return serviceRequestService.getByStatus(status, cursor, size, includeTotal);
+        }
+
+        // q is a request number prefix (REQ-00012) or address words; from and
+        // to are inclusive ISO dates on createdAt. Searches across customers,
+        // so it is for support staff only.
+        @GetMapping("/search")
+        public CursorPage<ServiceRequestResponse> search(
+                        RequestUser user,
+                        @RequestParam(value = "q", required = false) String q,
+                        @RequestParam(value = "customerId", required = false) String customerId,
+                        @RequestParam(value = "status", required = false) String status,
+                        @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                        @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                        @RequestParam(value = "cursor", required = false) String cursor,
+                        @RequestParam(value = "size", defaultValue = "20") int size,
+                        @RequestParam(value = "includeTotal", defaultValue = "false") boolean includeTotal) {
+
+                requireSupportStaff(user);
+                log.debug("Searching service requests");
+                return serviceRequestService.search(q, customerId, status, from, to, cursor, size, includeTotal);
+        }
+
+        // Search-as-you-type over recent requests, served from memory
+        @GetMapping("/search/suggest")
+        public List<RequestSuggestion> suggest(
+                        RequestUser user,
+                        @RequestParam("q") String q,
+                        @RequestParam(value = "limit", defaultValue = "10") int limit) {
+                requireSupportStaff(user);
+                return typeahead.suggest(q, limit);
         }
 
         @GetMapping("/{id}")
@@ -102,58 +154,79 @@ public class ServiceRequestController {
         }
 
         @GetMapping("/customer/{customerId}")
-        public List<ServiceRequestResponse> getByCustomer(
-                        @PathVariable("customerId") String customerId) {
+        public CursorPage<ServiceRequestResponse> getByCustomer(
+                        @PathVariable("customerId") String customerId,
+                        @RequestParam(value = "cursor", required = false) String cursor,
+                        @RequestParam(value = "size", defaultValue = "20") int size,
+                        @RequestParam(value = "includeTotal", defaultValue = "false") boolean includeTotal) {
 
                 ValidationUtil.validateNotBlank(customerId, "customerId");
                 log.debug("Fetching service requests for customer");
-                return serviceRequestService.getByCustomer(customerId);
+                return serviceRequestService.getByCustomer(customerId, cursor, size, includeTotal);
         }
 
         @GetMapping("/my-requests")
-        public List<ServiceRequestResponse> getMyRequests(RequestUser user) {
+        public CursorPage<ServiceRequestResponse> getMyRequests(
+                        RequestUser user,
+                        @RequestParam(value = "cursor", required = false) String cursor,
+                        @RequestParam(value = "size", defaultValue = "20") int size,
+                        @RequestParam(value = "includeTotal", defaultValue = "false") boolean includeTotal) {
                 String customerId = validateAndGetUserId(user);
 
-                return serviceRequestService.getByCustomer(customerId);
+                return serviceRequestService.getByCustomer(customerId, cursor, size, includeTotal);
         }
 
         @GetMapping("/my-requests/with-technician")
-        public List<ServiceRequestWithTechnicianResponse> getMyRequestsWithTechnicianDetails(RequestUser user) {
+        public CursorPage<ServiceRequestWithTechnicianResponse> getMyRequestsWithTechnicianDetails(
+                        RequestUser user,
+                        @RequestParam(value = "cursor", required = false) String cursor,
+                        @RequestParam(value = "size", defaultValue = "20") int size,
+                        @RequestParam(value = "includeTotal", defaultValue = "false") boolean includeTotal) {
 
                 String customerId = validateAndGetUserId(user);
 
                 return serviceRequestService
-                                .getByCustomerWithTechnicianDetails(customerId);
+                                .getByCustomerWithTechnicianDetails(customerId, cursor, size, includeTotal);
         }
 
         @GetMapping("/customer/{customerId}/with-technician")
-        public List<ServiceRequestWithTechnicianResponse> getByCustomerWithTechnicianDetails(
-                        @PathVariable("customerId") String customerId) {
+        public CursorPage<ServiceRequestWithTechnicianResponse> getByCustomerWithTechnicianDetails(
+                        @PathVariable("customerId") String customerId,
+                        @RequestParam(value = "cursor", required = false) String cursor,
+                        @RequestParam(value = "size", defaultValue = "20") int size,
+                        @RequestParam(value = "includeTotal", defaultValue = "false") boolean includeTotal) {
 
                 ValidationUtil.validateNotBlank(customerId, "customerId");
                 log.debug(
                                 "Fetching service requests with technician details for customer: {}",
                                 customerId);
                 return serviceRequestService
-                                .getByCustomerWithTechnicianDetails(customerId);
+                                .getByCustomerWithTechnicianDetails(customerId, cursor, size, includeTotal);
         }
 
         @GetMapping("/technician/my-requests")
-        public List<ServiceRequestResponse> getMyTechnicianRequests(
-                        RequestUser user) {
+        public CursorPage<ServiceRequestResponse> getMyTechnicianRequests(
+                        RequestUser user,
+                        @RequestParam(value = "cursor", required = false) String cursor,
+                        @RequestParam(value = "size", defaultValue = "20") int size,
+                        @RequestParam(value = "includeTotal", defaultValue = "false") boolean includeTotal) {
 
                 String userId = validateAndGetUserId(user);
                 log.info("Fetching service requests for technician");
-                return serviceRequestService.getByTechnicianUserId(userId);
+                return serviceRequestService.getByTechnicianUserId(userId, cursor, size, includeTotal);
         }
 
         @GetMapping("/technician/my-requests/with-customer")
-        public List<ServiceRequestWithCustomerResponse> getMyTechnicianRequestsWithCustomerDetails(RequestUser user) {
+        public CursorPage<ServiceRequestWithCustomerResponse> getMyTechnicianRequestsWithCustomerDetails(
+                        RequestUser user,
+                        @RequestParam(value = "cursor", required = false) String cursor,
+                        @RequestParam(value = "size", defaultValue = "20") int size,
+                        @RequestParam(value = "includeTotal", defaultValue = "false") boolean includeTotal) {
 
                 String userId = validateAndGetUserId(user);
 
                 return serviceRequestService
-                                .getByTechnicianUserIdWithCustomerDetails(userId);
+                                .getByTechnicianUserIdWithCustomerDetails(userId, cursor, size, includeTotal);
         }
 
         @PutMapping("/{id}/assign")
@@ -167,6 +240,28 @@ public class ServiceRequestController {
                 serviceRequestService.assign(id, request);
         }
 
+        // Bulk variants of assign and status for triage; every item gets its own
+        // outcome, so one bad id does not fail the batch
+        @PutMapping("/bulk/assign")
+        public BulkUpdateResponse bulkAssign(@Valid @RequestBody BulkAssignRequest request) {
+                log.info("Bulk assigning {} service requests", request.getItems().size());
+                return bulkService.assign(request.getItems());
+        }
+
+        @PutMapping("/bulk/status")
+        public BulkUpdateResponse bulkUpdateStatus(@Valid @RequestBody BulkStatusRequest request) {
+                log.info("Bulk updating status of {} service requests", request.getItems().size());
+                return bulkService.updateStatus(request.getItems());
+        }
+
+        // Re-project every request into request_views, e.g. after enabling them
+        @PostMapping("/views/rebuild")
+        public RequestViewRebuildResponse rebuildViews(RequestUser user) {
+                UserContext.requireAuthenticated(user.userId());
+                UserContext.requireRole(user.role(), UserContext.Role.ADMIN);
+                return viewProjector.rebuild();
+        }
+
         @PutMapping("/{id}/status")
         @ResponseStatus(HttpStatus.NO_CONTENT)
         public void updateStatus(
@@ -246,4 +341,9 @@ public class ServiceRequestController {
                 log.debug("Fetching service request statistics");
                 return serviceRequestService.stats();
         }
+
+        private static void requireSupportStaff(RequestUser user) {
+                UserContext.requireAuthenticated(user.userId());
+                UserContext.requireRole(user.role(), UserContext.Role.ADMIN, UserContext.Role.MANAGER);
+        }
 }
@@ -0,0 +1,19 @@
+package com.app.service_operations_service.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// One page of a keyset listing. nextCursor is passed back as ?cursor= to get
+// the following page; totalElements is only filled when includeTotal=true.
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPage<T> {
+    private List<T> content;
+    private String nextCursor;
+    private boolean hasMore;
+    private Long totalElements;
+}
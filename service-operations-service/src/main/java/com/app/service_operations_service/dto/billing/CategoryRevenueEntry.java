@@ -0,0 +1,35 @@
+package com.app.service_operations_service.dto.billing;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CategoryRevenueEntry {
+
+    private String categoryId; // null for services no longer in the catalog
+    private String categoryName;
+    private BigDecimal totalRevenue;
+    private long paidInvoiceCount;
+    @Builder.Default
+    private List<ServiceRevenue> services = new ArrayList<>();
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class ServiceRevenue {
+        private String serviceId;
+        private String serviceName;
+        private BigDecimal totalRevenue;
+        private long paidInvoiceCount;
+    }
+}
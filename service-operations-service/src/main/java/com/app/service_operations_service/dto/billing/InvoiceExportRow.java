@@ -0,0 +1,32 @@
+package com.app.service_operations_service.dto.billing;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+import com.app.service_operations_service.model.enums.PaymentStatus;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// One line of the invoice export; the property order is the CSV column order
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonPropertyOrder({"id", "requestId", "customerId", "serviceId", "serviceName", "serviceAmount", "taxAmount",
+        "totalAmount", "paymentStatus", "paymentMethod", "paidAt", "createdAt"})
+public class InvoiceExportRow {
+    private String id;
+    private String requestId;
+    private String customerId;
+    private String serviceId;
+    private String serviceName;
+    private BigDecimal serviceAmount;
+    private BigDecimal taxAmount;
+    private BigDecimal totalAmount;
+    private PaymentStatus paymentStatus;
+    private String paymentMethod;
+    private Instant paidAt;
+    private Instant createdAt;
+}
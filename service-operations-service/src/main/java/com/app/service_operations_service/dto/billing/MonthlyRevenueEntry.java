@@ -8,6 +8,7 @@ public class MonthlyRevenueEntry {
     private int month; // 1-12
     private BigDecimal totalRevenue;
     private long paidInvoiceCount;
+    private String paymentMethod; // set only when grouped by payment method
 
     public int getYear() {
         return year;
@@ -40,4 +41,12 @@ public class MonthlyRevenueEntry {
     public void setPaidInvoiceCount(long paidInvoiceCount) {
         this.paidInvoiceCount = paidInvoiceCount;
     }
+
+    public String getPaymentMethod() {
+        return paymentMethod;
+    }
+
+    public void setPaymentMethod(String paymentMethod) {
+        this.paymentMethod = paymentMethod;
+    }
 }
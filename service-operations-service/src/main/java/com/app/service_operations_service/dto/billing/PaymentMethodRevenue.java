@@ -0,0 +1,19 @@
+package com.app.service_operations_service.dto.billing;
+
+import java.math.BigDecimal;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaymentMethodRevenue {
+    private String paymentMethod; // null for invoices without one
+    private long invoiceCount;
+    private long paidCount;
+    private BigDecimal totalServiceAmount;
+    private BigDecimal totalTaxAmount;
+    private BigDecimal totalRevenue;
+}
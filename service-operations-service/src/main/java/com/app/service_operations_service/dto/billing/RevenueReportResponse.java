@@ -1,6 +1,7 @@
 package com.app.service_operations_service.dto.billing;
 
 import java.math.BigDecimal;
+import java.util.List;
 
 public class RevenueReportResponse {
     private BigDecimal totalServiceAmount;
@@ -8,6 +9,7 @@ public class RevenueReportResponse {
     private BigDecimal totalRevenue;
     private long invoiceCount;
     private long paidCount;
+    private List<PaymentMethodRevenue> byPaymentMethod; // only when requested
 
     public BigDecimal getTotalServiceAmount() {
         return totalServiceAmount;
@@ -48,4 +50,12 @@ public class RevenueReportResponse {
     public void setPaidCount(long paidCount) {
         this.paidCount = paidCount;
     }
+
+    public List<PaymentMethodRevenue> getByPaymentMethod() {
+        return byPaymentMethod;
+    }
+
+    public void setByPaymentMethod(List<PaymentMethodRevenue> byPaymentMethod) {
+        this.byPaymentMethod = byPaymentMethod;
+    }
 }
@@ -0,0 +1,15 @@
+package com.app.service_operations_service.dto.billing;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ServiceNameBackfillResponse {
+    private long scanned;
+    private long updated;
+    private long unresolved; // request or catalog item no longer exists
+    private long elapsedMs;
+}
@@ -0,0 +1,20 @@
+package com.app.service_operations_service.dto.dashboard;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DailyTrendEntry {
+    private LocalDate date;
+    private long created;
+    private long completed;
+    private long cancelled;
+    private long paidInvoices;
+    private BigDecimal revenue;
+}
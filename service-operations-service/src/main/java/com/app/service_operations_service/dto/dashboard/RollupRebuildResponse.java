@@ -0,0 +1,14 @@
+package com.app.service_operations_service.dto.dashboard;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RollupRebuildResponse {
+    private long days;
+    private String zone;
+    private long elapsedMs;
+}
@@ -0,0 +1,40 @@
+package com.app.service_operations_service.dto.diagnostics;
+
+import java.time.Instant;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class IndexUsageReport {
+    private Instant generatedAt;
+    private int collectionScans;
+    private List<QueryPlan> queries;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class QueryPlan {
+        private String repository;
+        private String method;
+        private String collection;
+        private String filter;
+        private String sort;
+        // Leaf stage of the winning plan, e.g. IXSCAN or COLLSCAN
+        private String stage;
+        private String indexName;
+        private boolean collectionScan;
+        private long keysExamined;
+        private long docsExamined;
+        private long returned;
+        // Set when explain itself failed
+        private String error;
+    }
+}
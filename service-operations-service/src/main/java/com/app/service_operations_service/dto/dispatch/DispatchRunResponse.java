@@ -0,0 +1,21 @@
+package com.app.service_operations_service.dto.dispatch;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DispatchRunResponse {
+    // false when another instance holds the dispatch lease
+    private boolean executed;
+    private int batchSize;
+    private int technicians;
+    private int assigned;
+    private int conflicts;
+    private int unmatched;
+    private long durationMs;
+}
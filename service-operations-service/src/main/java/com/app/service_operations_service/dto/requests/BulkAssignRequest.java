@@ -0,0 +1,33 @@
+package com.app.service_operations_service.dto.requests;
+
+import java.util.List;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+public class BulkAssignRequest {
+
+    @NotEmpty(message = "At least one assignment is required")
+    @Size(max = 500, message = "At most 500 assignments per request")
+    private List<@Valid Item> items;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Item {
+
+        @NotBlank(message = "Request ID is required")
+        private String requestId;
+
+        @NotBlank(message = "Technician ID is required")
+        @Size(min = 1, max = 50, message = "Technician ID must be between 1 and 50 characters")
+        private String technicianId;
+    }
+}
@@ -0,0 +1,35 @@
+package com.app.service_operations_service.dto.requests;
+
+import java.util.List;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+public class BulkStatusRequest {
+
+    @NotEmpty(message = "At least one status update is required")
+    @Size(max = 500, message = "At most 500 status updates per request")
+    private List<@Valid Item> items;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Item {
+
+        @NotBlank(message = "Request ID is required")
+        private String requestId;
+
+        @NotBlank(message = "Status is required")
+        @Pattern(regexp = "REQUESTED|ASSIGNED|ACCEPTED|IN_PROGRESS|COMPLETED|CANCELLED",
+                 message = "Status must be one of: REQUESTED, ASSIGNED, ACCEPTED, IN_PROGRESS, COMPLETED, CANCELLED")
+        private String status;
+    }
+}
@@ -0,0 +1,40 @@
+package com.app.service_operations_service.dto.requests;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Per-item outcome of a bulk assign or status update, in request order
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkUpdateResponse {
+
+    private int requested;
+    private int updated;
+    private List<ItemResult> results;
+
+    public enum Outcome {
+        UPDATED,
+        // Already in the requested state; nothing was written
+        UNCHANGED,
+        NOT_FOUND,
+        // The same request id appeared earlier in the batch
+        DUPLICATE,
+        // The move is not allowed from the current status, or another
+        // writer changed the request first
+        CONFLICT,
+        FAILED
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ItemResult {
+        private String requestId;
+        private Outcome outcome;
+        private String message;
+    }
+}
@@ -0,0 +1,20 @@
+package com.app.service_operations_service.dto.requests;
+
+import java.time.Instant;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RequestSuggestion {
+    private String id;
+    private String requestNumber;
+    private String address;
+    @JsonFormat(shape = JsonFormat.Shape.STRING)
+    private Instant createdAt;
+}
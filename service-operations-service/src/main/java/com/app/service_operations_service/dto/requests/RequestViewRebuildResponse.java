@@ -0,0 +1,13 @@
+package com.app.service_operations_service.dto.requests;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RequestViewRebuildResponse {
+    private long projected;
+    private long elapsedMs;
+}
@@ -0,0 +1,131 @@
+package com.app.service_operations_service.messaging.changestream;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+import org.bson.BsonDocument;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+
+import com.app.service_operations_service.messaging.event.InvoiceChangedEvent;
+import com.app.service_operations_service.messaging.event.ServiceRequestChangedEvent;
+import com.app.service_operations_service.model.Invoice;
+import com.app.service_operations_service.model.ServiceRequest;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.OperationType;
+
+// Turns raw change stream documents into the typed events published on
+// RabbitMQ. The full document comes from the stream's update lookup and is
+// read with the application's converter, so events carry mapped fields.
+public class ChangeEventMapper {
+
+    static final String REQUESTS = "service_requests";
+    static final String INVOICES = "invoices";
+
+    private final MongoConverter converter;
+
+    public ChangeEventMapper(MongoConverter converter) {
+        this.converter = converter;
+    }
+
+    // Null when there is nothing to publish, e.g. the document was deleted
+    // before the update lookup ran
+    public Routed map(Change change) {
+        if (change.fullDocument() == null) {
+            return null;
+        }
+        return switch (change.collection()) {
+            case REQUESTS -> requestEvent(change);
+            case INVOICES -> invoiceEvent(change);
+            default -> null;
+        };
+    }
+
+    private Routed requestEvent(Change change) {
+        ServiceRequest request = converter.read(ServiceRequest.class, change.fullDocument());
+        ServiceRequestChangedEvent.Type type;
+        if (change.operation() == OperationType.INSERT) {
+            type = ServiceRequestChangedEvent.Type.CREATED;
+        } else if (change.updatedFields().contains("status")) {
+            type = ServiceRequestChangedEvent.Type.STATUS_CHANGED;
+        } else if (change.updatedFields().contains("preferredDate")) {
+            type = ServiceRequestChangedEvent.Type.RESCHEDULED;
+        } else {
+            type = ServiceRequestChangedEvent.Type.UPDATED;
+        }
+
+        ServiceRequestChangedEvent event = new ServiceRequestChangedEvent();
+        event.setEventId(change.eventId());
+        event.setType(type);
+        event.setRequestId(request.getId());
+        event.setRequestNumber(request.getRequestNumber());
+        event.setCustomerId(request.getCustomerId());
+        event.setServiceId(request.getServiceId());
+        event.setTechnicianId(request.getTechnicianId());
+        event.setStatus(request.getStatus());
+        event.setPreferredDate(request.getPreferredDate());
+        event.setChangedFields(List.copyOf(change.updatedFields()));
+        event.setOccurredAt(change.occurredAt());
+        return new Routed(type.routingKey(request.getStatus()), event);
+    }
+
+    private Routed invoiceEvent(Change change) {
+        Invoice invoice = converter.read(Invoice.class, change.fullDocument());
+        InvoiceChangedEvent.Type type = change.operation() == OperationType.INSERT
+                ? InvoiceChangedEvent.Type.CREATED
+                : InvoiceChangedEvent.Type.UPDATED;
+
+        InvoiceChangedEvent event = new InvoiceChangedEvent();
+        event.setEventId(change.eventId());
+        event.setType(type);
+        event.setInvoiceId(invoice.getId());
+        event.setRequestId(invoice.getRequestId());
+        event.setCustomerId(invoice.getCustomerId());
+        event.setTotalAmount(invoice.getTotalAmount());
+        event.setPaymentStatus(invoice.getPaymentStatus());
+        event.setPaidAt(invoice.getPaidAt());
+        event.setChangedFields(List.copyOf(change.operation() == OperationType.REPLACE
+                ? storedFields(change.fullDocument())
+                : change.updatedFields()));
+        event.setOccurredAt(change.occurredAt());
+        return new Routed(type.routingKey(), event);
+    }
+
+    // A full save carries no update description, so any of its fields may
+    // have moved. Payments are written with $set; this covers other saves.
+    private static Set<String> storedFields(Document document) {
+        return document.keySet().stream()
+                .filter(key -> !key.equals("_id") && !key.equals("_class"))
+                .collect(Collectors.toCollection(TreeSet::new));
+    }
+
+    // The parts of a change stream document the events are built from
+    public record Change(String collection, OperationType operation, Document fullDocument,
+                         Set<String> updatedFields, String eventId, Instant occurredAt) {
+
+        public static Change of(String collection, ChangeStreamDocument<Document> change) {
+            Set<String> updated = change.getUpdateDescription() != null
+                    && change.getUpdateDescription().getUpdatedFields() != null
+                    ? topLevel(change.getUpdateDescription().getUpdatedFields())
+                    : Set.of();
+            Instant occurredAt = change.getClusterTime() != null
+                    ? Instant.ofEpochSecond(change.getClusterTime().getTime())
+                    : Instant.now();
+            return new Change(collection, change.getOperationType(), change.getFullDocument(), updated,
+                    ResumeTokens.eventId(change.getResumeToken()), occurredAt);
+        }
+
+        // "address.city" counts as a change to address
+        private static Set<String> topLevel(BsonDocument updatedFields) {
+            return updatedFields.keySet().stream()
+                    .map(key -> key.contains(".") ? key.substring(0, key.indexOf('.')) : key)
+                    .collect(Collectors.toCollection(TreeSet::new));
+        }
+    }
+
+    public record Routed(String routingKey, Object event) {
+    }
+}
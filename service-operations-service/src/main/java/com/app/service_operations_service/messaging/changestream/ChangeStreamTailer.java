@@ -0,0 +1,195 @@
+package com.app.service_operations_service.messaging.changestream;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.bson.BsonDocument;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import com.app.service_operations_service.config.RabbitConfig;
+import com.app.service_operations_service.messaging.changestream.ChangeEventMapper.Change;
+import com.app.service_operations_service.messaging.changestream.ChangeEventMapper.Routed;
+import com.mongodb.MongoCommandException;
+import com.mongodb.client.ChangeStreamIterable;
+import com.mongodb.client.MongoChangeStreamCursor;
+import com.mongodb.client.model.Aggregates;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.FullDocument;
+
+import jakarta.annotation.PreDestroy;
+
+// Tails the change streams of service_requests and invoices and publishes
+// every insert and update as a typed event on the operations exchange. The
+// resume token is stored only once the broker has confirmed the publish, so a
+// restart continues where the last instance stopped and an unconfirmed event
+// is published again: delivery is at least once. This needs publisher
+// confirms (spring.rabbitmq.publisher-confirm-type=correlated). Change
+// streams need a replica set (a single node is enough), so this is off unless
+// app.change-streams.enabled=true. Run it on one instance only.
+@Component
+@ConditionalOnProperty(name = "app.change-streams.enabled", havingValue = "true")
+public class ChangeStreamTailer {
+
+    private static final Logger log = LoggerFactory.getLogger(ChangeStreamTailer.class);
+
+    static final List<String> WATCHED = List.of(ChangeEventMapper.REQUESTS, ChangeEventMapper.INVOICES);
+
+    // ChangeStreamHistoryLost: the stored token fell off the oplog
+    private static final int HISTORY_LOST = 286;
+
+    private static final List<Bson> PIPELINE = List.of(
+            Aggregates.match(Filters.in("operationType", "insert", "update", "replace")));
+
+    private final MongoTemplate mongoTemplate;
+    private final RabbitTemplate rabbitTemplate;
+    private final ChangeEventMapper mapper;
+    private final ResumeTokens resumeTokens;
+    private final long retryMs;
+    private final long confirmTimeoutMs;
+
+    private final List<Thread> threads = new ArrayList<>();
+    private final Map<String, MongoChangeStreamCursor<ChangeStreamDocument<Document>>> cursors =
+            new ConcurrentHashMap<>();
+    private volatile boolean running;
+
+    public ChangeStreamTailer(
+            MongoTemplate mongoTemplate,
+            RabbitTemplate rabbitTemplate,
+            @Value("${app.change-streams.retry-ms:5000}") long retryMs,
+            @Value("${app.change-streams.confirm-timeout-ms:10000}") long confirmTimeoutMs) {
+        this.mongoTemplate = mongoTemplate;
+        this.rabbitTemplate = rabbitTemplate;
+        this.mapper = new ChangeEventMapper(mongoTemplate.getConverter());
+        this.resumeTokens = new ResumeTokens(mongoTemplate);
+        this.retryMs = retryMs;
+        this.confirmTimeoutMs = confirmTimeoutMs;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        // Without confirms no publish would ever be acknowledged
+        if (!rabbitTemplate.getConnectionFactory().isPublisherConfirms()) {
+            throw new IllegalStateException(
+                    "Change stream publishing needs spring.rabbitmq.publisher-confirm-type=correlated");
+        }
+        running = true;
+        for (String collection : WATCHED) {
+            Thread thread = new Thread(() -> tail(collection), "change-stream-" + collection);
+            thread.setDaemon(true);
+            thread.start();
+            threads.add(thread);
+        }
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        running = false;
+        // Closing the cursor wakes the thread blocked in hasNext
+        cursors.values().forEach(cursor -> {
+            try {
+                cursor.close();
+            } catch (RuntimeException e) {
+                log.debug("Closing change stream cursor: {}", e.getMessage());
+            }
+        });
+        threads.forEach(Thread::interrupt);
+        threads.clear();
+    }
+
+    // Reopens the stream from the last stored token after any failure; a
+    // change whose publish failed is read again
+    void tail(String collection) {
+        while (running) {
+            try (MongoChangeStreamCursor<ChangeStreamDocument<Document>> cursor = open(collection).cursor()) {
+                cursors.put(collection, cursor);
+                log.info("Tailing change stream of {}", collection);
+                while (running && cursor.hasNext()) {
+                    handle(collection, cursor.next());
+                }
+            } catch (MongoCommandException e) {
+                if (e.getErrorCode() == HISTORY_LOST) {
+                    // Changes in the gap are lost; consumers resync over HTTP
+                    log.error("Resume token for {} is no longer in the oplog, restarting from now", collection);
+                    resumeTokens.clear(collection);
+                } else if (running) {
+                    log.warn("Change stream of {} failed: {}", collection, e.getMessage());
+                    pause();
+                }
+            } catch (RuntimeException e) {
+                if (running) {
+                    log.warn("Change stream of {} failed: {}", collection, e.getMessage());
+                    pause();
+                }
+            } finally {
+                cursors.remove(collection);
+            }
+        }
+    }
+
+    ChangeStreamIterable<Document> open(String collection) {
+        ChangeStreamIterable<Document> stream = mongoTemplate.getCollection(collection)
+                .watch(PIPELINE)
+                .fullDocument(FullDocument.UPDATE_LOOKUP);
+        BsonDocument token = resumeTokens.load(collection);
+        return token == null ? stream : stream.resumeAfter(token);
+    }
+
+    // Publishes the change, then records it as processed; an AmqpException
+    // propagates so the change is retried from the stored token
+    void handle(String collection, ChangeStreamDocument<Document> change) {
+        Routed routed = mapper.map(Change.of(collection, change));
+        if (routed != null) {
+            publish(routed);
+        }
+        resumeTokens.save(collection, change.getResumeToken());
+    }
+
+    // Returns once the broker has acked the event; a nack, a lost channel or
+    // no answer within the timeout throws
+    private void publish(Routed routed) {
+        CorrelationData correlation = new CorrelationData();
+        rabbitTemplate.convertAndSend(RabbitConfig.OPERATIONS_EXCHANGE, routed.routingKey(), routed.event(),
+                correlation);
+        CorrelationData.Confirm confirm;
+        try {
+            confirm = correlation.getFuture().get(confirmTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AmqpException("Interrupted waiting for the confirm of " + routed.routingKey(), e);
+        } catch (ExecutionException | TimeoutException e) {
+            throw new AmqpException("No publisher confirm for " + routed.routingKey(), e);
+        }
+        if (!confirm.isAck()) {
+            throw new AmqpException("Broker rejected " + routed.routingKey() + ": " + confirm.getReason());
+        }
+    }
+
+    private void pause() {
+        try {
+            Thread.sleep(retryMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
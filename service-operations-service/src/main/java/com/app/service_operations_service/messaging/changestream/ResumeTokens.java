@@ -0,0 +1,46 @@
+package com.app.service_operations_service.messaging.changestream;
+
+import java.util.Date;
+
+import org.bson.BsonDocument;
+import org.bson.BsonString;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.ReplaceOptions;
+
+// Last processed resume token per watched collection, one document per
+// collection in change_stream_offsets. The tailer resumes after it on restart.
+public class ResumeTokens {
+
+    static final String COLLECTION = "change_stream_offsets";
+
+    private final MongoTemplate mongoTemplate;
+
+    public ResumeTokens(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    public BsonDocument load(String watched) {
+        Document offset = mongoTemplate.getCollection(COLLECTION).find(Filters.eq("_id", watched)).first();
+        return offset == null || offset.getString("token") == null
+                ? null
+                : new BsonDocument("_data", new BsonString(offset.getString("token")));
+    }
+
+    public void save(String watched, BsonDocument token) {
+        mongoTemplate.getCollection(COLLECTION).replaceOne(Filters.eq("_id", watched),
+                new Document("_id", watched).append("token", eventId(token)).append("updatedAt", new Date()),
+                new ReplaceOptions().upsert(true));
+    }
+
+    public void clear(String watched) {
+        mongoTemplate.getCollection(COLLECTION).deleteOne(Filters.eq("_id", watched));
+    }
+
+    // The token's _data string; unique per change and stable across redeliveries
+    static String eventId(BsonDocument token) {
+        return token == null ? null : token.getString("_data").getValue();
+    }
+}
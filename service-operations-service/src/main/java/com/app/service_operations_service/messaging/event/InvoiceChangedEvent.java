@@ -0,0 +1,37 @@
+package com.app.service_operations_service.messaging.event;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+
+import com.app.service_operations_service.model.enums.PaymentStatus;
+
+import lombok.Data;
+
+// Published for every insert and update on invoices. eventId is the change
+// stream resume token, so consumers can drop redeliveries.
+@Data
+public class InvoiceChangedEvent {
+
+    public enum Type {
+        CREATED, UPDATED;
+
+        // invoice.created, invoice.updated
+        public String routingKey() {
+            return "invoice." + name().toLowerCase();
+        }
+    }
+
+    private String eventId;
+    private Type type;
+    private String invoiceId;
+    private String requestId;
+    private String customerId;
+    private BigDecimal totalAmount;
+    private PaymentStatus paymentStatus;
+    private Instant paidAt;
+    // Top-level fields set by the update; empty for inserts, every stored
+    // field for full replacements
+    private List<String> changedFields;
+    private Instant occurredAt;
+}
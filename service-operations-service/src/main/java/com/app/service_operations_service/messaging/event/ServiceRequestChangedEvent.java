@@ -0,0 +1,38 @@
+package com.app.service_operations_service.messaging.event;
+
+import java.time.Instant;
+import java.util.List;
+
+import com.app.service_operations_service.model.enums.RequestStatus;
+
+import lombok.Data;
+
+// Published for every insert and update on service_requests. eventId is the
+// change stream resume token, so consumers can drop redeliveries.
+@Data
+public class ServiceRequestChangedEvent {
+
+    public enum Type {
+        CREATED, STATUS_CHANGED, RESCHEDULED, UPDATED;
+
+        // service-request.created, service-request.status.completed, ...
+        public String routingKey(RequestStatus status) {
+            return this == STATUS_CHANGED
+                    ? "service-request.status." + status.name().toLowerCase()
+                    : "service-request." + name().toLowerCase();
+        }
+    }
+
+    private String eventId;
+    private Type type;
+    private String requestId;
+    private String requestNumber;
+    private String customerId;
+    private String serviceId;
+    private String technicianId;
+    private RequestStatus status;
+    private Instant preferredDate;
+    // Top-level fields set by the update; empty for inserts and full replacements
+    private List<String> changedFields;
+    private Instant occurredAt;
+}
@@ -0,0 +1,33 @@
+package com.app.service_operations_service.messaging.event;
+
+import java.time.Instant;
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+import lombok.Data;
+
+// Mirror of technician-service's change event
+@Data
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class TechnicianChangedEvent {
+
+    public enum Type {
+        CREATED, AVAILABILITY_CHANGED, WORKLOAD_CHANGED, DELETED
+    }
+
+    private Type type;
+    private String technicianId;
+    private String userId;
+    private long version;
+    private String name;
+    private String email;
+    private String phone;
+    private String specialization;
+    private List<String> skills;
+    private String location;
+    private Boolean available;
+    private Integer currentWorkload;
+    private Integer maxWorkload;
+    private Instant occurredAt;
+}
@@ -0,0 +1,27 @@
+package com.app.service_operations_service.messaging.event;
+
+import java.time.Instant;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+import lombok.Data;
+
+// Mirror of identity-service's profile change event
+@Data
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class UserProfileChangedEvent {
+
+    public enum Type {
+        PROFILE_CREATED, PROFILE_UPDATED
+    }
+
+    private Type type;
+    private String userId;
+    private String name;
+    private String phone;
+    private String address;
+    private String city;
+    private String state;
+    private String pincode;
+    private Instant occurredAt;
+}
@@ -0,0 +1,37 @@
+package com.app.service_operations_service.messaging.listener;
+
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.app.service_operations_service.config.RequestViewRabbitConfig;
+import com.app.service_operations_service.messaging.event.ServiceRequestChangedEvent;
+import com.app.service_operations_service.messaging.event.TechnicianChangedEvent;
+import com.app.service_operations_service.messaging.event.UserProfileChangedEvent;
+import com.app.service_operations_service.service.views.RequestViewProjector;
+
+@Component
+@ConditionalOnProperty(name = "app.request-views.enabled", havingValue = "true")
+public class RequestViewListener {
+
+    private final RequestViewProjector projector;
+
+    public RequestViewListener(RequestViewProjector projector) {
+        this.projector = projector;
+    }
+
+    @RabbitListener(queues = RequestViewRabbitConfig.REQUEST_QUEUE)
+    public void onRequestChanged(ServiceRequestChangedEvent event) {
+        projector.project(event.getRequestId());
+    }
+
+    @RabbitListener(queues = RequestViewRabbitConfig.TECHNICIAN_QUEUE)
+    public void onTechnicianChanged(TechnicianChangedEvent event) {
+        projector.applyTechnician(event);
+    }
+
+    @RabbitListener(queues = RequestViewRabbitConfig.CUSTOMER_QUEUE)
+    public void onUserProfileChanged(UserProfileChangedEvent event) {
+        projector.applyCustomer(event);
+    }
+}
@@ -0,0 +1,22 @@
+package com.app.service_operations_service.messaging.listener;
+
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.stereotype.Component;
+
+import com.app.service_operations_service.messaging.event.TechnicianChangedEvent;
+import com.app.service_operations_service.service.TechnicianDirectory;
+
+@Component
+public class TechnicianEventListener {
+
+    private final TechnicianDirectory technicianDirectory;
+
+    public TechnicianEventListener(TechnicianDirectory technicianDirectory) {
+        this.technicianDirectory = technicianDirectory;
+    }
+
+    @RabbitListener(queues = "#{technicianDirectoryQueue.name}")
+    public void onTechnicianChanged(TechnicianChangedEvent event) {
+        technicianDirectory.apply(event);
+    }
+}
@@ -0,0 +1,71 @@
+package com.app.service_operations_service.model;
+
+import java.time.Instant;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+import org.springframework.data.mongodb.core.mapping.FieldType;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// One side effect of a completed service request, waiting in the outbox.
+// The id is "<requestId>:<effect>", so a request can only ever enqueue each
+// effect once. availableAt is when a worker may claim the task next: it moves
+// forward by the lease on claim and by the backoff on failure.
+@CompoundIndex(name = "status_availableAt", def = "{'status': 1, 'availableAt': 1}")
+@CompoundIndex(name = "batchKey_status", def = "{'batchKey': 1, 'status': 1}", sparse = true)
+@Document(collection = "completion_tasks")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CompletionTask {
+
+    @Id
+    private String id;
+    private String requestId;
+    private String requestNumber;
+    private String customerId;
+    private String technicianId;
+    private Effect effect;
+    @Builder.Default
+    private Status status = Status.PENDING;
+    private int attempts;
+    // Set on every claim; only the holder of the current claim may finish the task
+    private String claim;
+    // Workload and notification tasks run in batches; set on the first claim
+    // and kept across retries, so a batch is always resent as a whole
+    private String batchKey;
+    private String lastError;
+
+    @Field(targetType = FieldType.DATE_TIME)
+    private Instant createdAt;
+
+    @Field(targetType = FieldType.DATE_TIME)
+    private Instant availableAt;
+
+    @Field(targetType = FieldType.DATE_TIME)
+    private Instant completedAt;
+
+    public static String key(String requestId, Effect effect) {
+        return requestId + ":" + effect;
+    }
+
+    public enum Effect {
+        WORKLOAD,
+        INVOICE,
+        NOTIFICATION
+    }
+
+    public enum Status {
+        PENDING,
+        DONE,
+        // Gave up after the maximum number of attempts
+        DEAD
+    }
+}
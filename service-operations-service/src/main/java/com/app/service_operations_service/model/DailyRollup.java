@@ -0,0 +1,35 @@
+package com.app.service_operations_service.model;
+
+import java.math.BigDecimal;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+import org.springframework.data.mongodb.core.mapping.FieldType;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Per-day request and revenue counters, kept current with $inc as requests
+// and invoices change state. Days are calendar days in app.rollups.zone.
+@Document(collection = "daily_rollups")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DailyRollup {
+
+    // yyyy-MM-dd, so _id order is date order
+    @Id
+    private String id;
+    private long created;
+    private long completed;
+    private long cancelled;
+    private long paidInvoices;
+
+    // Decimal128 instead of the default string mapping so $inc can add to it
+    @Field(targetType = FieldType.DECIMAL128)
+    private BigDecimal revenue;
+}
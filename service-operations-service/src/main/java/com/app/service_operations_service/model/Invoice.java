@@ -4,6 +4,9 @@ import java.math.BigDecimal;
 import java.time.Instant;
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 import org.springframework.data.mongodb.core.mapping.Field;
 import org.springframework.data.mongodb.core.mapping.FieldType;
@@ -15,6 +18,10 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+@CompoundIndexes({
+        @CompoundIndex(name = "customerId_createdAt", def = "{'customerId': 1, 'createdAt': -1}"),
+        @CompoundIndex(name = "paymentStatus_createdAt", def = "{'paymentStatus': 1, 'createdAt': -1}")
+})
 @Document(collection = "invoices")
 @Data
 @NoArgsConstructor
@@ -24,8 +31,14 @@ public class Invoice {
 
     @Id
     private String id;
+    // One invoice per request
+    @Indexed(name = "requestId_unique", unique = true)
     private String requestId;
     private String customerId;
+    // Copied from the request and catalog item when the invoice is created,
+    // so listing invoices needs no per-row lookups
+    private String serviceId;
+    private String serviceName;
     private BigDecimal serviceAmount;
     private BigDecimal taxAmount;
     private BigDecimal totalAmount;
@@ -36,6 +49,8 @@ public class Invoice {
     @Field(targetType = FieldType.DATE_TIME)
     private Instant paidAt;
 
+    // Date-range revenue reports over all payment statuses
+    @Indexed(name = "createdAt")
     @Field(targetType = FieldType.DATE_TIME)
     @Builder.Default
     private Instant createdAt = Instant.now();
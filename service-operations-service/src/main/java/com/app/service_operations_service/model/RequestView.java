@@ -0,0 +1,96 @@
+package com.app.service_operations_service.model;
+
+import java.time.Instant;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+import org.springframework.data.mongodb.core.mapping.FieldType;
+
+import com.app.service_operations_service.model.enums.RequestStatus;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Read model behind the request list endpoints: one row per service request
+// carrying everything a list row shows, so a page is one indexed query with
+// no calls to other services. Kept up to date by RequestViewProjector from
+// request, technician and user profile events; the _id is the request's.
+@CompoundIndexes({
+        @CompoundIndex(name = "status_createdAt_id", def = "{'status': 1, 'createdAt': -1, '_id': -1}"),
+        @CompoundIndex(name = "customerId_createdAt_id", def = "{'customerId': 1, 'createdAt': -1, '_id': -1}"),
+        @CompoundIndex(name = "technicianUserId_createdAt_id",
+                def = "{'technician.userId': 1, 'createdAt': -1, '_id': -1}"),
+        @CompoundIndex(name = "technicianId", def = "{'technicianId': 1}"),
+        @CompoundIndex(name = "createdAt_id", def = "{'createdAt': -1, '_id': -1}")
+})
+@Document(collection = "request_views")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RequestView {
+
+    @Id
+    private String id;
+    private String requestNumber;
+    private String customerId;
+    private String serviceId;
+    private String serviceName;
+    private String priority;
+    private RequestStatus status;
+
+    @Field(targetType = FieldType.DATE_TIME)
+    private Instant preferredDate;
+
+    private String address;
+    private String technicianId;
+
+    @Field(targetType = FieldType.DATE_TIME)
+    private Instant assignedAt;
+
+    @Field(targetType = FieldType.DATE_TIME)
+    private Instant acceptedAt;
+
+    @Field(targetType = FieldType.DATE_TIME)
+    private Instant completedAt;
+
+    @Field(targetType = FieldType.DATE_TIME)
+    private Instant createdAt;
+
+    // Absent until the assigned technician could be resolved
+    private Technician technician;
+    // Absent until the customer could be resolved
+    private Customer customer;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Technician {
+        private String userId;
+        private String name;
+        private String email;
+        private String phone;
+        private String specialization;
+        private Integer experience;
+        private Double rating;
+        // Technician profile version the snapshot was taken at
+        private long version;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Customer {
+        private String name;
+        private String email;
+        private String phone;
+        private String address;
+    }
+}
@@ -0,0 +1,20 @@
+package com.app.service_operations_service.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Named monotonic counters; value is the highest number handed out so far
+@Document(collection = "counters")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SequenceCounter {
+
+    @Id
+    private String id;
+    private long value;
+}
@@ -3,6 +3,10 @@ package com.app.service_operations_service.model;
 import java.time.Instant;
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.index.TextIndexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 import org.springframework.data.mongodb.core.mapping.Field;
 import org.springframework.data.mongodb.core.mapping.FieldType;
@@ -14,7 +18,19 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
-@Document(collection = "service_requests")
+// Listings page newest first on (createdAt, _id); the _id suffix keeps the
+// keyset tie-break inside the index. The address text index has no language
+// so street names are matched as typed, without stemming or stop words.
+// status_slaDeadline serves the SLA monitor's startup load and its sweep of
+// deadlines that just passed.
+@CompoundIndexes({
+        @CompoundIndex(name = "status_createdAt_id", def = "{'status': 1, 'createdAt': -1, '_id': -1}"),
+        @CompoundIndex(name = "customerId_createdAt_id", def = "{'customerId': 1, 'createdAt': -1, '_id': -1}"),
+        @CompoundIndex(name = "technicianId_createdAt_id", def = "{'technicianId': 1, 'createdAt': -1, '_id': -1}"),
+        @CompoundIndex(name = "createdAt_id", def = "{'createdAt': -1, '_id': -1}"),
+        @CompoundIndex(name = "status_slaDeadline", def = "{'status': 1, 'slaDeadline': 1}")
+})
+@Document(collection = "service_requests", language = "none")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -23,6 +39,7 @@ public class ServiceRequest {
 
     @Id
     private String id;
+    @Indexed(name = "requestNumber_unique", unique = true, sparse = true)
     private String requestNumber;
     private String customerId;
     private String serviceId;
@@ -33,6 +50,7 @@ public class ServiceRequest {
     @Field(targetType = FieldType.DATE_TIME)
     private Instant preferredDate;
 
+    @TextIndexed
     private String address;
     private String technicianId;
 
@@ -45,6 +63,19 @@ public class ServiceRequest {
     @Field(targetType = FieldType.DATE_TIME)
     private Instant completedAt;
 
+    @Field(targetType = FieldType.DATE_TIME)
+    private Instant cancelledAt;
+
+    // Copied from the catalog item at creation, so a later catalog edit does
+    // not move the deadline of requests already booked
+    private Integer slaHours;
+
+    @Field(targetType = FieldType.DATE_TIME)
+    private Instant slaDeadline;
+
+    @Field(targetType = FieldType.DATE_TIME)
+    private Instant slaBreachedAt;
+
     @Field(targetType = FieldType.DATE_TIME)
     @Builder.Default
     private Instant createdAt = Instant.now();
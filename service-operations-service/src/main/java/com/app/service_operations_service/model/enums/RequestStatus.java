@@ -1,10 +1,59 @@
 package com.app.service_operations_service.model.enums;
 
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
 public enum RequestStatus {
     REQUESTED,
     ASSIGNED,
     ACCEPTED,
     IN_PROGRESS,
     COMPLETED,
-    CANCELLED
+    CANCELLED;
+
+    // Allowed moves; COMPLETED and CANCELLED are terminal. ASSIGNED -> ASSIGNED
+    // is a reassignment and ASSIGNED -> REQUESTED hands the request back. An
+    // accepted request is not reassigned: accepting added it to the
+    // technician's workload, which only completion releases.
+    private static final Map<RequestStatus, Set<RequestStatus>> MOVES = new EnumMap<>(RequestStatus.class);
+
+    static {
+        MOVES.put(REQUESTED, EnumSet.of(ASSIGNED, CANCELLED));
+        MOVES.put(ASSIGNED, EnumSet.of(REQUESTED, ASSIGNED, ACCEPTED, IN_PROGRESS, CANCELLED));
+        MOVES.put(ACCEPTED, EnumSet.of(IN_PROGRESS, COMPLETED, CANCELLED));
+        MOVES.put(IN_PROGRESS, EnumSet.of(COMPLETED, CANCELLED));
+        MOVES.put(COMPLETED, EnumSet.noneOf(RequestStatus.class));
+        MOVES.put(CANCELLED, EnumSet.noneOf(RequestStatus.class));
+    }
+
+    public boolean canMoveTo(RequestStatus target) {
+        return MOVES.get(this).contains(target);
+    }
+
+    public boolean isTerminal() {
+        return MOVES.get(this).isEmpty();
+    }
+
+    // Statuses a request may be in for a move to target to be allowed
+    public static Set<RequestStatus> sourcesOf(RequestStatus target) {
+        Set<RequestStatus> sources = EnumSet.noneOf(RequestStatus.class);
+        MOVES.forEach((from, targets) -> {
+            if (targets.contains(target)) {
+                sources.add(from);
+            }
+        });
+        return sources;
+    }
+
+    public static Set<RequestStatus> open() {
+        Set<RequestStatus> open = EnumSet.noneOf(RequestStatus.class);
+        MOVES.forEach((from, targets) -> {
+            if (!targets.isEmpty()) {
+                open.add(from);
+            }
+        });
+        return open;
+    }
 }
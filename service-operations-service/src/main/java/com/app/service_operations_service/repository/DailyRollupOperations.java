@@ -0,0 +1,31 @@
+package com.app.service_operations_service.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.List;
+
+import com.app.service_operations_service.model.DailyRollup;
+
+// Atomic counter updates and the from-scratch rebuild of daily_rollups
+public interface DailyRollupOperations {
+
+    // Upserts the day and $incs the request counters; zero deltas are skipped
+    void incrementRequests(LocalDate day, long created, long completed, long cancelled);
+
+    // Upserts the day and $incs revenue and the paid invoice count
+    void addRevenue(LocalDate day, BigDecimal amount);
+
+    // Takes a payment back out of a stored day; a day that was never stored
+    // is left alone
+    void removeRevenue(LocalDate day, BigDecimal amount);
+
+    // Stored days in [from, to], oldest first; days without activity are absent
+    List<DailyRollup> findRange(LocalDate from, LocalDate to);
+
+    // Recomputes every day from service_requests and invoices into a scratch
+    // collection and swaps it in. Returns the number of days written. Counter
+    // updates made while it runs are lost with the swap, so run it while
+    // request and payment writes are paused.
+    long rebuild(ZoneId zone);
+}
@@ -0,0 +1,128 @@
+package com.app.service_operations_service.repository;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.List;
+
+import org.bson.Document;
+import org.bson.types.Decimal128;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import com.app.service_operations_service.model.DailyRollup;
+import com.app.service_operations_service.model.Invoice;
+import com.app.service_operations_service.model.ServiceRequest;
+import com.app.service_operations_service.model.enums.PaymentStatus;
+import com.app.service_operations_service.model.enums.RequestStatus;
+import com.mongodb.MongoNamespace;
+import com.mongodb.client.model.RenameCollectionOptions;
+
+class DailyRollupOperationsImpl implements DailyRollupOperations {
+
+    static final String REBUILD_COLLECTION = "daily_rollups_rebuild";
+
+    private final MongoTemplate mongoTemplate;
+
+    DailyRollupOperationsImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public void incrementRequests(LocalDate day, long created, long completed, long cancelled) {
+        Update update = new Update();
+        if (created != 0) {
+            update.inc("created", created);
+        }
+        if (completed != 0) {
+            update.inc("completed", completed);
+        }
+        if (cancelled != 0) {
+            update.inc("cancelled", cancelled);
+        }
+        if (!update.getUpdateObject().isEmpty()) {
+            mongoTemplate.upsert(byDay(day), update, DailyRollup.class);
+        }
+    }
+
+    @Override
+    public void addRevenue(LocalDate day, BigDecimal amount) {
+        Update update = new Update()
+                .inc("revenue", new Decimal128(amount))
+                .inc("paidInvoices", 1);
+        mongoTemplate.upsert(byDay(day), update, DailyRollup.class);
+    }
+
+    @Override
+    public void removeRevenue(LocalDate day, BigDecimal amount) {
+        Update update = new Update()
+                .inc("revenue", new Decimal128(amount.negate()))
+                .inc("paidInvoices", -1);
+        mongoTemplate.updateFirst(byDay(day), update, DailyRollup.class);
+    }
+
+    @Override
+    public List<DailyRollup> findRange(LocalDate from, LocalDate to) {
+        Query query = query(where("_id").gte(from.toString()).lte(to.toString()))
+                .with(Sort.by(Sort.Direction.ASC, "_id"));
+        return mongoTemplate.find(query, DailyRollup.class);
+    }
+
+    @Override
+    public long rebuild(ZoneId zone) {
+        mongoTemplate.dropCollection(REBUILD_COLLECTION);
+
+        String requests = mongoTemplate.getCollectionName(ServiceRequest.class);
+        merge(requests, new Document("createdAt", new Document("$ne", null)), "$createdAt",
+                new Document("created", new Document("$sum", 1)), zone);
+        merge(requests, new Document("status", RequestStatus.COMPLETED.name()).append("completedAt", new Document("$ne", null)),
+                "$completedAt", new Document("completed", new Document("$sum", 1)), zone);
+        // Requests cancelled before cancelledAt existed count on their creation day
+        merge(requests, new Document("status", RequestStatus.CANCELLED.name()),
+                new Document("$ifNull", List.of("$cancelledAt", "$createdAt")),
+                new Document("cancelled", new Document("$sum", 1)), zone);
+        merge(mongoTemplate.getCollectionName(Invoice.class), new Document("paymentStatus", PaymentStatus.PAID.name()),
+                new Document("$ifNull", List.of("$paidAt", "$createdAt")),
+                new Document("paidInvoices", new Document("$sum", 1))
+                        .append("revenue", new Document("$sum", new Document("$toDecimal", "$totalAmount"))),
+                zone);
+
+        String target = mongoTemplate.getCollectionName(DailyRollup.class);
+        if (!mongoTemplate.collectionExists(REBUILD_COLLECTION)) {
+            // Nothing to roll up
+            mongoTemplate.remove(new Query(), DailyRollup.class);
+            return 0;
+        }
+        long days = mongoTemplate.getCollection(REBUILD_COLLECTION).countDocuments();
+        mongoTemplate.getCollection(REBUILD_COLLECTION).renameCollection(
+                new MongoNamespace(mongoTemplate.getDb().getName(), target),
+                new RenameCollectionOptions().dropTarget(true));
+        return days;
+    }
+
+    // Groups the matching documents by calendar day of the date expression and
+    // folds the counters into the scratch collection, one field set per pass
+    private void merge(String collection, Document match, Object date, Document counters, ZoneId zone) {
+        Document day = new Document("$dateToString", new Document("format", "%Y-%m-%d")
+                .append("date", date).append("timezone", zone.getId()));
+        Document group = new Document("_id", day);
+        group.putAll(counters);
+        List<Document> pipeline = List.of(
+                new Document("$match", match),
+                new Document("$group", group),
+                new Document("$merge", new Document("into", REBUILD_COLLECTION)
+                        .append("on", "_id")
+                        .append("whenMatched", "merge")
+                        .append("whenNotMatched", "insert")));
+        mongoTemplate.getCollection(collection).aggregate(pipeline).toCollection();
+    }
+
+    private static Query byDay(LocalDate day) {
+        return query(where("_id").is(day.toString()));
+    }
+}
@@ -0,0 +1,8 @@
+package com.app.service_operations_service.repository;
+
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+import com.app.service_operations_service.model.DailyRollup;
+
+public interface DailyRollupRepository extends MongoRepository<DailyRollup, String>, DailyRollupOperations {
+}
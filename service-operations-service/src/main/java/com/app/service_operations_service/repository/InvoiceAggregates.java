@@ -0,0 +1,68 @@
+package com.app.service_operations_service.repository;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+
+import com.app.service_operations_service.model.enums.PaymentStatus;
+
+// Server-side aggregations over invoices
+public interface InvoiceAggregates {
+
+    // Count and total per payment status, plus PAID revenue for the calendar
+    // month containing now in the given zone, in a single $facet pass. Amounts
+    // are summed as Decimal128, so no precision is lost.
+    RevenueSummary summarizeRevenue(Instant now, ZoneId zone);
+
+    // Amount totals over invoices created in [from, to); either bound may be
+    // null. byPaymentMethod adds the same totals per payment method.
+    RevenueReport revenueReport(Instant from, Instant to, boolean byPaymentMethod);
+
+    // PAID revenue per calendar month of createdAt in the given zone, oldest
+    // first, optionally split by payment method
+    List<MonthlyRevenue> monthlyRevenue(Instant from, Instant to, ZoneId zone, boolean byPaymentMethod);
+
+    // PAID revenue in [from, to) per catalog category and, within each, per
+    // service item. Invoices without a stored serviceId are joined to their
+    // request; items are joined once per service, after grouping.
+    List<CategoryRevenue> revenueByCategory(Instant from, Instant to);
+
+    record RevenueTotals(
+            // null for the overall totals and for invoices without a method
+            String paymentMethod,
+            long invoiceCount,
+            long paidCount,
+            BigDecimal serviceAmount,
+            BigDecimal taxAmount,
+            BigDecimal totalAmount) {
+    }
+
+    record RevenueReport(RevenueTotals overall, List<RevenueTotals> byPaymentMethod) {
+    }
+
+    record MonthlyRevenue(Instant monthStart, String paymentMethod, long paidCount, BigDecimal revenue) {
+    }
+
+    // categoryId is null for services that are not in the catalog any more
+    record CategoryRevenue(String categoryId, BigDecimal revenue, long invoiceCount, List<ServiceRevenue> services) {
+    }
+
+    record ServiceRevenue(String serviceId, String serviceName, BigDecimal revenue, long invoiceCount) {
+    }
+
+    record RevenueSummary(
+            Map<PaymentStatus, Long> countByStatus,
+            Map<PaymentStatus, BigDecimal> amountByStatus,
+            BigDecimal currentMonthPaid) {
+
+        public long count(PaymentStatus status) {
+            return countByStatus.getOrDefault(status, 0L);
+        }
+
+        public BigDecimal amount(PaymentStatus status) {
+            return amountByStatus.getOrDefault(status, BigDecimal.ZERO);
+        }
+    }
+}
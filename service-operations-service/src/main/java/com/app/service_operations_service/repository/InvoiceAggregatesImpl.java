@@ -0,0 +1,233 @@
+package com.app.service_operations_service.repository;
+
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.newAggregation;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import org.bson.Document;
+import org.bson.types.Decimal128;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+
+import com.app.service_operations_service.model.Invoice;
+import com.app.service_operations_service.model.ServiceItem;
+import com.app.service_operations_service.model.ServiceRequest;
+import com.app.service_operations_service.model.enums.PaymentStatus;
+
+class InvoiceAggregatesImpl implements InvoiceAggregates {
+
+    private final MongoTemplate mongoTemplate;
+
+    InvoiceAggregatesImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public RevenueSummary summarizeRevenue(Instant now, ZoneId zone) {
+        // BigDecimal amounts are stored as strings; $toDecimal reads those and Decimal128 alike
+        Document amount = new Document("$toDecimal", "$totalAmount");
+
+        // Counts and amounts per status have to read every invoice
+        AggregationOperation byStatus = context -> new Document("$group", new Document("_id", "$paymentStatus")
+                .append("count", new Document("$sum", 1))
+                .append("amount", new Document("$sum", amount)));
+        Map<PaymentStatus, Long> counts = new EnumMap<>(PaymentStatus.class);
+        Map<PaymentStatus, BigDecimal> amounts = new EnumMap<>(PaymentStatus.class);
+        for (Document doc : mongoTemplate.aggregate(newAggregation(byStatus), Invoice.class, Document.class)) {
+            String status = doc.getString("_id");
+            if (status != null) {
+                PaymentStatus paymentStatus = PaymentStatus.valueOf(status);
+                counts.put(paymentStatus, ((Number) doc.get("count")).longValue());
+                amounts.put(paymentStatus, decimal(doc.get("amount")));
+            }
+        }
+
+        // The month total is its own aggregation so its leading $match is an
+        // equality plus range on the (paymentStatus, createdAt) index; inside
+        // a $facet every sub-pipeline works on the full input instead
+        Instant monthStart = now.atZone(zone).toLocalDate().withDayOfMonth(1).atStartOfDay(zone).toInstant();
+        AggregationOperation paidThisMonth = context -> new Document("$match",
+                new Document("paymentStatus", PaymentStatus.PAID.name())
+                        .append("createdAt", new Document("$gte", Date.from(monthStart)).append("$lte", Date.from(now))));
+        AggregationOperation total = context -> new Document("$group", new Document("_id", null)
+                .append("amount", new Document("$sum", amount)));
+        Document month = mongoTemplate.aggregate(newAggregation(paidThisMonth, total), Invoice.class, Document.class)
+                .getUniqueMappedResult();
+        BigDecimal monthPaid = month != null ? decimal(month.get("amount")) : BigDecimal.ZERO;
+
+        return new RevenueSummary(counts, amounts, monthPaid);
+    }
+
+    @Override
+    public RevenueReport revenueReport(Instant from, Instant to, boolean byPaymentMethod) {
+        Document totals = new Document("invoiceCount", new Document("$sum", 1))
+                .append("paidCount", new Document("$sum", new Document("$cond",
+                        List.of(new Document("$eq", List.of("$paymentStatus", PaymentStatus.PAID.name())), 1, 0))))
+                .append("serviceAmount", new Document("$sum", new Document("$toDecimal", "$serviceAmount")))
+                .append("taxAmount", new Document("$sum", new Document("$toDecimal", "$taxAmount")))
+                .append("totalAmount", new Document("$sum", new Document("$toDecimal", "$totalAmount")));
+        Document facets = new Document("overall", List.of(new Document("$group", group(null, totals))));
+        if (byPaymentMethod) {
+            facets.append("byPaymentMethod", List.of(
+                    new Document("$group", group("$paymentMethod", totals)),
+                    new Document("$sort", new Document("_id", 1))));
+        }
+
+        AggregationOperation match = context -> new Document("$match", createdBetween(new Document(), from, to));
+        AggregationOperation facet = context -> new Document("$facet", facets);
+        Document result = mongoTemplate.aggregate(newAggregation(match, facet), Invoice.class, Document.class)
+                .getUniqueMappedResult();
+
+        RevenueTotals overall = new RevenueTotals(null, 0, 0, BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO);
+        List<RevenueTotals> methods = byPaymentMethod ? new ArrayList<>() : null;
+        if (result != null) {
+            List<Document> overallGroups = result.getList("overall", Document.class, List.of());
+            if (!overallGroups.isEmpty()) {
+                overall = totals(null, overallGroups.get(0));
+            }
+            if (byPaymentMethod) {
+                for (Document doc : result.getList("byPaymentMethod", Document.class, List.of())) {
+                    methods.add(totals(doc.getString("_id"), doc));
+                }
+            }
+        }
+        return new RevenueReport(overall, methods);
+    }
+
+    @Override
+    public List<MonthlyRevenue> monthlyRevenue(Instant from, Instant to, ZoneId zone, boolean byPaymentMethod) {
+        Document month = new Document("$dateTrunc", new Document("date", "$createdAt")
+                .append("unit", "month").append("timezone", zone.getId()));
+        Document key = new Document("month", month);
+        if (byPaymentMethod) {
+            key.append("paymentMethod", "$paymentMethod");
+        }
+
+        // PAID plus a createdAt range is a prefix of the (paymentStatus, createdAt) index
+        AggregationOperation match = context -> new Document("$match",
+                createdBetween(new Document("paymentStatus", PaymentStatus.PAID.name()), from, to));
+        AggregationOperation group = context -> new Document("$group", new Document("_id", key)
+                .append("paidCount", new Document("$sum", 1))
+                .append("revenue", new Document("$sum", new Document("$toDecimal", "$totalAmount"))));
+        AggregationOperation sort = context -> new Document("$sort",
+                new Document("_id.month", 1).append("_id.paymentMethod", 1));
+
+        List<MonthlyRevenue> months = new ArrayList<>();
+        for (Document doc : mongoTemplate.aggregate(newAggregation(match, group, sort), Invoice.class, Document.class)
+                .getMappedResults()) {
+            Document id = doc.get("_id", Document.class);
+            months.add(new MonthlyRevenue(
+                    id.getDate("month").toInstant(),
+                    id.getString("paymentMethod"),
+                    ((Number) doc.get("paidCount")).longValue(),
+                    decimal(doc.get("revenue"))));
+        }
+        return months;
+    }
+
+    @Override
+    public List<CategoryRevenue> revenueByCategory(Instant from, Instant to) {
+        String requests = mongoTemplate.getCollectionName(ServiceRequest.class);
+        String items = mongoTemplate.getCollectionName(ServiceItem.class);
+
+        AggregationOperation match = context -> new Document("$match",
+                createdBetween(new Document("paymentStatus", PaymentStatus.PAID.name()), from, to));
+        AggregationOperation project = context -> new Document("$project", new Document("_id", 0)
+                .append("requestId", 1).append("serviceId", 1).append("totalAmount", 1));
+        // Only invoices from before serviceId was stored need their request
+        AggregationOperation lookupRequest = context -> new Document("$lookup", new Document("from", requests)
+                .append("let", new Document("id", new Document("$cond",
+                        Arrays.asList(new Document("$ifNull", List.of("$serviceId", false)), null, "$requestId"))))
+                .append("pipeline", List.of(byId("$$id"), new Document("$project", new Document("_id", 0).append("serviceId", 1))))
+                .append("as", "request"));
+        AggregationOperation byService = context -> new Document("$group", new Document("_id",
+                new Document("$ifNull", List.of("$serviceId", new Document("$arrayElemAt", List.of("$request.serviceId", 0)))))
+                .append("revenue", new Document("$sum", new Document("$toDecimal", "$totalAmount")))
+                .append("invoiceCount", new Document("$sum", 1)));
+        // One item lookup per distinct service rather than per invoice
+        AggregationOperation lookupItem = context -> new Document("$lookup", new Document("from", items)
+                .append("let", new Document("id", "$_id"))
+                .append("pipeline", List.of(byId("$$id"),
+                        new Document("$project", new Document("_id", 0).append("name", 1).append("categoryId", 1))))
+                .append("as", "item"));
+        AggregationOperation byCategory = context -> new Document("$group", new Document("_id",
+                new Document("$arrayElemAt", List.of("$item.categoryId", 0)))
+                .append("revenue", new Document("$sum", "$revenue"))
+                .append("invoiceCount", new Document("$sum", "$invoiceCount"))
+                .append("services", new Document("$push", new Document("serviceId", "$_id")
+                        .append("serviceName", new Document("$arrayElemAt", List.of("$item.name", 0)))
+                        .append("revenue", "$revenue")
+                        .append("invoiceCount", "$invoiceCount"))));
+        AggregationOperation sort = context -> new Document("$sort", new Document("revenue", -1));
+
+        List<CategoryRevenue> categories = new ArrayList<>();
+        for (Document doc : mongoTemplate.aggregate(
+                newAggregation(match, project, lookupRequest, byService, lookupItem, byCategory, sort),
+                Invoice.class, Document.class).getMappedResults()) {
+            List<ServiceRevenue> services = new ArrayList<>();
+            for (Document service : doc.getList("services", Document.class, List.of())) {
+                services.add(new ServiceRevenue(service.getString("serviceId"), service.getString("serviceName"),
+                        decimal(service.get("revenue")), ((Number) service.get("invoiceCount")).longValue()));
+            }
+            services.sort((a, b) -> b.revenue().compareTo(a.revenue()));
+            categories.add(new CategoryRevenue(doc.getString("_id"), decimal(doc.get("revenue")),
+                    ((Number) doc.get("invoiceCount")).longValue(), services));
+        }
+        return categories;
+    }
+
+    // Matches a joined document by a string reference. Generated ids are
+    // stored as ObjectIds, so the reference is converted when it is one.
+    private static Document byId(String reference) {
+        return new Document("$match", new Document("$expr", new Document("$eq", List.of("$_id",
+                new Document("$convert", new Document("input", reference).append("to", "objectId")
+                        .append("onError", reference).append("onNull", null))))));
+    }
+
+    private static Document createdBetween(Document filter, Instant from, Instant to) {
+        Document range = new Document();
+        if (from != null) {
+            range.append("$gte", Date.from(from));
+        }
+        if (to != null) {
+            range.append("$lt", Date.from(to));
+        }
+        if (!range.isEmpty()) {
+            filter.append("createdAt", range);
+        }
+        return filter;
+    }
+
+    private static Document group(Object id, Document accumulators) {
+        Document group = new Document("_id", id);
+        group.putAll(accumulators);
+        return group;
+    }
+
+    private static RevenueTotals totals(String paymentMethod, Document doc) {
+        return new RevenueTotals(paymentMethod,
+                ((Number) doc.get("invoiceCount")).longValue(),
+                ((Number) doc.get("paidCount")).longValue(),
+                decimal(doc.get("serviceAmount")),
+                decimal(doc.get("taxAmount")),
+                decimal(doc.get("totalAmount")));
+    }
+
+    static BigDecimal decimal(Object value) {
+        if (value instanceof Decimal128 d) {
+            return d.bigDecimalValue();
+        }
+        if (value instanceof Number n) {
+            return new BigDecimal(n.toString());
+        }
+        return BigDecimal.ZERO;
+    }
+}
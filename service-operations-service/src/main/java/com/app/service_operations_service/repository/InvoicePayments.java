@@ -0,0 +1,16 @@
+package com.app.service_operations_service.repository;
+
+import org.springframework.data.mongodb.core.query.Update;
+
+import com.app.service_operations_service.model.Invoice;
+import com.app.service_operations_service.model.enums.PaymentStatus;
+
+// Payment changes written as $set updates rather than full saves, so the
+// change stream reports which fields moved. The update only lands while the
+// invoice is still in the payment status it was read in.
+public interface InvoicePayments {
+
+    // Applies the update in one findAndModify and returns the updated invoice,
+    // or null when no invoice with this id is in the expected status
+    Invoice updatePayment(String id, PaymentStatus expected, Update update);
+}
@@ -0,0 +1,27 @@
+package com.app.service_operations_service.repository;
+
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import com.app.service_operations_service.model.Invoice;
+import com.app.service_operations_service.model.enums.PaymentStatus;
+
+class InvoicePaymentsImpl implements InvoicePayments {
+
+    private final MongoTemplate mongoTemplate;
+
+    InvoicePaymentsImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public Invoice updatePayment(String id, PaymentStatus expected, Update update) {
+        // A null status also matches invoices stored before it existed
+        Query query = new Query(Criteria.where("id").is(id).and("paymentStatus").is(expected));
+        return mongoTemplate.findAndModify(query, update,
+                FindAndModifyOptions.options().returnNew(true), Invoice.class);
+    }
+}
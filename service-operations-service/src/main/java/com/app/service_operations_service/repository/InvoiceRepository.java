@@ -8,7 +8,7 @@ import org.springframework.data.mongodb.repository.MongoRepository;
 import com.app.service_operations_service.model.Invoice;
 import com.app.service_operations_service.model.enums.PaymentStatus;
 
-public interface InvoiceRepository extends MongoRepository<Invoice, String> {
+public interface InvoiceRepository extends MongoRepository<Invoice, String>, InvoiceAggregates, InvoicePayments {
     List<Invoice> findByCustomerId(String customerId);
     List<Invoice> findByPaymentStatus(PaymentStatus paymentStatus);
     Optional<Invoice> findByRequestId(String requestId);
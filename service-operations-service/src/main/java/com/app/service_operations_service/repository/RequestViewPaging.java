@@ -0,0 +1,37 @@
+package com.app.service_operations_service.repository;
+
+import java.util.List;
+
+import com.app.service_operations_service.model.RequestView;
+import com.app.service_operations_service.model.enums.RequestStatus;
+import com.app.service_operations_service.repository.ServiceRequestPaging.PageCursor;
+
+// Keyset pagination over request_views with the same (createdAt, _id) order
+// and cursor format as ServiceRequestPaging
+public interface RequestViewPaging {
+
+    List<RequestView> findPage(Filter filter, PageCursor after, int limit);
+
+    long countMatching(Filter filter);
+
+    // Null fields are not filtered on. Technicians are looked up by their user
+    // id, which the view carries, so no profile lookup is needed first.
+    record Filter(RequestStatus status, String customerId, String technicianUserId) {
+
+        public static Filter all() {
+            return new Filter(null, null, null);
+        }
+
+        public static Filter status(RequestStatus status) {
+            return new Filter(status, null, null);
+        }
+
+        public static Filter customer(String customerId) {
+            return new Filter(null, customerId, null);
+        }
+
+        public static Filter technicianUser(String technicianUserId) {
+            return new Filter(null, null, technicianUserId);
+        }
+    }
+}
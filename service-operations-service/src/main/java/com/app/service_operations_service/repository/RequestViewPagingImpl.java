@@ -0,0 +1,50 @@
+package com.app.service_operations_service.repository;
+
+import java.util.List;
+
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import com.app.service_operations_service.model.RequestView;
+import com.app.service_operations_service.repository.ServiceRequestPaging.PageCursor;
+
+class RequestViewPagingImpl implements RequestViewPaging {
+
+    private final MongoTemplate mongoTemplate;
+
+    RequestViewPagingImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public List<RequestView> findPage(Filter filter, PageCursor after, int limit) {
+        Criteria criteria = criteria(filter);
+        if (after != null) {
+            criteria = criteria.orOperator(
+                    Criteria.where("createdAt").lt(after.createdAt()),
+                    Criteria.where("createdAt").is(after.createdAt()).and("id").lt(after.id()));
+        }
+        Query query = new Query(criteria).with(ServiceRequestPagingImpl.NEWEST_FIRST).limit(limit);
+        return mongoTemplate.find(query, RequestView.class);
+    }
+
+    @Override
+    public long countMatching(Filter filter) {
+        return mongoTemplate.count(new Query(criteria(filter)), RequestView.class);
+    }
+
+    static Criteria criteria(Filter filter) {
+        Criteria criteria = new Criteria();
+        if (filter.status() != null) {
+            criteria = criteria.and("status").is(filter.status());
+        }
+        if (filter.customerId() != null) {
+            criteria = criteria.and("customerId").is(filter.customerId());
+        }
+        if (filter.technicianUserId() != null) {
+            criteria = criteria.and("technician.userId").is(filter.technicianUserId());
+        }
+        return criteria;
+    }
+}
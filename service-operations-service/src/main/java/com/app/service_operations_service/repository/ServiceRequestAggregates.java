@@ -0,0 +1,32 @@
+package com.app.service_operations_service.repository;
+
+import java.util.Map;
+
+import com.app.service_operations_service.model.enums.RequestStatus;
+
+// Server-side aggregations over service_requests; nothing here loads documents
+public interface ServiceRequestAggregates {
+
+    // Request count per status in one $group; statuses without requests are absent
+    Map<RequestStatus, Long> countAllByStatus();
+
+    // Status counts, per-service counts and resolution time of completed
+    // requests, computed in a single $facet pass
+    Summary summarize();
+
+    record Summary(
+            Map<RequestStatus, Long> byStatus,
+            Map<String, Long> byService,
+            // Mean of whole minutes between createdAt and completedAt
+            double averageResolutionMinutes,
+            long resolvedCount) {
+
+        public long total() {
+            return byStatus.values().stream().mapToLong(Long::longValue).sum();
+        }
+
+        public long count(RequestStatus status) {
+            return byStatus.getOrDefault(status, 0L);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.app.service_operations_service.repository;
+
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.group;
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.newAggregation;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.bson.Document;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+
+import com.app.service_operations_service.model.ServiceRequest;
+import com.app.service_operations_service.model.enums.RequestStatus;
+
+class ServiceRequestAggregatesImpl implements ServiceRequestAggregates {
+
+    private final MongoTemplate mongoTemplate;
+
+    ServiceRequestAggregatesImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public Map<RequestStatus, Long> countAllByStatus() {
+        Aggregation aggregation = newAggregation(group("status").count().as("count"));
+        return statusCounts(mongoTemplate.aggregate(aggregation, ServiceRequest.class, Document.class)
+                .getMappedResults());
+    }
+
+    @Override
+    public Summary summarize() {
+        // Only the fields the facets read travel past the first stage
+        AggregationOperation project = context -> new Document("$project", new Document("_id", 0)
+                .append("status", 1).append("serviceId", 1).append("createdAt", 1).append("completedAt", 1));
+        AggregationOperation facet = context -> new Document("$facet", new Document()
+                .append("byStatus", List.of(
+                        new Document("$group", new Document("_id", "$status").append("count", new Document("$sum", 1)))))
+                .append("byService", List.of(
+                        new Document("$match", new Document("serviceId", new Document("$ne", null))),
+                        new Document("$group", new Document("_id", "$serviceId").append("count", new Document("$sum", 1)))))
+                .append("resolution", List.of(
+                        new Document("$match", new Document("status", RequestStatus.COMPLETED.name())
+                                .append("createdAt", new Document("$ne", null))
+                                .append("completedAt", new Document("$ne", null))),
+                        // Whole minutes per request, as Duration.toMinutes() did
+                        new Document("$group", new Document("_id", null)
+                                .append("avgMinutes", new Document("$avg", new Document("$floor", new Document("$divide",
+                                        List.of(new Document("$subtract", List.of("$completedAt", "$createdAt")), 60_000)))))
+                                .append("count", new Document("$sum", 1))))));
+
+        Document result = mongoTemplate.aggregate(newAggregation(project, facet), ServiceRequest.class, Document.class)
+                .getUniqueMappedResult();
+        if (result == null) {
+            return new Summary(Map.of(), Map.of(), 0.0, 0);
+        }
+
+        Map<String, Long> byService = new HashMap<>();
+        for (Document doc : result.getList("byService", Document.class, List.of())) {
+            byService.put(doc.getString("_id"), ((Number) doc.get("count")).longValue());
+        }
+        List<Document> resolution = result.getList("resolution", Document.class, List.of());
+        double avgMinutes = 0.0;
+        long resolved = 0;
+        if (!resolution.isEmpty()) {
+            Object avg = resolution.get(0).get("avgMinutes");
+            avgMinutes = avg instanceof Number n ? n.doubleValue() : 0.0;
+            resolved = ((Number) resolution.get(0).get("count")).longValue();
+        }
+        return new Summary(statusCounts(result.getList("byStatus", Document.class, List.of())),
+                byService, avgMinutes, resolved);
+    }
+
+    private static Map<RequestStatus, Long> statusCounts(List<Document> groups) {
+        Map<RequestStatus, Long> counts = new EnumMap<>(RequestStatus.class);
+        for (Document doc : groups) {
+            String status = doc.getString("_id");
+            if (status != null) {
+                counts.put(RequestStatus.valueOf(status), ((Number) doc.get("count")).longValue());
+            }
+        }
+        return counts;
+    }
+}
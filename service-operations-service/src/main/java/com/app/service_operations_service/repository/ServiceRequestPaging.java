@@ -0,0 +1,43 @@
+package com.app.service_operations_service.repository;
+
+import java.time.Instant;
+import java.util.List;
+
+import com.app.service_operations_service.model.ServiceRequest;
+import com.app.service_operations_service.model.enums.RequestStatus;
+
+// Keyset pagination over service_requests, newest first on (createdAt, _id).
+// Each page seeks from the last row of the previous one, so the cost does not
+// grow with the page number the way skip/limit does.
+public interface ServiceRequestPaging {
+
+    // Up to limit requests matching the filter that sort after the cursor;
+    // a null cursor starts from the newest request
+    List<ServiceRequest> findPage(Filter filter, PageCursor after, int limit);
+
+    long countMatching(Filter filter);
+
+    // Null fields are not filtered on
+    record Filter(RequestStatus status, String customerId, String technicianId) {
+
+        public static Filter all() {
+            return new Filter(null, null, null);
+        }
+
+        public static Filter status(RequestStatus status) {
+            return new Filter(status, null, null);
+        }
+
+        public static Filter customer(String customerId) {
+            return new Filter(null, customerId, null);
+        }
+
+        public static Filter technician(String technicianId) {
+            return new Filter(null, null, technicianId);
+        }
+    }
+
+    // Sort key of the last request on a page
+    record PageCursor(Instant createdAt, String id) {
+    }
+}
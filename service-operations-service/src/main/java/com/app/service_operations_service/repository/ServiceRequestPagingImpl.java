@@ -0,0 +1,54 @@
+package com.app.service_operations_service.repository;
+
+import java.util.List;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import com.app.service_operations_service.model.ServiceRequest;
+
+class ServiceRequestPagingImpl implements ServiceRequestPaging {
+
+    // Matches the trailing keys of the *_createdAt_id indexes on ServiceRequest
+    static final Sort NEWEST_FIRST = Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("id"));
+
+    private final MongoTemplate mongoTemplate;
+
+    ServiceRequestPagingImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public List<ServiceRequest> findPage(Filter filter, PageCursor after, int limit) {
+        Criteria criteria = criteria(filter);
+        if (after != null) {
+            // Strictly older, or the same instant with a smaller id
+            criteria = criteria.orOperator(
+                    Criteria.where("createdAt").lt(after.createdAt()),
+                    Criteria.where("createdAt").is(after.createdAt()).and("id").lt(after.id()));
+        }
+        Query query = new Query(criteria).with(NEWEST_FIRST).limit(limit);
+        return mongoTemplate.find(query, ServiceRequest.class);
+    }
+
+    @Override
+    public long countMatching(Filter filter) {
+        return mongoTemplate.count(new Query(criteria(filter)), ServiceRequest.class);
+    }
+
+    static Criteria criteria(Filter filter) {
+        Criteria criteria = new Criteria();
+        if (filter.status() != null) {
+            criteria = criteria.and("status").is(filter.status());
+        }
+        if (filter.customerId() != null) {
+            criteria = criteria.and("customerId").is(filter.customerId());
+        }
+        if (filter.technicianId() != null) {
+            criteria = criteria.and("technicianId").is(filter.technicianId());
+        }
+        return criteria;
+    }
+}
@@ -8,7 +8,9 @@ import org.springframework.data.mongodb.repository.MongoRepository;
 
 import com.app.service_operations_service.model.ServiceRequest;
 
-public interface ServiceRequestRepository extends MongoRepository<ServiceRequest, String> {
+public interface ServiceRequestRepository
+        extends MongoRepository<ServiceRequest, String>, ServiceRequestAggregates, ServiceRequestPaging,
+        ServiceRequestTransitions, ServiceRequestSearch {
     Optional<ServiceRequest> findByRequestNumber(String requestNumber);
     List<ServiceRequest> findByCustomerId(String customerId);
     List<ServiceRequest> findByTechnicianId(String technicianId);
@@ -0,0 +1,24 @@
+package com.app.service_operations_service.repository;
+
+import java.time.Instant;
+import java.util.List;
+
+import com.app.service_operations_service.model.ServiceRequest;
+import com.app.service_operations_service.model.enums.RequestStatus;
+import com.app.service_operations_service.repository.ServiceRequestPaging.PageCursor;
+
+// Filtered search over service_requests, keyset-paged newest first with the
+// same cursor as ServiceRequestPaging
+public interface ServiceRequestSearch {
+
+    List<ServiceRequest> search(SearchQuery query, PageCursor after, int limit);
+
+    long countSearch(SearchQuery query);
+
+    // Null fields are not filtered on. numberPrefix is an anchored prefix on
+    // requestNumber, served by its unique index; text goes through the text
+    // index on address. from is inclusive and to exclusive, both on createdAt.
+    record SearchQuery(String numberPrefix, String text, String customerId, RequestStatus status,
+            Instant from, Instant to) {
+    }
+}
@@ -0,0 +1,71 @@
+package com.app.service_operations_service.repository;
+
+import java.util.List;
+import java.util.regex.Pattern;
+
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.TextCriteria;
+
+import com.app.service_operations_service.model.ServiceRequest;
+import com.app.service_operations_service.repository.ServiceRequestPaging.PageCursor;
+
+class ServiceRequestSearchImpl implements ServiceRequestSearch {
+
+    private final MongoTemplate mongoTemplate;
+
+    ServiceRequestSearchImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public List<ServiceRequest> search(SearchQuery search, PageCursor after, int limit) {
+        Criteria criteria = criteria(search);
+        if (after != null) {
+            criteria = criteria.orOperator(
+                    Criteria.where("createdAt").lt(after.createdAt()),
+                    Criteria.where("createdAt").is(after.createdAt()).and("id").lt(after.id()));
+        }
+        Query query = query(search, criteria).with(ServiceRequestPagingImpl.NEWEST_FIRST).limit(limit);
+        return mongoTemplate.find(query, ServiceRequest.class);
+    }
+
+    @Override
+    public long countSearch(SearchQuery search) {
+        return mongoTemplate.count(query(search, criteria(search)), ServiceRequest.class);
+    }
+
+    // Matches are ordered by recency, not text score, so pages stay stable
+    // and share the listing cursor
+    private static Query query(SearchQuery search, Criteria criteria) {
+        Query query = new Query(criteria);
+        if (search.text() != null) {
+            query.addCriteria(TextCriteria.forDefaultLanguage().matching(search.text()));
+        }
+        return query;
+    }
+
+    static Criteria criteria(SearchQuery search) {
+        Criteria criteria = new Criteria();
+        if (search.numberPrefix() != null) {
+            criteria = criteria.and("requestNumber").regex("^" + Pattern.quote(search.numberPrefix()));
+        }
+        if (search.customerId() != null) {
+            criteria = criteria.and("customerId").is(search.customerId());
+        }
+        if (search.status() != null) {
+            criteria = criteria.and("status").is(search.status());
+        }
+        if (search.from() != null || search.to() != null) {
+            Criteria createdAt = criteria.and("createdAt");
+            if (search.from() != null) {
+                createdAt.gte(search.from());
+            }
+            if (search.to() != null) {
+                createdAt.lt(search.to());
+            }
+        }
+        return criteria;
+    }
+}
@@ -0,0 +1,18 @@
+package com.app.service_operations_service.repository;
+
+import java.util.Set;
+
+import org.springframework.data.mongodb.core.query.Update;
+
+import com.app.service_operations_service.model.ServiceRequest;
+import com.app.service_operations_service.model.enums.RequestStatus;
+
+// Compare-and-set writes for service request transitions. The update only
+// lands while the request is still in one of the expected statuses, so two
+// concurrent transitions cannot overwrite each other.
+public interface ServiceRequestTransitions {
+
+    // Applies the update in one findAndModify and returns the updated request,
+    // or null when no request with this id is in one of the from statuses
+    ServiceRequest transition(String id, Set<RequestStatus> from, Update update);
+}
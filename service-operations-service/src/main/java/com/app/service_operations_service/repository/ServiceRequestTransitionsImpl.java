@@ -0,0 +1,28 @@
+package com.app.service_operations_service.repository;
+
+import java.util.Set;
+
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import com.app.service_operations_service.model.ServiceRequest;
+import com.app.service_operations_service.model.enums.RequestStatus;
+
+class ServiceRequestTransitionsImpl implements ServiceRequestTransitions {
+
+    private final MongoTemplate mongoTemplate;
+
+    ServiceRequestTransitionsImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public ServiceRequest transition(String id, Set<RequestStatus> from, Update update) {
+        Query query = new Query(Criteria.where("id").is(id).and("status").in(from));
+        return mongoTemplate.findAndModify(query, update,
+                FindAndModifyOptions.options().returnNew(true), ServiceRequest.class);
+    }
+}
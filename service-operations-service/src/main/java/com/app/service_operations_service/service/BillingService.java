@@ -3,27 +3,35 @@ package com.app.service_operations_service.service;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.Instant;
+import java.time.LocalDate;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
-import java.util.Objects;
+import java.util.Set;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.app.service_operations_service.dto.billing.CreateInvoiceRequest;
 import com.app.service_operations_service.dto.billing.InvoiceResponse;
 import com.app.service_operations_service.dto.billing.MonthlyRevenueEntry;
+import com.app.service_operations_service.dto.billing.PaymentMethodRevenue;
 import com.app.service_operations_service.dto.billing.PaymentUpdateRequest;
 import com.app.service_operations_service.dto.billing.RevenueReportResponse;
 import com.app.service_operations_service.exception.BadRequestException;
+import com.app.service_operations_service.exception.ConflictException;
 import com.app.service_operations_service.exception.NotFoundException;
 import com.app.service_operations_service.model.Invoice;
 import com.app.service_operations_service.model.ServiceItem;
 import com.app.service_operations_service.model.ServiceRequest;
 import com.app.service_operations_service.model.enums.PaymentStatus;
+import com.app.service_operations_service.repository.InvoiceAggregates;
 import com.app.service_operations_service.repository.InvoiceRepository;
 import com.app.service_operations_service.repository.ServiceItemRepository;
 import com.app.service_operations_service.repository.ServiceRequestRepository;
@@ -37,18 +45,24 @@ public class BillingService {
     private final InvoiceRepository invoiceRepository;
     private final ServiceRequestRepository requestRepository;
     private final ServiceItemRepository serviceItemRepository;
+    private final TrendService trendService;
+    private final ZoneId reportZone;
 
     public BillingService(InvoiceRepository invoiceRepository, ServiceRequestRepository requestRepository,
-                         ServiceItemRepository serviceItemRepository) {
+                         ServiceItemRepository serviceItemRepository, TrendService trendService,
+                         @Value("${app.reports.zone:}") String reportZone) {
         this.invoiceRepository = invoiceRepository;
         this.requestRepository = requestRepository;
         this.serviceItemRepository = serviceItemRepository;
+        this.trendService = trendService;
+        // Unset means the server zone, which the reports used before
+        this.reportZone = reportZone == null || reportZone.isBlank() ? ZoneId.systemDefault() : ZoneId.of(reportZone);
     }
 
     public InvoiceResponse createInvoice(CreateInvoiceRequest request) {
-        if (!requestRepository.existsById(request.getRequestId())) {
-            throw new BadRequestException("Service request not found for invoice: " + request.getRequestId());
-        }
+        ServiceRequest serviceRequest = requestRepository.findById(request.getRequestId())
+                .orElseThrow(() -> new BadRequestException(
+                        "Service request not found for invoice: " + request.getRequestId()));
         
         // Validate amounts are positive
         if (request.getServiceAmount().compareTo(BigDecimal.ZERO) <= 0) {
@@ -64,6 +78,11 @@ public class BillingService {
         Invoice invoice = new Invoice();
         invoice.setRequestId(request.getRequestId());
         invoice.setCustomerId(request.getCustomerId());
+        invoice.setServiceId(serviceRequest.getServiceId());
+        if (serviceRequest.getServiceId() != null) {
+            serviceItemRepository.findById(serviceRequest.getServiceId())
+                    .ifPresent(item -> invoice.setServiceName(item.getName()));
+        }
         invoice.setServiceAmount(request.getServiceAmount());
         invoice.setTaxAmount(request.getTaxAmount());
         invoice.setTotalAmount(request.getTotalAmount());
@@ -77,20 +96,32 @@ public class BillingService {
     }
 
     public List<InvoiceResponse> getByCustomer(String customerId) {
-        return invoiceRepository.findByCustomerId(customerId).stream()
-                .map(this::toResponse)
-                .toList();
+        return toResponses(invoiceRepository.findByCustomerId(customerId));
     }
 
     public InvoiceResponse updatePayment(String id, PaymentUpdateRequest request) {
         Invoice invoice = invoiceRepository.findById(id)
                 .orElseThrow(() -> new NotFoundException(INVOICE_NOT_FOUND + id));
-        invoice.setPaymentStatus(request.getPaymentStatus());
-        invoice.setPaymentMethod(request.getPaymentMethod());
+        boolean paying = request.getPaymentStatus() == PaymentStatus.PAID
+                && invoice.getPaymentStatus() != PaymentStatus.PAID;
+        boolean unpaying = request.getPaymentStatus() != PaymentStatus.PAID
+                && invoice.getPaymentStatus() == PaymentStatus.PAID;
+        // The day the rollup counted the payment on; rebuild falls back to
+        // createdAt for invoices paid before paidAt existed
+        Instant countedOn = invoice.getPaidAt() != null ? invoice.getPaidAt() : invoice.getCreatedAt();
+        Update update = new Update()
+                .set("paymentStatus", request.getPaymentStatus())
+                .set("paymentMethod", request.getPaymentMethod());
         if (request.getPaymentStatus() == PaymentStatus.PAID && invoice.getPaidAt() == null) {
-            invoice.setPaidAt(Instant.now());
+            update.set("paidAt", Instant.now());
         }
-        return toResponse(invoiceRepository.save(invoice));
+        Invoice saved = changePayment(invoice, update);
+        if (paying) {
+            trendService.invoicePaid(saved.getPaidAt(), saved.getTotalAmount());
+        } else if (unpaying) {
+            trendService.invoiceUnpaid(countedOn, saved.getTotalAmount());
+        }
+        return toResponse(saved);
     }
 
     public InvoiceResponse getByRequestId(String requestId) {
@@ -132,6 +163,8 @@ public class BillingService {
         Invoice invoice = new Invoice();
         invoice.setRequestId(requestId);
         invoice.setCustomerId(serviceRequest.getCustomerId());
+        invoice.setServiceId(serviceRequest.getServiceId());
+        invoice.setServiceName(serviceItem != null ? serviceItem.getName() : null);
         invoice.setServiceAmount(serviceAmount);
         invoice.setTaxAmount(taxAmount);
         invoice.setTotalAmount(totalAmount);
@@ -148,105 +181,138 @@ public class BillingService {
             throw new BadRequestException("Invoice is already paid");
         }
         
-        invoice.setPaymentStatus(PaymentStatus.PAID);
-        invoice.setPaymentMethod("Online Payment");
-        invoice.setPaidAt(Instant.now());
-        
-        return toResponse(invoiceRepository.save(invoice));
+        Invoice saved = changePayment(invoice, new Update()
+                .set("paymentStatus", PaymentStatus.PAID)
+                .set("paymentMethod", "Online Payment")
+                .set("paidAt", Instant.now()));
+        trendService.invoicePaid(saved.getPaidAt(), saved.getTotalAmount());
+        return toResponse(saved);
+    }
+
+    // Writes a payment change as a $set, guarded on the status the decision
+    // was made from, so the rollup is adjusted once per actual change
+    private Invoice changePayment(Invoice invoice, Update update) {
+        Invoice saved = invoiceRepository.updatePayment(invoice.getId(), invoice.getPaymentStatus(), update);
+        if (saved == null) {
+            throw new ConflictException("Payment of invoice " + invoice.getId() + " was changed concurrently");
+        }
+        return saved;
     }
 
-    public RevenueReportResponse revenueReport() {
-        List<Invoice> invoices = invoiceRepository.findAll();
-        BigDecimal totalService = invoices.stream()
-                .map(Invoice::getServiceAmount)
-                .filter(Objects::nonNull)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-        BigDecimal totalTax = invoices.stream()
-                .map(Invoice::getTaxAmount)
-                .filter(Objects::nonNull)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-        BigDecimal totalRevenue = invoices.stream()
-                .map(Invoice::getTotalAmount)
-                .filter(Objects::nonNull)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-        long paidCount = invoices.stream()
-                .filter(i -> i.getPaymentStatus() == PaymentStatus.PAID)
-                .count();
+    // Totals over invoices created between from and to (inclusive calendar
+    // days in the report zone), computed by one aggregation
+    public RevenueReportResponse revenueReport(LocalDate from, LocalDate to, boolean byPaymentMethod) {
+        validateRange(from, to);
+        InvoiceAggregates.RevenueReport report =
+                invoiceRepository.revenueReport(startOf(from), startOf(dayAfter(to)), byPaymentMethod);
 
+        InvoiceAggregates.RevenueTotals overall = report.overall();
         RevenueReportResponse response = new RevenueReportResponse();
-        response.setTotalServiceAmount(totalService);
-        response.setTotalTaxAmount(totalTax);
-        response.setTotalRevenue(totalRevenue);
-        response.setInvoiceCount(invoices.size());
-        response.setPaidCount(paidCount);
+        response.setTotalServiceAmount(overall.serviceAmount());
+        response.setTotalTaxAmount(overall.taxAmount());
+        response.setTotalRevenue(overall.totalAmount());
+        response.setInvoiceCount(overall.invoiceCount());
+        response.setPaidCount(overall.paidCount());
+        if (report.byPaymentMethod() != null) {
+            response.setByPaymentMethod(report.byPaymentMethod().stream()
+                    .map(t -> new PaymentMethodRevenue(t.paymentMethod(), t.invoiceCount(), t.paidCount(),
+                            t.serviceAmount(), t.taxAmount(), t.totalAmount()))
+                    .toList());
+        }
         return response;
     }
 
-    public List<MonthlyRevenueEntry> monthlyRevenue() {
-        List<Invoice> invoices = invoiceRepository.findAll().stream()
-                .filter(i -> i.getPaymentStatus() == PaymentStatus.PAID)
+    // Paid revenue per calendar month in the report zone, oldest first
+    public List<MonthlyRevenueEntry> monthlyRevenue(LocalDate from, LocalDate to, boolean byPaymentMethod) {
+        validateRange(from, to);
+        return invoiceRepository.monthlyRevenue(startOf(from), startOf(dayAfter(to)), reportZone, byPaymentMethod)
+                .stream()
+                .map(month -> {
+                    ZonedDateTime start = month.monthStart().atZone(reportZone);
+                    MonthlyRevenueEntry entry = new MonthlyRevenueEntry();
+                    entry.setYear(start.getYear());
+                    entry.setMonth(start.getMonthValue());
+                    entry.setTotalRevenue(month.revenue());
+                    entry.setPaidInvoiceCount(month.paidCount());
+                    entry.setPaymentMethod(month.paymentMethod());
+                    return entry;
+                })
                 .toList();
+    }
+
+    private static void validateRange(LocalDate from, LocalDate to) {
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new BadRequestException("from must not be after to");
+        }
+    }
 
-        Map<String, List<Invoice>> grouped = invoices.stream()
-                .collect(Collectors.groupingBy(inv -> {
-                    ZonedDateTime zdt = inv.getCreatedAt()
-                            .atZone(ZoneId.systemDefault());
-                    int year = zdt.getYear();
-                    int month = zdt.getMonthValue();
-                    return year + "-" + month;
-                }));
+    private Instant startOf(LocalDate day) {
+        return day != null ? day.atStartOfDay(reportZone).toInstant() : null;
+    }
 
-        return grouped.entrySet().stream()
-                .map(entry -> {
-                    List<Invoice> group = entry.getValue();
-                    if (group.isEmpty()) {
-                        return null;
+    private static LocalDate dayAfter(LocalDate day) {
+        return day != null ? day.plusDays(1) : null;
+    }
+
+    private InvoiceResponse toResponse(Invoice invoice) {
+        return toResponses(List.of(invoice)).get(0);
+    }
+
+    // Service names come from the invoice itself. Invoices created before
+    // they were copied there are resolved together: one $in query for their
+    // requests and one for the catalog items.
+    private List<InvoiceResponse> toResponses(List<Invoice> invoices) {
+        Map<String, String> missingRequestIds = new HashMap<>();
+        Set<String> serviceIds = new HashSet<>();
+        for (Invoice invoice : invoices) {
+            if (invoice.getServiceName() != null) {
+                continue;
+            }
+            if (invoice.getServiceId() != null) {
+                serviceIds.add(invoice.getServiceId());
+            } else if (invoice.getRequestId() != null) {
+                missingRequestIds.put(invoice.getRequestId(), null);
+            }
+        }
+        Map<String, String> serviceNames = new HashMap<>();
+        try {
+            if (!missingRequestIds.isEmpty()) {
+                for (ServiceRequest request : requestRepository.findAllById(missingRequestIds.keySet())) {
+                    if (request.getServiceId() != null) {
+                        missingRequestIds.put(request.getId(), request.getServiceId());
+                        serviceIds.add(request.getServiceId());
                     }
-                    ZonedDateTime zdt = group.get(0).getCreatedAt().atZone(ZoneId.systemDefault());
-                    int year = zdt.getYear();
-                    int month = zdt.getMonthValue();
+                }
+            }
+            if (!serviceIds.isEmpty()) {
+                for (ServiceItem item : serviceItemRepository.findAllById(serviceIds)) {
+                    serviceNames.put(item.getId(), item.getName());
+                }
+            }
+        } catch (DataAccessException e) {
+            // A missing name is not worth failing the response; serviceName stays null
+        }
 
-                    MonthlyRevenueEntry mr = new MonthlyRevenueEntry();
-                    mr.setYear(year);
-                    mr.setMonth(month);
-                    mr.setTotalRevenue(group.stream()
-                            .map(Invoice::getTotalAmount)
-                            .filter(Objects::nonNull)
-                            .reduce(BigDecimal.ZERO, BigDecimal::add));
-                    mr.setPaidInvoiceCount(group.size());
-                    return mr;
-                })
-                .filter(Objects::nonNull)
-                .sorted((a, b) -> {
-                    if (a.getYear() != b.getYear()) {
-                        return Integer.compare(a.getYear(), b.getYear());
+        return invoices.stream()
+                .map(invoice -> {
+                    String serviceName = invoice.getServiceName();
+                    if (serviceName == null) {
+                        String serviceId = invoice.getServiceId() != null
+                                ? invoice.getServiceId()
+                                : missingRequestIds.get(invoice.getRequestId());
+                        serviceName = serviceId != null ? serviceNames.get(serviceId) : null;
                     }
-                    return Integer.compare(a.getMonth(), b.getMonth());
+                    return toResponse(invoice, serviceName);
                 })
                 .toList();
     }
 
-    private InvoiceResponse toResponse(Invoice invoice) {
+    private InvoiceResponse toResponse(Invoice invoice, String serviceName) {
         InvoiceResponse response = new InvoiceResponse();
         response.setId(invoice.getId());
         response.setRequestId(invoice.getRequestId());
         response.setCustomerId(invoice.getCustomerId());
-        
-        // Get service name from request
-        String serviceName = null;
-        try {
-            ServiceRequest serviceRequest = requestRepository.findById(invoice.getRequestId()).orElse(null);
-            if (serviceRequest != null && serviceRequest.getServiceId() != null) {
-                ServiceItem serviceItem = serviceItemRepository.findById(serviceRequest.getServiceId()).orElse(null);
-                if (serviceItem != null) {
-                    serviceName = serviceItem.getName();
-                }
-            }
-        } catch (Exception e) {
-            // Ignore errors, serviceName will remain null
-        }
         response.setServiceName(serviceName);
-        
         response.setServiceAmount(invoice.getServiceAmount());
         response.setTaxAmount(invoice.getTaxAmount());
         response.setTotalAmount(invoice.getTotalAmount());
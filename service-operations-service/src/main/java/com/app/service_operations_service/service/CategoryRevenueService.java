@@ -0,0 +1,110 @@
+package com.app.service_operations_service.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.app.service_operations_service.dto.billing.CategoryRevenueEntry;
+import com.app.service_operations_service.exception.BadRequestException;
+import com.app.service_operations_service.model.ServiceCategory;
+import com.app.service_operations_service.repository.InvoiceAggregates;
+import com.app.service_operations_service.repository.InvoiceRepository;
+import com.app.service_operations_service.repository.ServiceCategoryRepository;
+
+// Paid revenue per catalog category for a date range. The aggregation reads
+// every paid invoice in the range, so results are kept per range for a short
+// TTL; a payment shows up in the report once its range entry expires.
+@Service
+public class CategoryRevenueService {
+
+    // Ranges are user supplied; past this many the whole cache is dropped
+    static final int MAX_CACHED_RANGES = 128;
+
+    private final InvoiceRepository invoiceRepository;
+    private final ServiceCategoryRepository categoryRepository;
+    private final ZoneId zone;
+    private final Duration ttl;
+    private final Map<Range, Entry> cache = new ConcurrentHashMap<>();
+
+    public CategoryRevenueService(
+            InvoiceRepository invoiceRepository,
+            ServiceCategoryRepository categoryRepository,
+            @Value("${app.reports.zone:}") String zone,
+            @Value("${app.reports.category-revenue.ttl-ms:300000}") long ttlMs) {
+        this.invoiceRepository = invoiceRepository;
+        this.categoryRepository = categoryRepository;
+        this.zone = zone == null || zone.isBlank() ? ZoneId.systemDefault() : ZoneId.of(zone);
+        this.ttl = Duration.ofMillis(ttlMs);
+    }
+
+    // from/to are inclusive calendar days in the report zone; both optional
+    public List<CategoryRevenueEntry> revenueByCategory(LocalDate from, LocalDate to) {
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new BadRequestException("from must not be after to");
+        }
+        Range range = new Range(from, to);
+        Entry entry = cache.get(range);
+        if (entry != null && entry.isFresh(ttl)) {
+            return entry.categories();
+        }
+
+        List<CategoryRevenueEntry> categories = load(range);
+        if (cache.size() >= MAX_CACHED_RANGES) {
+            cache.clear();
+        }
+        cache.put(range, new Entry(categories, Instant.now()));
+        return categories;
+    }
+
+    private List<CategoryRevenueEntry> load(Range range) {
+        Instant start = range.from() != null ? range.from().atStartOfDay(zone).toInstant() : null;
+        Instant end = range.to() != null ? range.to().plusDays(1).atStartOfDay(zone).toInstant() : null;
+        List<InvoiceAggregates.CategoryRevenue> rows = invoiceRepository.revenueByCategory(start, end);
+
+        Map<String, String> names = new HashMap<>();
+        List<String> categoryIds = rows.stream()
+                .map(InvoiceAggregates.CategoryRevenue::categoryId)
+                .filter(Objects::nonNull)
+                .toList();
+        if (!categoryIds.isEmpty()) {
+            for (ServiceCategory category : categoryRepository.findAllById(categoryIds)) {
+                names.put(category.getId(), category.getName());
+            }
+        }
+
+        return rows.stream()
+                .map(row -> CategoryRevenueEntry.builder()
+                        .categoryId(row.categoryId())
+                        .categoryName(row.categoryId() != null ? names.get(row.categoryId()) : null)
+                        .totalRevenue(row.revenue())
+                        .paidInvoiceCount(row.invoiceCount())
+                        .services(row.services().stream()
+                                .map(service -> CategoryRevenueEntry.ServiceRevenue.builder()
+                                        .serviceId(service.serviceId())
+                                        .serviceName(service.serviceName())
+                                        .totalRevenue(service.revenue())
+                                        .paidInvoiceCount(service.invoiceCount())
+                                        .build())
+                                .toList())
+                        .build())
+                .toList();
+    }
+
+    private record Range(LocalDate from, LocalDate to) {
+    }
+
+    private record Entry(List<CategoryRevenueEntry> categories, Instant loadedAt) {
+        boolean isFresh(Duration ttl) {
+            return loadedAt.plus(ttl).isAfter(Instant.now());
+        }
+    }
+}
@@ -1,10 +1,9 @@
 package com.app.service_operations_service.service;
 
-import java.math.BigDecimal;
-import java.time.Duration;
-import java.time.LocalDate;
+import java.time.Instant;
 import java.time.ZoneId;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -17,15 +16,15 @@ import com.app.service_operations_service.dto.dashboard.CategoryStatsResponse;
 import com.app.service_operations_service.dto.dashboard.DashboardSummaryResponse;
 import com.app.service_operations_service.dto.dashboard.ResolutionTimeResponse;
 import com.app.service_operations_service.dto.dashboard.TechnicianWorkloadResponse;
-import com.app.service_operations_service.model.Invoice;
 import com.app.service_operations_service.model.ServiceCategory;
 import com.app.service_operations_service.model.ServiceItem;
-import com.app.service_operations_service.model.ServiceRequest;
 import com.app.service_operations_service.model.enums.PaymentStatus;
 import com.app.service_operations_service.model.enums.RequestStatus;
+import com.app.service_operations_service.repository.InvoiceAggregates;
 import com.app.service_operations_service.repository.InvoiceRepository;
 import com.app.service_operations_service.repository.ServiceCategoryRepository;
 import com.app.service_operations_service.repository.ServiceItemRepository;
+import com.app.service_operations_service.repository.ServiceRequestAggregates;
 import com.app.service_operations_service.repository.ServiceRequestRepository;
 
 @Service
@@ -52,70 +51,27 @@ public class DashboardService {
     }
 
     // Get comprehensive dashboard summary
+    // One $facet aggregation per collection; no documents are loaded
     public DashboardSummaryResponse getDashboardSummary() {
         DashboardSummaryResponse response = new DashboardSummaryResponse();
 
-        // Service requests by status
-        List<ServiceRequest> allRequests = serviceRequestRepository.findAll();
-        Map<String, Long> byStatus = allRequests.stream()
-                .collect(Collectors.groupingBy(
-                        sr -> sr.getStatus().name(),
-                        Collectors.counting()
-                ));
+        ServiceRequestAggregates.Summary requests = serviceRequestRepository.summarize();
+        Map<String, Long> byStatus = new HashMap<>();
+        requests.byStatus().forEach((status, count) -> byStatus.put(status.name(), count));
         response.setServiceRequestsByStatus(byStatus);
 
-        // Total active and completed requests
-        long activeRequests = allRequests.stream()
-                .filter(sr -> sr.getStatus() != RequestStatus.COMPLETED &&
-                        sr.getStatus() != RequestStatus.CANCELLED)
-                .count();
-        long completedRequests = allRequests.stream()
-                .filter(sr -> sr.getStatus() == RequestStatus.COMPLETED)
-                .count();
-        response.setTotalActiveRequests(activeRequests);
+        long completedRequests = requests.count(RequestStatus.COMPLETED);
+        response.setTotalActiveRequests(
+                requests.total() - completedRequests - requests.count(RequestStatus.CANCELLED));
         response.setTotalCompletedRequests(completedRequests);
+        response.setServiceRequestsByCategory(new HashMap<>(requests.byService()));
+        response.setAverageResolutionTimeHours(toHours(requests));
 
-        // Service requests by category
-        Map<String, Long> byCategory = allRequests.stream()
-                .filter(sr -> sr.getServiceId() != null)
-                .collect(Collectors.groupingBy(
-                        sr -> sr.getServiceId(),
-                        Collectors.counting()
-                ));
-        response.setServiceRequestsByCategory(byCategory);
-
-        // Average resolution time
-        Double avgResolutionHours = calculateAverageResolutionTime();
-        response.setAverageResolutionTimeHours(avgResolutionHours);
-
-        // Revenue metrics
-        List<Invoice> allInvoices = invoiceRepository.findAll();
-        BigDecimal totalRevenue = allInvoices.stream()
-                .filter(inv -> PaymentStatus.PAID.equals(inv.getPaymentStatus()))
-                .map(Invoice::getTotalAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-        response.setTotalRevenue(totalRevenue);
-
-        // Monthly revenue (current month)
-        LocalDate now = LocalDate.now();
-        BigDecimal monthlyRevenue = allInvoices.stream()
-                .filter(inv -> PaymentStatus.PAID.equals(inv.getPaymentStatus()))
-                .filter(inv -> {
-                    LocalDate invoiceDate = inv.getCreatedAt()
-                            .atZone(ZoneId.systemDefault())
-                            .toLocalDate();
-                    return invoiceDate.getMonth() == now.getMonth() &&
-                            invoiceDate.getYear() == now.getYear();
-                })
-                .map(Invoice::getTotalAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-        response.setMonthlyRevenue(monthlyRevenue);
-
-        // Pending payments
-        long pendingPayments = allInvoices.stream()
-                .filter(inv -> PaymentStatus.PENDING.equals(inv.getPaymentStatus()))
-                .count();
-        response.setPendingPayments(pendingPayments);
+        InvoiceAggregates.RevenueSummary revenue =
+                invoiceRepository.summarizeRevenue(Instant.now(), ZoneId.systemDefault());
+        response.setTotalRevenue(revenue.amount(PaymentStatus.PAID));
+        response.setMonthlyRevenue(revenue.currentMonthPaid());
+        response.setPendingPayments(revenue.count(PaymentStatus.PENDING));
 
         // Active technicians (from technician service)
         try {
@@ -155,21 +111,13 @@ public class DashboardService {
 
     // Calculate average resolution time for completed requests
     public ResolutionTimeResponse getAverageResolutionTime() {
-        Double avgHours = calculateAverageResolutionTime();
-        return new ResolutionTimeResponse(avgHours);
+        return new ResolutionTimeResponse(toHours(serviceRequestRepository.summarize()));
     }
 
     // Get service category statistics
     public CategoryStatsResponse getCategoryStatistics() {
-        List<ServiceRequest> allRequests = serviceRequestRepository.findAll();
-        
-        // Group by service ID
-        Map<String, Long> serviceRequestCounts = allRequests.stream()
-                .filter(sr -> sr.getServiceId() != null)
-                .collect(Collectors.groupingBy(
-                        ServiceRequest::getServiceId,
-                        Collectors.counting()
-                ));
+        // Request count per service ID, grouped server-side
+        Map<String, Long> serviceRequestCounts = serviceRequestRepository.summarize().byService();
 
         // Get all service items and categories
         List<ServiceItem> allServiceItems = serviceItemRepository.findAll();
@@ -182,7 +130,7 @@ public class DashboardService {
                 .collect(Collectors.toMap(ServiceCategory::getId, cat -> cat));
 
         // Group services by category
-        Map<String, List<CategoryStatistics.ServiceInfo>> servicesByCategory = new java.util.HashMap<>();
+        Map<String, List<CategoryStatistics.ServiceInfo>> servicesByCategory = new HashMap<>();
         
         for (Map.Entry<String, Long> entry : serviceRequestCounts.entrySet()) {
             String serviceId = entry.getKey();
@@ -231,9 +179,9 @@ public class DashboardService {
         // Sort by total requests descending
         categoryStatsList.sort((a, b) -> b.getTotalRequests().compareTo(a.getTotalRequests()));
 
-        Long totalRequests = allRequests.stream()
-                .filter(sr -> sr.getServiceId() != null)
-                .count();
+        Long totalRequests = serviceRequestCounts.values().stream()
+                .mapToLong(Long::longValue)
+                .sum();
 
         return CategoryStatsResponse.builder()
                 .categories(categoryStatsList)
@@ -242,33 +190,12 @@ public class DashboardService {
                 .build();
     }
 
-    // Helper: Calculate average resolution time
-    private Double calculateAverageResolutionTime() {
-        List<ServiceRequest> completedRequests = serviceRequestRepository
-                .findByStatus(RequestStatus.COMPLETED);
-
-        if (completedRequests.isEmpty()) {
-            return 0.0;  // Return 0.0 instead of null
+    // Helper: Average resolution time in hours, rounded to 2 decimals
+    private Double toHours(ServiceRequestAggregates.Summary summary) {
+        if (summary.resolvedCount() == 0) {
+            return 0.0;
         }
-
-        double totalMinutes = completedRequests.stream()
-                .filter(sr -> sr.getCreatedAt() != null && sr.getCompletedAt() != null)
-                .mapToDouble(sr -> {
-                    Duration duration = Duration.between(sr.getCreatedAt(), sr.getCompletedAt());
-                    return duration.toMinutes(); // Get total minutes with precision
-                })
-                .sum();
-
-        long validCount = completedRequests.stream()
-                .filter(sr -> sr.getCreatedAt() != null && sr.getCompletedAt() != null)
-                .count();
-
-        if (validCount > 0) {
-            double averageMinutes = totalMinutes / validCount;
-            return Math.round((averageMinutes / 60.0) * 100.0) / 100.0; // Convert to hours and round to 2 decimals
-        }
-        
-        return 0.0;
+        return Math.round((summary.averageResolutionMinutes() / 60.0) * 100.0) / 100.0;
     }
 
     // Helper: Safely convert Object to Long
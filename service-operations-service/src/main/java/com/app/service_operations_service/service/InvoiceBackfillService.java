@@ -0,0 +1,141 @@
+package com.app.service_operations_service.service;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import com.app.service_operations_service.dto.billing.ServiceNameBackfillResponse;
+import com.app.service_operations_service.model.Invoice;
+import com.app.service_operations_service.model.ServiceItem;
+import com.app.service_operations_service.model.ServiceRequest;
+
+// One-off copy of serviceId/serviceName onto invoices created before those
+// fields existed. Walks the invoices missing a name in _id order, resolves a
+// whole batch with two $in queries and writes it back with one bulk update.
+@Service
+public class InvoiceBackfillService {
+
+    private static final Logger log = LoggerFactory.getLogger(InvoiceBackfillService.class);
+
+    private final MongoTemplate mongoTemplate;
+    private final int batchSize;
+
+    public InvoiceBackfillService(MongoTemplate mongoTemplate,
+                                  @Value("${app.backfill.batch-size:500}") int batchSize) {
+        this.mongoTemplate = mongoTemplate;
+        this.batchSize = batchSize;
+    }
+
+    public ServiceNameBackfillResponse backfillServiceNames() {
+        long started = System.nanoTime();
+        long scanned = 0;
+        long updated = 0;
+        long unresolved = 0;
+        String lastId = null;
+
+        while (true) {
+            Criteria missing = where("serviceName").is(null);
+            if (lastId != null) {
+                missing = missing.and("_id").gt(lastId);
+            }
+            Query page = query(missing).with(Sort.by(Sort.Direction.ASC, "_id")).limit(batchSize);
+            page.fields().include("_id", "requestId", "serviceId");
+            List<Invoice> batch = mongoTemplate.find(page, Invoice.class);
+            if (batch.isEmpty()) {
+                break;
+            }
+            scanned += batch.size();
+            lastId = batch.get(batch.size() - 1).getId();
+
+            Map<String, String> serviceIdByRequest = serviceIdsByRequest(batch);
+            Map<String, String> names = serviceNames(batch, serviceIdByRequest);
+
+            BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Invoice.class);
+            int writes = 0;
+            for (Invoice invoice : batch) {
+                String serviceId = invoice.getServiceId() != null
+                        ? invoice.getServiceId()
+                        : serviceIdByRequest.get(invoice.getRequestId());
+                String name = serviceId != null ? names.get(serviceId) : null;
+                if (name == null) {
+                    unresolved++;
+                }
+                if (serviceId == null) {
+                    continue;
+                }
+                Update update = Update.update("serviceId", serviceId);
+                if (name != null) {
+                    update.set("serviceName", name);
+                }
+                bulk.updateOne(query(where("_id").is(invoice.getId())), update);
+                writes++;
+            }
+            if (writes > 0) {
+                updated += bulk.execute().getModifiedCount();
+            }
+            if (batch.size() < batchSize) {
+                break;
+            }
+        }
+
+        long elapsedMs = (System.nanoTime() - started) / 1_000_000;
+        log.info("Invoice service-name backfill: scanned {}, updated {}, unresolved {} in {} ms",
+                scanned, updated, unresolved, elapsedMs);
+        return new ServiceNameBackfillResponse(scanned, updated, unresolved, elapsedMs);
+    }
+
+    private Map<String, String> serviceIdsByRequest(List<Invoice> batch) {
+        Set<String> requestIds = batch.stream()
+                .filter(invoice -> invoice.getServiceId() == null)
+                .map(Invoice::getRequestId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<String, String> serviceIds = new HashMap<>();
+        if (requestIds.isEmpty()) {
+            return serviceIds;
+        }
+        Query requests = query(where("_id").in(requestIds));
+        requests.fields().include("_id", "serviceId");
+        for (ServiceRequest request : mongoTemplate.find(requests, ServiceRequest.class)) {
+            if (request.getServiceId() != null) {
+                serviceIds.put(request.getId(), request.getServiceId());
+            }
+        }
+        return serviceIds;
+    }
+
+    private Map<String, String> serviceNames(List<Invoice> batch, Map<String, String> serviceIdByRequest) {
+        Set<String> serviceIds = batch.stream()
+                .map(Invoice::getServiceId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        serviceIds.addAll(serviceIdByRequest.values());
+        Map<String, String> names = new HashMap<>();
+        if (serviceIds.isEmpty()) {
+            return names;
+        }
+        Query items = query(where("_id").in(serviceIds));
+        items.fields().include("_id", "name");
+        for (ServiceItem item : mongoTemplate.find(items, ServiceItem.class)) {
+            names.put(item.getId(), item.getName());
+        }
+        return names;
+    }
+}
@@ -0,0 +1,209 @@
+package com.app.service_operations_service.service;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import com.app.service_operations_service.dto.billing.InvoiceExportRow;
+import com.app.service_operations_service.exception.BadRequestException;
+import com.app.service_operations_service.model.Invoice;
+import com.app.service_operations_service.model.ServiceItem;
+import com.app.service_operations_service.model.ServiceRequest;
+import com.app.service_operations_service.model.enums.PaymentStatus;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+// Writes invoices straight from a Mongo cursor to the response. Rows are
+// buffered one batch at a time so invoices created before service names were
+// copied onto them can be resolved with $in queries per batch; memory use
+// depends on the batch size, not on how many invoices match.
+@Service
+public class InvoiceExportService {
+
+    public enum Format {
+        CSV("text/csv"),
+        NDJSON("application/x-ndjson");
+
+        private final String contentType;
+
+        Format(String contentType) {
+            this.contentType = contentType;
+        }
+
+        public String contentType() {
+            return contentType;
+        }
+
+        public String fileExtension() {
+            return name().toLowerCase();
+        }
+    }
+
+    private static final CsvMapper CSV_MAPPER = CsvMapper.builder()
+            .addModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+
+    private final MongoTemplate mongoTemplate;
+    private final ObjectMapper objectMapper;
+    private final int batchSize;
+    private final ZoneId reportZone;
+
+    public InvoiceExportService(MongoTemplate mongoTemplate, ObjectMapper objectMapper,
+                                @Value("${app.export.batch-size:500}") int batchSize,
+                                @Value("${app.reports.zone:}") String reportZone) {
+        this.mongoTemplate = mongoTemplate;
+        this.objectMapper = objectMapper;
+        this.batchSize = batchSize;
+        // Same day boundaries as the revenue reports
+        this.reportZone = reportZone == null || reportZone.isBlank() ? ZoneId.systemDefault() : ZoneId.of(reportZone);
+    }
+
+    // Throws before anything is written, so a bad range is still a plain 400
+    public void validate(LocalDate from, LocalDate to) {
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new BadRequestException("from must not be after to");
+        }
+    }
+
+    // from/to are inclusive calendar days in the report zone; oldest first.
+    // Returns the number of rows written.
+    public long export(LocalDate from, LocalDate to, PaymentStatus paymentStatus, Format format, OutputStream out)
+            throws IOException {
+        validate(from, to);
+        Query query = new Query(criteria(from, to, paymentStatus))
+                // createdAt alone keeps the sort on the createdAt indexes
+                .with(Sort.by(Sort.Direction.ASC, "createdAt"))
+                .cursorBatchSize(batchSize);
+
+        long written = 0;
+        try (SequenceWriter writer = writerFor(format).writeValues(out);
+             Stream<Invoice> invoices = mongoTemplate.stream(query, Invoice.class)) {
+            List<Invoice> batch = new ArrayList<>(batchSize);
+            Iterator<Invoice> cursor = invoices.iterator();
+            while (cursor.hasNext()) {
+                batch.add(cursor.next());
+                if (batch.size() == batchSize || !cursor.hasNext()) {
+                    written += writeBatch(writer, batch);
+                    batch.clear();
+                }
+            }
+        }
+        return written;
+    }
+
+    // The caller owns the stream, so the writer must not close it
+    private ObjectWriter writerFor(Format format) {
+        ObjectWriter writer = format == Format.CSV
+                ? CSV_MAPPER.writerFor(InvoiceExportRow.class)
+                        .with(CSV_MAPPER.schemaFor(InvoiceExportRow.class).withHeader())
+                : objectMapper.writerFor(InvoiceExportRow.class).withRootValueSeparator("\n");
+        return writer.without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    }
+
+    private Criteria criteria(LocalDate from, LocalDate to, PaymentStatus paymentStatus) {
+        Criteria criteria = new Criteria();
+        if (paymentStatus != null) {
+            criteria = criteria.and("paymentStatus").is(paymentStatus);
+        }
+        if (from != null || to != null) {
+            Criteria createdAt = criteria.and("createdAt");
+            if (from != null) {
+                createdAt.gte(startOf(from));
+            }
+            if (to != null) {
+                createdAt.lt(startOf(to.plusDays(1)));
+            }
+        }
+        return criteria;
+    }
+
+    private Instant startOf(LocalDate day) {
+        return day.atStartOfDay(reportZone).toInstant();
+    }
+
+    private int writeBatch(SequenceWriter writer, List<Invoice> batch) throws IOException {
+        Map<String, String> serviceIdByRequest = serviceIdsByRequest(batch);
+        Map<String, String> names = serviceNames(batch, serviceIdByRequest);
+        for (Invoice invoice : batch) {
+            String serviceId = invoice.getServiceId() != null
+                    ? invoice.getServiceId()
+                    : serviceIdByRequest.get(invoice.getRequestId());
+            String serviceName = invoice.getServiceName() != null
+                    ? invoice.getServiceName()
+                    : names.get(serviceId);
+            writer.write(new InvoiceExportRow(invoice.getId(), invoice.getRequestId(), invoice.getCustomerId(),
+                    serviceId, serviceName, invoice.getServiceAmount(), invoice.getTaxAmount(),
+                    invoice.getTotalAmount(), invoice.getPaymentStatus(), invoice.getPaymentMethod(),
+                    invoice.getPaidAt(), invoice.getCreatedAt()));
+        }
+        // Hands each batch to the client instead of holding it in the buffer
+        writer.flush();
+        return batch.size();
+    }
+
+    private Map<String, String> serviceIdsByRequest(List<Invoice> batch) {
+        Set<String> requestIds = batch.stream()
+                .filter(invoice -> invoice.getServiceId() == null && invoice.getServiceName() == null)
+                .map(Invoice::getRequestId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<String, String> serviceIds = new HashMap<>();
+        if (requestIds.isEmpty()) {
+            return serviceIds;
+        }
+        Query requests = query(where("_id").in(requestIds));
+        requests.fields().include("_id", "serviceId");
+        for (ServiceRequest request : mongoTemplate.find(requests, ServiceRequest.class)) {
+            if (request.getServiceId() != null) {
+                serviceIds.put(request.getId(), request.getServiceId());
+            }
+        }
+        return serviceIds;
+    }
+
+    private Map<String, String> serviceNames(List<Invoice> batch, Map<String, String> serviceIdByRequest) {
+        Set<String> serviceIds = batch.stream()
+                .filter(invoice -> invoice.getServiceName() == null)
+                .map(Invoice::getServiceId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        serviceIds.addAll(serviceIdByRequest.values());
+        Map<String, String> names = new HashMap<>();
+        if (serviceIds.isEmpty()) {
+            return names;
+        }
+        Query items = query(where("_id").in(serviceIds));
+        items.fields().include("_id", "name");
+        for (ServiceItem item : mongoTemplate.find(items, ServiceItem.class)) {
+            names.put(item.getId(), item.getName());
+        }
+        return names;
+    }
+}
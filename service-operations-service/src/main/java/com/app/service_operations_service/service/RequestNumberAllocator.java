@@ -0,0 +1,88 @@
+package com.app.service_operations_service.service;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import com.app.service_operations_service.model.SequenceCounter;
+
+// Hands out request numbers from a sequence in the counters collection.
+// Each findAndModify reserves a block of app.request-numbers.block-size
+// numbers; numbers inside a block come from an AtomicLong without locking or
+// a round trip. Blocks are never handed out twice, so numbers are unique
+// across instances; the unused rest of a block is skipped on restart.
+@Service
+public class RequestNumberAllocator {
+
+    private static final Logger log = LoggerFactory.getLogger(RequestNumberAllocator.class);
+
+    static final String COUNTER_ID = "serviceRequestNumber";
+
+    // Nine digits, so new numbers never equal the older 8-character random ones
+    private static final String FORMAT = "REQ-%09d";
+
+    private final MongoTemplate mongoTemplate;
+    private final int blockSize;
+
+    private volatile Block block = new Block(1, 0);
+
+    public RequestNumberAllocator(
+            MongoTemplate mongoTemplate,
+            @Value("${app.request-numbers.block-size:100}") int blockSize) {
+        if (blockSize < 1) {
+            throw new IllegalArgumentException("app.request-numbers.block-size must be positive");
+        }
+        this.mongoTemplate = mongoTemplate;
+        this.blockSize = blockSize;
+    }
+
+    public String next() {
+        return String.format(FORMAT, nextValue());
+    }
+
+    long nextValue() {
+        while (true) {
+            Block current = block;
+            long value = current.next().getAndIncrement();
+            if (value <= current.last()) {
+                return value;
+            }
+            // Block used up: one thread reserves the next, the rest retry on it
+            synchronized (this) {
+                if (block == current) {
+                    block = reserve();
+                }
+            }
+        }
+    }
+
+    private Block reserve() {
+        SequenceCounter counter = mongoTemplate.findAndModify(
+                query(where("id").is(COUNTER_ID)),
+                new Update().inc("value", blockSize),
+                FindAndModifyOptions.options().returnNew(true).upsert(true),
+                SequenceCounter.class);
+        if (counter == null) {
+            throw new IllegalStateException("Could not reserve request numbers");
+        }
+        long last = counter.getValue();
+        log.debug("Reserved request numbers {}..{}", last - blockSize + 1, last);
+        return new Block(last - blockSize + 1, last);
+    }
+
+    private record Block(AtomicLong next, long last) {
+
+        Block(long first, long last) {
+            this(new AtomicLong(first), last);
+        }
+    }
+}
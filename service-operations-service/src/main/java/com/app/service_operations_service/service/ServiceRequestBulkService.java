@@ -0,0 +1,354 @@
+package com.app.service_operations_service.service;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import com.app.service_operations_service.client.NotificationClient;
+import com.app.service_operations_service.client.dto.NotificationBatchRequest;
+import com.app.service_operations_service.client.dto.NotificationRequest;
+import com.app.service_operations_service.client.dto.NotificationType;
+import com.app.service_operations_service.client.dto.TechnicianProfileResponse;
+import com.app.service_operations_service.dto.requests.BulkAssignRequest;
+import com.app.service_operations_service.dto.requests.BulkStatusRequest;
+import com.app.service_operations_service.dto.requests.BulkUpdateResponse;
+import com.app.service_operations_service.dto.requests.BulkUpdateResponse.ItemResult;
+import com.app.service_operations_service.dto.requests.BulkUpdateResponse.Outcome;
+import com.app.service_operations_service.model.ServiceRequest;
+import com.app.service_operations_service.model.enums.RequestStatus;
+import com.app.service_operations_service.repository.ServiceRequestRepository;
+import com.app.service_operations_service.service.completion.CompletionOutbox;
+import com.app.service_operations_service.service.sla.SlaMonitor;
+import com.mongodb.bulk.BulkWriteResult;
+
+// Bulk assign and status changes for managers triaging many requests at once.
+// A batch costs one findAllById, one unordered bulkWrite, at most one
+// notification-service call per chunk and one completion outbox insert,
+// instead of a read, a full save and one or two Feign calls per request. Each update is
+// guarded on the status it was loaded with, the same compare-and-set rule as
+// the single-request transitions.
+@Service
+public class ServiceRequestBulkService {
+
+    private static final Logger log = LoggerFactory.getLogger(ServiceRequestBulkService.class);
+
+    private static final String YOUR_REQUEST_PREFIX = "Your request ";
+
+    // Per-call limit of the notification-service batch endpoint
+    static final int NOTIFICATION_CHUNK = 500;
+
+    private final MongoTemplate mongoTemplate;
+    private final ServiceRequestRepository requestRepository;
+    private final NotificationClient notificationClient;
+    private final TechnicianDirectory technicianDirectory;
+    private final CompletionOutbox completionOutbox;
+    private final TrendService trendService;
+    private final SlaMonitor slaMonitor;
+
+    public ServiceRequestBulkService(
+            MongoTemplate mongoTemplate,
+            ServiceRequestRepository requestRepository,
+            NotificationClient notificationClient,
+            TechnicianDirectory technicianDirectory,
+            CompletionOutbox completionOutbox,
+            TrendService trendService,
+            SlaMonitor slaMonitor) {
+        this.mongoTemplate = mongoTemplate;
+        this.requestRepository = requestRepository;
+        this.notificationClient = notificationClient;
+        this.technicianDirectory = technicianDirectory;
+        this.completionOutbox = completionOutbox;
+        this.trendService = trendService;
+        this.slaMonitor = slaMonitor;
+    }
+
+    public BulkUpdateResponse assign(List<BulkAssignRequest.Item> items) {
+        Batch batch = load(items.stream().map(BulkAssignRequest.Item::getRequestId).toList());
+        Instant now = Instant.now();
+
+        List<Change> changes = new ArrayList<>();
+        for (int i = 0; i < items.size(); i++) {
+            ServiceRequest request = batch.pending(i);
+            if (request == null) {
+                continue;
+            }
+            String technicianId = items.get(i).getTechnicianId();
+            if (request.getStatus() == RequestStatus.ASSIGNED && technicianId.equals(request.getTechnicianId())) {
+                batch.resolve(i, Outcome.UNCHANGED, null);
+                continue;
+            }
+            if (!request.getStatus().canMoveTo(RequestStatus.ASSIGNED)) {
+                batch.resolve(i, Outcome.CONFLICT, moveRejected(request, RequestStatus.ASSIGNED));
+                continue;
+            }
+            changes.add(new Change(i, request,
+                    new Update().set("technicianId", technicianId)
+                            .set("status", RequestStatus.ASSIGNED)
+                            .set("assignedAt", now),
+                    r -> {
+                        r.setTechnicianId(technicianId);
+                        r.setStatus(RequestStatus.ASSIGNED);
+                        r.setAssignedAt(now);
+                    },
+                    r -> r.getStatus() == RequestStatus.ASSIGNED && technicianId.equals(r.getTechnicianId())));
+        }
+
+        List<ServiceRequest> assigned = write(changes, batch);
+        assigned.forEach(slaMonitor::track);
+
+        // Workload is still raised when each technician accepts
+        Set<String> technicianIds = new LinkedHashSet<>();
+        assigned.forEach(r -> technicianIds.add(r.getTechnicianId()));
+        Map<String, TechnicianProfileResponse> technicians = technicianIds.isEmpty()
+                ? Map.of()
+                : technicianDirectory.getTechnicians(technicianIds);
+        List<NotificationRequest> notifications = new ArrayList<>();
+        for (ServiceRequest request : assigned) {
+            TechnicianProfileResponse technician = technicians.get(request.getTechnicianId());
+            if (technician == null) {
+                log.warn("Technician profile not found for ID: {}", request.getTechnicianId());
+                continue;
+            }
+            notifications.add(notification(technician.getUserId(), "Service Request Assigned",
+                    YOUR_REQUEST_PREFIX + request.getRequestNumber()
+                            + " has been assigned to you. Please review and accept or decline."));
+        }
+        sendNotifications(notifications);
+
+        log.info("Bulk assignment applied to {} of {} requests", assigned.size(), items.size());
+        return batch.response();
+    }
+
+    public BulkUpdateResponse updateStatus(List<BulkStatusRequest.Item> items) {
+        Batch batch = load(items.stream().map(BulkStatusRequest.Item::getRequestId).toList());
+        Instant now = Instant.now();
+
+        List<Change> changes = new ArrayList<>();
+        List<ServiceRequest> completed = new ArrayList<>();
+        for (int i = 0; i < items.size(); i++) {
+            ServiceRequest request = batch.pending(i);
+            if (request == null) {
+                continue;
+            }
+            RequestStatus status = RequestStatus.valueOf(items.get(i).getStatus().toUpperCase());
+            if (request.getStatus() == status) {
+                batch.resolve(i, Outcome.UNCHANGED, null);
+                // Re-queues whatever a failed enqueue of an earlier completion left out
+                if (status == RequestStatus.COMPLETED) {
+                    completed.add(request);
+                }
+                continue;
+            }
+            if (!request.getStatus().canMoveTo(status)) {
+                batch.resolve(i, Outcome.CONFLICT, moveRejected(request, status));
+                continue;
+            }
+            Update update = new Update().set("status", status);
+            if (status == RequestStatus.COMPLETED) {
+                update.set("completedAt", now);
+            } else if (status == RequestStatus.CANCELLED) {
+                update.set("cancelledAt", now);
+            } else if (status == RequestStatus.REQUESTED) {
+                // Handed back: unassigned, so auto-dispatch picks it up again
+                update.unset("technicianId").unset("assignedAt");
+            }
+            changes.add(new Change(i, request, update, r -> {
+                r.setStatus(status);
+                if (status == RequestStatus.COMPLETED) {
+                    r.setCompletedAt(now);
+                } else if (status == RequestStatus.CANCELLED) {
+                    r.setCancelledAt(now);
+                } else if (status == RequestStatus.REQUESTED) {
+                    r.setTechnicianId(null);
+                    r.setAssignedAt(null);
+                }
+            }, r -> r.getStatus() == status));
+        }
+
+        List<ServiceRequest> updated = write(changes, batch);
+
+        for (ServiceRequest request : updated) {
+            if (request.getStatus() == RequestStatus.CANCELLED) {
+                trendService.requestCancelled(request.getCancelledAt());
+            } else if (request.getStatus() == RequestStatus.COMPLETED) {
+                trendService.requestCompleted(request.getCompletedAt());
+                completed.add(request);
+            }
+        }
+        // Workload, invoice and customer notification run on the completion
+        // outbox, the same as a single completion, queued in one insert
+        completionOutbox.enqueueAll(completed);
+
+        log.info("Bulk status update applied to {} of {} requests", updated.size(), items.size());
+        return batch.response();
+    }
+
+    // One $in read for the whole batch; duplicates and unknown ids are
+    // resolved here so only real changes reach the bulk write
+    private Batch load(List<String> requestIds) {
+        Map<String, ServiceRequest> byId = new HashMap<>();
+        requestRepository.findAllById(new LinkedHashSet<>(requestIds))
+                .forEach(request -> byId.put(request.getId(), request));
+
+        Batch batch = new Batch(requestIds, byId);
+        Set<String> seen = new HashSet<>();
+        for (int i = 0; i < requestIds.size(); i++) {
+            String id = requestIds.get(i);
+            if (!seen.add(id)) {
+                batch.resolve(i, Outcome.DUPLICATE, "Request appears earlier in the batch");
+            } else if (!byId.containsKey(id)) {
+                batch.resolve(i, Outcome.NOT_FOUND, "Service request not found: " + id);
+            }
+        }
+        return batch;
+    }
+
+    // Unordered, so one failing update does not stop the rest; returns the
+    // requests whose update was written, with the change applied in memory
+    private List<ServiceRequest> write(List<Change> changes, Batch batch) {
+        if (changes.isEmpty()) {
+            return List.of();
+        }
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, ServiceRequest.class);
+        changes.forEach(change -> bulk.updateOne(
+                query(where("id").is(change.request().getId()).and("status").is(change.request().getStatus())),
+                change.update()));
+
+        Map<Integer, String> failures = new HashMap<>();
+        BulkWriteResult result;
+        try {
+            result = bulk.execute();
+        } catch (BulkOperationException e) {
+            e.getErrors().forEach(error -> failures.put(error.getIndex(), error.getMessage()));
+            result = e.getResult();
+            log.warn("Bulk update of service requests: {} of {} writes failed", failures.size(), changes.size());
+        }
+
+        // The result only has totals, so a shortfall means some guards missed:
+        // re-read those requests to find which ones another writer moved first
+        Set<Integer> conflicts = new HashSet<>();
+        if (result.getMatchedCount() < changes.size() - failures.size()) {
+            conflicts = lostRaces(changes, failures.keySet());
+        }
+
+        List<ServiceRequest> applied = new ArrayList<>();
+        for (int op = 0; op < changes.size(); op++) {
+            Change change = changes.get(op);
+            if (failures.containsKey(op)) {
+                batch.resolve(change.index(), Outcome.FAILED, failures.get(op));
+            } else if (conflicts.contains(op)) {
+                batch.resolve(change.index(), Outcome.CONFLICT, "Service request changed while the batch was applied");
+            } else {
+                change.apply().accept(change.request());
+                batch.resolve(change.index(), Outcome.UPDATED, null);
+                applied.add(change.request());
+            }
+        }
+        return applied;
+    }
+
+    // Operations whose request no longer shows the change. A concurrent writer
+    // that made the very same change is indistinguishable and counts as ours.
+    private Set<Integer> lostRaces(List<Change> changes, Set<Integer> failed) {
+        Set<String> ids = new LinkedHashSet<>();
+        for (int op = 0; op < changes.size(); op++) {
+            if (!failed.contains(op)) {
+                ids.add(changes.get(op).request().getId());
+            }
+        }
+        Map<String, ServiceRequest> current = new HashMap<>();
+        requestRepository.findAllById(ids).forEach(request -> current.put(request.getId(), request));
+
+        Set<Integer> lost = new HashSet<>();
+        for (int op = 0; op < changes.size(); op++) {
+            if (failed.contains(op)) {
+                continue;
+            }
+            ServiceRequest now = current.get(changes.get(op).request().getId());
+            if (now == null || !changes.get(op).landed().test(now)) {
+                lost.add(op);
+            }
+        }
+        log.warn("Bulk update of service requests: {} of {} writes lost to concurrent changes",
+                lost.size(), changes.size());
+        return lost;
+    }
+
+    private String moveRejected(ServiceRequest request, RequestStatus target) {
+        return "Cannot move from " + request.getStatus() + " to " + target;
+    }
+
+    private void sendNotifications(List<NotificationRequest> notifications) {
+        for (int from = 0; from < notifications.size(); from += NOTIFICATION_CHUNK) {
+            List<NotificationRequest> chunk = notifications.subList(from,
+                    Math.min(notifications.size(), from + NOTIFICATION_CHUNK));
+            try {
+                notificationClient.sendNotifications(new NotificationBatchRequest(new ArrayList<>(chunk)));
+            } catch (Exception e) {
+                log.warn("Failed to send {} notifications: {}", chunk.size(), e.getMessage());
+            }
+        }
+    }
+
+    private NotificationRequest notification(String userId, String subject, String message) {
+        NotificationRequest request = new NotificationRequest();
+        request.setUserId(userId);
+        request.setType(NotificationType.IN_APP);
+        request.setSubject(subject);
+        request.setMessage(message);
+        return request;
+    }
+
+    // index is the item's position in the request; apply mirrors the update
+    // on the loaded entity once the write succeeded, landed recognises it on
+    // a re-read request
+    private record Change(int index, ServiceRequest request, Update update, Consumer<ServiceRequest> apply,
+                          Predicate<ServiceRequest> landed) {
+    }
+
+    private static final class Batch {
+
+        private final List<String> requestIds;
+        private final Map<String, ServiceRequest> found;
+        private final ItemResult[] results;
+
+        Batch(List<String> requestIds, Map<String, ServiceRequest> found) {
+            this.requestIds = requestIds;
+            this.found = found;
+            this.results = new ItemResult[requestIds.size()];
+        }
+
+        // The loaded request for item i, or null once the item has an outcome
+        ServiceRequest pending(int i) {
+            return results[i] == null ? found.get(requestIds.get(i)) : null;
+        }
+
+        void resolve(int i, Outcome outcome, String message) {
+            results[i] = new ItemResult(requestIds.get(i), outcome, message);
+        }
+
+        BulkUpdateResponse response() {
+            List<ItemResult> list = List.of(results);
+            int updated = (int) list.stream().filter(r -> r.getOutcome() == Outcome.UPDATED).count();
+            return new BulkUpdateResponse(list.size(), updated, list);
+        }
+    }
+}
@@ -1,15 +1,21 @@
 package com.app.service_operations_service.service;
 
 import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.UUID;
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.context.annotation.Lazy;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -18,11 +24,22 @@ import com.app.service_operations_service.client.TechnicianClient;
 import com.app.service_operations_service.client.dto.NotificationRequest;
 import com.app.service_operations_service.client.dto.NotificationType;
 import com.app.service_operations_service.client.dto.TechnicianProfileResponse;
-import com.app.service_operations_service.dto.PagedResponse;
+import com.app.service_operations_service.client.dto.WorkloadAdjustmentRequest;
+import com.app.service_operations_service.dto.CursorPage;
+import com.app.service_operations_service.exception.BadRequestException;
+import com.app.service_operations_service.exception.ConflictException;
 import com.app.service_operations_service.exception.NotFoundException;
 import com.app.service_operations_service.model.ServiceRequest;
 import com.app.service_operations_service.model.enums.RequestStatus;
+import com.app.service_operations_service.repository.ServiceRequestPaging.Filter;
+import com.app.service_operations_service.repository.ServiceRequestPaging.PageCursor;
+import com.app.service_operations_service.repository.RequestViewPaging;
 import com.app.service_operations_service.repository.ServiceRequestRepository;
+import com.app.service_operations_service.repository.ServiceRequestSearch.SearchQuery;
+import com.app.service_operations_service.service.completion.CompletionOutbox;
+import com.app.service_operations_service.service.sla.SlaMonitor;
+import com.app.service_operations_service.service.views.RequestViewQueries;
+import com.app.service_operations_service.util.KeysetPages;
 import com.app.service_operations_service.util.ValidationUtil;
 import com.app.service_operations_service.dto.requests.AssignRequest;
 import com.app.service_operations_service.dto.requests.CreateServiceRequest;
@@ -43,20 +60,39 @@ public class ServiceRequestService {
     private static final String USER_ID = "userId";
     private static final String REQUEST_ID = "requestId";
 
+    // "REQ-0000", "req12" and "REQ" are request number prefixes; anything
+    // else is searched for in the address
+    private static final Pattern REQUEST_NUMBER_PREFIX = Pattern.compile("(?i)REQ-?(\\d*)");
+
     private final ServiceRequestRepository requestRepository;
     private final NotificationClient notificationClient;
     private final TechnicianClient technicianClient;
-    private final BillingService billingService;
+    private final TechnicianDirectory technicianDirectory;
+    private final CompletionOutbox completionOutbox;
+    private final TrendService trendService;
+    private final RequestNumberAllocator requestNumberAllocator;
+    private final RequestViewQueries requestViews;
+    private final SlaMonitor slaMonitor;
 
     public ServiceRequestService(
             ServiceRequestRepository requestRepository,
             NotificationClient notificationClient,
             TechnicianClient technicianClient,
-            @Lazy BillingService billingService) {
+            TechnicianDirectory technicianDirectory,
+            CompletionOutbox completionOutbox,
+            TrendService trendService,
+            RequestNumberAllocator requestNumberAllocator,
+            RequestViewQueries requestViews,
+            SlaMonitor slaMonitor) {
         this.requestRepository = requestRepository;
         this.notificationClient = notificationClient;
         this.technicianClient = technicianClient;
-        this.billingService = billingService;
+        this.technicianDirectory = technicianDirectory;
+        this.completionOutbox = completionOutbox;
+        this.trendService = trendService;
+        this.requestNumberAllocator = requestNumberAllocator;
+        this.requestViews = requestViews;
+        this.slaMonitor = slaMonitor;
     }
 
     public ServiceRequestResponse create(CreateServiceRequest request, String customerId) {
@@ -64,14 +100,17 @@ public class ServiceRequestService {
         ValidationUtil.validateNotBlank(customerId, USER_ID);
 
         ServiceRequest entity = new ServiceRequest();
-        entity.setRequestNumber(generateRequestNumber());
+        entity.setRequestNumber(requestNumberAllocator.next());
         entity.setCustomerId(customerId);
         entity.setServiceId(request.getServiceId());
         entity.setPriority(request.getPriority());
         entity.setPreferredDate(request.getPreferredDate());
         entity.setAddress(request.getAddress());
+        slaMonitor.stamp(entity);
 
         requestRepository.save(entity);
+        slaMonitor.arm(entity);
+        trendService.requestCreated(entity.getCreatedAt());
 
         notifyCustomer(
                 entity.getCustomerId(),
@@ -83,27 +122,24 @@ public class ServiceRequestService {
     }
 
 
-    public PagedResponse<ServiceRequestResponse> getAll(Pageable pageable) {
-        Page<ServiceRequest> page = requestRepository.findAll(pageable);
-
-        List<ServiceRequestResponse> content = page.getContent().stream()
-                .map(this::toResponse)
-                .toList();
-
-        return new PagedResponse<>(
-                content,
-                page.getNumber(),
-                page.getSize(),
-                page.getTotalElements(),
-                page.getTotalPages(),
-                page.isLast());
+    // With request views enabled every listing below is a single query on
+    // request_views; otherwise rows come from service_requests and technician
+    // details are resolved through the directory
+    public CursorPage<ServiceRequestResponse> getAll(String cursor, int size, boolean includeTotal) {
+        if (requestViews.enabled()) {
+            return requestViews.page(RequestViewPaging.Filter.all(), cursor, size, includeTotal,
+                    RequestViewQueries::toResponse);
+        }
+        return page(Filter.all(), cursor, size, includeTotal, this::toResponses);
     }
 
-    public List<ServiceRequestResponse> getByStatus(String status) {
+    public CursorPage<ServiceRequestResponse> getByStatus(String status, String cursor, int size, boolean includeTotal) {
         RequestStatus requestStatus = RequestStatus.valueOf(status.toUpperCase());
-        return requestRepository.findByStatus(requestStatus).stream()
-                .map(this::toResponse)
-                .toList();
+        if (requestViews.enabled()) {
+            return requestViews.page(RequestViewPaging.Filter.status(requestStatus), cursor, size, includeTotal,
+                    RequestViewQueries::toResponse);
+        }
+        return page(Filter.status(requestStatus), cursor, size, includeTotal, this::toResponses);
     }
 
     public ServiceRequestResponse getById(String id) {
@@ -111,58 +147,122 @@ public class ServiceRequestService {
         return toResponse(request);
     }
 
-    public List<ServiceRequestResponse> getByCustomer(String customerId) {
+    public CursorPage<ServiceRequestResponse> getByCustomer(
+            String customerId, String cursor, int size, boolean includeTotal) {
         ValidationUtil.validateNotBlank(customerId, "customerId");
-        return requestRepository.findByCustomerId(customerId).stream()
-                .map(this::toResponse)
-                .toList();
+        if (requestViews.enabled()) {
+            return requestViews.page(RequestViewPaging.Filter.customer(customerId), cursor, size, includeTotal,
+                    RequestViewQueries::toResponse);
+        }
+        return page(Filter.customer(customerId), cursor, size, includeTotal, this::toResponses);
     }
 
-    public List<ServiceRequestWithTechnicianResponse> getByCustomerWithTechnicianDetails(String customerId) {
+    public CursorPage<ServiceRequestWithTechnicianResponse> getByCustomerWithTechnicianDetails(
+            String customerId, String cursor, int size, boolean includeTotal) {
         ValidationUtil.validateNotBlank(customerId, "customerId");
-        return requestRepository.findByCustomerId(customerId).stream()
-                .map(this::toResponseWithTechnicianDetails)
-                .toList();
+        if (requestViews.enabled()) {
+            return requestViews.page(RequestViewPaging.Filter.customer(customerId), cursor, size, includeTotal,
+                    RequestViewQueries::toResponseWithTechnician);
+        }
+        return page(Filter.customer(customerId), cursor, size, includeTotal,
+                requests -> requests.stream().map(this::toResponseWithTechnicianDetails).toList());
     }
 
-    public List<ServiceRequestResponse> getByTechnicianUserId(String userId) {
+    public CursorPage<ServiceRequestResponse> getByTechnicianUserId(
+            String userId, String cursor, int size, boolean includeTotal) {
         ValidationUtil.validateNotBlank(userId, USER_ID);
+        if (requestViews.enabled()) {
+            return requestViews.page(RequestViewPaging.Filter.technicianUser(userId), cursor, size, includeTotal,
+                    RequestViewQueries::toResponse);
+        }
         log.debug("Fetching technician profile for userId: {}", userId);
-        TechnicianProfileResponse technician = technicianClient.getTechnicianByUserId(userId);
+        TechnicianProfileResponse technician = technicianDirectory.getTechnicianByUserId(userId);
         if (technician == null) {
             log.warn("No technician profile found for userId: {}", userId);
-            return List.of();
+            return emptyPage(includeTotal);
         }
         log.debug("Found technician profile with id: {} for userId: {}", technician.getId(), userId);
-        return requestRepository.findByTechnicianId(technician.getId()).stream()
-                .map(this::toResponse)
-                .toList();
+        return page(Filter.technician(technician.getId()), cursor, size, includeTotal, this::toResponses);
     }
 
-    public List<ServiceRequestWithCustomerResponse> getByTechnicianUserIdWithCustomerDetails(String userId) {
+    public CursorPage<ServiceRequestWithCustomerResponse> getByTechnicianUserIdWithCustomerDetails(
+            String userId, String cursor, int size, boolean includeTotal) {
         ValidationUtil.validateNotBlank(userId, USER_ID);
-        TechnicianProfileResponse technician = technicianClient.getTechnicianByUserId(userId);
+        if (requestViews.enabled()) {
+            return requestViews.page(RequestViewPaging.Filter.technicianUser(userId), cursor, size, includeTotal,
+                    RequestViewQueries::toResponseWithCustomer);
+        }
+        TechnicianProfileResponse technician = technicianDirectory.getTechnicianByUserId(userId);
         if (technician == null) {
-            return List.of();
+            return emptyPage(includeTotal);
         }
-        return requestRepository.findByTechnicianId(technician.getId()).stream()
-                .map(this::toResponseWithCustomerDetails)
-                .toList();
+        return page(Filter.technician(technician.getId()), cursor, size, includeTotal,
+                requests -> requests.stream().map(this::toResponseWithCustomerDetails).toList());
+    }
+
+    // Support search: q is a request number prefix or words of the address,
+    // narrowed by customer, status and a createdAt date range (UTC days, both
+    // ends inclusive). Paged like the listings, newest first.
+    public CursorPage<ServiceRequestResponse> search(String q, String customerId, String status,
+            LocalDate from, LocalDate to, String cursor, int size, boolean includeTotal) {
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new BadRequestException("from must not be after to");
+        }
+        String numberPrefix = null;
+        String text = null;
+        if (q != null && !q.isBlank()) {
+            Matcher number = REQUEST_NUMBER_PREFIX.matcher(q.trim());
+            if (number.matches()) {
+                numberPrefix = number.group(1).isEmpty() ? "REQ" : "REQ-" + number.group(1);
+            } else {
+                text = q.trim();
+            }
+        }
+        SearchQuery query = new SearchQuery(
+                numberPrefix,
+                text,
+                customerId == null || customerId.isBlank() ? null : customerId,
+                status == null || status.isBlank() ? null : RequestStatus.valueOf(status.toUpperCase()),
+                from == null ? null : from.atStartOfDay(ZoneOffset.UTC).toInstant(),
+                to == null ? null : to.plusDays(1).atStartOfDay(ZoneOffset.UTC).toInstant());
+        return page(cursor, size, includeTotal,
+                (after, limit) -> requestRepository.search(query, after, limit),
+                () -> requestRepository.countSearch(query),
+                this::toResponses);
+    }
+
+    private <T> CursorPage<T> page(Filter filter, String cursor, int size, boolean includeTotal,
+            Function<List<ServiceRequest>, List<T>> mapper) {
+        return page(cursor, size, includeTotal,
+                (after, limit) -> requestRepository.findPage(filter, after, limit),
+                () -> requestRepository.countMatching(filter),
+                mapper);
+    }
+
+    private <T> CursorPage<T> page(String cursor, int size, boolean includeTotal,
+            BiFunction<PageCursor, Integer, List<ServiceRequest>> fetch, LongSupplier count,
+            Function<List<ServiceRequest>, List<T>> mapper) {
+        return KeysetPages.page(cursor, size, includeTotal, fetch, count,
+                ServiceRequest::getCreatedAt, ServiceRequest::getId, mapper);
+    }
+
+    private <T> CursorPage<T> emptyPage(boolean includeTotal) {
+        return new CursorPage<>(List.of(), null, false, includeTotal ? 0L : null);
     }
 
     public ServiceRequestResponse cancel(String id, String userId) {
         ValidationUtil.validateNotBlank(id, REQUEST_ID);
         ValidationUtil.validateNotBlank(userId, USER_ID);
 
-        ServiceRequest request = fetch(id);
-        request.setStatus(RequestStatus.CANCELLED);
-
-        ServiceRequest saved = requestRepository.save(request);
-
-        notifyCustomer(
-                saved.getCustomerId(),
-                "Request Cancelled",
-                YOUR_REQUEST_PREFIX + saved.getRequestNumber() + " has been cancelled.");
+        Transition cancelled = move(id, RequestStatus.CANCELLED, new Update().set("cancelledAt", Instant.now()));
+        ServiceRequest saved = cancelled.request();
+        if (cancelled.applied()) {
+            trendService.requestCancelled(saved.getCancelledAt());
+            notifyCustomer(
+                    saved.getCustomerId(),
+                    "Request Cancelled",
+                    YOUR_REQUEST_PREFIX + saved.getRequestNumber() + " has been cancelled.");
+        }
 
         return toResponse(saved);
     }
@@ -175,10 +275,16 @@ public class ServiceRequestService {
         ValidationUtil.validateNotBlank(id, REQUEST_ID);
         ValidationUtil.validateNotBlank(userId, USER_ID);
 
-        ServiceRequest request = fetch(id);
-        request.setPreferredDate(payload.getPreferredDate());
-
-        ServiceRequest saved = requestRepository.save(request);
+        // Only open requests can be rescheduled; the status is left as it is
+        ServiceRequest saved = requestRepository.transition(id, RequestStatus.open(),
+                new Update().set("preferredDate", payload.getPreferredDate()));
+        if (saved == null) {
+            ServiceRequest current = fetch(id);
+            throw new ConflictException("Cannot reschedule service request " + id
+                    + " in status " + current.getStatus());
+        }
+        // The deadline follows the preferred date
+        slaMonitor.track(saved);
 
         notifyCustomer(
                 saved.getCustomerId(),
@@ -192,18 +298,17 @@ public class ServiceRequestService {
         ValidationUtil.validateNotBlank(id, REQUEST_ID);
         ValidationUtil.validateNotNull(request, "AssignRequest");
 
-        ServiceRequest serviceRequest = fetch(id);
-        serviceRequest.setTechnicianId(request.getTechnicianId());
-        serviceRequest.setStatus(RequestStatus.ASSIGNED);
-        serviceRequest.setAssignedAt(Instant.now());
-        ServiceRequest saved = requestRepository.save(serviceRequest);
+        ServiceRequest saved = move(id, RequestStatus.ASSIGNED, new Update()
+                .set("technicianId", request.getTechnicianId())
+                .set("assignedAt", Instant.now())).request();
+        slaMonitor.track(saved);
 
         // Workload will be increased when technician accepts the request
 
         notifyTechnician(
-                serviceRequest.getTechnicianId(),
+                saved.getTechnicianId(),
                 "Service Request Assigned",
-                YOUR_REQUEST_PREFIX + serviceRequest.getRequestNumber()
+                YOUR_REQUEST_PREFIX + saved.getRequestNumber()
                         + " has been assigned to you. Please review and accept or decline.");
 
         log.info("Technician assigned to request");
@@ -213,24 +318,29 @@ public class ServiceRequestService {
         ValidationUtil.validateNotBlank(id, REQUEST_ID);
         ValidationUtil.validateNotNull(request, "UpdateStatusRequest");
 
-        // If changing status to COMPLETED, delegate to the complete method
-        // which handles workload decrease, invoice generation, and notifications
-        if ("COMPLETED".equalsIgnoreCase(request.getStatus())) {
-            ServiceRequest serviceRequest = fetch(id);
-            // Use the technician ID as userId for completion
-            if (serviceRequest.getTechnicianId() != null) {
-                completeByTechnician(id, serviceRequest.getTechnicianId());
-            } else {
-                // Fallback: just update status
-                serviceRequest.setStatus(RequestStatus.COMPLETED);
-                requestRepository.save(serviceRequest);
+        RequestStatus status = RequestStatus.valueOf(request.getStatus().toUpperCase());
+        if (status == RequestStatus.COMPLETED) {
+            Transition completed = move(id, status, new Update().set("completedAt", Instant.now()));
+            // Assigned requests get the full completion: workload, invoice and notification
+            if (completed.request().getTechnicianId() != null) {
+                afterCompletion(completed);
+            } else if (completed.applied()) {
+                trendService.requestCompleted(completed.request().getCompletedAt());
             }
             return;
         }
 
-        ServiceRequest serviceRequest = fetch(id);
-        serviceRequest.setStatus(RequestStatus.valueOf(request.getStatus().toUpperCase()));
-        requestRepository.save(serviceRequest);
+        Update update = new Update();
+        if (status == RequestStatus.CANCELLED) {
+            update.set("cancelledAt", Instant.now());
+        } else if (status == RequestStatus.REQUESTED) {
+            // Handed back: unassigned, so auto-dispatch picks it up again
+            update.unset("technicianId").unset("assignedAt");
+        }
+        Transition moved = move(id, status, update);
+        if (moved.applied() && status == RequestStatus.CANCELLED) {
+            trendService.requestCancelled(moved.request().getCancelledAt());
+        }
 
         log.info("Status of request updated");
     }
@@ -239,18 +349,15 @@ public class ServiceRequestService {
         ValidationUtil.validateNotBlank(id, REQUEST_ID);
         ValidationUtil.validateNotBlank(userId, USER_ID);
 
-        ServiceRequest request = fetch(id);
-        request.setStatus(RequestStatus.ACCEPTED);
-        request.setAcceptedAt(Instant.now());
-        ServiceRequest saved = requestRepository.save(request);
-
-        // Increase technician workload when accepting
-        if (saved.getTechnicianId() != null) {
-            TechnicianProfileResponse technician = technicianClient.getTechnician(saved.getTechnicianId());
-            if (technician != null) {
-                int newWorkload = (technician.getCurrentWorkload() != null ? technician.getCurrentWorkload() : 0) + 1;
-                technicianClient.updateWorkload(saved.getTechnicianId(), newWorkload);
-            }
+        Transition accepted = move(id, RequestStatus.ACCEPTED, new Update().set("acceptedAt", Instant.now()));
+        ServiceRequest saved = accepted.request();
+
+        // Increase technician workload when accepting. Relative, so it does
+        // not overwrite concurrent changes, and keyed by request: a request is
+        // accepted at most once, so a resent call is not applied twice.
+        if (accepted.applied() && saved.getTechnicianId() != null) {
+            technicianClient.adjustWorkloads(saved.getId() + ":ACCEPT",
+                    new WorkloadAdjustmentRequest(Map.of(saved.getTechnicianId(), 1)));
         }
 
     }
@@ -260,9 +367,10 @@ public class ServiceRequestService {
         ValidationUtil.validateNotBlank(userId, USER_ID);
         ValidationUtil.validateNotBlank(reason, "reason");
 
-        ServiceRequest request = fetch(id);
-        request.setStatus(RequestStatus.CANCELLED);
-        ServiceRequest saved = requestRepository.save(request);
+        Transition rejected = move(id, RequestStatus.CANCELLED, new Update().set("cancelledAt", Instant.now()));
+        if (rejected.applied()) {
+            trendService.requestCancelled(rejected.request().getCancelledAt());
+        }
 
     }
 
@@ -273,61 +381,90 @@ public class ServiceRequestService {
         ValidationUtil.validateNotBlank(requestId, REQUEST_ID);
         ValidationUtil.validateNotBlank(userId, USER_ID);
 
-        ServiceRequest request = fetch(requestId);
-        request.setStatus(RequestStatus.COMPLETED);
-        request.setCompletedAt(Instant.now());
+        Transition completed = move(requestId, RequestStatus.COMPLETED,
+                new Update().set("completedAt", Instant.now()));
+        afterCompletion(completed);
 
-        ServiceRequest saved = requestRepository.save(request);
-
-        // Decrease technician workload when completing
-        if (request.getTechnicianId() != null) {
-            TechnicianProfileResponse technician = technicianClient.getTechnician(request.getTechnicianId());
-            if (technician != null) {
-                int newWorkload = Math.max(0,
-                        (technician.getCurrentWorkload() != null ? technician.getCurrentWorkload() : 1) - 1);
-                technicianClient.updateWorkload(request.getTechnicianId(), newWorkload);
-            }
-        }
+        return toResponse(completed.request());
+    }
 
-        // Auto-generate invoice for completed request
-        try {
-            billingService.generateInvoiceForCompletedRequest(requestId);
-        } catch (Exception e) {
-            log.error("Failed to generate invoice for request {}: {}", requestId, e.getMessage());
-            // Don't fail the completion if invoice generation fails
+    // Workload, invoice and customer notification run on the completion
+    // outbox, so completing does not wait on technician-service, billing or
+    // notification-service. Enqueueing is idempotent per effect, so a repeated
+    // completion re-queues whatever an earlier failed enqueue left out.
+    private void afterCompletion(Transition completed) {
+        if (completed.applied()) {
+            trendService.requestCompleted(completed.request().getCompletedAt());
         }
-
-        notifyCustomer(
-                saved.getCustomerId(),
-                "Service Completed",
-                YOUR_REQUEST_PREFIX + saved.getRequestNumber()
-                        + " has been completed. Invoice has been generated.");
-
-        return toResponse(saved);
+        completionOutbox.enqueue(completed.request());
     }
 
     public ServiceRequestStatsResponse stats() {
-        long totalRequests = requestRepository.count();
-        long completedRequests = requestRepository.countByStatus(RequestStatus.COMPLETED);
-        long requestedRequests = requestRepository.countByStatus(RequestStatus.REQUESTED);
-        long inProgressRequests = requestRepository.countByStatus(RequestStatus.IN_PROGRESS);
+        // One $group over all requests instead of a count per status
+        Map<RequestStatus, Long> counts = requestRepository.countAllByStatus();
 
         ServiceRequestStatsResponse response = new ServiceRequestStatsResponse();
-        response.setTotal(totalRequests);
+        response.setTotal(counts.values().stream().mapToLong(Long::longValue).sum());
         Map<RequestStatus, Long> byStatus = new java.util.EnumMap<>(RequestStatus.class);
-        byStatus.put(RequestStatus.COMPLETED, completedRequests);
-        byStatus.put(RequestStatus.REQUESTED, requestedRequests);
-        byStatus.put(RequestStatus.IN_PROGRESS, inProgressRequests);
+        byStatus.put(RequestStatus.COMPLETED, counts.getOrDefault(RequestStatus.COMPLETED, 0L));
+        byStatus.put(RequestStatus.REQUESTED, counts.getOrDefault(RequestStatus.REQUESTED, 0L));
+        byStatus.put(RequestStatus.IN_PROGRESS, counts.getOrDefault(RequestStatus.IN_PROGRESS, 0L));
         response.setByStatus(byStatus);
         return response;
     }
 
+    // Moves the request to target with a single conditional findAndModify that
+    // only matches while the current status allows the move. On a miss the
+    // request is read once: already at target is a no-op (applied=false, so
+    // side effects run once), anything else is a conflicting transition.
+    private Transition move(String id, RequestStatus target, Update update) {
+        ServiceRequest updated = requestRepository.transition(id, RequestStatus.sourcesOf(target),
+                update.set("status", target));
+        if (updated != null) {
+            return new Transition(updated, true);
+        }
+        ServiceRequest current = fetch(id);
+        if (current.getStatus() == target) {
+            return new Transition(current, false);
+        }
+        throw new ConflictException("Cannot move service request " + id
+                + " from " + current.getStatus() + " to " + target);
+    }
+
+    private record Transition(ServiceRequest request, boolean applied) {
+    }
+
     private ServiceRequest fetch(String id) {
         return requestRepository.findById(id)
                 .orElseThrow(() -> new NotFoundException("Service request not found: " + id));
     }
 
     private ServiceRequestResponse toResponse(ServiceRequest request) {
+        TechnicianProfileResponse technician = request.getTechnicianId() != null
+                ? technicianDirectory.getTechnician(request.getTechnicianId())
+                : null;
+        return toResponse(request, technician);
+    }
+
+    // Resolves every assigned technician of the list in one directory lookup
+    private List<ServiceRequestResponse> toResponses(List<ServiceRequest> requests) {
+        Set<String> technicianIds = new LinkedHashSet<>();
+        for (ServiceRequest request : requests) {
+            if (request.getTechnicianId() != null) {
+                technicianIds.add(request.getTechnicianId());
+            }
+        }
+        Map<String, TechnicianProfileResponse> technicians = technicianIds.isEmpty()
+                ? Map.of()
+                : technicianDirectory.getTechnicians(technicianIds);
+        return requests.stream()
+                .map(request -> toResponse(request, request.getTechnicianId() != null
+                        ? technicians.get(request.getTechnicianId())
+                        : null))
+                .toList();
+    }
+
+    private ServiceRequestResponse toResponse(ServiceRequest request, TechnicianProfileResponse technician) {
         ServiceRequestResponse response = new ServiceRequestResponse();
         response.setId(request.getId());
         response.setRequestNumber(request.getRequestNumber());
@@ -343,13 +480,9 @@ public class ServiceRequestService {
         response.setCompletedAt(request.getCompletedAt());
         response.setCreatedAt(request.getCreatedAt());
 
-        // Fetch technician details if assigned
-        if (request.getTechnicianId() != null) {
-            TechnicianProfileResponse technician = technicianClient.getTechnician(request.getTechnicianId());
-            if (technician != null) {
-                response.setTechnicianName(technician.getName());
-                response.setTechnicianPhone(technician.getPhone());
-            }
+        if (technician != null) {
+            response.setTechnicianName(technician.getName());
+            response.setTechnicianPhone(technician.getPhone());
         }
 
         return response;
@@ -395,7 +528,7 @@ public class ServiceRequestService {
 
     private void notifyTechnician(String technicianId, String subject, String message) {
         // technicianId is a profile ID, we need to get the actual userId
-        TechnicianProfileResponse technician = technicianClient.getTechnician(technicianId);
+        TechnicianProfileResponse technician = technicianDirectory.getTechnician(technicianId);
         if (technician == null) {
             log.warn("Technician profile not found for ID: {}", technicianId);
             return;
@@ -408,11 +541,4 @@ public class ServiceRequestService {
         request.setMessage(message);
         notificationClient.sendNotification(request);
     }
-
-    private String generateRequestNumber() {
-        return "REQ-" + UUID.randomUUID()
-                .toString()
-                .substring(0, 8)
-                .toUpperCase();
-    }
 }
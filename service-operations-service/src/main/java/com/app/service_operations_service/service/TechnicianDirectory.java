@@ -0,0 +1,177 @@
+package com.app.service_operations_service.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.app.service_operations_service.client.TechnicianClient;
+import com.app.service_operations_service.client.dto.TechnicianBatchRequest;
+import com.app.service_operations_service.client.dto.TechnicianProfileResponse;
+import com.app.service_operations_service.messaging.event.TechnicianChangedEvent;
+
+// Local read model of technician profiles, kept current by technician change
+// events and filled on demand from technician-service. Entries only move
+// forward in version, so late or duplicated events are harmless; entries
+// older than the TTL are reloaded in case an event was lost.
+// Use the client directly for read-modify-write on workload.
+@Component
+public class TechnicianDirectory {
+
+    private static final Logger log = LoggerFactory.getLogger(TechnicianDirectory.class);
+
+    // Matches the per-call limit of technician-service's batch endpoint
+    static final int MAX_BATCH_SIZE = 200;
+
+    private final TechnicianClient technicianClient;
+    private final Duration ttl;
+    private final Map<String, Entry> byId = new ConcurrentHashMap<>();
+    private final Map<String, String> idByUserId = new ConcurrentHashMap<>();
+    // Last version of deleted technicians, so a delayed update cannot bring one back
+    private final Map<String, Long> tombstones = new ConcurrentHashMap<>();
+
+    public TechnicianDirectory(
+            TechnicianClient technicianClient,
+            @Value("${app.technician-directory.ttl-ms:300000}") long ttlMs) {
+        this.technicianClient = technicianClient;
+        this.ttl = Duration.ofMillis(ttlMs);
+    }
+
+    public TechnicianProfileResponse getTechnician(String id) {
+        Entry entry = byId.get(id);
+        if (entry != null && entry.isFresh(ttl)) {
+            return entry.profile();
+        }
+        return remember(technicianClient.getTechnician(id));
+    }
+
+    public TechnicianProfileResponse getTechnicianByUserId(String userId) {
+        String id = idByUserId.get(userId);
+        Entry entry = id != null ? byId.get(id) : null;
+        if (entry != null && entry.isFresh(ttl)) {
+            return entry.profile();
+        }
+        return remember(technicianClient.getTechnicianByUserId(userId));
+    }
+
+    // Fresh entries come from memory; the misses are fetched with one batch call
+    // per MAX_BATCH_SIZE ids. If technician-service is unavailable, expired
+    // entries are served as they are. Ids nobody knows are absent from the map.
+    public Map<String, TechnicianProfileResponse> getTechnicians(Collection<String> ids) {
+        Map<String, TechnicianProfileResponse> result = new HashMap<>();
+        LinkedHashSet<String> missing = new LinkedHashSet<>();
+        for (String id : ids) {
+            Entry entry = id != null ? byId.get(id) : null;
+            if (entry != null && entry.isFresh(ttl)) {
+                result.put(id, entry.profile());
+            } else if (id != null) {
+                missing.add(id);
+            }
+        }
+
+        List<String> pending = new ArrayList<>(missing);
+        for (int from = 0; from < pending.size(); from += MAX_BATCH_SIZE) {
+            List<String> chunk = new ArrayList<>(pending.subList(from, Math.min(from + MAX_BATCH_SIZE, pending.size())));
+            List<TechnicianProfileResponse> loaded = technicianClient.getTechnicians(new TechnicianBatchRequest(chunk));
+            if (loaded == null) {
+                for (String id : chunk) {
+                    Entry stale = byId.get(id);
+                    if (stale != null) {
+                        result.put(id, stale.profile());
+                    }
+                }
+                continue;
+            }
+            for (TechnicianProfileResponse profile : loaded) {
+                if (profile != null && profile.getId() != null) {
+                    result.put(profile.getId(), remember(profile));
+                }
+            }
+        }
+        return result;
+    }
+
+    public void apply(TechnicianChangedEvent event) {
+        if (event.getTechnicianId() == null || event.getType() == null) {
+            return;
+        }
+        if (event.getType() == TechnicianChangedEvent.Type.DELETED) {
+            tombstones.merge(event.getTechnicianId(), event.getVersion(), Math::max);
+            Entry removed = byId.remove(event.getTechnicianId());
+            if (removed != null && removed.profile().getUserId() != null) {
+                idByUserId.remove(removed.profile().getUserId(), event.getTechnicianId());
+            }
+            return;
+        }
+        if (store(toProfile(event), event.getVersion())) {
+            log.debug("Technician {} updated to version {} by {}",
+                    event.getTechnicianId(), event.getVersion(), event.getType());
+        }
+    }
+
+    public int size() {
+        return byId.size();
+    }
+
+    private TechnicianProfileResponse remember(TechnicianProfileResponse profile) {
+        if (profile == null || profile.getId() == null) {
+            return profile;
+        }
+        // Profiles from a technician-service that predates versioning are cached as version 0
+        store(profile, profile.getVersion() != null ? profile.getVersion() : 0L);
+        return profile;
+    }
+
+    private boolean store(TechnicianProfileResponse profile, long version) {
+        Long deletedAt = tombstones.get(profile.getId());
+        if (deletedAt != null && deletedAt >= version) {
+            return false;
+        }
+        boolean[] stored = { false };
+        byId.compute(profile.getId(), (id, current) -> {
+            // Equal versions refresh the timestamp so a reload extends the TTL
+            if (current != null && current.version() > version) {
+                return current;
+            }
+            stored[0] = true;
+            return new Entry(profile, version, Instant.now());
+        });
+        if (stored[0] && profile.getUserId() != null) {
+            idByUserId.put(profile.getUserId(), profile.getId());
+        }
+        return stored[0];
+    }
+
+    private static TechnicianProfileResponse toProfile(TechnicianChangedEvent event) {
+        TechnicianProfileResponse profile = new TechnicianProfileResponse();
+        profile.setId(event.getTechnicianId());
+        profile.setUserId(event.getUserId());
+        profile.setName(event.getName());
+        profile.setEmail(event.getEmail());
+        profile.setPhone(event.getPhone());
+        profile.setSpecialization(event.getSpecialization());
+        profile.setSkills(event.getSkills() != null ? new ArrayList<>(event.getSkills()) : new ArrayList<>());
+        profile.setLocation(event.getLocation());
+        profile.setAvailable(event.getAvailable());
+        profile.setCurrentWorkload(event.getCurrentWorkload());
+        profile.setMaxWorkload(event.getMaxWorkload());
+        profile.setVersion(event.getVersion());
+        return profile;
+    }
+
+    private record Entry(TechnicianProfileResponse profile, long version, Instant refreshedAt) {
+        boolean isFresh(Duration ttl) {
+            return refreshedAt.plus(ttl).isAfter(Instant.now());
+        }
+    }
+}
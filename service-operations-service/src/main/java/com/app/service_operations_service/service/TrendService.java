@@ -0,0 +1,133 @@
+package com.app.service_operations_service.service;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+
+import com.app.service_operations_service.dto.dashboard.DailyTrendEntry;
+import com.app.service_operations_service.dto.dashboard.RollupRebuildResponse;
+import com.app.service_operations_service.exception.BadRequestException;
+import com.app.service_operations_service.model.DailyRollup;
+import com.app.service_operations_service.repository.DailyRollupRepository;
+
+// Daily request and revenue trends served from daily_rollups. Counters are
+// bumped on every state change; a failed bump is logged rather than failing
+// the request, and rebuild() restores exact figures from the source data.
+@Service
+public class TrendService {
+
+    private static final Logger log = LoggerFactory.getLogger(TrendService.class);
+
+    static final int DEFAULT_DAYS = 365;
+    static final int MAX_DAYS = 366;
+
+    private final DailyRollupRepository rollupRepository;
+    private final ZoneId zone;
+    private final Clock clock;
+
+    @Autowired
+    public TrendService(DailyRollupRepository rollupRepository, @Value("${app.rollups.zone:UTC}") String zone) {
+        this(rollupRepository, ZoneId.of(zone), Clock.systemUTC());
+    }
+
+    TrendService(DailyRollupRepository rollupRepository, ZoneId zone, Clock clock) {
+        this.rollupRepository = rollupRepository;
+        this.zone = zone;
+        this.clock = clock;
+    }
+
+    public void requestCreated(Instant at) {
+        increment(at, 1, 0, 0);
+    }
+
+    public void requestCompleted(Instant at) {
+        increment(at, 0, 1, 0);
+    }
+
+    public void requestCancelled(Instant at) {
+        increment(at, 0, 0, 1);
+    }
+
+    public void invoicePaid(Instant at, BigDecimal amount) {
+        if (amount == null) {
+            return;
+        }
+        try {
+            rollupRepository.addRevenue(day(at), amount);
+        } catch (DataAccessException e) {
+            log.warn("Could not update revenue rollup; trends are off until the next rebuild: {}", e.getMessage());
+        }
+    }
+
+    // A paid invoice went back to pending or failed; at is when it was paid
+    public void invoiceUnpaid(Instant at, BigDecimal amount) {
+        if (amount == null) {
+            return;
+        }
+        try {
+            rollupRepository.removeRevenue(day(at), amount);
+        } catch (DataAccessException e) {
+            log.warn("Could not update revenue rollup; trends are off until the next rebuild: {}", e.getMessage());
+        }
+    }
+
+    // One entry per day in [from, to], zero-filled; defaults to the last year
+    public List<DailyTrendEntry> getDailyTrends(LocalDate from, LocalDate to) {
+        LocalDate end = to != null ? to : LocalDate.now(clock.withZone(zone));
+        LocalDate start = from != null ? from : end.minusDays(DEFAULT_DAYS - 1L);
+        if (start.isAfter(end)) {
+            throw new BadRequestException("from must not be after to");
+        }
+        if (ChronoUnit.DAYS.between(start, end) >= MAX_DAYS) {
+            throw new BadRequestException("Trend range cannot exceed " + MAX_DAYS + " days");
+        }
+
+        Map<String, DailyRollup> stored = new HashMap<>();
+        for (DailyRollup rollup : rollupRepository.findRange(start, end)) {
+            stored.put(rollup.getId(), rollup);
+        }
+        List<DailyTrendEntry> entries = new ArrayList<>();
+        for (LocalDate date = start; !date.isAfter(end); date = date.plusDays(1)) {
+            DailyRollup rollup = stored.get(date.toString());
+            entries.add(rollup == null
+                    ? new DailyTrendEntry(date, 0, 0, 0, 0, BigDecimal.ZERO)
+                    : new DailyTrendEntry(date, rollup.getCreated(), rollup.getCompleted(), rollup.getCancelled(),
+                            rollup.getPaidInvoices(), rollup.getRevenue() != null ? rollup.getRevenue() : BigDecimal.ZERO));
+        }
+        return entries;
+    }
+
+    public RollupRebuildResponse rebuild() {
+        long started = System.nanoTime();
+        long days = rollupRepository.rebuild(zone);
+        long elapsedMs = (System.nanoTime() - started) / 1_000_000;
+        log.info("Rebuilt {} daily rollups in {} ms", days, elapsedMs);
+        return new RollupRebuildResponse(days, zone.getId(), elapsedMs);
+    }
+
+    private void increment(Instant at, long created, long completed, long cancelled) {
+        try {
+            rollupRepository.incrementRequests(day(at), created, completed, cancelled);
+        } catch (DataAccessException e) {
+            log.warn("Could not update request rollup; trends are off until the next rebuild: {}", e.getMessage());
+        }
+    }
+
+    private LocalDate day(Instant at) {
+        return (at != null ? at : clock.instant()).atZone(zone).toLocalDate();
+    }
+}
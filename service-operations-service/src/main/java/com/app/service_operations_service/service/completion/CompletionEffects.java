@@ -0,0 +1,84 @@
+package com.app.service_operations_service.service.completion;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+import com.app.service_operations_service.client.CompletionNotificationClient;
+import com.app.service_operations_service.client.CompletionTechnicianClient;
+import com.app.service_operations_service.client.dto.NotificationBatchRequest;
+import com.app.service_operations_service.client.dto.NotificationRequest;
+import com.app.service_operations_service.client.dto.NotificationType;
+import com.app.service_operations_service.client.dto.WorkloadAdjustmentRequest;
+import com.app.service_operations_service.model.CompletionTask;
+import com.app.service_operations_service.service.BillingService;
+
+// The side effects of a completion. Invoices run one task at a time; workload
+// and notification tasks run in batches with one downstream call each. Each
+// throws when the call did not go through so the tasks are retried, which is
+// why the clients used here have no fallback. Retries are safe: a workload
+// release carries its batch key (or task id) as the idempotency key and the
+// invoice is keyed by request id, so both are applied once.
+@Component
+public class CompletionEffects {
+
+    private static final String YOUR_REQUEST_PREFIX = "Your request ";
+
+    private final CompletionTechnicianClient technicianClient;
+    private final CompletionNotificationClient notificationClient;
+    private final BillingService billingService;
+
+    public CompletionEffects(
+            CompletionTechnicianClient technicianClient,
+            CompletionNotificationClient notificationClient,
+            @Lazy BillingService billingService) {
+        this.technicianClient = technicianClient;
+        this.notificationClient = notificationClient;
+        this.billingService = billingService;
+    }
+
+    public void run(CompletionTask task) {
+        switch (task.getEffect()) {
+            case WORKLOAD -> releaseWorkloads(task.getId(), List.of(task));
+            case INVOICE -> billingService.generateInvoiceForCompletedRequest(task.getRequestId());
+            case NOTIFICATION -> notificationClient.sendNotification(notification(task));
+        }
+    }
+
+    // Runs a batch of tasks that share one effect
+    public void runBatch(String batchKey, List<CompletionTask> tasks) {
+        if (tasks.isEmpty()) {
+            return;
+        }
+        switch (tasks.get(0).getEffect()) {
+            case WORKLOAD -> releaseWorkloads(batchKey, tasks);
+            case INVOICE -> tasks.forEach(this::run);
+            case NOTIFICATION -> notificationClient.sendNotifications(
+                    new NotificationBatchRequest(tasks.stream().map(this::notification).toList()));
+        }
+    }
+
+    // Decrease technician workload when completing, summed per technician
+    // into one call. Relative, so it does not overwrite changes made since,
+    // and keyed so a retry after a lost response is not applied twice.
+    private void releaseWorkloads(String idempotencyKey, List<CompletionTask> tasks) {
+        Map<String, Integer> deltas = new LinkedHashMap<>();
+        for (CompletionTask task : tasks) {
+            deltas.merge(task.getTechnicianId(), -1, Integer::sum);
+        }
+        technicianClient.adjustWorkloads(idempotencyKey, new WorkloadAdjustmentRequest(deltas));
+    }
+
+    private NotificationRequest notification(CompletionTask task) {
+        NotificationRequest request = new NotificationRequest();
+        request.setUserId(task.getCustomerId());
+        request.setType(NotificationType.IN_APP);
+        request.setSubject("Service Completed");
+        request.setMessage(YOUR_REQUEST_PREFIX + task.getRequestNumber()
+                + " has been completed. Invoice has been generated.");
+        return request;
+    }
+}
@@ -0,0 +1,325 @@
+package com.app.service_operations_service.service.completion;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import com.app.service_operations_service.model.CompletionTask;
+import com.app.service_operations_service.model.CompletionTask.Effect;
+import com.app.service_operations_service.model.CompletionTask.Status;
+import com.app.service_operations_service.model.ServiceRequest;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+
+// Post-commit stage for completed service requests. Completion only writes
+// the effects to the completion_tasks collection; a pool of workers claims
+// them with findAndModify (so any number of instances can share the queue),
+// runs them and retries failures with exponential backoff. A worker that dies
+// mid-task loses its claim when the lease runs out. Workload and notification
+// tasks are claimed together under a batch key and sent in one call each.
+@Service
+public class CompletionOutbox {
+
+    private static final Logger log = LoggerFactory.getLogger(CompletionOutbox.class);
+
+    private static final int DUPLICATE_KEY = 11000;
+    private static final Duration MAX_BACKOFF = Duration.ofMinutes(10);
+    private static final Set<Effect> BATCHED = EnumSet.of(Effect.WORKLOAD, Effect.NOTIFICATION);
+
+    private final MongoTemplate mongoTemplate;
+    private final CompletionEffects effects;
+    private final int workers;
+    private final int maxAttempts;
+    private final Duration lease;
+    private final Duration backoff;
+    private final int batchSize;
+    private final ExecutorService pool;
+
+    private final Map<Effect, Timer> lagTimers = new EnumMap<>(Effect.class);
+    private final Counter doneCounter;
+    private final Counter retryCounter;
+    private final Counter deadCounter;
+    private final AtomicLong backlog = new AtomicLong();
+
+    public CompletionOutbox(
+            MongoTemplate mongoTemplate,
+            CompletionEffects effects,
+            MeterRegistry meterRegistry,
+            @Value("${app.completion.workers:4}") int workers,
+            @Value("${app.completion.max-attempts:8}") int maxAttempts,
+            @Value("${app.completion.lease-ms:60000}") long leaseMs,
+            @Value("${app.completion.backoff-ms:2000}") long backoffMs,
+            @Value("${app.completion.batch-size:200}") int batchSize) {
+        this.mongoTemplate = mongoTemplate;
+        this.effects = effects;
+        this.workers = workers;
+        this.maxAttempts = maxAttempts;
+        this.lease = Duration.ofMillis(leaseMs);
+        this.backoff = Duration.ofMillis(backoffMs);
+        this.batchSize = batchSize;
+        AtomicInteger threads = new AtomicInteger();
+        this.pool = Executors.newFixedThreadPool(workers, runnable -> {
+            Thread thread = new Thread(runnable, "completion-worker-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        for (Effect effect : Effect.values()) {
+            lagTimers.put(effect, Timer.builder("completion.effect.lag")
+                    .description("Time from request completion to the side effect having run")
+                    .tag("effect", effect.name().toLowerCase())
+                    .publishPercentiles(0.5, 0.95, 0.99)
+                    .register(meterRegistry));
+        }
+        this.doneCounter = runCounter(meterRegistry, "done");
+        this.retryCounter = runCounter(meterRegistry, "retry");
+        this.deadCounter = runCounter(meterRegistry, "dead");
+        Gauge.builder("completion.outbox.backlog", backlog, AtomicLong::get)
+                .description("Pending completion side effects as of the last drain")
+                .register(meterRegistry);
+    }
+
+    // Queues the side effects of a completed request in one unordered insert.
+    // Effects already queued for the request are skipped, so calling this
+    // again for the same completion is harmless.
+    public void enqueue(ServiceRequest request) {
+        enqueueAll(List.of(request));
+    }
+
+    // Same as enqueue for a batch of completed requests, still in one insert
+    public void enqueueAll(List<ServiceRequest> requests) {
+        if (requests.isEmpty()) {
+            return;
+        }
+        Instant now = Instant.now();
+        List<CompletionTask> tasks = new ArrayList<>();
+        for (ServiceRequest request : requests) {
+            if (request.getTechnicianId() != null) {
+                tasks.add(task(request, Effect.WORKLOAD, now));
+            }
+            tasks.add(task(request, Effect.INVOICE, now));
+            tasks.add(task(request, Effect.NOTIFICATION, now));
+        }
+
+        try {
+            mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, CompletionTask.class)
+                    .insert(tasks)
+                    .execute();
+        } catch (BulkOperationException e) {
+            boolean onlyDuplicates = e.getErrors().stream().allMatch(error -> error.getCode() == DUPLICATE_KEY);
+            if (!onlyDuplicates) {
+                throw e;
+            }
+        }
+    }
+
+    // Runs up to maxTasks due tasks on the worker pool and returns how many ran
+    public int drain(int maxTasks) {
+        AtomicInteger budget = new AtomicInteger(maxTasks);
+        AtomicInteger processed = new AtomicInteger();
+        List<Callable<Void>> loops = new ArrayList<>();
+        for (int i = 0; i < workers; i++) {
+            loops.add(() -> {
+                while (budget.getAndDecrement() > 0) {
+                    CompletionTask task = claim();
+                    if (task == null) {
+                        break;
+                    }
+                    int ran = 1;
+                    if (BATCHED.contains(task.getEffect())) {
+                        ran = Math.max(processBatch(task), 1);
+                        budget.addAndGet(1 - ran);
+                    } else {
+                        process(task);
+                    }
+                    processed.addAndGet(ran);
+                }
+                return null;
+            });
+        }
+        try {
+            pool.invokeAll(loops);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        backlog.set(mongoTemplate.count(new Query(Criteria.where("status").is(Status.PENDING)), CompletionTask.class));
+        return processed.get();
+    }
+
+    // Takes the task that has been due longest and hides it from other
+    // workers for the lease
+    CompletionTask claim() {
+        Instant now = Instant.now();
+        Query query = new Query(Criteria.where("status").is(Status.PENDING).and("availableAt").lte(now))
+                .with(Sort.by("availableAt"));
+        Update update = new Update()
+                .set("claim", UUID.randomUUID().toString())
+                .set("availableAt", now.plus(lease))
+                .inc("attempts", 1);
+        return mongoTemplate.findAndModify(query, update,
+                FindAndModifyOptions.options().returnNew(true), CompletionTask.class);
+    }
+
+    void process(CompletionTask task) {
+        try {
+            effects.run(task);
+        } catch (RuntimeException e) {
+            fail(task, e);
+            return;
+        }
+        Instant now = Instant.now();
+        finish(task, new Update().set("status", Status.DONE).set("completedAt", now).unset("claim"));
+        lagTimers.get(task.getEffect()).record(Duration.between(task.getCreatedAt(), now));
+        doneCounter.increment();
+    }
+
+    // Gathers the batch of the claimed task and runs it in one call. A task
+    // seen for the first time opens a batch with other due tasks of its
+    // effect; a retried one brings back exactly the batch it failed with, so
+    // the idempotency key (the batch key) always covers the same deltas.
+    // Returns how many tasks the batch held.
+    int processBatch(CompletionTask leader) {
+        Instant now = Instant.now();
+        String batchKey = leader.getBatchKey();
+        Query members;
+        if (batchKey == null) {
+            batchKey = UUID.randomUUID().toString();
+            List<String> ids = new ArrayList<>();
+            ids.add(leader.getId());
+            Query due = new Query(Criteria.where("status").is(Status.PENDING)
+                    .and("effect").is(leader.getEffect())
+                    .and("availableAt").lte(now)
+                    .and("batchKey").exists(false))
+                    .with(Sort.by("availableAt"))
+                    .limit(batchSize - 1);
+            due.fields().include("id");
+            mongoTemplate.find(due, CompletionTask.class).forEach(task -> ids.add(task.getId()));
+            members = new Query(Criteria.where("id").in(ids).and("batchKey").exists(false));
+        } else {
+            members = new Query(Criteria.where("batchKey").is(batchKey).and("status").is(Status.PENDING));
+        }
+        mongoTemplate.updateMulti(members, new Update()
+                .set("batchKey", batchKey)
+                .set("claim", leader.getClaim())
+                .set("availableAt", now.plus(lease))
+                .set("attempts", leader.getAttempts()), CompletionTask.class);
+        List<CompletionTask> batch = mongoTemplate.find(
+                new Query(Criteria.where("batchKey").is(batchKey).and("status").is(Status.PENDING)),
+                CompletionTask.class);
+
+        try {
+            effects.runBatch(batchKey, batch);
+        } catch (RuntimeException e) {
+            failBatch(batchKey, leader, batch.size(), e);
+            return batch.size();
+        }
+        // The call covered the whole batch, so every member is done whoever
+        // holds its claim
+        Instant done = Instant.now();
+        mongoTemplate.updateMulti(
+                new Query(Criteria.where("batchKey").is(batchKey).and("status").is(Status.PENDING)),
+                new Update().set("status", Status.DONE).set("completedAt", done).unset("claim"),
+                CompletionTask.class);
+        Timer lag = lagTimers.get(leader.getEffect());
+        batch.forEach(task -> lag.record(Duration.between(task.getCreatedAt(), done)));
+        doneCounter.increment(batch.size());
+        return batch.size();
+    }
+
+    private void failBatch(String batchKey, CompletionTask leader, int size, RuntimeException e) {
+        Update update = new Update().set("lastError", String.valueOf(e.getMessage())).unset("claim");
+        Query claimed = new Query(Criteria.where("batchKey").is(batchKey).and("claim").is(leader.getClaim()));
+        if (leader.getAttempts() >= maxAttempts) {
+            log.error("Giving up on batch {} of {} tasks after {} attempts: {}",
+                    batchKey, size, leader.getAttempts(), e.getMessage());
+            mongoTemplate.updateMulti(claimed, update.set("status", Status.DEAD), CompletionTask.class);
+            deadCounter.increment(size);
+            return;
+        }
+        log.warn("Completion batch {} of {} tasks failed (attempt {}): {}",
+                batchKey, size, leader.getAttempts(), e.getMessage());
+        mongoTemplate.updateMulti(claimed,
+                update.set("availableAt", Instant.now().plus(backoff(leader.getAttempts()))), CompletionTask.class);
+        retryCounter.increment(size);
+    }
+
+    private void fail(CompletionTask task, RuntimeException e) {
+        Update update = new Update().set("lastError", String.valueOf(e.getMessage())).unset("claim");
+        if (task.getAttempts() >= maxAttempts) {
+            log.error("Giving up on {} after {} attempts: {}", task.getId(), task.getAttempts(), e.getMessage());
+            finish(task, update.set("status", Status.DEAD));
+            deadCounter.increment();
+            return;
+        }
+        log.warn("Completion effect {} failed (attempt {}): {}", task.getId(), task.getAttempts(), e.getMessage());
+        finish(task, update.set("availableAt", Instant.now().plus(backoff(task.getAttempts()))));
+        retryCounter.increment();
+    }
+
+    // Doubles per attempt, capped
+    Duration backoff(int attempts) {
+        Duration delay = backoff.multipliedBy(1L << Math.min(attempts - 1, 20));
+        return delay.compareTo(MAX_BACKOFF) > 0 ? MAX_BACKOFF : delay;
+    }
+
+    // Only the current claim may write the outcome; a worker whose lease ran
+    // out and was re-claimed elsewhere changes nothing
+    private void finish(CompletionTask task, Update update) {
+        mongoTemplate.updateFirst(
+                new Query(Criteria.where("id").is(task.getId()).and("claim").is(task.getClaim())),
+                update, CompletionTask.class);
+    }
+
+    private CompletionTask task(ServiceRequest request, Effect effect, Instant now) {
+        return CompletionTask.builder()
+                .id(CompletionTask.key(request.getId(), effect))
+                .requestId(request.getId())
+                .requestNumber(request.getRequestNumber())
+                .customerId(request.getCustomerId())
+                .technicianId(request.getTechnicianId())
+                .effect(effect)
+                .createdAt(now)
+                .availableAt(now)
+                .build();
+    }
+
+    private static Counter runCounter(MeterRegistry registry, String result) {
+        return Counter.builder("completion.effect.runs")
+                .description("Completion side effect attempts by outcome")
+                .tag("result", result)
+                .register(registry);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        pool.shutdownNow();
+    }
+}
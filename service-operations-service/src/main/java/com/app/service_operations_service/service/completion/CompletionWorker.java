@@ -0,0 +1,42 @@
+package com.app.service_operations_service.service.completion;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+// Polls the completion outbox on a fixed delay. On by default; with
+// app.completion.worker.enabled=false this instance only enqueues and
+// leaves the effects to the others.
+@Component
+@ConditionalOnProperty(name = "app.completion.worker.enabled", havingValue = "true", matchIfMissing = true)
+public class CompletionWorker {
+
+    private static final Logger log = LoggerFactory.getLogger(CompletionWorker.class);
+
+    private final CompletionOutbox outbox;
+    private final int maxTasksPerPoll;
+
+    public CompletionWorker(
+            CompletionOutbox outbox,
+            @Value("${app.completion.max-tasks-per-poll:500}") int maxTasksPerPoll) {
+        this.outbox = outbox;
+        this.maxTasksPerPoll = maxTasksPerPoll;
+    }
+
+    @Scheduled(fixedDelayString = "${app.completion.poll-ms:1000}",
+            initialDelayString = "${app.completion.initial-delay-ms:10000}")
+    public void poll() {
+        try {
+            int processed = outbox.drain(maxTasksPerPoll);
+            if (processed > 0) {
+                log.debug("Ran {} completion side effects", processed);
+            }
+        } catch (RuntimeException e) {
+            // Tasks stay pending and are picked up by the next poll
+            log.warn("Completion outbox poll failed: {}", e.getMessage());
+        }
+    }
+}
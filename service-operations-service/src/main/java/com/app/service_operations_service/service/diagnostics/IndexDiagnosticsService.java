@@ -0,0 +1,164 @@
+package com.app.service_operations_service.service.diagnostics;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Service;
+
+import com.app.service_operations_service.dto.diagnostics.IndexUsageReport;
+import com.app.service_operations_service.dto.diagnostics.IndexUsageReport.QueryPlan;
+import com.app.service_operations_service.model.Invoice;
+import com.app.service_operations_service.model.ServiceCategory;
+import com.app.service_operations_service.model.ServiceItem;
+import com.app.service_operations_service.model.ServiceRequest;
+import com.app.service_operations_service.model.enums.PaymentStatus;
+import com.app.service_operations_service.model.enums.RequestStatus;
+
+// Runs explain (executionStats) for the shape of every repository query and
+// reports the winning plan. Plans depend on the filter's fields, not its
+// values, so placeholder values are used.
+@Service
+public class IndexDiagnosticsService {
+
+    private static final Logger log = LoggerFactory.getLogger(IndexDiagnosticsService.class);
+    private static final String PROBE = "explain-probe";
+    private static final int PROBE_LIMIT = 20;
+
+    private final MongoTemplate mongoTemplate;
+
+    public IndexDiagnosticsService(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    public IndexUsageReport explainRepositoryQueries() {
+        List<QueryPlan> plans = new ArrayList<>();
+        for (Probe probe : probes()) {
+            plans.add(explain(probe));
+        }
+        int scans = (int) plans.stream().filter(QueryPlan::isCollectionScan).count();
+        if (scans > 0) {
+            log.warn("{} repository queries run as collection scans", scans);
+        }
+        return IndexUsageReport.builder()
+                .generatedAt(Instant.now())
+                .collectionScans(scans)
+                .queries(plans)
+                .build();
+    }
+
+    List<Probe> probes() {
+        String requests = mongoTemplate.getCollectionName(ServiceRequest.class);
+        String invoices = mongoTemplate.getCollectionName(Invoice.class);
+        String items = mongoTemplate.getCollectionName(ServiceItem.class);
+        String categories = mongoTemplate.getCollectionName(ServiceCategory.class);
+        Document newestFirst = new Document("createdAt", -1).append("_id", -1);
+        return List.of(
+                new Probe("ServiceRequestRepository", "findPage(all)", requests, new Document(), newestFirst),
+                new Probe("ServiceRequestRepository", "findByRequestNumber", requests,
+                        new Document("requestNumber", PROBE), null),
+                new Probe("ServiceRequestRepository", "findPage(customer)", requests,
+                        new Document("customerId", PROBE), newestFirst),
+                new Probe("ServiceRequestRepository", "findPage(technician)", requests,
+                        new Document("technicianId", PROBE), newestFirst),
+                new Probe("ServiceRequestRepository", "findPage(status) / countByStatus", requests,
+                        new Document("status", RequestStatus.REQUESTED.name()), newestFirst),
+                new Probe("InvoiceRepository", "findByCustomerId", invoices,
+                        new Document("customerId", PROBE), null),
+                new Probe("InvoiceRepository", "findByPaymentStatus", invoices,
+                        new Document("paymentStatus", PaymentStatus.PENDING.name()), null),
+                new Probe("InvoiceRepository", "findByRequestId / existsByRequestId", invoices,
+                        new Document("requestId", PROBE), null),
+                new Probe("InvoiceRepository", "revenueReport(from, to)", invoices,
+                        new Document("createdAt", new Document("$gte", Date.from(Instant.EPOCH))), null),
+                new Probe("InvoiceRepository", "monthlyRevenue(from, to)", invoices,
+                        new Document("paymentStatus", PaymentStatus.PAID.name())
+                                .append("createdAt", new Document("$gte", Date.from(Instant.EPOCH))), null),
+                new Probe("ServiceItemRepository", "findByCategoryIdAndIsActiveTrue", items,
+                        new Document("categoryId", PROBE).append("isActive", true), null),
+                new Probe("ServiceItemRepository", "findByIsActiveTrue", items,
+                        new Document("isActive", true), null),
+                new Probe("ServiceCategoryRepository", "findByIsActiveTrue", categories,
+                        new Document("isActive", true), null));
+    }
+
+    private QueryPlan explain(Probe probe) {
+        QueryPlan.QueryPlanBuilder plan = QueryPlan.builder()
+                .repository(probe.repository())
+                .method(probe.method())
+                .collection(probe.collection())
+                .filter(probe.filter().toJson())
+                .sort(probe.sort() != null ? probe.sort().toJson() : null);
+
+        Document find = new Document("find", probe.collection())
+                .append("filter", probe.filter())
+                .append("limit", PROBE_LIMIT);
+        if (probe.sort() != null) {
+            find.append("sort", probe.sort());
+        }
+        try {
+            Document result = mongoTemplate.executeCommand(
+                    new Document("explain", find).append("verbosity", "executionStats"));
+            Document winning = winningPlan(result);
+            List<String> stages = new ArrayList<>();
+            String[] indexName = new String[1];
+            collectStages(winning, stages, indexName);
+            boolean collscan = stages.contains("COLLSCAN");
+            Document stats = result.get("executionStats", new Document());
+            return plan
+                    .stage(collscan ? "COLLSCAN" : stages.isEmpty() ? null : stages.get(stages.size() - 1))
+                    .indexName(indexName[0])
+                    .collectionScan(collscan)
+                    .keysExamined(number(stats, "totalKeysExamined"))
+                    .docsExamined(number(stats, "totalDocsExamined"))
+                    .returned(number(stats, "nReturned"))
+                    .build();
+        } catch (RuntimeException e) {
+            log.warn("explain failed for {}.{}: {}", probe.repository(), probe.method(), e.getMessage());
+            return plan.error(e.getMessage()).build();
+        }
+    }
+
+    // Servers using the slot-based engine nest the classic plan under queryPlan
+    private static Document winningPlan(Document explain) {
+        Document planner = explain.get("queryPlanner", new Document());
+        Document winning = planner.get("winningPlan", new Document());
+        Document nested = winning.get("queryPlan", Document.class);
+        return nested != null ? nested : winning;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void collectStages(Document stage, List<String> stages, String[] indexName) {
+        if (stage == null) {
+            return;
+        }
+        if (stage.getString("stage") != null) {
+            stages.add(stage.getString("stage"));
+        }
+        if (indexName[0] == null && stage.getString("indexName") != null) {
+            indexName[0] = stage.getString("indexName");
+        }
+        collectStages(stage.get("inputStage", Document.class), stages, indexName);
+        Object inputs = stage.get("inputStages");
+        if (inputs instanceof List<?> list) {
+            for (Object input : list) {
+                if (input instanceof Document child) {
+                    collectStages(child, stages, indexName);
+                }
+            }
+        }
+    }
+
+    private static long number(Document document, String key) {
+        Object value = document.get(key);
+        return value instanceof Number n ? n.longValue() : 0L;
+    }
+
+    record Probe(String repository, String method, String collection, Document filter, Document sort) {
+    }
+}
@@ -0,0 +1,33 @@
+package com.app.service_operations_service.service.dispatch;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+// Triggers a dispatch micro-batch on a fixed delay. Off unless
+// app.dispatch.enabled=true; manual runs go through DispatchController.
+@Component
+@ConditionalOnProperty(name = "app.dispatch.enabled", havingValue = "true")
+public class DispatchScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(DispatchScheduler.class);
+
+    private final DispatchService dispatchService;
+
+    public DispatchScheduler(DispatchService dispatchService) {
+        this.dispatchService = dispatchService;
+    }
+
+    @Scheduled(fixedDelayString = "${app.dispatch.interval-ms:15000}",
+            initialDelayString = "${app.dispatch.initial-delay-ms:30000}")
+    public void dispatch() {
+        try {
+            dispatchService.runBatch();
+        } catch (RuntimeException e) {
+            // Requests stay REQUESTED and are picked up by the next batch
+            log.warn("Dispatch batch failed: {}", e.getMessage());
+        }
+    }
+}
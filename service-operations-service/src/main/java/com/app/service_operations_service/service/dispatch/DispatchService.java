@@ -0,0 +1,377 @@
+package com.app.service_operations_service.service.dispatch;
+
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.group;
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.limit;
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.match;
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.newAggregation;
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.sort;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import com.app.service_operations_service.client.NotificationClient;
+import com.app.service_operations_service.client.TechnicianClient;
+import com.app.service_operations_service.client.dto.NotificationRequest;
+import com.app.service_operations_service.client.dto.NotificationType;
+import com.app.service_operations_service.client.dto.TechnicianProfileResponse;
+import com.app.service_operations_service.dto.PagedResponse;
+import com.app.service_operations_service.dto.dispatch.DispatchRunResponse;
+import com.app.service_operations_service.exception.ExternalServiceException;
+import com.app.service_operations_service.model.ServiceCategory;
+import com.app.service_operations_service.model.ServiceItem;
+import com.app.service_operations_service.model.ServiceRequest;
+import com.app.service_operations_service.model.enums.RequestStatus;
+import com.app.service_operations_service.repository.ServiceCategoryRepository;
+import com.app.service_operations_service.repository.ServiceItemRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+// Runs one dispatch micro-batch: loads the oldest, highest-priority unassigned
+// requests, snapshots available technicians from technician-service, solves the
+// batch in memory and commits each assignment with a conditional update that
+// only succeeds while the request is still REQUESTED and unassigned. The
+// snapshot can be stale, so each commit re-counts the technician's assigned
+// requests after writing and backs out if that went over maxWorkload. A lease
+// document keeps two instances from dispatching the same batch concurrently.
+@Service
+public class DispatchService {
+
+    private static final Logger log = LoggerFactory.getLogger(DispatchService.class);
+
+    static final String LEASE_COLLECTION = "dispatch_leases";
+    private static final String LEASE_ID = "service-request-dispatch";
+    private static final int TECHNICIAN_PAGE_SIZE = 100;
+
+    private final MongoTemplate mongoTemplate;
+    private final ServiceItemRepository itemRepository;
+    private final ServiceCategoryRepository categoryRepository;
+    private final TechnicianClient technicianClient;
+    private final NotificationClient notificationClient;
+    private final DispatchSolver solver = new DispatchSolver();
+    private final ReentrantLock localLock = new ReentrantLock();
+    private final String owner = UUID.randomUUID().toString();
+    private final int batchSize;
+    private final Duration leaseDuration;
+
+    private final Timer batchTimer;
+    private final Timer waitTimer;
+    private final DistributionSummary batchSizes;
+    private final Counter assignedCounter;
+    private final Counter conflictCounter;
+    private final Counter unmatchedCounter;
+
+    public DispatchService(
+            MongoTemplate mongoTemplate,
+            ServiceItemRepository itemRepository,
+            ServiceCategoryRepository categoryRepository,
+            TechnicianClient technicianClient,
+            NotificationClient notificationClient,
+            MeterRegistry meterRegistry,
+            @Value("${app.dispatch.batch-size:200}") int batchSize,
+            @Value("${app.dispatch.lease-ms:60000}") long leaseMs) {
+        this.mongoTemplate = mongoTemplate;
+        this.itemRepository = itemRepository;
+        this.categoryRepository = categoryRepository;
+        this.technicianClient = technicianClient;
+        this.notificationClient = notificationClient;
+        this.batchSize = batchSize;
+        this.leaseDuration = Duration.ofMillis(leaseMs);
+
+        this.batchTimer = Timer.builder("dispatch.batch.duration")
+                .description("Time to load, solve and commit one dispatch batch")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        this.waitTimer = Timer.builder("dispatch.request.wait")
+                .description("Time from request creation to automatic assignment")
+                .publishPercentiles(0.5, 0.95)
+                .register(meterRegistry);
+        this.batchSizes = DistributionSummary.builder("dispatch.batch.size")
+                .description("Unassigned requests considered per batch")
+                .register(meterRegistry);
+        this.assignedCounter = assignmentCounter(meterRegistry, "assigned");
+        this.conflictCounter = assignmentCounter(meterRegistry, "conflict");
+        this.unmatchedCounter = assignmentCounter(meterRegistry, "unmatched");
+    }
+
+    public DispatchRunResponse runBatch() {
+        if (!localLock.tryLock()) {
+            return DispatchRunResponse.builder().executed(false).build();
+        }
+        try {
+            if (!acquireLease()) {
+                log.debug("Dispatch lease held by another instance, skipping batch");
+                return DispatchRunResponse.builder().executed(false).build();
+            }
+            try {
+                return batchTimer.record(this::dispatch);
+            } finally {
+                releaseLease();
+            }
+        } finally {
+            localLock.unlock();
+        }
+    }
+
+    DispatchRunResponse dispatch() {
+        long started = System.nanoTime();
+        List<ServiceRequest> pending = loadPending();
+        batchSizes.record(pending.size());
+        if (pending.isEmpty()) {
+            return DispatchRunResponse.builder().executed(true).build();
+        }
+
+        List<TechnicianProfileResponse> profiles = loadAvailableTechnicians();
+        Map<String, Long> assignedCounts = countAssigned();
+        List<DispatchSolver.Technician> technicians = profiles.stream()
+                .map(p -> toTechnician(p, assignedCounts.getOrDefault(p.getId(), 0L)))
+                .toList();
+
+        Map<String, List<String>> termsByService = skillTerms(pending);
+        Map<String, ServiceRequest> byId = pending.stream()
+                .collect(Collectors.toMap(ServiceRequest::getId, Function.identity()));
+        List<DispatchSolver.Job> jobs = pending.stream()
+                .map(r -> new DispatchSolver.Job(r.getId(), r.getPriority(), r.getPreferredDate(),
+                        r.getCreatedAt(), r.getAddress(),
+                        termsByService.getOrDefault(r.getServiceId(), List.of())))
+                .toList();
+
+        DispatchSolver.Result result = solver.solve(jobs, technicians);
+        Map<String, TechnicianProfileResponse> profilesById = profiles.stream()
+                .collect(Collectors.toMap(TechnicianProfileResponse::getId, Function.identity(), (a, b) -> a));
+
+        int assigned = 0;
+        int conflicts = 0;
+        for (DispatchSolver.Assignment assignment : result.assignments()) {
+            ServiceRequest request = byId.get(assignment.requestId());
+            Instant now = Instant.now();
+            TechnicianProfileResponse technician = profilesById.get(assignment.technicianId());
+            if (commit(assignment, technician, now)) {
+                assigned++;
+                if (request.getCreatedAt() != null) {
+                    waitTimer.record(Duration.between(request.getCreatedAt(), now));
+                }
+                notifyTechnician(technician.getUserId(), request);
+            } else {
+                conflicts++;
+            }
+        }
+        assignedCounter.increment(assigned);
+        conflictCounter.increment(conflicts);
+        unmatchedCounter.increment(result.unmatched().size());
+
+        long durationMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+        log.info("Dispatch batch: {} pending, {} technicians, {} assigned, {} conflicts, {} unmatched in {} ms",
+                pending.size(), technicians.size(), assigned, conflicts, result.unmatched().size(), durationMs);
+        return DispatchRunResponse.builder()
+                .executed(true)
+                .batchSize(pending.size())
+                .technicians(technicians.size())
+                .assigned(assigned)
+                .conflicts(conflicts)
+                .unmatched(result.unmatched().size())
+                .durationMs(durationMs)
+                .build();
+    }
+
+    // Priority is stored as a string, so rank it server-side before sorting
+    private List<ServiceRequest> loadPending() {
+        AggregationOperation addRank = context -> new Document("$addFields",
+                new Document("priorityRank", new Document("$switch", new Document("branches", List.of(
+                        branch("URGENT", 3), branch("HIGH", 2), branch("MEDIUM", 1)))
+                        .append("default", 0))));
+        Aggregation aggregation = newAggregation(
+                match(Criteria.where("status").is(RequestStatus.REQUESTED).and("technicianId").is(null)),
+                addRank,
+                sort(Sort.by(Sort.Order.desc("priorityRank"), Sort.Order.asc("preferredDate"),
+                        Sort.Order.asc("createdAt"))),
+                limit(batchSize));
+        return mongoTemplate.aggregate(aggregation, ServiceRequest.class, ServiceRequest.class).getMappedResults();
+    }
+
+    private static Document branch(String priority, int rank) {
+        return new Document("case", new Document("$eq", List.of(new Document("$toUpper", "$priority"), priority)))
+                .append("then", rank);
+    }
+
+    private List<TechnicianProfileResponse> loadAvailableTechnicians() {
+        List<TechnicianProfileResponse> technicians = new ArrayList<>();
+        int page = 0;
+        PagedResponse<TechnicianProfileResponse> response;
+        do {
+            response = technicianClient.getAvailable(page++, TECHNICIAN_PAGE_SIZE);
+            if (response == null) {
+                throw new ExternalServiceException("Technician service unavailable, dispatch batch aborted");
+            }
+            if (response.getContent() != null) {
+                technicians.addAll(response.getContent());
+            }
+        } while (!response.isLast() && response.getContent() != null && !response.getContent().isEmpty());
+        return technicians;
+    }
+
+    // Assigned-but-not-accepted requests are not yet in currentWorkload
+    private Map<String, Long> countAssigned() {
+        Aggregation aggregation = newAggregation(
+                match(Criteria.where("status").is(RequestStatus.ASSIGNED).and("technicianId").ne(null)),
+                group("technicianId").count().as("count"));
+        Map<String, Long> counts = new HashMap<>();
+        for (Document doc : mongoTemplate.aggregate(aggregation, ServiceRequest.class, Document.class)) {
+            counts.put(doc.getString("_id"), ((Number) doc.get("count")).longValue());
+        }
+        return counts;
+    }
+
+    private Map<String, List<String>> skillTerms(List<ServiceRequest> pending) {
+        List<String> serviceIds = pending.stream().map(ServiceRequest::getServiceId).distinct().toList();
+        List<ServiceItem> items = itemRepository.findAllById(serviceIds);
+        Map<String, String> categoryNames = categoryRepository.findAllById(
+                        items.stream().map(ServiceItem::getCategoryId).distinct().toList())
+                .stream()
+                .collect(Collectors.toMap(ServiceCategory::getId, ServiceCategory::getName, (a, b) -> a));
+
+        Map<String, List<String>> terms = new HashMap<>();
+        for (ServiceItem item : items) {
+            List<String> values = new ArrayList<>();
+            values.add(item.getName());
+            values.add(categoryNames.get(item.getCategoryId()));
+            terms.put(item.getId(), values);
+        }
+        return terms;
+    }
+
+    static DispatchSolver.Technician toTechnician(TechnicianProfileResponse profile, long assigned) {
+        int max = profile.getMaxWorkload() == null ? 0 : profile.getMaxWorkload();
+        int current = profile.getCurrentWorkload() == null ? 0 : profile.getCurrentWorkload();
+        int load = current + (int) assigned;
+        List<String> skills = new ArrayList<>();
+        if (profile.getSkills() != null) {
+            skills.addAll(profile.getSkills());
+        }
+        if (profile.getSpecialization() != null) {
+            skills.add(profile.getSpecialization());
+        }
+        return new DispatchSolver.Technician(profile.getId(), profile.getUserId(), skills,
+                profile.getLocation(), max, load, Math.max(0, max - load));
+    }
+
+    private boolean commit(DispatchSolver.Assignment assignment, TechnicianProfileResponse technician, Instant now) {
+        Query query = new Query(Criteria.where("_id").is(assignment.requestId())
+                .and("status").is(RequestStatus.REQUESTED)
+                .and("technicianId").is(null));
+        Update update = new Update()
+                .set("technicianId", assignment.technicianId())
+                .set("status", RequestStatus.ASSIGNED)
+                .set("assignedAt", now);
+        if (mongoTemplate.updateFirst(query, update, ServiceRequest.class).getModifiedCount() != 1) {
+            return false;
+        }
+        if (withinCapacity(technician)) {
+            return true;
+        }
+        release(assignment, now);
+        return false;
+    }
+
+    // Counted after our own write, so of two commits racing for the last slot
+    // at least one sees the other and backs out. Assignments made by hand or
+    // by another batch since the snapshot are included the same way.
+    private boolean withinCapacity(TechnicianProfileResponse technician) {
+        int max = technician.getMaxWorkload() == null ? 0 : technician.getMaxWorkload();
+        int current = technician.getCurrentWorkload() == null ? 0 : technician.getCurrentWorkload();
+        long assigned = mongoTemplate.count(new Query(Criteria.where("technicianId").is(technician.getId())
+                .and("status").is(RequestStatus.ASSIGNED)), ServiceRequest.class);
+        return current + assigned <= max;
+    }
+
+    // Only undoes our own assignment; the request goes back to the queue
+    private void release(DispatchSolver.Assignment assignment, Instant now) {
+        Query ours = new Query(Criteria.where("_id").is(assignment.requestId())
+                .and("status").is(RequestStatus.ASSIGNED)
+                .and("technicianId").is(assignment.technicianId())
+                .and("assignedAt").is(now));
+        Update undo = new Update()
+                .set("status", RequestStatus.REQUESTED)
+                .unset("technicianId")
+                .unset("assignedAt");
+        mongoTemplate.updateFirst(ours, undo, ServiceRequest.class);
+        log.debug("Technician {} reached maxWorkload, request {} returned to the queue",
+                assignment.technicianId(), assignment.requestId());
+    }
+
+    private void notifyTechnician(String userId, ServiceRequest request) {
+        if (userId == null) {
+            return;
+        }
+        NotificationRequest notification = new NotificationRequest();
+        notification.setUserId(userId);
+        notification.setType(NotificationType.IN_APP);
+        notification.setSubject("Service Request Assigned");
+        notification.setMessage("Your request " + request.getRequestNumber()
+                + " has been assigned to you. Please review and accept or decline.");
+        try {
+            notificationClient.sendNotification(notification);
+        } catch (RuntimeException e) {
+            log.warn("Could not notify technician {} about {}: {}", userId, request.getRequestNumber(), e.getMessage());
+        }
+    }
+
+    // The upsert only inserts when no unexpired lease matches; a live lease held
+    // by someone else makes the insert collide on _id.
+    private boolean acquireLease() {
+        Instant now = Instant.now();
+        Query query = new Query(Criteria.where("_id").is(LEASE_ID)
+                .orOperator(Criteria.where("owner").is(owner), Criteria.where("expiresAt").lt(now)));
+        Update update = new Update().set("owner", owner).set("expiresAt", now.plus(leaseDuration));
+        try {
+            Document lease = mongoTemplate.findAndModify(query, update,
+                    FindAndModifyOptions.options().upsert(true).returnNew(true), Document.class, LEASE_COLLECTION);
+            return lease != null && owner.equals(lease.getString("owner"));
+        } catch (DuplicateKeyException e) {
+            return false;
+        }
+    }
+
+    private void releaseLease() {
+        try {
+            mongoTemplate.remove(new Query(Criteria.where("_id").is(LEASE_ID).and("owner").is(owner)),
+                    LEASE_COLLECTION);
+        } catch (RuntimeException e) {
+            // The lease expires on its own
+            log.warn("Could not release dispatch lease: {}", e.getMessage());
+        }
+    }
+
+    private static Counter assignmentCounter(MeterRegistry registry, String result) {
+        return Counter.builder("dispatch.assignments")
+                .description("Dispatch outcomes per request")
+                .tag("result", result)
+                .register(registry);
+    }
+}
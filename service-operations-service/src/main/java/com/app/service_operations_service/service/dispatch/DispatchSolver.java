@@ -0,0 +1,154 @@
+package com.app.service_operations_service.service.dispatch;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+// Greedy batch assignment. Jobs are taken in priority order (URGENT first,
+// then earliest preferredDate); each goes to the matching technician with the
+// lowest cost, where cost is utilisation after the assignment plus a penalty
+// when the technician's location does not match the job address. Remaining
+// capacity is tracked per technician so nobody is given more than they can take.
+public class DispatchSolver {
+
+    static final double LOCATION_MISMATCH_PENALTY = 1.0;
+    private static final int MIN_TOKEN_LENGTH = 3;
+
+    private static final Map<String, Integer> PRIORITY_RANK = Map.of(
+            "URGENT", 3, "HIGH", 2, "MEDIUM", 1, "LOW", 0);
+
+    static final Comparator<Job> JOB_ORDER = Comparator
+            .comparingInt((Job j) -> priorityRank(j.priority())).reversed()
+            .thenComparing(Job::preferredDate, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(Job::createdAt, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(Job::requestId);
+
+    public Result solve(Collection<Job> jobs, Collection<Technician> technicians) {
+        List<Slot> slots = technicians.stream()
+                .filter(t -> t.capacity() > 0)
+                .map(Slot::new)
+                .toList();
+
+        List<Assignment> assignments = new ArrayList<>();
+        List<String> unmatched = new ArrayList<>();
+
+        List<Job> ordered = jobs.stream().sorted(JOB_ORDER).toList();
+        for (Job job : ordered) {
+            Set<String> skillTokens = tokens(job.skillTerms());
+            Set<String> addressTokens = tokens(List.of(job.address() == null ? "" : job.address()));
+
+            Slot best = null;
+            double bestCost = Double.MAX_VALUE;
+            for (Slot slot : slots) {
+                if (slot.remaining == 0 || !matches(skillTokens, slot.skillTokens)) {
+                    continue;
+                }
+                double cost = slot.costOfNext()
+                        + (matches(addressTokens, slot.locationTokens) ? 0 : LOCATION_MISMATCH_PENALTY);
+                if (cost < bestCost) {
+                    bestCost = cost;
+                    best = slot;
+                }
+            }
+
+            if (best == null) {
+                unmatched.add(job.requestId());
+            } else {
+                best.take();
+                assignments.add(new Assignment(job.requestId(), best.technician.id()));
+            }
+        }
+        return new Result(assignments, unmatched);
+    }
+
+    static int priorityRank(String priority) {
+        return priority == null ? 0 : PRIORITY_RANK.getOrDefault(priority.toUpperCase(Locale.ROOT), 0);
+    }
+
+    // An empty requirement (unknown service) matches anyone
+    static boolean matches(Set<String> required, Set<String> offered) {
+        if (required.isEmpty()) {
+            return true;
+        }
+        for (String r : required) {
+            for (String o : offered) {
+                if (r.contains(o) || o.contains(r)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    static Set<String> tokens(Collection<String> values) {
+        Set<String> tokens = new HashSet<>();
+        for (String value : values) {
+            if (value == null) {
+                continue;
+            }
+            for (String token : value.toLowerCase(Locale.ROOT).split("[^\\p{Alnum}]+")) {
+                if (token.length() >= MIN_TOKEN_LENGTH) {
+                    tokens.add(token);
+                }
+            }
+        }
+        return tokens;
+    }
+
+    public record Job(
+            String requestId,
+            String priority,
+            Instant preferredDate,
+            Instant createdAt,
+            String address,
+            List<String> skillTerms) {
+    }
+
+    // capacity = maxWorkload - currentWorkload - requests already assigned but not yet accepted
+    public record Technician(
+            String id,
+            String userId,
+            List<String> skills,
+            String location,
+            int maxWorkload,
+            int load,
+            int capacity) {
+    }
+
+    public record Assignment(String requestId, String technicianId) {
+    }
+
+    public record Result(List<Assignment> assignments, List<String> unmatched) {
+    }
+
+    private static final class Slot {
+        private final Technician technician;
+        private final Set<String> skillTokens;
+        private final Set<String> locationTokens;
+        private int load;
+        private int remaining;
+
+        private Slot(Technician technician) {
+            this.technician = technician;
+            this.skillTokens = tokens(technician.skills());
+            this.locationTokens = tokens(List.of(technician.location() == null ? "" : technician.location()));
+            this.load = technician.load();
+            this.remaining = technician.capacity();
+        }
+
+        private double costOfNext() {
+            return technician.maxWorkload() > 0 ? (double) (load + 1) / technician.maxWorkload() : 1.0;
+        }
+
+        private void take() {
+            load++;
+            remaining--;
+        }
+    }
+}
@@ -0,0 +1,297 @@
+package com.app.service_operations_service.service.search;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import com.app.service_operations_service.dto.requests.RequestSuggestion;
+import com.app.service_operations_service.model.ServiceRequest;
+import com.app.service_operations_service.util.ValidationUtil;
+
+// In-memory trigram index over the request number and address of the most
+// recent requests, for search-as-you-type. A query is answered from the
+// posting lists of its trigrams, so the cost depends on how many requests
+// share those trigrams, not on how many are indexed. Only fields that never
+// change after creation are indexed, so refresh() only has to pick up new
+// requests; older ones are still found through the search endpoint.
+@Component
+public class RequestTypeahead {
+
+    static final int GRAM = 3;
+    static final int MAX_LIMIT = 20;
+    // Inserts are stamped before they are written, so each refresh re-reads
+    // a short overlap and skips the ids it already holds
+    static final Duration REFRESH_OVERLAP = Duration.ofSeconds(5);
+    static final int REFRESH_BATCH = 1000;
+
+    private static final Comparator<Entry> BY_SEQUENCE = Comparator.comparingLong(e -> e.sequence);
+
+    private final MongoTemplate mongoTemplate;
+    private final int capacity;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    // Oldest first, so eviction takes from the head
+    private final Deque<Entry> entries = new ArrayDeque<>();
+    private final Map<String, Entry> byId = new HashMap<>();
+    private final Map<String, Set<Entry>> postings = new HashMap<>();
+    private Instant watermark;
+    private long nextSequence;
+
+    @Autowired
+    public RequestTypeahead(MongoTemplate mongoTemplate, @Value("${app.search.typeahead.capacity:50000}") int capacity) {
+        this.mongoTemplate = mongoTemplate;
+        this.capacity = capacity;
+    }
+
+    // Loads the newest requests on the first call, afterwards only the ones
+    // created since the last call; returns how many were added
+    public int refresh() {
+        Instant since;
+        lock.readLock().lock();
+        try {
+            since = watermark;
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        if (since == null) {
+            Query newest = new Query().with(Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("id")))
+                    .limit(capacity);
+            return index(load(newest));
+        }
+        // Pages forward on (createdAt, _id) so a burst larger than one batch
+        // inside the overlap still moves on
+        int added = 0;
+        Instant from = since.minus(REFRESH_OVERLAP);
+        String afterId = null;
+        List<ServiceRequest> page;
+        do {
+            Criteria criteria = afterId == null
+                    ? where("createdAt").gte(from)
+                    : new Criteria().orOperator(
+                            where("createdAt").gt(from),
+                            where("createdAt").is(from).and("id").gt(afterId));
+            page = load(new Query(criteria)
+                    .with(Sort.by(Sort.Order.asc("createdAt"), Sort.Order.asc("id")))
+                    .limit(REFRESH_BATCH));
+            added += index(page);
+            if (!page.isEmpty()) {
+                ServiceRequest last = page.get(page.size() - 1);
+                from = last.getCreatedAt();
+                afterId = last.getId();
+            }
+        } while (page.size() == REFRESH_BATCH && from != null);
+        return added;
+    }
+
+    private List<ServiceRequest> load(Query query) {
+        query.fields().include("requestNumber", "address", "createdAt");
+        List<ServiceRequest> loaded = new ArrayList<>(mongoTemplate.find(query, ServiceRequest.class));
+        loaded.sort(Comparator.comparing(ServiceRequest::getCreatedAt, Comparator.nullsFirst(Comparator.naturalOrder())));
+        return loaded;
+    }
+
+    private int index(List<ServiceRequest> requests) {
+        int added = 0;
+        lock.writeLock().lock();
+        try {
+            for (ServiceRequest request : requests) {
+                if (add(request)) {
+                    added++;
+                }
+                if (request.getCreatedAt() != null
+                        && (watermark == null || request.getCreatedAt().isAfter(watermark))) {
+                    watermark = request.getCreatedAt();
+                }
+            }
+            if (watermark == null) {
+                watermark = Instant.EPOCH;
+            }
+            while (entries.size() > capacity) {
+                remove(entries.pollFirst());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        return added;
+    }
+
+    // Newest first. Matching ignores case and punctuation, so "req12" finds
+    // REQ-000000012 and "mainst" finds "12 Main St."
+    public List<RequestSuggestion> suggest(String text, int limit) {
+        ValidationUtil.validateInRange(limit, 1, MAX_LIMIT, "limit");
+        String needle = normalize(text);
+        if (needle.isEmpty()) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            List<Entry> matches = needle.length() < GRAM ? scan(needle, limit) : lookup(needle, limit);
+            return matches.stream().map(Entry::toSuggestion).toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Intersects the posting lists from the shortest up; a candidate holds
+    // every trigram but can still miss the substring, so it is checked again.
+    // Only the newest limit matches are kept, so a common trigram such as
+    // "req" costs one pass over its list and no sort.
+    private List<Entry> lookup(String needle, int limit) {
+        List<Set<Entry>> lists = new ArrayList<>();
+        for (String gram : grams(needle)) {
+            Set<Entry> posting = postings.get(gram);
+            if (posting == null) {
+                return List.of();
+            }
+            lists.add(posting);
+        }
+        lists.sort(Comparator.comparingInt(Set::size));
+        PriorityQueue<Entry> newest = new PriorityQueue<>(limit + 1, BY_SEQUENCE);
+        for (Entry candidate : lists.get(0)) {
+            if ((newest.size() < limit || candidate.sequence > newest.peek().sequence)
+                    && containsAll(lists, candidate) && candidate.matches(needle)) {
+                newest.add(candidate);
+                if (newest.size() > limit) {
+                    newest.poll();
+                }
+            }
+        }
+        List<Entry> matches = new ArrayList<>(newest);
+        matches.sort(BY_SEQUENCE.reversed());
+        return matches;
+    }
+
+    // One or two characters carry no trigram; walk newest first instead
+    private List<Entry> scan(String needle, int limit) {
+        List<Entry> matches = new ArrayList<>();
+        Iterator<Entry> newestFirst = entries.descendingIterator();
+        while (newestFirst.hasNext() && matches.size() < limit) {
+            Entry entry = newestFirst.next();
+            if (entry.matches(needle)) {
+                matches.add(entry);
+            }
+        }
+        return matches;
+    }
+
+    private static boolean containsAll(List<Set<Entry>> lists, Entry candidate) {
+        for (int i = 1; i < lists.size(); i++) {
+            if (!lists.get(i).contains(candidate)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean add(ServiceRequest request) {
+        if (request.getId() == null || byId.containsKey(request.getId())) {
+            return false;
+        }
+        Entry entry = new Entry(request, nextSequence++);
+        entries.addLast(entry);
+        byId.put(entry.id, entry);
+        for (String gram : grams(entry.number, entry.address)) {
+            postings.computeIfAbsent(gram, g -> new HashSet<>()).add(entry);
+        }
+        return true;
+    }
+
+    private void remove(Entry entry) {
+        byId.remove(entry.id);
+        for (String gram : grams(entry.number, entry.address)) {
+            Set<Entry> posting = postings.get(gram);
+            if (posting != null) {
+                posting.remove(entry);
+                if (posting.isEmpty()) {
+                    postings.remove(gram);
+                }
+            }
+        }
+    }
+
+    static String normalize(String value) {
+        if (value == null) {
+            return "";
+        }
+        StringBuilder normalized = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = Character.toLowerCase(value.charAt(i));
+            if (Character.isLetterOrDigit(c)) {
+                normalized.append(c);
+            }
+        }
+        return normalized.toString();
+    }
+
+    static Set<String> grams(String... values) {
+        Set<String> grams = new HashSet<>();
+        for (String value : values) {
+            for (int i = 0; i + GRAM <= value.length(); i++) {
+                grams.add(value.substring(i, i + GRAM));
+            }
+        }
+        return grams;
+    }
+
+    // Identity equality keeps posting list lookups cheap
+    private static final class Entry {
+        private final String id;
+        private final String requestNumber;
+        private final String rawAddress;
+        private final Instant createdAt;
+        // Normalized copies; kept apart so no trigram spans the two
+        private final String number;
+        private final String address;
+        private final long sequence;
+
+        Entry(ServiceRequest request, long sequence) {
+            this.id = request.getId();
+            this.requestNumber = request.getRequestNumber();
+            this.rawAddress = request.getAddress();
+            this.createdAt = request.getCreatedAt();
+            this.number = normalize(request.getRequestNumber());
+            this.address = normalize(request.getAddress());
+            this.sequence = sequence;
+        }
+
+        boolean matches(String needle) {
+            return number.contains(needle) || address.contains(needle);
+        }
+
+        RequestSuggestion toSuggestion() {
+            return new RequestSuggestion(id, requestNumber, rawAddress, createdAt);
+        }
+    }
+}
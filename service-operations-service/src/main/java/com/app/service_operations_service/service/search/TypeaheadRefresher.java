@@ -0,0 +1,36 @@
+package com.app.service_operations_service.service.search;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+// Keeps every instance's typeahead index current by polling for new
+// requests, whichever instance created them. On by default.
+@Component
+@ConditionalOnProperty(name = "app.search.typeahead.enabled", havingValue = "true", matchIfMissing = true)
+public class TypeaheadRefresher {
+
+    private static final Logger log = LoggerFactory.getLogger(TypeaheadRefresher.class);
+
+    private final RequestTypeahead typeahead;
+
+    public TypeaheadRefresher(RequestTypeahead typeahead) {
+        this.typeahead = typeahead;
+    }
+
+    @Scheduled(fixedDelayString = "${app.search.typeahead.refresh-ms:2000}",
+            initialDelayString = "${app.search.typeahead.initial-delay-ms:5000}")
+    public void refresh() {
+        try {
+            int added = typeahead.refresh();
+            if (added > 0) {
+                log.debug("Indexed {} requests for typeahead ({} held)", added, typeahead.size());
+            }
+        } catch (RuntimeException e) {
+            // The index keeps serving what it has; the next poll catches up
+            log.warn("Typeahead refresh failed: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,269 @@
+package com.app.service_operations_service.service.sla;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import com.app.service_operations_service.client.NotificationClient;
+import com.app.service_operations_service.client.dto.NotificationBatchRequest;
+import com.app.service_operations_service.client.dto.NotificationRequest;
+import com.app.service_operations_service.client.dto.NotificationType;
+import com.app.service_operations_service.client.dto.TechnicianProfileResponse;
+import com.app.service_operations_service.model.ServiceItem;
+import com.app.service_operations_service.model.ServiceRequest;
+import com.app.service_operations_service.model.enums.RequestStatus;
+import com.app.service_operations_service.repository.ServiceItemRepository;
+import com.app.service_operations_service.service.TechnicianDirectory;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+// Enforces ServiceItem.slaHours on open requests. The deadline is the later
+// of creation and the preferred date plus the SLA hours; it is stored on the
+// request at create, assign and reschedule time and armed in an in-memory
+// timer wheel. Each tick only handles the timers that came due. A breach is
+// recorded with a conditional update, so a timer left behind by a
+// reschedule, a finished request or another instance finds nothing to do.
+@Service
+public class SlaMonitor {
+
+    private static final Logger log = LoggerFactory.getLogger(SlaMonitor.class);
+
+    private static final String YOUR_REQUEST_PREFIX = "Your request ";
+    // Per-call limit of the notification-service batch endpoint
+    static final int NOTIFICATION_CHUNK = 500;
+    static final int LOAD_BATCH = 1000;
+    // Deadlines written by another instance are picked up by the sweep; the
+    // overlap covers a write that lands just after a sweep read past it
+    static final Duration SWEEP_OVERLAP = Duration.ofMinutes(1);
+
+    private final MongoTemplate mongoTemplate;
+    private final ServiceItemRepository serviceItemRepository;
+    private final NotificationClient notificationClient;
+    private final TechnicianDirectory technicianDirectory;
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final SlaTimerWheel wheel;
+    private final Timer detectionLag;
+    private Instant sweptUntil;
+
+    public SlaMonitor(
+            MongoTemplate mongoTemplate,
+            ServiceItemRepository serviceItemRepository,
+            NotificationClient notificationClient,
+            TechnicianDirectory technicianDirectory,
+            MeterRegistry meterRegistry,
+            @Value("${app.sla.monitor.enabled:true}") boolean enabled,
+            @Value("${app.sla.tick-ms:1000}") long tickMs) {
+        this.mongoTemplate = mongoTemplate;
+        this.serviceItemRepository = serviceItemRepository;
+        this.notificationClient = notificationClient;
+        this.technicianDirectory = technicianDirectory;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.wheel = new SlaTimerWheel(Duration.ofMillis(tickMs), Instant.now());
+        this.detectionLag = Timer.builder("sla.breach.detection.lag")
+                .description("Time from an SLA deadline to its breach being recorded")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        Gauge.builder("sla.timers.pending", wheel, SlaTimerWheel::size)
+                .description("SLA deadlines armed on this instance")
+                .register(meterRegistry);
+    }
+
+    public static Instant deadlineOf(ServiceRequest request, Integer slaHours) {
+        if (slaHours == null || slaHours <= 0 || request.getCreatedAt() == null) {
+            return null;
+        }
+        Instant start = request.getPreferredDate() != null && request.getPreferredDate().isAfter(request.getCreatedAt())
+                ? request.getPreferredDate()
+                : request.getCreatedAt();
+        return start.plus(Duration.ofHours(slaHours));
+    }
+
+    // Sets slaHours and slaDeadline on a request that is about to be inserted
+    public void stamp(ServiceRequest request) {
+        request.setSlaHours(slaHoursOf(request.getServiceId()));
+        request.setSlaDeadline(deadlineOf(request, request.getSlaHours()));
+    }
+
+    // Recomputes the deadline of a saved request after an assign or
+    // reschedule. Writes only when it moved, and a new deadline starts
+    // the SLA over.
+    public void track(ServiceRequest request) {
+        Integer slaHours = request.getSlaHours() != null ? request.getSlaHours() : slaHoursOf(request.getServiceId());
+        Instant deadline = deadlineOf(request, slaHours);
+        if (deadline != null && !deadline.equals(request.getSlaDeadline())) {
+            mongoTemplate.updateFirst(
+                    query(where("_id").is(request.getId()).and("status").in(RequestStatus.open())),
+                    new Update().set("slaHours", slaHours).set("slaDeadline", deadline).unset("slaBreachedAt"),
+                    ServiceRequest.class);
+            request.setSlaHours(slaHours);
+            request.setSlaDeadline(deadline);
+            request.setSlaBreachedAt(null);
+        }
+        arm(request);
+    }
+
+    public void arm(ServiceRequest request) {
+        if (enabled && request.getSlaDeadline() != null && request.getSlaBreachedAt() == null
+                && request.getStatus() != null && !request.getStatus().isTerminal()) {
+            wheel.schedule(request.getId(), request.getSlaDeadline());
+        }
+    }
+
+    // Arms every open request with a deadline and no breach yet. Already
+    // overdue ones fire on the first tick.
+    public int rebuild() {
+        Instant startedAt = Instant.now();
+        Query open = query(where("status").in(RequestStatus.open()).and("slaDeadline").ne(null)
+                .and("slaBreachedAt").is(null))
+                .cursorBatchSize(LOAD_BATCH);
+        open.fields().include("_id", "slaDeadline");
+        int armed = 0;
+        try (Stream<ServiceRequest> requests = mongoTemplate.stream(open, ServiceRequest.class)) {
+            for (ServiceRequest request : (Iterable<ServiceRequest>) requests::iterator) {
+                wheel.schedule(request.getId(), request.getSlaDeadline());
+                armed++;
+            }
+        }
+        synchronized (this) {
+            sweptUntil = startedAt;
+        }
+        log.info("Armed {} SLA deadlines in {} ms", armed, Duration.between(startedAt, Instant.now()).toMillis());
+        return armed;
+    }
+
+    // Arms deadlines that passed since the last sweep, which covers requests
+    // created or rescheduled on other instances. Reads only the index range
+    // of that window.
+    public int sweep() {
+        Instant now = Instant.now();
+        Instant from;
+        synchronized (this) {
+            if (sweptUntil == null) {
+                return 0;
+            }
+            from = sweptUntil.minus(SWEEP_OVERLAP);
+        }
+        Query passed = query(where("status").in(RequestStatus.open())
+                .and("slaDeadline").gt(from).lte(now)
+                .and("slaBreachedAt").is(null));
+        passed.fields().include("_id", "slaDeadline");
+        List<ServiceRequest> requests = mongoTemplate.find(passed, ServiceRequest.class);
+        requests.forEach(request -> wheel.schedule(request.getId(), request.getSlaDeadline()));
+        synchronized (this) {
+            sweptUntil = now;
+        }
+        return requests.size();
+    }
+
+    // Records and announces the breaches that came due; returns how many
+    public int tick() {
+        Instant now = Instant.now();
+        List<SlaTimerWheel.Timer> due = wheel.advance(now);
+        if (due.isEmpty()) {
+            return 0;
+        }
+        List<ServiceRequest> breached = new ArrayList<>();
+        for (SlaTimerWheel.Timer timer : due) {
+            ServiceRequest request = markBreached(timer.requestId(), now);
+            if (request != null) {
+                breached.add(request);
+                detectionLag.record(Duration.between(request.getSlaDeadline(), now));
+                meterRegistry.counter("sla.breaches", "status", request.getStatus().name().toLowerCase())
+                        .increment();
+            }
+        }
+        if (!breached.isEmpty()) {
+            log.warn("{} service requests breached their SLA", breached.size());
+            notifyBreaches(breached);
+        }
+        return breached.size();
+    }
+
+    int pending() {
+        return wheel.size();
+    }
+
+    // Matches only while the request is open, unbreached and past its stored
+    // deadline, so exactly one caller wins
+    private ServiceRequest markBreached(String requestId, Instant now) {
+        Query stillDue = query(where("_id").is(requestId)
+                .and("status").in(RequestStatus.open())
+                .and("slaBreachedAt").is(null)
+                .and("slaDeadline").lte(now));
+        stillDue.fields().include("_id", "requestNumber", "customerId", "technicianId", "status", "slaDeadline");
+        return mongoTemplate.findAndModify(stillDue, new Update().set("slaBreachedAt", now),
+                FindAndModifyOptions.options().returnNew(true), ServiceRequest.class);
+    }
+
+    private Integer slaHoursOf(String serviceId) {
+        if (serviceId == null) {
+            return null;
+        }
+        return serviceItemRepository.findById(serviceId).map(ServiceItem::getSlaHours).orElse(null);
+    }
+
+    // The customer is told the request is late; the assigned technician gets
+    // a reminder. Failures are logged, the breach stays recorded either way.
+    private void notifyBreaches(List<ServiceRequest> breached) {
+        Set<String> technicianIds = new LinkedHashSet<>();
+        breached.forEach(request -> {
+            if (request.getTechnicianId() != null) {
+                technicianIds.add(request.getTechnicianId());
+            }
+        });
+        Map<String, TechnicianProfileResponse> technicians = technicianIds.isEmpty()
+                ? Map.of()
+                : technicianDirectory.getTechnicians(technicianIds);
+
+        List<NotificationRequest> notifications = new ArrayList<>();
+        for (ServiceRequest request : breached) {
+            notifications.add(notification(request.getCustomerId(), "Request Delayed",
+                    YOUR_REQUEST_PREFIX + request.getRequestNumber()
+                            + " has passed its service deadline. We are following up on it."));
+            TechnicianProfileResponse technician = technicians.get(request.getTechnicianId());
+            if (technician != null) {
+                notifications.add(notification(technician.getUserId(), "Service Request Overdue",
+                        "Request " + request.getRequestNumber() + " has passed its service deadline."));
+            }
+        }
+        for (int from = 0; from < notifications.size(); from += NOTIFICATION_CHUNK) {
+            List<NotificationRequest> chunk = notifications.subList(from,
+                    Math.min(notifications.size(), from + NOTIFICATION_CHUNK));
+            try {
+                notificationClient.sendNotifications(new NotificationBatchRequest(new ArrayList<>(chunk)));
+            } catch (Exception e) {
+                log.warn("Failed to send {} SLA notifications: {}", chunk.size(), e.getMessage());
+            }
+        }
+    }
+
+    private NotificationRequest notification(String userId, String subject, String message) {
+        NotificationRequest request = new NotificationRequest();
+        request.setUserId(userId);
+        request.setType(NotificationType.IN_APP);
+        request.setSubject(subject);
+        request.setMessage(message);
+        return request;
+    }
+}
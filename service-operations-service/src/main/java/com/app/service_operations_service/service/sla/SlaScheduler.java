@@ -0,0 +1,60 @@
+package com.app.service_operations_service.service.sla;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+// Drives the SLA monitor: loads the open deadlines once the application is
+// up, then advances the timer wheel every tick and sweeps for deadlines set
+// elsewhere. On by default; with app.sla.monitor.enabled=false this instance
+// still stores deadlines but leaves breach detection to the others.
+@Component
+@ConditionalOnProperty(name = "app.sla.monitor.enabled", havingValue = "true", matchIfMissing = true)
+public class SlaScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(SlaScheduler.class);
+
+    private final SlaMonitor monitor;
+
+    public SlaScheduler(SlaMonitor monitor) {
+        this.monitor = monitor;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        try {
+            monitor.rebuild();
+        } catch (RuntimeException e) {
+            // The sweep still arms deadlines as they pass
+            log.warn("SLA deadline load failed: {}", e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.sla.tick-ms:1000}",
+            initialDelayString = "${app.sla.initial-delay-ms:10000}")
+    public void tick() {
+        try {
+            monitor.tick();
+        } catch (RuntimeException e) {
+            // Deadlines inside the sweep window are armed again by the next sweep
+            log.warn("SLA tick failed: {}", e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.sla.sweep-ms:60000}",
+            initialDelayString = "${app.sla.sweep-ms:60000}")
+    public void sweep() {
+        try {
+            int armed = monitor.sweep();
+            if (armed > 0) {
+                log.debug("SLA sweep armed {} passed deadlines", armed);
+            }
+        } catch (RuntimeException e) {
+            log.warn("SLA sweep failed: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.app.service_operations_service.service.sla;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+// Hierarchical timing wheel of request deadlines. Level 0 has one slot per
+// tick; each level above has slots 64 times as wide. A deadline goes into the
+// lowest level whose span covers it. When the level below wraps, the due slot
+// of the level above is re-filed one level down. Advancing one tick touches
+// one level-0 slot, plus one slot per level on a wrap, so the cost follows
+// the number of deadlines expiring, not the number held. An entry moves down
+// at most once per level.
+class SlaTimerWheel {
+
+    static final int BITS = 6;
+    static final int SLOTS = 1 << BITS;
+    static final int MASK = SLOTS - 1;
+    // 64^5 one-second ticks is about 34 years
+    static final int LEVELS = 5;
+
+    record Timer(String requestId, Instant deadline, long tick) {
+    }
+
+    private final long tickMs;
+    private final int levels;
+    private final List<Timer>[][] slots;
+    // Next tick to run; every deadline at or before it is due
+    private long currentTick;
+    private int size;
+
+    SlaTimerWheel(Duration tick, Instant start) {
+        this(tick, start, LEVELS);
+    }
+
+    @SuppressWarnings("unchecked")
+    SlaTimerWheel(Duration tick, Instant start, int levels) {
+        this.tickMs = tick.toMillis();
+        this.levels = levels;
+        this.slots = new List[levels][SLOTS];
+        this.currentTick = tickOf(start);
+    }
+
+    synchronized void schedule(String requestId, Instant deadline) {
+        // Rounded up so a timer never fires before its deadline
+        long tick = Math.floorDiv(deadline.toEpochMilli() + tickMs - 1, tickMs);
+        file(new Timer(requestId, deadline, tick));
+        size++;
+    }
+
+    // Runs every tick up to now and returns the timers that came due
+    synchronized List<Timer> advance(Instant now) {
+        List<Timer> expired = new ArrayList<>();
+        long target = tickOf(now);
+        while (currentTick <= target) {
+            int index = (int) (currentTick & MASK);
+            if (index == 0) {
+                cascade(1);
+            }
+            List<Timer> due = slots[0][index];
+            if (due != null) {
+                slots[0][index] = null;
+                expired.addAll(due);
+            }
+            currentTick++;
+        }
+        size -= expired.size();
+        return expired;
+    }
+
+    synchronized int size() {
+        return size;
+    }
+
+    // Moves the slot of this level that starts at currentTick one level down,
+    // and on a wrap of this level does the same for the level above
+    private void cascade(int level) {
+        if (level >= levels) {
+            return;
+        }
+        int index = (int) ((currentTick >>> (BITS * level)) & MASK);
+        if (index == 0) {
+            cascade(level + 1);
+        }
+        List<Timer> timers = slots[level][index];
+        if (timers != null) {
+            slots[level][index] = null;
+            timers.forEach(this::file);
+        }
+    }
+
+    private void file(Timer timer) {
+        long tick = Math.max(timer.tick(), currentTick);
+        long delta = tick - currentTick;
+        int level = 0;
+        while (level < levels - 1 && delta >= 1L << (BITS * (level + 1))) {
+            level++;
+        }
+        // Past the top level's span: park it as far out as the wheel reaches;
+        // it is filed again from there with its real tick
+        if (delta >= 1L << (BITS * levels)) {
+            tick = currentTick + (1L << (BITS * levels)) - 1;
+        }
+        int index = (int) ((tick >>> (BITS * level)) & MASK);
+        List<Timer> slot = slots[level][index];
+        if (slot == null) {
+            slot = new ArrayList<>();
+            slots[level][index] = slot;
+        }
+        slot.add(timer);
+    }
+
+    private long tickOf(Instant instant) {
+        return Math.floorDiv(instant.toEpochMilli(), tickMs);
+    }
+}
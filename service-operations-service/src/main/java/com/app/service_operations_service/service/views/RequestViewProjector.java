@@ -0,0 +1,195 @@
+package com.app.service_operations_service.service.views;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+import java.util.Objects;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import com.app.service_operations_service.client.IdentityClient;
+import com.app.service_operations_service.client.dto.CustomerSummary;
+import com.app.service_operations_service.client.dto.TechnicianProfileResponse;
+import com.app.service_operations_service.dto.requests.RequestViewRebuildResponse;
+import com.app.service_operations_service.messaging.event.TechnicianChangedEvent;
+import com.app.service_operations_service.messaging.event.UserProfileChangedEvent;
+import com.app.service_operations_service.model.RequestView;
+import com.app.service_operations_service.model.ServiceItem;
+import com.app.service_operations_service.model.ServiceRequest;
+import com.app.service_operations_service.repository.ServiceItemRepository;
+import com.app.service_operations_service.service.TechnicianDirectory;
+
+// Maintains request_views. Request events re-read the request itself, so a
+// late or repeated event just writes the current state again. Writes touch
+// only the fields the event owns: a request event never overwrites a
+// technician or customer snapshot it did not have to fetch, and technician
+// snapshots only move forward by profile version.
+@Service
+public class RequestViewProjector {
+
+    private static final Logger log = LoggerFactory.getLogger(RequestViewProjector.class);
+
+    private final MongoTemplate mongoTemplate;
+    private final ServiceItemRepository serviceItemRepository;
+    private final TechnicianDirectory technicianDirectory;
+    private final IdentityClient identityClient;
+
+    public RequestViewProjector(
+            MongoTemplate mongoTemplate,
+            ServiceItemRepository serviceItemRepository,
+            TechnicianDirectory technicianDirectory,
+            IdentityClient identityClient) {
+        this.mongoTemplate = mongoTemplate;
+        this.serviceItemRepository = serviceItemRepository;
+        this.technicianDirectory = technicianDirectory;
+        this.identityClient = identityClient;
+    }
+
+    public void project(String requestId) {
+        ServiceRequest request = mongoTemplate.findById(requestId, ServiceRequest.class);
+        if (request == null) {
+            mongoTemplate.remove(query(where("id").is(requestId)), RequestView.class);
+            return;
+        }
+        project(request, mongoTemplate.findById(requestId, RequestView.class));
+    }
+
+    // Backfill for rows written before the projection existed or events that
+    // were lost; safe to run while events are flowing
+    public RequestViewRebuildResponse rebuild() {
+        long started = System.nanoTime();
+        long projected = 0;
+        try (Stream<ServiceRequest> requests = mongoTemplate.stream(new Query(), ServiceRequest.class)) {
+            for (ServiceRequest request : (Iterable<ServiceRequest>) requests::iterator) {
+                project(request, mongoTemplate.findById(request.getId(), RequestView.class));
+                projected++;
+            }
+        }
+        long elapsedMs = (System.nanoTime() - started) / 1_000_000;
+        log.info("Projected {} request views in {} ms", projected, elapsedMs);
+        return new RequestViewRebuildResponse(projected, elapsedMs);
+    }
+
+    public long applyTechnician(TechnicianChangedEvent event) {
+        // Deleted technicians stay on the requests they worked, as they were
+        if (event.getType() == TechnicianChangedEvent.Type.DELETED) {
+            return 0;
+        }
+        Query rows = query(where("technicianId").is(event.getTechnicianId()).orOperator(
+                Criteria.where("technician.version").lt(event.getVersion()),
+                Criteria.where("technician.version").exists(false)));
+        Update update = new Update()
+                .set("technician.userId", event.getUserId())
+                .set("technician.name", event.getName())
+                .set("technician.email", event.getEmail())
+                .set("technician.phone", event.getPhone())
+                .set("technician.specialization", event.getSpecialization())
+                .set("technician.version", event.getVersion());
+        return mongoTemplate.updateMulti(rows, update, RequestView.class).getModifiedCount();
+    }
+
+    public long applyCustomer(UserProfileChangedEvent event) {
+        Update update = new Update()
+                .set("customer.name", event.getName())
+                .set("customer.phone", event.getPhone())
+                .set("customer.address", event.getAddress());
+        return mongoTemplate.updateMulti(query(where("customerId").is(event.getUserId())), update, RequestView.class)
+                .getModifiedCount();
+    }
+
+    private void project(ServiceRequest request, RequestView current) {
+        Update update = new Update()
+                .set("requestNumber", request.getRequestNumber())
+                .set("customerId", request.getCustomerId())
+                .set("serviceId", request.getServiceId())
+                .set("priority", request.getPriority())
+                .set("status", request.getStatus())
+                .set("preferredDate", request.getPreferredDate())
+                .set("address", request.getAddress())
+                .set("technicianId", request.getTechnicianId())
+                .set("assignedAt", request.getAssignedAt())
+                .set("acceptedAt", request.getAcceptedAt())
+                .set("completedAt", request.getCompletedAt())
+                .set("createdAt", request.getCreatedAt());
+
+        if (current == null || current.getServiceName() == null
+                || !Objects.equals(current.getServiceId(), request.getServiceId())) {
+            update.set("serviceName", serviceName(request.getServiceId()));
+        }
+
+        String technicianId = request.getTechnicianId();
+        if (technicianId == null) {
+            update.unset("technician");
+        } else if (current == null || current.getTechnician() == null
+                || !technicianId.equals(current.getTechnicianId())) {
+            RequestView.Technician technician = technician(technicianId);
+            if (technician != null) {
+                update.set("technician", technician);
+            } else {
+                update.unset("technician");
+            }
+        }
+
+        if (current == null || current.getCustomer() == null) {
+            RequestView.Customer customer = customer(request.getCustomerId());
+            if (customer != null) {
+                update.set("customer", customer);
+            }
+        }
+
+        mongoTemplate.upsert(query(where("id").is(request.getId())), update, RequestView.class);
+    }
+
+    private String serviceName(String serviceId) {
+        if (serviceId == null) {
+            return null;
+        }
+        return serviceItemRepository.findById(serviceId).map(ServiceItem::getName).orElse(null);
+    }
+
+    private RequestView.Technician technician(String technicianId) {
+        TechnicianProfileResponse profile = technicianDirectory.getTechnician(technicianId);
+        if (profile == null) {
+            log.warn("Technician {} not found; request view keeps no technician details", technicianId);
+            return null;
+        }
+        return RequestView.Technician.builder()
+                .userId(profile.getUserId())
+                .name(profile.getName())
+                .email(profile.getEmail())
+                .phone(profile.getPhone())
+                .specialization(profile.getSpecialization())
+                .experience(profile.getExperience())
+                .rating(profile.getRating())
+                .version(profile.getVersion() != null ? profile.getVersion() : 0L)
+                .build();
+    }
+
+    // Another row of the same customer is cheaper than identity-service and
+    // is kept current by profile events
+    private RequestView.Customer customer(String customerId) {
+        Query sibling = query(where("customerId").is(customerId).and("customer").exists(true)).limit(1);
+        sibling.fields().include("customer");
+        RequestView known = mongoTemplate.findOne(sibling, RequestView.class);
+        if (known != null && known.getCustomer() != null) {
+            return known.getCustomer();
+        }
+        CustomerSummary summary = identityClient.getCustomer(customerId);
+        if (summary == null) {
+            return null;
+        }
+        return RequestView.Customer.builder()
+                .name(summary.getName())
+                .email(summary.getEmail())
+                .phone(summary.getPhone())
+                .address(summary.getAddress())
+                .build();
+    }
+}
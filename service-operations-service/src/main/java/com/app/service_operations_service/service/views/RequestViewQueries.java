@@ -0,0 +1,131 @@
+package com.app.service_operations_service.service.views;
+
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.app.service_operations_service.dto.CursorPage;
+import com.app.service_operations_service.dto.requests.ServiceRequestResponse;
+import com.app.service_operations_service.dto.requests.ServiceRequestWithCustomerResponse;
+import com.app.service_operations_service.dto.requests.ServiceRequestWithTechnicianResponse;
+import com.app.service_operations_service.model.RequestView;
+import com.app.service_operations_service.repository.RequestViewPaging.Filter;
+import com.app.service_operations_service.repository.RequestViewRepository;
+import com.app.service_operations_service.util.KeysetPages;
+
+// List reads served from request_views. Off by default: the view is only
+// as current as the events feeding it, so it needs change streams publishing
+// and RequestViewListener consuming before lists can switch over.
+@Service
+public class RequestViewQueries {
+
+    private final RequestViewRepository viewRepository;
+    private final boolean enabled;
+
+    public RequestViewQueries(
+            RequestViewRepository viewRepository,
+            @Value("${app.request-views.enabled:false}") boolean enabled) {
+        this.viewRepository = viewRepository;
+        this.enabled = enabled;
+    }
+
+    public boolean enabled() {
+        return enabled;
+    }
+
+    // Same cursor format and page semantics as ServiceRequestService's listings
+    public <T> CursorPage<T> page(Filter filter, String cursor, int size, boolean includeTotal,
+            Function<RequestView, T> mapper) {
+        return KeysetPages.page(cursor, size, includeTotal,
+                (after, limit) -> viewRepository.findPage(filter, after, limit),
+                () -> viewRepository.countMatching(filter),
+                RequestView::getCreatedAt, RequestView::getId,
+                rows -> rows.stream().map(mapper).toList());
+    }
+
+    public static ServiceRequestResponse toResponse(RequestView view) {
+        ServiceRequestResponse response = new ServiceRequestResponse();
+        response.setId(view.getId());
+        response.setRequestNumber(view.getRequestNumber());
+        response.setCustomerId(view.getCustomerId());
+        response.setServiceId(view.getServiceId());
+        response.setServiceName(view.getServiceName());
+        response.setPriority(view.getPriority());
+        response.setStatus(view.getStatus());
+        response.setPreferredDate(view.getPreferredDate());
+        response.setAddress(view.getAddress());
+        response.setTechnicianId(view.getTechnicianId());
+        response.setAssignedAt(view.getAssignedAt());
+        response.setAcceptedAt(view.getAcceptedAt());
+        response.setCompletedAt(view.getCompletedAt());
+        response.setCreatedAt(view.getCreatedAt());
+        if (view.getTechnician() != null) {
+            response.setTechnicianName(view.getTechnician().getName());
+            response.setTechnicianPhone(view.getTechnician().getPhone());
+        }
+        return response;
+    }
+
+    public static ServiceRequestWithTechnicianResponse toResponseWithTechnician(RequestView view) {
+        ServiceRequestWithTechnicianResponse response = new ServiceRequestWithTechnicianResponse();
+        response.setId(view.getId());
+        response.setRequestNumber(view.getRequestNumber());
+        response.setCustomerId(view.getCustomerId());
+        response.setServiceId(view.getServiceId());
+        response.setServiceName(view.getServiceName());
+        response.setPriority(view.getPriority());
+        response.setStatus(view.getStatus());
+        response.setPreferredDate(view.getPreferredDate());
+        response.setAddress(view.getAddress());
+        response.setTechnicianId(view.getTechnicianId());
+        response.setAssignedAt(view.getAssignedAt());
+        response.setAcceptedAt(view.getAcceptedAt());
+        response.setCompletedAt(view.getCompletedAt());
+        response.setCreatedAt(view.getCreatedAt());
+        RequestView.Technician technician = view.getTechnician();
+        if (technician != null) {
+            ServiceRequestWithTechnicianResponse.TechnicianDetails details =
+                    new ServiceRequestWithTechnicianResponse.TechnicianDetails();
+            details.setId(view.getTechnicianId());
+            details.setEmail(technician.getEmail());
+            details.setName(technician.getName());
+            details.setPhone(technician.getPhone());
+            details.setSpecialization(technician.getSpecialization());
+            details.setExperience(technician.getExperience());
+            details.setRating(technician.getRating());
+            response.setTechnicianDetails(details);
+        }
+        return response;
+    }
+
+    public static ServiceRequestWithCustomerResponse toResponseWithCustomer(RequestView view) {
+        ServiceRequestWithCustomerResponse response = new ServiceRequestWithCustomerResponse();
+        response.setId(view.getId());
+        response.setRequestNumber(view.getRequestNumber());
+        response.setCustomerId(view.getCustomerId());
+        response.setServiceId(view.getServiceId());
+        response.setServiceName(view.getServiceName());
+        response.setPriority(view.getPriority());
+        response.setStatus(view.getStatus());
+        response.setPreferredDate(view.getPreferredDate());
+        response.setAddress(view.getAddress());
+        response.setTechnicianId(view.getTechnicianId());
+        response.setAssignedAt(view.getAssignedAt());
+        response.setAcceptedAt(view.getAcceptedAt());
+        response.setCompletedAt(view.getCompletedAt());
+        response.setCreatedAt(view.getCreatedAt());
+        RequestView.Customer customer = view.getCustomer();
+        if (customer != null) {
+            ServiceRequestWithCustomerResponse.CustomerDetails details =
+                    new ServiceRequestWithCustomerResponse.CustomerDetails();
+            details.setId(view.getCustomerId());
+            details.setName(customer.getName());
+            details.setEmail(customer.getEmail());
+            details.setPhone(customer.getPhone());
+            details.setAddress(customer.getAddress());
+            response.setCustomerDetails(details);
+        }
+        return response;
+    }
+}
@@ -0,0 +1,43 @@
+package com.app.service_operations_service.util;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+
+import com.app.service_operations_service.exception.BadRequestException;
+import com.app.service_operations_service.repository.ServiceRequestPaging.PageCursor;
+
+// Opaque continuation tokens for keyset listings: base64url of "epochMillis:id".
+// Mongo stores dates to the millisecond, so the round trip is exact.
+public class CursorTokens {
+
+    private static final String INVALID_CURSOR = "Invalid cursor";
+
+    private CursorTokens() {
+        // Utility class
+    }
+
+    public static String encode(PageCursor cursor) {
+        String raw = cursor.createdAt().toEpochMilli() + ":" + cursor.id();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // Null or blank means "first page"
+    public static PageCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(':');
+            if (separator <= 0 || separator == raw.length() - 1) {
+                throw new BadRequestException(INVALID_CURSOR);
+            }
+            Instant createdAt = Instant.ofEpochMilli(Long.parseLong(raw.substring(0, separator)));
+            return new PageCursor(createdAt, raw.substring(separator + 1));
+        } catch (IllegalArgumentException e) {
+            // Bad base64 or a non-numeric timestamp
+            throw new BadRequestException(INVALID_CURSOR);
+        }
+    }
+}
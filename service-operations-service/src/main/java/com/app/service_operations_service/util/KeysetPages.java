@@ -0,0 +1,43 @@
+package com.app.service_operations_service.util;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+import com.app.service_operations_service.dto.CursorPage;
+import com.app.service_operations_service.repository.ServiceRequestPaging.PageCursor;
+
+// One page of a newest-first keyset listing, shared by the service_requests
+// and request_views reads so both keep the same cursor and page semantics.
+public class KeysetPages {
+
+    public static final int MAX_PAGE_SIZE = 100;
+
+    private KeysetPages() {
+        // Utility class
+    }
+
+    // Reads one row past the page to learn whether another page exists and
+    // cursors from the last row's (createdAt, id); the count query only runs
+    // when the caller asked for a total
+    public static <R, T> CursorPage<T> page(String cursor, int size, boolean includeTotal,
+            BiFunction<PageCursor, Integer, List<R>> fetch, LongSupplier count,
+            Function<R, Instant> createdAt, Function<R, String> id,
+            Function<List<R>, List<T>> mapper) {
+        ValidationUtil.validateInRange(size, 1, MAX_PAGE_SIZE, "size");
+        PageCursor after = CursorTokens.decode(cursor);
+
+        List<R> rows = fetch.apply(after, size + 1);
+        boolean hasMore = rows.size() > size;
+        List<R> content = hasMore ? rows.subList(0, size) : rows;
+        String nextCursor = null;
+        if (hasMore) {
+            R last = content.get(content.size() - 1);
+            nextCursor = CursorTokens.encode(new PageCursor(createdAt.apply(last), id.apply(last)));
+        }
+        Long total = includeTotal ? count.getAsLong() : null;
+        return new CursorPage<>(mapper.apply(content), nextCursor, hasMore, total);
+    }
+}
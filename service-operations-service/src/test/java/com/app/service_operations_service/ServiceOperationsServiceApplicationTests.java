@@ -14,12 +14,15 @@ import org.springframework.core.convert.converter.Converter;
 import org.springframework.data.convert.ReadingConverter;
 import org.springframework.data.convert.WritingConverter;
 import org.springframework.data.mongodb.MongoDatabaseFactory;
+import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
 import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
 import org.springframework.lang.NonNull;
+import com.app.service_operations_service.repository.DailyRollupRepository;
 import com.app.service_operations_service.repository.ServiceCategoryRepository;
 import com.app.service_operations_service.repository.ServiceItemRepository;
 import com.app.service_operations_service.repository.InvoiceRepository;
+import com.app.service_operations_service.repository.RequestViewRepository;
 import com.app.service_operations_service.repository.ServiceRequestRepository;
 
 @SpringBootTest
@@ -64,6 +67,9 @@ class ServiceOperationsServiceApplicationTests {
 	@MockBean
 	private MongoDatabaseFactory mongoDatabaseFactory;
 
+	@MockBean
+	private MongoTemplate mongoTemplate;
+
 	@MockBean
 	private ServiceCategoryRepository serviceCategoryRepository;
 
@@ -73,9 +79,15 @@ class ServiceOperationsServiceApplicationTests {
 	@MockBean
 	private InvoiceRepository invoiceRepository;
 
+	@MockBean
+	private RequestViewRepository requestViewRepository;
+
 	@MockBean
 	private ServiceRequestRepository serviceRequestRepository;
 
+	@MockBean
+	private DailyRollupRepository dailyRollupRepository;
+
 	@Test
 	void contextLoads() {
 	}
@@ -0,0 +1,78 @@
+package com.app.service_operations_service.config;
+
+import com.app.service_operations_service.model.Invoice;
+import com.app.service_operations_service.model.ServiceRequest;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MongoIndexInitializerTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private IndexOperations indexOperations;
+
+    private MongoIndexInitializer initializer;
+
+    @BeforeEach
+    void setUp() {
+        MongoConfig config = new MongoConfig();
+        MongoMappingContext mappingContext = config.mongoMappingContext(config.customConversions());
+        initializer = new MongoIndexInitializer(mongoTemplate, mappingContext);
+    }
+
+    @Test
+    void resolve_ShouldDeclareQueryIndexes() {
+        Map<String, IndexDefinition> requests = byName(initializer.resolve(ServiceRequest.class));
+        Map<String, IndexDefinition> invoices = byName(initializer.resolve(Invoice.class));
+
+        assertEquals(new Document("status", 1).append("createdAt", -1).append("_id", -1),
+                requests.get("status_createdAt_id").getIndexKeys());
+        assertTrue(requests.containsKey("customerId_createdAt_id"));
+        assertTrue(requests.containsKey("technicianId_createdAt_id"));
+        assertEquals(new Document("createdAt", -1).append("_id", -1), requests.get("createdAt_id").getIndexKeys());
+        assertEquals(true, requests.get("requestNumber_unique").getIndexOptions().get("unique"));
+        assertEquals(true, invoices.get("requestId_unique").getIndexOptions().get("unique"));
+        assertTrue(invoices.containsKey("paymentStatus_createdAt"));
+    }
+
+    @Test
+    void ensureIndexes_ShouldContinueAfterFailingIndex() {
+        when(mongoTemplate.indexOps(any(Class.class))).thenReturn(indexOperations);
+        when(indexOperations.ensureIndex(any(IndexDefinition.class)))
+                .thenThrow(new DuplicateKeyException("E11000 duplicate key"))
+                .thenReturn("ok");
+        int declared = MongoIndexInitializer.INDEXED_DOCUMENTS.stream()
+                .mapToInt(document -> initializer.resolve(document).size())
+                .sum();
+
+        int ensured = initializer.ensureIndexes();
+
+        assertEquals(declared - 1, ensured);
+        verify(indexOperations, times(declared)).ensureIndex(any(IndexDefinition.class));
+    }
+
+    private static Map<String, IndexDefinition> byName(List<IndexDefinition> indexes) {
+        return indexes.stream().collect(Collectors.toMap(
+                index -> (String) index.getIndexOptions().get("name"), index -> index));
+    }
+}
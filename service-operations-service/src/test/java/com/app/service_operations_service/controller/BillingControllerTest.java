@@ -3,6 +3,10 @@ package com.app.service_operations_service.controller;
 import com.app.service_operations_service.dto.billing.*;
 import com.app.service_operations_service.model.enums.PaymentStatus;
 import com.app.service_operations_service.service.BillingService;
+import com.app.service_operations_service.service.CategoryRevenueService;
+import com.app.service_operations_service.service.InvoiceBackfillService;
+import com.app.service_operations_service.service.InvoiceExportService;
+import com.app.service_operations_service.util.UserContext;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -15,13 +19,19 @@ import org.springframework.cloud.netflix.eureka.EurekaClientAutoConfiguration;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.math.BigDecimal;
 import java.time.Instant;
+import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.List;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -35,7 +45,9 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
     "logging.level.root=INFO",
     "logging.level.com.app.service_operations_service=INFO",
     "spring.application.name=service-operations-service-test",
-    "server.port=0"
+    "server.port=0",
+    "spring.mvc.async.request-timeout=100",
+    "app.billing.export-timeout-ms=60000"
 })
 class BillingControllerTest {
 
@@ -45,6 +57,15 @@ class BillingControllerTest {
     @MockBean
     private BillingService billingService;
 
+    @MockBean
+    private InvoiceBackfillService invoiceBackfillService;
+
+    @MockBean
+    private CategoryRevenueService categoryRevenueService;
+
+    @MockBean
+    private InvoiceExportService invoiceExportService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -155,7 +176,7 @@ class BillingControllerTest {
         report.setInvoiceCount(100L);
         report.setPaidCount(90L);
 
-        when(billingService.revenueReport()).thenReturn(report);
+        when(billingService.revenueReport(null, null, false)).thenReturn(report);
 
         mockMvc.perform(get("/api/billing/reports/revenue"))
                 .andExpect(status().isOk())
@@ -172,13 +193,111 @@ class BillingControllerTest {
         entry.setPaidInvoiceCount(50L);
 
         List<MonthlyRevenueEntry> entries = Arrays.asList(entry);
-        when(billingService.monthlyRevenue()).thenReturn(entries);
+        when(billingService.monthlyRevenue(LocalDate.of(2024, 1, 1), null, true)).thenReturn(entries);
 
-        mockMvc.perform(get("/api/billing/reports/revenue/monthly"))
+        mockMvc.perform(get("/api/billing/reports/revenue/monthly")
+                        .param("from", "2024-01-01")
+                        .param("byPaymentMethod", "true"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$[0].year").value(2024))
                 .andExpect(jsonPath("$[0].month").value(1))
                 .andExpect(jsonPath("$[0].totalRevenue").value(5000.00));
     }
-}
 
+    @Test
+    void backfillServiceNames_ShouldRequireAdmin() throws Exception {
+        when(invoiceBackfillService.backfillServiceNames())
+                .thenReturn(new ServiceNameBackfillResponse(1200, 1180, 20, 850));
+
+        mockMvc.perform(post("/api/billing/admin/backfill/service-names")
+                        .header(UserContext.HEADER_USER_ID, "admin-1")
+                        .header(UserContext.HEADER_USER_ROLE, "ADMIN"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.updated").value(1180));
+
+        mockMvc.perform(post("/api/billing/admin/backfill/service-names")
+                        .header(UserContext.HEADER_USER_ID, "customer-1")
+                        .header(UserContext.HEADER_USER_ROLE, "CUSTOMER"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void revenueByCategory_ShouldReturnOk() throws Exception {
+        CategoryRevenueEntry hvac = CategoryRevenueEntry.builder()
+                .categoryId("cat-1")
+                .categoryName("HVAC Services")
+                .totalRevenue(new BigDecimal("660.00"))
+                .paidInvoiceCount(6)
+                .services(List.of(CategoryRevenueEntry.ServiceRevenue.builder()
+                        .serviceId("service-1").serviceName("AC Repair")
+                        .totalRevenue(new BigDecimal("660.00")).paidInvoiceCount(6).build()))
+                .build();
+        when(categoryRevenueService.revenueByCategory(LocalDate.of(2026, 1, 1), LocalDate.of(2026, 1, 31)))
+                .thenReturn(List.of(hvac));
+
+        mockMvc.perform(get("/api/billing/reports/revenue/categories")
+                        .param("from", "2026-01-01")
+                        .param("to", "2026-01-31"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].categoryName").value("HVAC Services"))
+                .andExpect(jsonPath("$[0].totalRevenue").value(660.00))
+                .andExpect(jsonPath("$[0].services[0].serviceName").value("AC Repair"));
+    }
+
+    @Test
+    void exportInvoices_ShouldStreamForAdmins() throws Exception {
+        doAnswer(invocation -> {
+            invocation.getArgument(4, java.io.OutputStream.class).write("id\ninvoice-1\n".getBytes());
+            return 1L;
+        }).when(invoiceExportService).export(eq(LocalDate.of(2026, 1, 1)), eq(LocalDate.of(2026, 1, 31)),
+                eq(PaymentStatus.PAID), eq(InvoiceExportService.Format.CSV), any());
+
+        MvcResult started = mockMvc.perform(get("/api/billing/invoices/export")
+                        .header(UserContext.HEADER_USER_ID, "admin-1")
+                        .header(UserContext.HEADER_USER_ROLE, "ADMIN")
+                        .param("from", "2026-01-01")
+                        .param("to", "2026-01-31")
+                        .param("paymentStatus", "paid"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("text/csv"))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"invoices.csv\""))
+                .andExpect(content().string("id\ninvoice-1\n"));
+    }
+
+    // Runs well past the MVC default async timeout, which the export replaces
+    // with its own
+    @Test
+    void exportInvoices_ShouldOutliveTheDefaultAsyncTimeout() throws Exception {
+        doAnswer(invocation -> {
+            Thread.sleep(500);
+            invocation.getArgument(4, java.io.OutputStream.class).write("id\n".getBytes());
+            return 0L;
+        }).when(invoiceExportService).export(any(), any(), any(), eq(InvoiceExportService.Format.CSV), any());
+
+        MvcResult started = mockMvc.perform(get("/api/billing/invoices/export")
+                        .header(UserContext.HEADER_USER_ID, "admin-1")
+                        .header(UserContext.HEADER_USER_ROLE, "ADMIN"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        assertEquals(60000L, started.getRequest().getAsyncContext().getTimeout());
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().string("id\n"));
+    }
+
+    @Test
+    void exportInvoices_ShouldRequireAdmin() throws Exception {
+        mockMvc.perform(get("/api/billing/invoices/export")
+                        .header(UserContext.HEADER_USER_ID, "customer-1")
+                        .header(UserContext.HEADER_USER_ROLE, "CUSTOMER")
+                        .param("format", "ndjson"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(invoiceExportService);
+    }
+}
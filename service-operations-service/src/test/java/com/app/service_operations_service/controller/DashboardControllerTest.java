@@ -2,6 +2,8 @@ package com.app.service_operations_service.controller;
 
 import com.app.service_operations_service.dto.dashboard.*;
 import com.app.service_operations_service.service.DashboardService;
+import com.app.service_operations_service.service.TrendService;
+import com.app.service_operations_service.util.UserContext;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -14,12 +16,16 @@ import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(value = DashboardController.class, excludeAutoConfiguration = {
@@ -41,6 +47,9 @@ class DashboardControllerTest {
     @MockBean
     private DashboardService dashboardService;
 
+    @MockBean
+    private TrendService trendService;
+
     private DashboardSummaryResponse summaryResponse;
     private TechnicianWorkloadResponse workloadResponse;
     private ResolutionTimeResponse resolutionTimeResponse;
@@ -148,5 +157,35 @@ class DashboardControllerTest {
                 .andExpect(jsonPath("$.categories[0].services[0].serviceName").value("AC Repair"))
                 .andExpect(jsonPath("$.categories[0].services[0].requestCount").value(6));
     }
-}
 
+    @Test
+    void getTrends_ShouldPassDateRange() throws Exception {
+        LocalDate day = LocalDate.of(2026, 3, 1);
+        when(trendService.getDailyTrends(day, day.plusDays(1))).thenReturn(List.of(
+                new DailyTrendEntry(day, 4, 2, 1, 2, new BigDecimal("220.00")),
+                new DailyTrendEntry(day.plusDays(1), 0, 0, 0, 0, BigDecimal.ZERO)));
+
+        mockMvc.perform(get("/api/dashboard/trends").param("from", "2026-03-01").param("to", "2026-03-02"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].created").value(4))
+                .andExpect(jsonPath("$[0].revenue").value(220.00));
+    }
+
+    @Test
+    void rebuildTrends_ShouldRequireAdmin() throws Exception {
+        when(trendService.rebuild()).thenReturn(new RollupRebuildResponse(120, "UTC", 35));
+
+        mockMvc.perform(post("/api/dashboard/trends/rebuild")
+                .header(UserContext.HEADER_USER_ID, "admin-1")
+                .header(UserContext.HEADER_USER_ROLE, "ADMIN"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.days").value(120));
+
+        mockMvc.perform(post("/api/dashboard/trends/rebuild")
+                .header(UserContext.HEADER_USER_ID, "manager-1")
+                .header(UserContext.HEADER_USER_ROLE, "MANAGER"))
+                .andExpect(status().isBadRequest());
+        verify(trendService, times(1)).rebuild();
+    }
+}
@@ -0,0 +1,67 @@
+package com.app.service_operations_service.controller;
+
+import com.app.service_operations_service.dto.diagnostics.IndexUsageReport;
+import com.app.service_operations_service.service.diagnostics.IndexDiagnosticsService;
+import com.app.service_operations_service.util.UserContext;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.data.mongo.MongoDataAutoConfiguration;
+import org.springframework.boot.autoconfigure.mongo.MongoAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cloud.netflix.eureka.EurekaClientAutoConfiguration;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(value = DiagnosticsController.class, excludeAutoConfiguration = {
+    MongoAutoConfiguration.class,
+    MongoDataAutoConfiguration.class,
+    EurekaClientAutoConfiguration.class
+})
+@TestPropertySource(properties = {
+    "spring.application.name=service-operations-service-test",
+    "server.port=0"
+})
+class DiagnosticsControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private IndexDiagnosticsService indexDiagnosticsService;
+
+    @Test
+    void indexUsage_ShouldReturnReport_ForAdmin() throws Exception {
+        when(indexDiagnosticsService.explainRepositoryQueries()).thenReturn(IndexUsageReport.builder()
+                .collectionScans(1)
+                .queries(List.of(IndexUsageReport.QueryPlan.builder()
+                        .repository("ServiceRequestRepository").method("findByStatus / countByStatus")
+                        .stage("COLLSCAN").collectionScan(true).build()))
+                .build());
+
+        mockMvc.perform(get("/api/diagnostics/index-usage")
+                .header(UserContext.HEADER_USER_ID, "admin-1")
+                .header(UserContext.HEADER_USER_ROLE, "ADMIN"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.collectionScans").value(1))
+                .andExpect(jsonPath("$.queries[0].stage").value("COLLSCAN"));
+    }
+
+    @Test
+    void indexUsage_ShouldRejectTechnician() throws Exception {
+        mockMvc.perform(get("/api/diagnostics/index-usage")
+                .header(UserContext.HEADER_USER_ID, "tech-1")
+                .header(UserContext.HEADER_USER_ROLE, "TECHNICIAN"))
+                .andExpect(status().isBadRequest());
+
+        verify(indexDiagnosticsService, never()).explainRepositoryQueries();
+    }
+}
@@ -0,0 +1,62 @@
+package com.app.service_operations_service.controller;
+
+import com.app.service_operations_service.dto.dispatch.DispatchRunResponse;
+import com.app.service_operations_service.service.dispatch.DispatchService;
+import com.app.service_operations_service.util.UserContext;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.data.mongo.MongoDataAutoConfiguration;
+import org.springframework.boot.autoconfigure.mongo.MongoAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cloud.netflix.eureka.EurekaClientAutoConfiguration;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(value = DispatchController.class, excludeAutoConfiguration = {
+    MongoAutoConfiguration.class,
+    MongoDataAutoConfiguration.class,
+    EurekaClientAutoConfiguration.class
+})
+@TestPropertySource(properties = {
+    "spring.application.name=service-operations-service-test",
+    "server.port=0"
+})
+class DispatchControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private DispatchService dispatchService;
+
+    @Test
+    void run_ShouldReturnBatchOutcome_ForManager() throws Exception {
+        when(dispatchService.runBatch()).thenReturn(DispatchRunResponse.builder()
+                .executed(true).batchSize(4).technicians(2).assigned(3).unmatched(1).build());
+
+        mockMvc.perform(post("/api/dispatch/run")
+                .header(UserContext.HEADER_USER_ID, "manager-1")
+                .header(UserContext.HEADER_USER_ROLE, "MANAGER"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.executed").value(true))
+                .andExpect(jsonPath("$.assigned").value(3))
+                .andExpect(jsonPath("$.unmatched").value(1));
+    }
+
+    @Test
+    void run_ShouldRejectCustomer() throws Exception {
+        mockMvc.perform(post("/api/dispatch/run")
+                .header(UserContext.HEADER_USER_ID, "customer-1")
+                .header(UserContext.HEADER_USER_ROLE, "CUSTOMER"))
+                .andExpect(status().isBadRequest());
+
+        verify(dispatchService, never()).runBatch();
+    }
+}
@@ -1,9 +1,12 @@
 package com.app.service_operations_service.controller;
 
-import com.app.service_operations_service.dto.PagedResponse;
+import com.app.service_operations_service.dto.CursorPage;
 import com.app.service_operations_service.dto.requests.*;
 import com.app.service_operations_service.model.enums.RequestStatus;
+import com.app.service_operations_service.service.ServiceRequestBulkService;
 import com.app.service_operations_service.service.ServiceRequestService;
+import com.app.service_operations_service.service.search.RequestTypeahead;
+import com.app.service_operations_service.service.views.RequestViewProjector;
 import com.app.service_operations_service.util.UserContext;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
@@ -20,11 +23,19 @@ import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.time.Instant;
+import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -49,6 +60,15 @@ class ServiceRequestControllerTest {
     @MockBean
     private ServiceRequestService serviceRequestService;
 
+    @MockBean
+    private ServiceRequestBulkService bulkService;
+
+    @MockBean
+    private RequestViewProjector viewProjector;
+
+    @MockBean
+    private RequestTypeahead typeahead;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -131,36 +151,40 @@ class ServiceRequestControllerTest {
         req2.setRequestNumber("REQ-87654321");
 
         List<ServiceRequestResponse> requests = Arrays.asList(serviceRequestResponse, req2);
-        PagedResponse<ServiceRequestResponse> pagedResponse = new PagedResponse<>(
-                requests,
-                0, // page number
-                20, // page size
-                2, // total elements
-                1, // total pages
-                true // is last
-        );
+        CursorPage<ServiceRequestResponse> cursorPage = new CursorPage<>(requests, "next-token", true, 5L);
 
-        when(serviceRequestService.getAll(any())).thenReturn(pagedResponse);
+        when(serviceRequestService.getAll("prev-token", 2, true)).thenReturn(cursorPage);
 
-        mockMvc.perform(get("/api/service-requests"))
+        mockMvc.perform(get("/api/service-requests")
+                .param("cursor", "prev-token")
+                .param("size", "2")
+                .param("includeTotal", "true"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.content[0].id").value("req-1"))
                 .andExpect(jsonPath("$.content[0].requestNumber").value("REQ-12345678"))
-                .andExpect(jsonPath("$.pageNumber").value(0))
-                .andExpect(jsonPath("$.pageSize").value(20))
-                .andExpect(jsonPath("$.totalElements").value(2))
-                .andExpect(jsonPath("$.totalPages").value(1))
-                .andExpect(jsonPath("$.last").value(true));
+                .andExpect(jsonPath("$.nextCursor").value("next-token"))
+                .andExpect(jsonPath("$.hasMore").value(true))
+                .andExpect(jsonPath("$.totalElements").value(5));
+    }
+
+    @Test
+    void getAll_ShouldDefaultToFirstPageWithoutTotal() throws Exception {
+        when(serviceRequestService.getAll(null, 20, false)).thenReturn(page(List.of()));
+
+        mockMvc.perform(get("/api/service-requests"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", org.hamcrest.Matchers.hasSize(0)))
+                .andExpect(jsonPath("$.hasMore").value(false));
     }
 
     @Test
     void getByStatus_ShouldReturnOk() throws Exception {
         List<ServiceRequestResponse> requests = Arrays.asList(serviceRequestResponse);
-        when(serviceRequestService.getByStatus("REQUESTED")).thenReturn(requests);
+        when(serviceRequestService.getByStatus("REQUESTED", null, 20, false)).thenReturn(page(requests));
 
         mockMvc.perform(get("/api/service-requests/status/REQUESTED"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$[0].status").value("REQUESTED"));
+                .andExpect(jsonPath("$.content[0].status").value("REQUESTED"));
     }
 
     @Test
@@ -175,41 +199,41 @@ class ServiceRequestControllerTest {
     @Test
     void getByCustomer_ShouldReturnOk() throws Exception {
         List<ServiceRequestResponse> requests = Arrays.asList(serviceRequestResponse);
-        when(serviceRequestService.getByCustomer("customer-1")).thenReturn(requests);
+        when(serviceRequestService.getByCustomer("customer-1", null, 20, false)).thenReturn(page(requests));
 
         mockMvc.perform(get("/api/service-requests/customer/customer-1"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$[0].customerId").value("customer-1"));
+                .andExpect(jsonPath("$.content[0].customerId").value("customer-1"));
     }
 
     @Test
     void getMyRequests_ShouldReturnOk() throws Exception {
         List<ServiceRequestResponse> requests = Arrays.asList(serviceRequestResponse);
-        when(serviceRequestService.getByCustomer("customer-1")).thenReturn(requests);
+        when(serviceRequestService.getByCustomer("customer-1", null, 20, false)).thenReturn(page(requests));
 
         mockMvc.perform(get("/api/service-requests/my-requests")
                 .header(UserContext.HEADER_USER_ID, "customer-1")
                 .header(UserContext.HEADER_USER_ROLE, "CUSTOMER"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$[0].customerId").value("customer-1"));
+                .andExpect(jsonPath("$.content[0].customerId").value("customer-1"));
     }
 
     @Test
     void getMyRequestsWithTechnicianDetails_ShouldReturnOk() throws Exception {
         List<ServiceRequestWithTechnicianResponse> requests = Arrays.asList(withTechnicianResponse);
-        when(serviceRequestService.getByCustomerWithTechnicianDetails("customer-1")).thenReturn(requests);
+        when(serviceRequestService.getByCustomerWithTechnicianDetails("customer-1", null, 20, false)).thenReturn(page(requests));
 
         mockMvc.perform(get("/api/service-requests/my-requests/with-technician")
                 .header(UserContext.HEADER_USER_ID, "customer-1")
                 .header(UserContext.HEADER_USER_ROLE, "CUSTOMER"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$[0].id").value("req-1"));
+                .andExpect(jsonPath("$.content[0].id").value("req-1"));
     }
 
     @Test
     void getMyTechnicianRequests_ShouldReturnOk() throws Exception {
         List<ServiceRequestResponse> requests = Arrays.asList(serviceRequestResponse);
-        when(serviceRequestService.getByTechnicianUserId("tech-user-1")).thenReturn(requests);
+        when(serviceRequestService.getByTechnicianUserId("tech-user-1", null, 20, false)).thenReturn(page(requests));
 
         mockMvc.perform(get("/api/service-requests/technician/my-requests")
                 .header(UserContext.HEADER_USER_ID, "tech-user-1")
@@ -228,6 +252,36 @@ class ServiceRequestControllerTest {
                 .andExpect(status().isNoContent());
     }
 
+    @Test
+    void bulkAssign_ShouldReturnPerItemResults() throws Exception {
+        BulkAssignRequest request = new BulkAssignRequest();
+        request.setItems(List.of(new BulkAssignRequest.Item("req-1", "tech-1"),
+                new BulkAssignRequest.Item("req-9", "tech-1")));
+        when(bulkService.assign(request.getItems())).thenReturn(new BulkUpdateResponse(2, 1, List.of(
+                new BulkUpdateResponse.ItemResult("req-1", BulkUpdateResponse.Outcome.UPDATED, null),
+                new BulkUpdateResponse.ItemResult("req-9", BulkUpdateResponse.Outcome.NOT_FOUND, "missing"))));
+
+        mockMvc.perform(put("/api/service-requests/bulk/assign")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.updated").value(1))
+                .andExpect(jsonPath("$.results[1].outcome").value("NOT_FOUND"));
+        verify(serviceRequestService, never()).assign(anyString(), any());
+    }
+
+    @Test
+    void bulkUpdateStatus_ShouldRejectUnknownStatus() throws Exception {
+        BulkStatusRequest request = new BulkStatusRequest();
+        request.setItems(List.of(new BulkStatusRequest.Item("req-1", "DONE")));
+
+        mockMvc.perform(put("/api/service-requests/bulk/status")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest());
+        verifyNoInteractions(bulkService);
+    }
+
     @Test
     void updateStatus_ShouldReturnNoContent() throws Exception {
         UpdateStatusRequest request = new UpdateStatusRequest();
@@ -304,47 +358,47 @@ class ServiceRequestControllerTest {
     @Test
     void getByCustomerWithTechnicianDetails_ShouldReturnOk() throws Exception {
         List<ServiceRequestWithTechnicianResponse> requests = Arrays.asList(withTechnicianResponse);
-        when(serviceRequestService.getByCustomerWithTechnicianDetails("customer-1")).thenReturn(requests);
+        when(serviceRequestService.getByCustomerWithTechnicianDetails("customer-1", null, 20, false)).thenReturn(page(requests));
 
         mockMvc.perform(get("/api/service-requests/customer/customer-1/with-technician"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$[0].id").value("req-1"))
-                .andExpect(jsonPath("$[0].customerId").value("customer-1"));
+                .andExpect(jsonPath("$.content[0].id").value("req-1"))
+                .andExpect(jsonPath("$.content[0].customerId").value("customer-1"));
     }
 
     @Test
     void getByCustomerWithTechnicianDetails_ShouldReturnEmptyList() throws Exception {
         List<ServiceRequestWithTechnicianResponse> requests = Arrays.asList();
-        when(serviceRequestService.getByCustomerWithTechnicianDetails("customer-1")).thenReturn(requests);
+        when(serviceRequestService.getByCustomerWithTechnicianDetails("customer-1", null, 20, false)).thenReturn(page(requests));
 
         mockMvc.perform(get("/api/service-requests/customer/customer-1/with-technician"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$", org.hamcrest.Matchers.hasSize(0)));
+                .andExpect(jsonPath("$.content", org.hamcrest.Matchers.hasSize(0)));
     }
 
     @Test
     void getMyTechnicianRequestsWithCustomerDetails_ShouldReturnOk() throws Exception {
         List<ServiceRequestWithCustomerResponse> requests = Arrays.asList(withCustomerResponse);
-        when(serviceRequestService.getByTechnicianUserIdWithCustomerDetails("tech-user-1")).thenReturn(requests);
+        when(serviceRequestService.getByTechnicianUserIdWithCustomerDetails("tech-user-1", null, 20, false)).thenReturn(page(requests));
 
         mockMvc.perform(get("/api/service-requests/technician/my-requests/with-customer")
                 .header(UserContext.HEADER_USER_ID, "tech-user-1")
                 .header(UserContext.HEADER_USER_ROLE, "TECHNICIAN"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$[0].id").value("req-1"))
-                .andExpect(jsonPath("$[0].customerId").value("customer-1"));
+                .andExpect(jsonPath("$.content[0].id").value("req-1"))
+                .andExpect(jsonPath("$.content[0].customerId").value("customer-1"));
     }
 
     @Test
     void getMyTechnicianRequestsWithCustomerDetails_ShouldReturnEmptyList() throws Exception {
         List<ServiceRequestWithCustomerResponse> requests = Arrays.asList();
-        when(serviceRequestService.getByTechnicianUserIdWithCustomerDetails("tech-user-1")).thenReturn(requests);
+        when(serviceRequestService.getByTechnicianUserIdWithCustomerDetails("tech-user-1", null, 20, false)).thenReturn(page(requests));
 
         mockMvc.perform(get("/api/service-requests/technician/my-requests/with-customer")
                 .header(UserContext.HEADER_USER_ID, "tech-user-1")
                 .header(UserContext.HEADER_USER_ROLE, "TECHNICIAN"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$", org.hamcrest.Matchers.hasSize(0)));
+                .andExpect(jsonPath("$.content", org.hamcrest.Matchers.hasSize(0)));
     }
 
     @Test
@@ -365,13 +419,13 @@ class ServiceRequestControllerTest {
         response2.setTechnicianId("tech-2");
 
         List<ServiceRequestWithTechnicianResponse> requests = Arrays.asList(withTechnicianResponse, response2);
-        when(serviceRequestService.getByCustomerWithTechnicianDetails("customer-1")).thenReturn(requests);
+        when(serviceRequestService.getByCustomerWithTechnicianDetails("customer-1", null, 20, false)).thenReturn(page(requests));
 
         mockMvc.perform(get("/api/service-requests/customer/customer-1/with-technician"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$", org.hamcrest.Matchers.hasSize(2)))
-                .andExpect(jsonPath("$[0].id").value("req-1"))
-                .andExpect(jsonPath("$[1].id").value("req-2"));
+                .andExpect(jsonPath("$.content", org.hamcrest.Matchers.hasSize(2)))
+                .andExpect(jsonPath("$.content[0].id").value("req-1"))
+                .andExpect(jsonPath("$.content[1].id").value("req-2"));
     }
 
     @Test
@@ -384,14 +438,82 @@ class ServiceRequestControllerTest {
         response2.setStatus(RequestStatus.IN_PROGRESS);
 
         List<ServiceRequestWithCustomerResponse> requests = Arrays.asList(withCustomerResponse, response2);
-        when(serviceRequestService.getByTechnicianUserIdWithCustomerDetails("tech-user-1")).thenReturn(requests);
+        when(serviceRequestService.getByTechnicianUserIdWithCustomerDetails("tech-user-1", null, 20, false)).thenReturn(page(requests));
 
         mockMvc.perform(get("/api/service-requests/technician/my-requests/with-customer")
                 .header(UserContext.HEADER_USER_ID, "tech-user-1")
                 .header(UserContext.HEADER_USER_ROLE, "TECHNICIAN"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$", org.hamcrest.Matchers.hasSize(2)))
-                .andExpect(jsonPath("$[0].id").value("req-1"))
-                .andExpect(jsonPath("$[1].id").value("req-2"));
+                .andExpect(jsonPath("$.content", org.hamcrest.Matchers.hasSize(2)))
+                .andExpect(jsonPath("$.content[0].id").value("req-1"))
+                .andExpect(jsonPath("$.content[1].id").value("req-2"));
+    }
+
+    private static <T> CursorPage<T> page(List<T> content) {
+        return new CursorPage<>(content, null, false, null);
+    }
+
+    @Test
+    void rebuildViews_ShouldRequireAdmin() throws Exception {
+        when(viewProjector.rebuild()).thenReturn(new RequestViewRebuildResponse(42, 310));
+
+        mockMvc.perform(post("/api/service-requests/views/rebuild")
+                .header(UserContext.HEADER_USER_ID, "admin-1")
+                .header(UserContext.HEADER_USER_ROLE, "ADMIN"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.projected").value(42));
+
+        mockMvc.perform(post("/api/service-requests/views/rebuild")
+                .header(UserContext.HEADER_USER_ID, "customer-1")
+                .header(UserContext.HEADER_USER_ROLE, "CUSTOMER"))
+                .andExpect(status().isBadRequest());
+        verify(viewProjector, times(1)).rebuild();
+    }
+
+    @Test
+    void search_ShouldPassFiltersThrough() throws Exception {
+        when(serviceRequestService.search("REQ-0001", null, "COMPLETED", LocalDate.of(2024, 5, 1),
+                LocalDate.of(2024, 5, 31), null, 20, false))
+                .thenReturn(new CursorPage<>(List.of(), null, false, null));
+
+        mockMvc.perform(get("/api/service-requests/search")
+                .header(UserContext.HEADER_USER_ID, "manager-1")
+                .header(UserContext.HEADER_USER_ROLE, "MANAGER")
+                .param("q", "REQ-0001")
+                .param("status", "COMPLETED")
+                .param("from", "2024-05-01")
+                .param("to", "2024-05-31"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.hasMore").value(false));
+    }
+
+    @Test
+    void suggest_ShouldReturnTypeaheadMatches() throws Exception {
+        when(typeahead.suggest("main", 5)).thenReturn(List.of(
+                new RequestSuggestion("req-1", "REQ-000000001", "12 Main St", Instant.parse("2024-05-01T10:00:00Z"))));
+
+        mockMvc.perform(get("/api/service-requests/search/suggest")
+                .header(UserContext.HEADER_USER_ID, "admin-1")
+                .header(UserContext.HEADER_USER_ROLE, "ADMIN")
+                .param("q", "main")
+                .param("limit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].requestNumber").value("REQ-000000001"));
+    }
+
+    @Test
+    void search_ShouldRejectCustomers() throws Exception {
+        mockMvc.perform(get("/api/service-requests/search")
+                .header(UserContext.HEADER_USER_ID, "customer-1")
+                .header(UserContext.HEADER_USER_ROLE, "CUSTOMER")
+                .param("q", "REQ-0001"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/service-requests/search/suggest")
+                .header(UserContext.HEADER_USER_ID, "customer-1")
+                .header(UserContext.HEADER_USER_ROLE, "CUSTOMER")
+                .param("q", "main"))
+                .andExpect(status().isBadRequest());
+        verifyNoInteractions(typeahead);
+        verify(serviceRequestService, never()).search(any(), any(), any(), any(), any(), any(), anyInt(), anyBoolean());
     }
 }
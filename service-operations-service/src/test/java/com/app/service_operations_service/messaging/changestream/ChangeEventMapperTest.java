@@ -0,0 +1,130 @@
+package com.app.service_operations_service.messaging.changestream;
+
+import com.app.service_operations_service.config.MongoConfig;
+import com.app.service_operations_service.messaging.changestream.ChangeEventMapper.Change;
+import com.app.service_operations_service.messaging.changestream.ChangeEventMapper.Routed;
+import com.app.service_operations_service.messaging.event.InvoiceChangedEvent;
+import com.app.service_operations_service.messaging.event.ServiceRequestChangedEvent;
+import com.app.service_operations_service.model.enums.PaymentStatus;
+import com.app.service_operations_service.model.enums.RequestStatus;
+import com.mongodb.client.model.changestream.OperationType;
+import org.bson.Document;
+import org.bson.types.Decimal128;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChangeEventMapperTest {
+
+    private static final Instant AT = Instant.parse("2024-05-01T10:00:00Z");
+
+    private ChangeEventMapper mapper;
+
+    @BeforeEach
+    void setUp() {
+        mapper = new ChangeEventMapper(converter());
+    }
+
+    // Same conversions as MongoConfig
+    static MappingMongoConverter converter() {
+        MongoCustomConversions conversions = new MongoConfig().customConversions();
+        MongoMappingContext context = new MongoMappingContext();
+        context.setSimpleTypeHolder(conversions.getSimpleTypeHolder());
+        MappingMongoConverter converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, context);
+        converter.setCustomConversions(conversions);
+        converter.afterPropertiesSet();
+        return converter;
+    }
+
+    @Test
+    void map_ShouldPublishStatusChangeUnderItsStatusKey() {
+        ObjectId id = new ObjectId();
+        Routed routed = mapper.map(new Change("service_requests", OperationType.UPDATE,
+                request(id, "COMPLETED"), new TreeSet<>(Set.of("status", "completedAt")), "token-1", AT));
+
+        assertEquals("service-request.status.completed", routed.routingKey());
+        ServiceRequestChangedEvent event = (ServiceRequestChangedEvent) routed.event();
+        assertEquals(ServiceRequestChangedEvent.Type.STATUS_CHANGED, event.getType());
+        assertEquals(id.toHexString(), event.getRequestId());
+        assertEquals(RequestStatus.COMPLETED, event.getStatus());
+        assertEquals("tech-1", event.getTechnicianId());
+        assertEquals(List.of("completedAt", "status"), event.getChangedFields());
+        assertEquals("token-1", event.getEventId());
+        assertEquals(AT, event.getOccurredAt());
+    }
+
+    @Test
+    void map_ShouldTellInsertsAndReschedulesApart() {
+        ObjectId id = new ObjectId();
+
+        assertEquals("service-request.created", mapper.map(new Change("service_requests", OperationType.INSERT,
+                request(id, "REQUESTED"), Set.of(), "token-1", AT)).routingKey());
+        Routed rescheduled = mapper.map(new Change("service_requests", OperationType.UPDATE,
+                request(id, "ASSIGNED"), Set.of("preferredDate"), "token-2", AT));
+        assertEquals("service-request.rescheduled", rescheduled.routingKey());
+        assertEquals(AT, ((ServiceRequestChangedEvent) rescheduled.event()).getPreferredDate());
+        assertEquals("service-request.updated", mapper.map(new Change("service_requests", OperationType.REPLACE,
+                request(id, "ASSIGNED"), Set.of(), "token-3", AT)).routingKey());
+    }
+
+    @Test
+    void map_ShouldPublishInvoiceChanges() {
+        Document invoice = new Document("_id", new ObjectId())
+                .append("requestId", "req-1")
+                .append("customerId", "customer-1")
+                .append("totalAmount", new Decimal128(new BigDecimal("110.00")))
+                .append("paymentStatus", "PAID")
+                .append("paidAt", Date.from(AT));
+
+        Routed routed = mapper.map(new Change("invoices", OperationType.REPLACE, invoice, Set.of(), "token-1", AT));
+
+        assertEquals("invoice.updated", routed.routingKey());
+        InvoiceChangedEvent event = (InvoiceChangedEvent) routed.event();
+        assertEquals("req-1", event.getRequestId());
+        assertEquals(PaymentStatus.PAID, event.getPaymentStatus());
+        assertEquals(0, new BigDecimal("110.00").compareTo(event.getTotalAmount()));
+        assertEquals(AT, event.getPaidAt());
+    }
+
+    @Test
+    void map_ShouldReportEveryStoredField_ForAnInvoiceReplace() {
+        Document invoice = new Document("_id", new ObjectId())
+                .append("requestId", "req-1")
+                .append("paymentStatus", "FAILED")
+                .append("_class", "com.app.service_operations_service.model.Invoice");
+
+        // A replace carries no update description
+        Routed routed = mapper.map(new Change("invoices", OperationType.REPLACE, invoice, Set.of(), "token-1", AT));
+
+        InvoiceChangedEvent event = (InvoiceChangedEvent) routed.event();
+        assertEquals(InvoiceChangedEvent.Type.UPDATED, event.getType());
+        assertEquals(List.of("paymentStatus", "requestId"), event.getChangedFields());
+    }
+
+    @Test
+    void map_ShouldSkipChangesWithoutDocument() {
+        assertNull(mapper.map(new Change("service_requests", OperationType.UPDATE, null, Set.of("status"), "t", AT)));
+    }
+
+    private Document request(ObjectId id, String status) {
+        return new Document("_id", id)
+                .append("requestNumber", "REQ-000000001")
+                .append("customerId", "customer-1")
+                .append("technicianId", "tech-1")
+                .append("status", status)
+                .append("preferredDate", Date.from(AT));
+    }
+}
@@ -0,0 +1,116 @@
+package com.app.service_operations_service.messaging.changestream;
+
+import com.app.service_operations_service.config.MongoConfig;
+import com.app.service_operations_service.config.RabbitConfig;
+import com.app.service_operations_service.messaging.event.ServiceRequestChangedEvent;
+import com.app.service_operations_service.model.ServiceRequest;
+import com.app.service_operations_service.model.enums.RequestStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.TestPropertySource;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+// End to end against a single-node replica set (what MongoDBContainer runs):
+// changes made while the tailer is down are published after a restart from
+// the stored resume token. Needs Docker; skipped otherwise.
+@Testcontainers(disabledWithoutDocker = true)
+@DataMongoTest
+@Import(MongoConfig.class)
+@TestPropertySource(properties = {
+        "spring.autoconfigure.exclude=",
+        "app.mongo.enabled=true"
+})
+class ChangeStreamReplicaSetTest {
+
+    @Container
+    static final MongoDBContainer MONGO = new MongoDBContainer("mongo:7");
+
+    @DynamicPropertySource
+    static void mongoProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.data.mongodb.uri", MONGO::getReplicaSetUrl);
+    }
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    private final RabbitTemplate rabbitTemplate = mock(RabbitTemplate.class);
+    private final List<String> routingKeys = new CopyOnWriteArrayList<>();
+    private ChangeStreamTailer tailer;
+
+    @AfterEach
+    void stopTailer() {
+        if (tailer != null) {
+            tailer.stop();
+        }
+    }
+
+    @Test
+    void tailer_ShouldResumeFromStoredTokenAfterRestart() throws InterruptedException {
+        ConnectionFactory connectionFactory = mock(ConnectionFactory.class);
+        when(connectionFactory.isPublisherConfirms()).thenReturn(true);
+        when(rabbitTemplate.getConnectionFactory()).thenReturn(connectionFactory);
+        doAnswer(invocation -> {
+            routingKeys.add(invocation.getArgument(1));
+            invocation.<CorrelationData>getArgument(3).getFuture().complete(new CorrelationData.Confirm(true, null));
+            return null;
+        }).when(rabbitTemplate).convertAndSend(eq(RabbitConfig.OPERATIONS_EXCHANGE), anyString(), any(Object.class),
+                any(CorrelationData.class));
+
+        startTailer();
+        ServiceRequest request = mongoTemplate.insert(ServiceRequest.builder()
+                .requestNumber("REQ-000000001").customerId("customer-1").createdAt(Instant.now()).build());
+        awaitEvents(1);
+        tailer.stop();
+
+        // Written while nothing is tailing
+        mongoTemplate.updateFirst(new Query(Criteria.where("id").is(request.getId())),
+                new Update().set("status", RequestStatus.ASSIGNED).set("technicianId", "tech-1"), ServiceRequest.class);
+        Thread.sleep(500);
+        assertEquals(1, routingKeys.size());
+
+        startTailer();
+        awaitEvents(2);
+
+        assertEquals(List.of("service-request.created", "service-request.status.assigned"), routingKeys);
+        verify(rabbitTemplate, atLeastOnce()).convertAndSend(anyString(), eq("service-request.status.assigned"),
+                argThat((Object event) -> event instanceof ServiceRequestChangedEvent changed
+                        && "tech-1".equals(changed.getTechnicianId())), any(CorrelationData.class));
+    }
+
+    private void startTailer() throws InterruptedException {
+        tailer = new ChangeStreamTailer(mongoTemplate, rabbitTemplate, 100, 5_000);
+        tailer.start();
+        // Let the cursors open before writing
+        Thread.sleep(1_000);
+    }
+
+    private void awaitEvents(int count) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (routingKeys.size() < count && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        assertEquals(count, routingKeys.size());
+    }
+}
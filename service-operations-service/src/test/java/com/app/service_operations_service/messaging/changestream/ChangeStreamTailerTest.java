@@ -0,0 +1,134 @@
+package com.app.service_operations_service.messaging.changestream;
+
+import com.app.service_operations_service.config.RabbitConfig;
+import com.app.service_operations_service.messaging.event.ServiceRequestChangedEvent;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.ReplaceOptions;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.OperationType;
+import com.mongodb.client.model.changestream.UpdateDescription;
+import org.bson.BsonDocument;
+import org.bson.BsonInt32;
+import org.bson.BsonString;
+import org.bson.BsonTimestamp;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.AmqpConnectException;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.net.ConnectException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ChangeStreamTailerTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private RabbitTemplate rabbitTemplate;
+
+    @Mock
+    private MongoCollection<Document> offsets;
+
+    private ChangeStreamTailer tailer;
+
+    @BeforeEach
+    void setUp() {
+        when(mongoTemplate.getConverter()).thenReturn(ChangeEventMapperTest.converter());
+        tailer = new ChangeStreamTailer(mongoTemplate, rabbitTemplate, 10, 200);
+    }
+
+    @Test
+    void handle_ShouldStoreResumeTokenOnlyAfterTheConfirm() {
+        when(mongoTemplate.getCollection(ResumeTokens.COLLECTION)).thenReturn(offsets);
+        confirmWith(true);
+
+        tailer.handle("service_requests", statusChange("token-7"));
+
+        InOrder order = inOrder(rabbitTemplate, offsets);
+        ArgumentCaptor<Object> event = ArgumentCaptor.forClass(Object.class);
+        order.verify(rabbitTemplate).convertAndSend(eq(RabbitConfig.OPERATIONS_EXCHANGE),
+                eq("service-request.status.assigned"), event.capture(), any(CorrelationData.class));
+        ArgumentCaptor<Document> offset = ArgumentCaptor.forClass(Document.class);
+        order.verify(offsets).replaceOne(any(Bson.class), offset.capture(), any(ReplaceOptions.class));
+        assertEquals("token-7", ((ServiceRequestChangedEvent) event.getValue()).getEventId());
+        assertEquals("service_requests", offset.getValue().get("_id"));
+        assertEquals("token-7", offset.getValue().get("token"));
+    }
+
+    @Test
+    void handle_ShouldKeepOldToken_WhenPublishFails() {
+        doThrow(new AmqpConnectException(new ConnectException("refused")))
+                .when(rabbitTemplate).convertAndSend(anyString(), anyString(), any(Object.class),
+                        any(CorrelationData.class));
+
+        assertThrows(AmqpConnectException.class, () -> tailer.handle("service_requests", statusChange("token-8")));
+
+        verify(mongoTemplate, never()).getCollection(ResumeTokens.COLLECTION);
+    }
+
+    @Test
+    void handle_ShouldKeepOldToken_WhenBrokerNacksOrNeverConfirms() {
+        confirmWith(false);
+        assertThrows(AmqpException.class, () -> tailer.handle("service_requests", statusChange("token-9")));
+
+        // Sent, but no confirm arrives within the timeout
+        reset(rabbitTemplate);
+        assertThrows(AmqpException.class, () -> tailer.handle("service_requests", statusChange("token-9")));
+
+        verify(mongoTemplate, never()).getCollection(ResumeTokens.COLLECTION);
+    }
+
+    @Test
+    void start_ShouldFail_WithoutPublisherConfirms() {
+        ConnectionFactory connectionFactory = mock(ConnectionFactory.class);
+        when(rabbitTemplate.getConnectionFactory()).thenReturn(connectionFactory);
+
+        assertThrows(IllegalStateException.class, () -> tailer.start());
+    }
+
+    @Test
+    void watched_ShouldCoverRequestsAndInvoices() {
+        assertEquals(List.of("service_requests", "invoices"), ChangeStreamTailer.WATCHED);
+    }
+
+    private void confirmWith(boolean ack) {
+        doAnswer(invocation -> {
+            CorrelationData correlation = invocation.getArgument(3);
+            correlation.getFuture().complete(new CorrelationData.Confirm(ack, ack ? null : "queue full"));
+            return null;
+        }).when(rabbitTemplate).convertAndSend(anyString(), anyString(), any(Object.class), any(CorrelationData.class));
+    }
+
+    @SuppressWarnings("unchecked")
+    private ChangeStreamDocument<Document> statusChange(String token) {
+        ChangeStreamDocument<Document> change = mock(ChangeStreamDocument.class);
+        when(change.getOperationType()).thenReturn(OperationType.UPDATE);
+        when(change.getFullDocument()).thenReturn(new Document("_id", new ObjectId())
+                .append("customerId", "customer-1")
+                .append("technicianId", "tech-1")
+                .append("status", "ASSIGNED"));
+        when(change.getUpdateDescription()).thenReturn(new UpdateDescription(List.of(),
+                new BsonDocument("status", new BsonString("ASSIGNED")).append("assignedAt", new BsonInt32(1))));
+        when(change.getClusterTime()).thenReturn(new BsonTimestamp(1_714_557_600, 1));
+        when(change.getResumeToken()).thenReturn(new BsonDocument("_data", new BsonString(token)));
+        return change;
+    }
+}
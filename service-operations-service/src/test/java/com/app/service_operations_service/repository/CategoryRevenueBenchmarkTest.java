@@ -0,0 +1,134 @@
+package com.app.service_operations_service.repository;
+
+import com.app.service_operations_service.config.MongoConfig;
+import com.app.service_operations_service.model.Invoice;
+import com.app.service_operations_service.model.ServiceItem;
+import com.app.service_operations_service.model.ServiceRequest;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.TestPropertySource;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Category revenue over a million invoices in a real mongod: checks the
+// $lookup pipeline against a direct sum. A quarter of the invoices predate the
+// stored serviceId and go through the request join. Runs with -Pbenchmark and
+// needs Docker; skipped otherwise.
+@Tag("benchmark")
+@Testcontainers(disabledWithoutDocker = true)
+@DataMongoTest
+@Import(MongoConfig.class)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@TestPropertySource(properties = {
+        "spring.autoconfigure.exclude=",
+        "app.mongo.enabled=true"
+})
+class CategoryRevenueBenchmarkTest {
+
+    private static final int INVOICES = 1_000_000;
+    private static final int REQUESTS = 100_000;
+    private static final int CATEGORIES = 8;
+    private static final int ITEMS = 60;
+
+    @Container
+    static final MongoDBContainer MONGO = new MongoDBContainer("mongo:7");
+
+    @DynamicPropertySource
+    static void mongoProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.data.mongodb.uri", MONGO::getReplicaSetUrl);
+    }
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private InvoiceRepository invoiceRepository;
+
+    private BigDecimal expectedTotal = BigDecimal.ZERO;
+
+    @BeforeAll
+    void seed() {
+        Random random = new Random(7);
+        List<ObjectId> itemIds = new ArrayList<>();
+        List<Document> items = new ArrayList<>();
+        for (int i = 0; i < ITEMS; i++) {
+            ObjectId id = new ObjectId();
+            itemIds.add(id);
+            items.add(new Document("_id", id).append("name", "Service " + i)
+                    .append("categoryId", "category-" + (i % CATEGORIES)));
+        }
+        mongoTemplate.getCollection(mongoTemplate.getCollectionName(ServiceItem.class)).insertMany(items);
+
+        List<ObjectId> requestIds = new ArrayList<>();
+        List<Document> batch = new ArrayList<>();
+        for (int i = 0; i < REQUESTS; i++) {
+            ObjectId id = new ObjectId();
+            requestIds.add(id);
+            batch.add(new Document("_id", id)
+                    .append("serviceId", itemIds.get(random.nextInt(ITEMS)).toHexString()));
+        }
+        mongoTemplate.getCollection(mongoTemplate.getCollectionName(ServiceRequest.class)).insertMany(batch);
+
+        Instant now = Instant.now();
+        batch = new ArrayList<>();
+        for (int i = 0; i < INVOICES; i++) {
+            BigDecimal amount = BigDecimal.valueOf(1_000 + random.nextInt(100_000), 2);
+            boolean paid = random.nextInt(10) < 7;
+            Document invoice = new Document("requestId", requestIds.get(random.nextInt(REQUESTS)).toHexString())
+                    .append("totalAmount", amount.toPlainString())
+                    .append("paymentStatus", paid ? "PAID" : "PENDING")
+                    .append("createdAt", Date.from(now.minus(Duration.ofMinutes(random.nextInt(525_600)))));
+            if (i % 4 != 0) {
+                invoice.append("serviceId", itemIds.get(random.nextInt(ITEMS)).toHexString());
+            }
+            if (paid) {
+                expectedTotal = expectedTotal.add(amount);
+            }
+            batch.add(invoice);
+            if (batch.size() == 20_000) {
+                mongoTemplate.getCollection(mongoTemplate.getCollectionName(Invoice.class)).insertMany(batch);
+                batch = new ArrayList<>();
+            }
+        }
+    }
+
+    @Test
+    void revenueByCategory_ShouldMatchDirectSum() {
+        List<InvoiceAggregates.CategoryRevenue> categories = invoiceRepository.revenueByCategory(null, null);
+        Instant now = Instant.now();
+        List<InvoiceAggregates.CategoryRevenue> month =
+                invoiceRepository.revenueByCategory(now.minus(Duration.ofDays(30)), now);
+
+        assertEquals(CATEGORIES, categories.size());
+        BigDecimal total = categories.stream()
+                .map(InvoiceAggregates.CategoryRevenue::revenue)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        assertEquals(0, expectedTotal.compareTo(total));
+        assertTrue(categories.stream().allMatch(c -> c.categoryId() != null));
+        BigDecimal monthTotal = month.stream()
+                .map(InvoiceAggregates.CategoryRevenue::revenue)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        assertTrue(monthTotal.compareTo(total) <= 0);
+    }
+}
@@ -0,0 +1,78 @@
+package com.app.service_operations_service.repository;
+
+import com.app.service_operations_service.model.DailyRollup;
+import org.bson.Document;
+import org.bson.types.Decimal128;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DailyRollupOperationsImplTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    private DailyRollupOperationsImpl operations;
+
+    @BeforeEach
+    void setUp() {
+        operations = new DailyRollupOperationsImpl(mongoTemplate);
+    }
+
+    @Test
+    void incrementRequests_ShouldUpsertOnlyChangedCounters() {
+        operations.incrementRequests(LocalDate.of(2026, 3, 1), 0, 1, 0);
+
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate).upsert(query.capture(), update.capture(), eq(DailyRollup.class));
+        assertEquals("2026-03-01", query.getValue().getQueryObject().get("_id"));
+        Document inc = (Document) update.getValue().getUpdateObject().get("$inc");
+        assertEquals(new Document("completed", 1L), inc);
+    }
+
+    @Test
+    void incrementRequests_ShouldSkipEmptyUpdates() {
+        operations.incrementRequests(LocalDate.of(2026, 3, 1), 0, 0, 0);
+
+        verify(mongoTemplate, never()).upsert(any(Query.class), any(Update.class), eq(DailyRollup.class));
+    }
+
+    @Test
+    void addRevenue_ShouldIncrementDecimalAmount() {
+        operations.addRevenue(LocalDate.of(2026, 3, 1), new BigDecimal("110.00"));
+
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate).upsert(any(Query.class), update.capture(), eq(DailyRollup.class));
+        Document inc = (Document) update.getValue().getUpdateObject().get("$inc");
+        assertEquals(new Decimal128(new BigDecimal("110.00")), inc.get("revenue"));
+        assertEquals(1, inc.get("paidInvoices"));
+    }
+
+    @Test
+    void removeRevenue_ShouldDecrementWithoutCreatingTheDay() {
+        operations.removeRevenue(LocalDate.of(2026, 3, 1), new BigDecimal("110.00"));
+
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate).updateFirst(any(Query.class), update.capture(), eq(DailyRollup.class));
+        verify(mongoTemplate, never()).upsert(any(Query.class), any(Update.class), eq(DailyRollup.class));
+        Document inc = (Document) update.getValue().getUpdateObject().get("$inc");
+        assertEquals(new Decimal128(new BigDecimal("-110.00")), inc.get("revenue"));
+        assertEquals(-1, inc.get("paidInvoices"));
+    }
+}
@@ -0,0 +1,190 @@
+package com.app.service_operations_service.repository;
+
+import com.app.service_operations_service.config.MongoConfig;
+import com.app.service_operations_service.model.Invoice;
+import com.app.service_operations_service.model.ServiceRequest;
+import com.app.service_operations_service.model.enums.PaymentStatus;
+import com.app.service_operations_service.model.enums.RequestStatus;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.TestPropertySource;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Seeds a real mongod and compares the previous load-everything dashboard
+// computation with the $facet aggregations: same figures, in less time. Runs
+// with -Pbenchmark and needs Docker; skipped otherwise.
+@Tag("benchmark")
+@Testcontainers(disabledWithoutDocker = true)
+@DataMongoTest
+@Import(MongoConfig.class)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@TestPropertySource(properties = {
+        "spring.autoconfigure.exclude=",
+        "app.mongo.enabled=true"
+})
+class DashboardAggregationBenchmarkTest {
+
+    private static final int REQUESTS = 200_000;
+    private static final int INVOICES = 100_000;
+    private static final ZoneId ZONE = ZoneId.of("UTC");
+
+    @Container
+    static final MongoDBContainer MONGO = new MongoDBContainer("mongo:7");
+
+    @DynamicPropertySource
+    static void mongoProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.data.mongodb.uri", MONGO::getReplicaSetUrl);
+    }
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private ServiceRequestRepository requestRepository;
+
+    @Autowired
+    private InvoiceRepository invoiceRepository;
+
+    @BeforeAll
+    void seed() {
+        Random random = new Random(42);
+        RequestStatus[] statuses = RequestStatus.values();
+        PaymentStatus[] paymentStatuses = PaymentStatus.values();
+        Instant now = Instant.now();
+
+        List<Document> batch = new ArrayList<>();
+        for (int i = 0; i < REQUESTS; i++) {
+            RequestStatus status = statuses[random.nextInt(statuses.length)];
+            Instant created = now.minus(Duration.ofMinutes(random.nextInt(60 * 24 * 120)));
+            Document doc = new Document("requestNumber", "REQ-" + i)
+                    .append("customerId", "customer-" + random.nextInt(5_000))
+                    .append("serviceId", "service-" + random.nextInt(40))
+                    .append("status", status.name())
+                    .append("createdAt", Date.from(created));
+            if (status == RequestStatus.COMPLETED) {
+                doc.append("completedAt", Date.from(created.plus(Duration.ofMinutes(30 + random.nextInt(2_000)))));
+            }
+            batch.add(doc);
+            if (batch.size() == 10_000) {
+                mongoTemplate.getCollection(mongoTemplate.getCollectionName(ServiceRequest.class)).insertMany(batch);
+                batch = new ArrayList<>();
+            }
+        }
+        for (int i = 0; i < INVOICES; i++) {
+            Instant created = now.minus(Duration.ofHours(random.nextInt(24 * 90)));
+            // BigDecimal is mapped to a string by default
+            String amount = BigDecimal.valueOf(500 + random.nextInt(500_000), 2).toPlainString();
+            batch.add(new Document("requestId", "request-" + i)
+                    .append("customerId", "customer-" + random.nextInt(5_000))
+                    .append("totalAmount", amount)
+                    .append("paymentStatus", paymentStatuses[random.nextInt(paymentStatuses.length)].name())
+                    .append("createdAt", Date.from(created)));
+            if (batch.size() == 10_000) {
+                mongoTemplate.getCollection(mongoTemplate.getCollectionName(Invoice.class)).insertMany(batch);
+                batch = new ArrayList<>();
+            }
+        }
+    }
+
+    @Test
+    void facetAggregations_ShouldMatchInMemoryFiguresInLessTime() {
+        Instant now = Instant.now();
+
+        // Warm both paths once so the comparison is not about connection setup
+        loadEverything(now);
+        requestRepository.summarize();
+        invoiceRepository.summarizeRevenue(now, ZONE);
+
+        long started = System.nanoTime();
+        Figures before = loadEverything(now);
+        long beforeMs = (System.nanoTime() - started) / 1_000_000;
+
+        started = System.nanoTime();
+        ServiceRequestAggregates.Summary requests = requestRepository.summarize();
+        InvoiceAggregates.RevenueSummary revenue = invoiceRepository.summarizeRevenue(now, ZONE);
+        long afterMs = (System.nanoTime() - started) / 1_000_000;
+
+        assertEquals(before.byStatus(), requests.byStatus());
+        assertEquals(before.byService(), requests.byService());
+        assertEquals(before.averageMinutes(), requests.averageResolutionMinutes(), 1e-6);
+        assertEquals(0, before.totalRevenue().compareTo(revenue.amount(PaymentStatus.PAID)));
+        assertEquals(0, before.monthlyRevenue().compareTo(revenue.currentMonthPaid()));
+        assertEquals(before.pending(), revenue.count(PaymentStatus.PENDING));
+        assertTrue(afterMs < beforeMs, "$facet " + afterMs + " ms vs findAll + streams " + beforeMs + " ms");
+    }
+
+    @Test
+    void countAllByStatus_ShouldMatchPerStatusCounts() {
+        Map<RequestStatus, Long> counts = requestRepository.countAllByStatus();
+
+        for (RequestStatus status : RequestStatus.values()) {
+            assertEquals(requestRepository.countByStatus(status), counts.getOrDefault(status, 0L));
+        }
+        assertEquals(REQUESTS, counts.values().stream().mapToLong(Long::longValue).sum());
+    }
+
+    // The computation DashboardService did before the aggregations
+    private Figures loadEverything(Instant now) {
+        List<ServiceRequest> requests = requestRepository.findAll();
+        Map<RequestStatus, Long> byStatus = requests.stream()
+                .collect(Collectors.groupingBy(ServiceRequest::getStatus,
+                        () -> new EnumMap<>(RequestStatus.class), Collectors.counting()));
+        Map<String, Long> byService = requests.stream()
+                .filter(r -> r.getServiceId() != null)
+                .collect(Collectors.groupingBy(ServiceRequest::getServiceId, Collectors.counting()));
+        List<ServiceRequest> completed = requestRepository.findByStatus(RequestStatus.COMPLETED);
+        double averageMinutes = completed.stream()
+                .filter(r -> r.getCreatedAt() != null && r.getCompletedAt() != null)
+                .mapToDouble(r -> Duration.between(r.getCreatedAt(), r.getCompletedAt()).toMinutes())
+                .average()
+                .orElse(0.0);
+
+        List<Invoice> invoices = invoiceRepository.findAll();
+        LocalDate today = now.atZone(ZONE).toLocalDate();
+        BigDecimal total = BigDecimal.ZERO;
+        BigDecimal month = BigDecimal.ZERO;
+        long pending = 0;
+        for (Invoice invoice : invoices) {
+            if (invoice.getPaymentStatus() == PaymentStatus.PAID) {
+                total = total.add(invoice.getTotalAmount());
+                LocalDate date = invoice.getCreatedAt().atZone(ZONE).toLocalDate();
+                if (date.getYear() == today.getYear() && date.getMonth() == today.getMonth()) {
+                    month = month.add(invoice.getTotalAmount());
+                }
+            } else if (invoice.getPaymentStatus() == PaymentStatus.PENDING) {
+                pending++;
+            }
+        }
+        return new Figures(byStatus, byService, averageMinutes, total, month, pending);
+    }
+
+    private record Figures(Map<RequestStatus, Long> byStatus, Map<String, Long> byService, double averageMinutes,
+            BigDecimal totalRevenue, BigDecimal monthlyRevenue, long pending) {
+    }
+}
@@ -0,0 +1,175 @@
+package com.app.service_operations_service.repository;
+
+import com.app.service_operations_service.model.Invoice;
+import com.app.service_operations_service.model.enums.PaymentStatus;
+import org.bson.Document;
+import org.bson.types.Decimal128;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationResults;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class InvoiceAggregatesImplTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    private InvoiceAggregatesImpl aggregates;
+
+    @BeforeEach
+    void setUp() {
+        aggregates = new InvoiceAggregatesImpl(mongoTemplate);
+    }
+
+    @Test
+    void summarizeRevenue_ShouldKeepDecimalPrecision() {
+        List<Document> byStatus = List.of(
+                new Document("_id", "PAID").append("count", 3)
+                        .append("amount", new Decimal128(new BigDecimal("0.30"))),
+                new Document("_id", "PENDING").append("count", 1)
+                        .append("amount", new Decimal128(new BigDecimal("19.99"))));
+        Document month = new Document("_id", null).append("amount", new Decimal128(new BigDecimal("0.20")));
+        when(mongoTemplate.aggregate(any(Aggregation.class), eq(Invoice.class), eq(Document.class)))
+                .thenReturn(new AggregationResults<>(byStatus, new Document()),
+                        new AggregationResults<>(List.of(month), new Document()));
+
+        InvoiceAggregates.RevenueSummary summary =
+                aggregates.summarizeRevenue(Instant.parse("2026-03-15T10:00:00Z"), ZoneId.of("Asia/Kolkata"));
+
+        assertEquals(new BigDecimal("0.30"), summary.amount(PaymentStatus.PAID));
+        assertEquals(3L, summary.count(PaymentStatus.PAID));
+        assertEquals(1L, summary.count(PaymentStatus.PENDING));
+        assertEquals(BigDecimal.ZERO, summary.amount(PaymentStatus.FAILED));
+        assertEquals(new BigDecimal("0.20"), summary.currentMonthPaid());
+    }
+
+    // The month total leads with PAID plus a createdAt range from the start
+    // of the month in the requested zone, so it stays on the index
+    @Test
+    void summarizeRevenue_ShouldSumTheMonthOverAnIndexRangeInRequestedZone() {
+        when(mongoTemplate.aggregate(any(Aggregation.class), eq(Invoice.class), eq(Document.class)))
+                .thenReturn(new AggregationResults<>(List.of(), new Document()));
+        Instant now = Instant.parse("2026-03-15T10:00:00Z");
+
+        InvoiceAggregates.RevenueSummary summary = aggregates.summarizeRevenue(now, ZoneId.of("Asia/Kolkata"));
+
+        assertEquals(BigDecimal.ZERO, summary.currentMonthPaid());
+        ArgumentCaptor<Aggregation> aggregation = ArgumentCaptor.forClass(Aggregation.class);
+        verify(mongoTemplate, times(2)).aggregate(aggregation.capture(), eq(Invoice.class), eq(Document.class));
+        List<Document> monthPipeline = aggregation.getAllValues().get(1).toPipeline(Aggregation.DEFAULT_CONTEXT);
+        Document match = monthPipeline.get(0).get("$match", Document.class);
+        assertEquals(PaymentStatus.PAID.name(), match.get("paymentStatus"));
+        Document createdAt = match.get("createdAt", Document.class);
+        assertEquals(Date.from(Instant.parse("2026-02-28T18:30:00Z")), createdAt.get("$gte"));
+        assertEquals(Date.from(now), createdAt.get("$lte"));
+        assertTrue(aggregation.getAllValues().get(0).toPipeline(Aggregation.DEFAULT_CONTEXT).toString()
+                .contains("$toDecimal"));
+    }
+
+    @Test
+    void revenueReport_ShouldSumDecimalsOverRangeAndPerMethod() {
+        Document facets = new Document()
+                .append("overall", List.of(totals(null, 3, 2, "0.30", "0.03", "0.33")))
+                .append("byPaymentMethod", List.of(
+                        totals(null, 1, 0, "0.10", "0.01", "0.11"),
+                        totals("Card", 2, 2, "0.20", "0.02", "0.22")));
+        when(mongoTemplate.aggregate(any(Aggregation.class), eq(Invoice.class), eq(Document.class)))
+                .thenReturn(new AggregationResults<>(List.of(facets), new Document()));
+
+        InvoiceAggregates.RevenueReport report = aggregates.revenueReport(
+                Instant.parse("2026-01-01T00:00:00Z"), Instant.parse("2026-02-01T00:00:00Z"), true);
+
+        assertEquals(new BigDecimal("0.33"), report.overall().totalAmount());
+        assertEquals(2, report.overall().paidCount());
+        assertEquals(2, report.byPaymentMethod().size());
+        assertNull(report.byPaymentMethod().get(0).paymentMethod());
+        assertEquals("Card", report.byPaymentMethod().get(1).paymentMethod());
+        ArgumentCaptor<Aggregation> aggregation = ArgumentCaptor.forClass(Aggregation.class);
+        verify(mongoTemplate).aggregate(aggregation.capture(), eq(Invoice.class), eq(Document.class));
+        Document match = aggregation.getValue().toPipeline(Aggregation.DEFAULT_CONTEXT).get(0).get("$match", Document.class);
+        Document createdAt = match.get("createdAt", Document.class);
+        assertTrue(createdAt.containsKey("$gte"));
+        assertTrue(createdAt.containsKey("$lt"));
+    }
+
+    @Test
+    void monthlyRevenue_ShouldGroupPaidInvoicesByZonedMonth() {
+        Document row = new Document("_id", new Document("month", java.util.Date.from(Instant.parse("2025-12-31T18:30:00Z")))
+                .append("paymentMethod", "Card"))
+                .append("paidCount", 4)
+                .append("revenue", new Decimal128(new BigDecimal("440.40")));
+        when(mongoTemplate.aggregate(any(Aggregation.class), eq(Invoice.class), eq(Document.class)))
+                .thenReturn(new AggregationResults<>(List.of(row), new Document()));
+
+        List<InvoiceAggregates.MonthlyRevenue> months =
+                aggregates.monthlyRevenue(null, null, ZoneId.of("Asia/Kolkata"), true);
+
+        assertEquals(1, months.size());
+        assertEquals(Instant.parse("2025-12-31T18:30:00Z"), months.get(0).monthStart());
+        assertEquals("Card", months.get(0).paymentMethod());
+        assertEquals(new BigDecimal("440.40"), months.get(0).revenue());
+        ArgumentCaptor<Aggregation> aggregation = ArgumentCaptor.forClass(Aggregation.class);
+        verify(mongoTemplate).aggregate(aggregation.capture(), eq(Invoice.class), eq(Document.class));
+        List<Document> pipeline = aggregation.getValue().toPipeline(Aggregation.DEFAULT_CONTEXT);
+        assertEquals(new Document("paymentStatus", "PAID"), pipeline.get(0).get("$match"));
+        assertTrue(pipeline.get(1).toJson().contains("Asia/Kolkata"));
+        assertTrue(pipeline.get(1).toJson().contains("$paymentMethod"));
+    }
+
+    private static Document totals(String method, int count, int paid, String service, String tax, String total) {
+        return new Document("_id", method)
+                .append("invoiceCount", count)
+                .append("paidCount", paid)
+                .append("serviceAmount", new Decimal128(new BigDecimal(service)))
+                .append("taxAmount", new Decimal128(new BigDecimal(tax)))
+                .append("totalAmount", new Decimal128(new BigDecimal(total)));
+    }
+
+    @Test
+    void revenueByCategory_ShouldJoinItemsAfterGroupingByService() {
+        Document category = new Document("_id", "cat-1")
+                .append("revenue", new Decimal128(new BigDecimal("330.00")))
+                .append("invoiceCount", 3)
+                .append("services", List.of(
+                        new Document("serviceId", "service-2").append("serviceName", "Duct Cleaning")
+                                .append("revenue", new Decimal128(new BigDecimal("110.00"))).append("invoiceCount", 1),
+                        new Document("serviceId", "service-1").append("serviceName", "AC Repair")
+                                .append("revenue", new Decimal128(new BigDecimal("220.00"))).append("invoiceCount", 2)));
+        when(mongoTemplate.getCollectionName(com.app.service_operations_service.model.ServiceRequest.class))
+                .thenReturn("service_requests");
+        when(mongoTemplate.getCollectionName(com.app.service_operations_service.model.ServiceItem.class))
+                .thenReturn("service_items");
+        when(mongoTemplate.aggregate(any(Aggregation.class), eq(Invoice.class), eq(Document.class)))
+                .thenReturn(new AggregationResults<>(List.of(category), new Document()));
+
+        List<InvoiceAggregates.CategoryRevenue> categories = aggregates.revenueByCategory(null, null);
+
+        assertEquals(1, categories.size());
+        assertEquals(new BigDecimal("330.00"), categories.get(0).revenue());
+        // Highest earning service first
+        assertEquals("service-1", categories.get(0).services().get(0).serviceId());
+        ArgumentCaptor<Aggregation> aggregation = ArgumentCaptor.forClass(Aggregation.class);
+        verify(mongoTemplate).aggregate(aggregation.capture(), eq(Invoice.class), eq(Document.class));
+        List<String> stages = aggregation.getValue().toPipeline(Aggregation.DEFAULT_CONTEXT).stream()
+                .map(stage -> stage.keySet().iterator().next())
+                .toList();
+        assertEquals(List.of("$match", "$project", "$lookup", "$group", "$lookup", "$group", "$sort"), stages);
+    }
+}
@@ -0,0 +1,55 @@
+package com.app.service_operations_service.repository;
+
+import com.app.service_operations_service.model.Invoice;
+import com.app.service_operations_service.model.enums.PaymentStatus;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class InvoicePaymentsImplTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    private InvoicePaymentsImpl payments;
+
+    @BeforeEach
+    void setUp() {
+        payments = new InvoicePaymentsImpl(mongoTemplate);
+    }
+
+    @Test
+    void updatePayment_ShouldSetFieldsGuardedOnTheExpectedStatus() {
+        Invoice updated = Invoice.builder().id("invoice-1").paymentStatus(PaymentStatus.PAID).build();
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class),
+                eq(Invoice.class))).thenReturn(updated);
+        Update update = new Update().set("paymentStatus", PaymentStatus.PAID);
+
+        Invoice result = payments.updatePayment("invoice-1", PaymentStatus.PENDING, update);
+
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<FindAndModifyOptions> options = ArgumentCaptor.forClass(FindAndModifyOptions.class);
+        verify(mongoTemplate).findAndModify(query.capture(), eq(update), options.capture(), eq(Invoice.class));
+        Document filter = query.getValue().getQueryObject();
+        assertEquals("invoice-1", filter.get("id"));
+        assertEquals(PaymentStatus.PENDING, filter.get("paymentStatus"));
+        // A $set update, never a full replacement
+        assertTrue(update.getUpdateObject().containsKey("$set"));
+        assertTrue(options.getValue().isReturnNew());
+        assertSame(updated, result);
+    }
+}
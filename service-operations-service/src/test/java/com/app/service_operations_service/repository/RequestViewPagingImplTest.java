@@ -0,0 +1,65 @@
+package com.app.service_operations_service.repository;
+
+import com.app.service_operations_service.model.RequestView;
+import com.app.service_operations_service.repository.RequestViewPaging.Filter;
+import com.app.service_operations_service.repository.ServiceRequestPaging.PageCursor;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RequestViewPagingImplTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    private RequestViewPagingImpl paging;
+
+    @BeforeEach
+    void setUp() {
+        paging = new RequestViewPagingImpl(mongoTemplate);
+    }
+
+    @Test
+    void findPage_ShouldFilterOnSnapshotUserIdAndSeekPastCursor() {
+        Instant createdAt = Instant.parse("2024-05-01T10:00:00Z");
+
+        paging.findPage(Filter.technicianUser("user-7"), new PageCursor(createdAt, "req-9"), 21);
+
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).find(query.capture(), eq(RequestView.class));
+        Document filter = query.getValue().getQueryObject();
+        assertEquals("user-7", filter.get("technician.userId"));
+        assertEquals(List.of(
+                new Document("createdAt", new Document("$lt", createdAt)),
+                new Document("createdAt", createdAt).append("id", new Document("$lt", "req-9"))),
+                filter.get("$or"));
+        assertEquals(new Document("createdAt", -1).append("id", -1), query.getValue().getSortObject());
+        assertEquals(21, query.getValue().getLimit());
+    }
+
+    @Test
+    void countMatching_ShouldUseSameFilterWithoutCursor() {
+        when(mongoTemplate.count(org.mockito.ArgumentMatchers.any(Query.class), eq(RequestView.class)))
+                .thenReturn(4L);
+
+        assertEquals(4L, paging.countMatching(Filter.customer("customer-1")));
+
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).count(query.capture(), eq(RequestView.class));
+        assertEquals(new Document("customerId", "customer-1"), query.getValue().getQueryObject());
+    }
+}
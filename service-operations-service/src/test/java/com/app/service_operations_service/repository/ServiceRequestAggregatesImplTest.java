@@ -0,0 +1,78 @@
+package com.app.service_operations_service.repository;
+
+import com.app.service_operations_service.model.ServiceRequest;
+import com.app.service_operations_service.model.enums.RequestStatus;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationResults;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ServiceRequestAggregatesImplTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    private ServiceRequestAggregatesImpl aggregates;
+
+    @BeforeEach
+    void setUp() {
+        aggregates = new ServiceRequestAggregatesImpl(mongoTemplate);
+    }
+
+    @Test
+    void summarize_ShouldReadAllFacetsFromOneAggregation() {
+        Document facets = new Document()
+                .append("byStatus", List.of(
+                        new Document("_id", "COMPLETED").append("count", 4),
+                        new Document("_id", "REQUESTED").append("count", 6L)))
+                .append("byService", List.of(new Document("_id", "service-1").append("count", 10)))
+                .append("resolution", List.of(new Document("_id", null).append("avgMinutes", 90.5).append("count", 4)));
+        stub(facets);
+
+        ServiceRequestAggregates.Summary summary = aggregates.summarize();
+
+        assertEquals(10L, summary.total());
+        assertEquals(4L, summary.count(RequestStatus.COMPLETED));
+        assertEquals(0L, summary.count(RequestStatus.CANCELLED));
+        assertEquals(Map.of("service-1", 10L), summary.byService());
+        assertEquals(90.5, summary.averageResolutionMinutes());
+        assertEquals(4L, summary.resolvedCount());
+
+        ArgumentCaptor<Aggregation> aggregation = ArgumentCaptor.forClass(Aggregation.class);
+        verify(mongoTemplate).aggregate(aggregation.capture(), eq(ServiceRequest.class), eq(Document.class));
+        List<Document> pipeline = aggregation.getValue().toPipeline(Aggregation.DEFAULT_CONTEXT);
+        assertEquals(2, pipeline.size());
+        assertTrue(pipeline.get(1).containsKey("$facet"));
+    }
+
+    @Test
+    void summarize_ShouldHandleEmptyCollection() {
+        stub(new Document("byStatus", List.of()).append("byService", List.of()).append("resolution", List.of()));
+
+        ServiceRequestAggregates.Summary summary = aggregates.summarize();
+
+        assertEquals(0L, summary.total());
+        assertEquals(0.0, summary.averageResolutionMinutes());
+        assertEquals(0L, summary.resolvedCount());
+    }
+
+    private void stub(Document result) {
+        when(mongoTemplate.aggregate(any(Aggregation.class), eq(ServiceRequest.class), eq(Document.class)))
+                .thenReturn(new AggregationResults<>(List.of(result), new Document()));
+    }
+}
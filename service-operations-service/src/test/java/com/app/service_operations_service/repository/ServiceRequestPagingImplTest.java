@@ -0,0 +1,78 @@
+package com.app.service_operations_service.repository;
+
+import com.app.service_operations_service.model.ServiceRequest;
+import com.app.service_operations_service.model.enums.RequestStatus;
+import com.app.service_operations_service.repository.ServiceRequestPaging.Filter;
+import com.app.service_operations_service.repository.ServiceRequestPaging.PageCursor;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ServiceRequestPagingImplTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    private ServiceRequestPagingImpl paging;
+
+    @BeforeEach
+    void setUp() {
+        paging = new ServiceRequestPagingImpl(mongoTemplate);
+    }
+
+    @Test
+    void findPage_ShouldStartFromNewest_WhenNoCursor() {
+        paging.findPage(Filter.customer("customer-1"), null, 21);
+
+        Query query = captureFind();
+        assertEquals(new Document("customerId", "customer-1"), query.getQueryObject());
+        assertEquals(new Document("createdAt", -1).append("id", -1), query.getSortObject());
+        assertEquals(21, query.getLimit());
+    }
+
+    @Test
+    void findPage_ShouldSeekPastCursorWithIdTieBreak() {
+        Instant createdAt = Instant.parse("2024-05-01T10:00:00Z");
+
+        paging.findPage(Filter.status(RequestStatus.ASSIGNED), new PageCursor(createdAt, "req-9"), 11);
+
+        Document filter = captureFind().getQueryObject();
+        assertEquals(RequestStatus.ASSIGNED, filter.get("status"));
+        assertEquals(List.of(
+                new Document("createdAt", new Document("$lt", createdAt)),
+                new Document("createdAt", createdAt).append("id", new Document("$lt", "req-9"))),
+                filter.get("$or"));
+    }
+
+    @Test
+    void countMatching_ShouldUseSameFilterWithoutCursor() {
+        when(mongoTemplate.count(org.mockito.ArgumentMatchers.any(Query.class), eq(ServiceRequest.class)))
+                .thenReturn(3L);
+
+        assertEquals(3L, paging.countMatching(Filter.technician("tech-1")));
+
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).count(query.capture(), eq(ServiceRequest.class));
+        assertEquals(new Document("technicianId", "tech-1"), query.getValue().getQueryObject());
+    }
+
+    private Query captureFind() {
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).find(query.capture(), eq(ServiceRequest.class));
+        return query.getValue();
+    }
+}
@@ -0,0 +1,89 @@
+package com.app.service_operations_service.repository;
+
+import com.app.service_operations_service.model.ServiceRequest;
+import com.app.service_operations_service.model.enums.RequestStatus;
+import com.app.service_operations_service.repository.ServiceRequestPaging.PageCursor;
+import com.app.service_operations_service.repository.ServiceRequestSearch.SearchQuery;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ServiceRequestSearchImplTest {
+
+    private static final Instant FROM = Instant.parse("2024-05-01T00:00:00Z");
+    private static final Instant TO = Instant.parse("2024-06-01T00:00:00Z");
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    private ServiceRequestSearchImpl search;
+
+    @BeforeEach
+    void setUp() {
+        search = new ServiceRequestSearchImpl(mongoTemplate);
+    }
+
+    @Test
+    void search_ShouldAnchorNumberPrefixAndApplyFilters() {
+        search.search(new SearchQuery("REQ-0000", null, "customer-1", RequestStatus.ASSIGNED, FROM, TO), null, 21);
+
+        Query query = captureFind();
+        Document filter = query.getQueryObject();
+        assertEquals("^\\QREQ-0000\\E", ((Pattern) filter.get("requestNumber")).pattern());
+        assertEquals("customer-1", filter.get("customerId"));
+        assertEquals(RequestStatus.ASSIGNED, filter.get("status"));
+        assertEquals(new Document("$gte", FROM).append("$lt", TO), filter.get("createdAt"));
+        assertNull(filter.get("$text"));
+        assertEquals(new Document("createdAt", -1).append("id", -1), query.getSortObject());
+        assertEquals(21, query.getLimit());
+    }
+
+    @Test
+    void search_ShouldUseTextIndexAndSeekPastCursor() {
+        search.search(new SearchQuery(null, "main street", null, null, null, null),
+                new PageCursor(FROM, "req-9"), 11);
+
+        Document filter = captureFind().getQueryObject();
+        assertEquals("main street", ((Document) filter.get("$text")).get("$search"));
+        assertEquals(List.of(
+                new Document("createdAt", new Document("$lt", FROM)),
+                new Document("createdAt", FROM).append("id", new Document("$lt", "req-9"))),
+                filter.get("$or"));
+    }
+
+    @Test
+    void countSearch_ShouldUseSameFilterWithoutCursor() {
+        when(mongoTemplate.count(any(Query.class), eq(ServiceRequest.class))).thenReturn(2L);
+
+        assertEquals(2L, search.countSearch(new SearchQuery(null, "market", null, null, FROM, null)));
+
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).count(query.capture(), eq(ServiceRequest.class));
+        Document filter = query.getValue().getQueryObject();
+        assertEquals(new Document("$gte", FROM), filter.get("createdAt"));
+        assertNotNull(filter.get("$text"));
+        assertNull(filter.get("$or"));
+    }
+
+    private Query captureFind() {
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).find(query.capture(), eq(ServiceRequest.class));
+        return query.getValue();
+    }
+}
@@ -0,0 +1,75 @@
+package com.app.service_operations_service.repository;
+
+import com.app.service_operations_service.model.ServiceRequest;
+import com.app.service_operations_service.model.enums.RequestStatus;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.Collection;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ServiceRequestTransitionsImplTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    private ServiceRequestTransitionsImpl transitions;
+
+    @BeforeEach
+    void setUp() {
+        transitions = new ServiceRequestTransitionsImpl(mongoTemplate);
+    }
+
+    @Test
+    void transition_ShouldGuardOnExpectedStatusesAndReturnNewDocument() {
+        ServiceRequest updated = ServiceRequest.builder().id("req-1").status(RequestStatus.CANCELLED).build();
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class),
+                eq(ServiceRequest.class))).thenReturn(updated);
+        Update update = new Update().set("status", RequestStatus.CANCELLED);
+
+        ServiceRequest result = transitions.transition("req-1",
+                Set.of(RequestStatus.REQUESTED, RequestStatus.ASSIGNED), update);
+
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<FindAndModifyOptions> options = ArgumentCaptor.forClass(FindAndModifyOptions.class);
+        verify(mongoTemplate).findAndModify(query.capture(), eq(update), options.capture(), eq(ServiceRequest.class));
+        Document filter = query.getValue().getQueryObject();
+        assertEquals("req-1", filter.get("id"));
+        Collection<?> from = (Collection<?>) ((Document) filter.get("status")).get("$in");
+        assertEquals(Set.of(RequestStatus.REQUESTED, RequestStatus.ASSIGNED), Set.copyOf(from));
+        assertTrue(options.getValue().isReturnNew());
+        assertSame(updated, result);
+    }
+
+    @Test
+    void transition_ShouldReturnNull_WhenGuardMisses() {
+        assertNull(transitions.transition("req-1", Set.of(RequestStatus.REQUESTED), new Update()));
+    }
+
+    @Test
+    void moves_ShouldEndAtTerminalStatuses() {
+        assertTrue(RequestStatus.COMPLETED.isTerminal());
+        assertTrue(RequestStatus.CANCELLED.isTerminal());
+        assertFalse(RequestStatus.COMPLETED.canMoveTo(RequestStatus.CANCELLED));
+        assertTrue(RequestStatus.ASSIGNED.canMoveTo(RequestStatus.ASSIGNED));
+        assertFalse(RequestStatus.ACCEPTED.canMoveTo(RequestStatus.ASSIGNED));
+        assertEquals(Set.of(RequestStatus.ACCEPTED, RequestStatus.IN_PROGRESS),
+                RequestStatus.sourcesOf(RequestStatus.COMPLETED));
+        assertFalse(RequestStatus.open().contains(RequestStatus.CANCELLED));
+    }
+}
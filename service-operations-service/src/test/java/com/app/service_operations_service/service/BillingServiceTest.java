@@ -2,30 +2,42 @@ package com.app.service_operations_service.service;
 
 import com.app.service_operations_service.dto.billing.*;
 import com.app.service_operations_service.exception.BadRequestException;
+import com.app.service_operations_service.exception.ConflictException;
 import com.app.service_operations_service.exception.NotFoundException;
 import com.app.service_operations_service.model.Invoice;
 import com.app.service_operations_service.model.ServiceItem;
 import com.app.service_operations_service.model.ServiceRequest;
 import com.app.service_operations_service.model.enums.PaymentStatus;
 import com.app.service_operations_service.model.enums.RequestStatus;
+import com.app.service_operations_service.repository.InvoiceAggregates;
 import com.app.service_operations_service.repository.InvoiceRepository;
 import com.app.service_operations_service.repository.ServiceItemRepository;
 import com.app.service_operations_service.repository.ServiceRequestRepository;
+import org.bson.Document;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.query.Update;
 
 import java.math.BigDecimal;
 import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -40,6 +52,9 @@ class BillingServiceTest {
     @Mock
     private ServiceItemRepository serviceItemRepository;
 
+    @Mock
+    private TrendService trendService;
+
     @InjectMocks
     private BillingService billingService;
 
@@ -82,24 +97,34 @@ class BillingServiceTest {
         request.setTaxAmount(new BigDecimal("10.00"));
         request.setTotalAmount(new BigDecimal("110.00"));
 
-        when(requestRepository.existsById("req-1")).thenReturn(true);
-        when(invoiceRepository.save(any(Invoice.class))).thenReturn(invoice);
+        serviceItem.setName("AC Repair");
+        when(requestRepository.findById("req-1")).thenReturn(Optional.of(serviceRequest));
+        when(serviceItemRepository.findById("service-1")).thenReturn(Optional.of(serviceItem));
+        when(invoiceRepository.save(any(Invoice.class))).thenAnswer(inv -> {
+            Invoice saved = inv.getArgument(0);
+            saved.setId("invoice-1");
+            return saved;
+        });
 
         InvoiceResponse response = billingService.createInvoice(request);
 
         assertNotNull(response);
         assertEquals("invoice-1", response.getId());
         assertEquals(new BigDecimal("110.00"), response.getTotalAmount());
-        verify(invoiceRepository, times(1)).save(any(Invoice.class));
+        assertEquals("AC Repair", response.getServiceName());
+        verify(invoiceRepository, times(1)).save(argThat(saved ->
+                "service-1".equals(saved.getServiceId()) && "AC Repair".equals(saved.getServiceName())));
+        // The name came from the invoice, not from a second lookup
+        verify(requestRepository, never()).findAllById(any());
     }
 
     @org.junit.jupiter.params.ParameterizedTest
     @org.junit.jupiter.params.provider.MethodSource("invalidInvoiceRequests")
     void createInvoice_ShouldThrowBadRequest_WhenValidationFails(CreateInvoiceRequest request) {
         if (!request.getRequestId().equals("invalid-req")) {
-            when(requestRepository.existsById(request.getRequestId())).thenReturn(true);
+            when(requestRepository.findById(request.getRequestId())).thenReturn(Optional.of(serviceRequest));
         } else {
-            when(requestRepository.existsById("invalid-req")).thenReturn(false);
+            when(requestRepository.findById("invalid-req")).thenReturn(Optional.empty());
         }
 
         assertThrows(BadRequestException.class, () -> billingService.createInvoice(request));
@@ -193,12 +218,45 @@ class BillingServiceTest {
         request.setPaymentMethod("Credit Card");
 
         when(invoiceRepository.findById("invoice-1")).thenReturn(Optional.of(invoice));
-        when(invoiceRepository.save(any(Invoice.class))).thenReturn(invoice);
+        when(invoiceRepository.updatePayment(eq("invoice-1"), any(), any(Update.class))).thenReturn(invoice);
 
         InvoiceResponse response = billingService.updatePayment("invoice-1", request);
 
         assertNotNull(response);
-        verify(invoiceRepository, times(1)).save(any(Invoice.class));
+        verify(invoiceRepository).updatePayment(eq("invoice-1"), eq(PaymentStatus.PENDING), any(Update.class));
+        verify(invoiceRepository, never()).save(any(Invoice.class));
+    }
+
+    @Test
+    void updatePayment_ShouldTakeRevenueOffThePaidDay_WhenPaymentIsReverted() {
+        Instant paidAt = Instant.parse("2026-03-01T10:00:00Z");
+        invoice.setPaymentStatus(PaymentStatus.PAID);
+        invoice.setPaidAt(paidAt);
+        PaymentUpdateRequest request = new PaymentUpdateRequest();
+        request.setPaymentStatus(PaymentStatus.FAILED);
+        request.setPaymentMethod("Credit Card");
+
+        when(invoiceRepository.findById("invoice-1")).thenReturn(Optional.of(invoice));
+        when(invoiceRepository.updatePayment(eq("invoice-1"), any(), any(Update.class))).thenReturn(invoice);
+
+        billingService.updatePayment("invoice-1", request);
+
+        verify(trendService).invoiceUnpaid(paidAt, new BigDecimal("110.00"));
+        verify(trendService, never()).invoicePaid(any(), any());
+    }
+
+    @Test
+    void updatePayment_ShouldLeaveRollupAlone_WhenStatusStaysUnpaid() {
+        PaymentUpdateRequest request = new PaymentUpdateRequest();
+        request.setPaymentStatus(PaymentStatus.FAILED);
+        request.setPaymentMethod("Credit Card");
+
+        when(invoiceRepository.findById("invoice-1")).thenReturn(Optional.of(invoice));
+        when(invoiceRepository.updatePayment(eq("invoice-1"), any(), any(Update.class))).thenReturn(invoice);
+
+        billingService.updatePayment("invoice-1", request);
+
+        verifyNoInteractions(trendService);
     }
 
     @Test
@@ -207,7 +265,7 @@ class BillingServiceTest {
         when(invoiceRepository.findById("invoice-1")).thenReturn(Optional.of(invoice));
 
         assertThrows(BadRequestException.class, () -> billingService.payInvoice("invoice-1"));
-        verify(invoiceRepository, never()).save(any(Invoice.class));
+        verify(invoiceRepository, never()).updatePayment(any(), any(), any());
     }
 
     @Test
@@ -235,42 +293,30 @@ class BillingServiceTest {
         verify(invoiceRepository, never()).save(any(Invoice.class));
     }
 
-    @Test
-    void revenueReport_ShouldCalculateRevenue() {
-        List<Invoice> invoices = Arrays.asList(invoice);
-        when(invoiceRepository.findAll()).thenReturn(invoices);
-
-        RevenueReportResponse response = billingService.revenueReport();
-
-        assertNotNull(response);
-        assertNotNull(response.getTotalRevenue());
-        verify(invoiceRepository, times(1)).findAll();
-    }
-
-    @Test
-    void monthlyRevenue_ShouldReturnMonthlyRevenue() {
-        invoice.setPaymentStatus(PaymentStatus.PAID);
-        List<Invoice> invoices = Arrays.asList(invoice);
-        when(invoiceRepository.findAll()).thenReturn(invoices);
-
-        List<MonthlyRevenueEntry> entries = billingService.monthlyRevenue();
-
-        assertNotNull(entries);
-        verify(invoiceRepository, times(1)).findAll();
-    }
-
     // Additional tests for improved coverage
 
     @Test
     void payInvoice_ShouldPayInvoice() {
         when(invoiceRepository.findById("invoice-1")).thenReturn(Optional.of(invoice));
-        when(invoiceRepository.save(any(Invoice.class))).thenReturn(invoice);
+        when(invoiceRepository.updatePayment(eq("invoice-1"), any(), any(Update.class))).thenReturn(invoice);
 
         InvoiceResponse response = billingService.payInvoice("invoice-1");
 
         assertNotNull(response);
         assertEquals("invoice-1", response.getId());
-        verify(invoiceRepository, times(1)).save(any(Invoice.class));
+        verify(invoiceRepository).updatePayment(eq("invoice-1"), eq(PaymentStatus.PENDING), any(Update.class));
+        verify(invoiceRepository, never()).save(any(Invoice.class));
+        verify(trendService).invoicePaid(invoice.getPaidAt(), invoice.getTotalAmount());
+    }
+
+    @Test
+    void payInvoice_ShouldConflict_WhenPaymentChangedConcurrently() {
+        when(invoiceRepository.findById("invoice-1")).thenReturn(Optional.of(invoice));
+        when(invoiceRepository.updatePayment(eq("invoice-1"), eq(PaymentStatus.PENDING), any(Update.class)))
+                .thenReturn(null);
+
+        assertThrows(ConflictException.class, () -> billingService.payInvoice("invoice-1"));
+        verifyNoInteractions(trendService);
     }
 
     @Test
@@ -308,12 +354,16 @@ class BillingServiceTest {
         invoice.setPaidAt(null);
 
         when(invoiceRepository.findById("invoice-1")).thenReturn(Optional.of(invoice));
-        when(invoiceRepository.save(any(Invoice.class))).thenReturn(invoice);
+        when(invoiceRepository.updatePayment(eq("invoice-1"), any(), any(Update.class))).thenReturn(invoice);
 
         InvoiceResponse response = billingService.updatePayment("invoice-1", request);
 
         assertNotNull(response);
-        verify(invoiceRepository, times(1)).save(any(Invoice.class));
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(invoiceRepository).updatePayment(eq("invoice-1"), eq(PaymentStatus.PENDING), update.capture());
+        Document set = (Document) update.getValue().getUpdateObject().get("$set");
+        assertEquals(PaymentStatus.PAID, set.get("paymentStatus"));
+        assertNotNull(set.get("paidAt"));
     }
 
     @Test
@@ -353,105 +403,112 @@ class BillingServiceTest {
     }
 
     @Test
-    void revenueReport_ShouldReturnZeroValues_WhenNoInvoices() {
-        when(invoiceRepository.findAll()).thenReturn(Arrays.asList());
+    void getByCustomer_ShouldReturnEmptyList_WhenNoInvoices() {
+        when(invoiceRepository.findByCustomerId("customer-1")).thenReturn(Arrays.asList());
 
-        RevenueReportResponse response = billingService.revenueReport();
+        List<InvoiceResponse> responses = billingService.getByCustomer("customer-1");
 
-        assertNotNull(response);
-        assertEquals(0, response.getInvoiceCount());
-        assertEquals(0, response.getPaidCount());
-        verify(invoiceRepository, times(1)).findAll();
+        assertNotNull(responses);
+        assertEquals(0, responses.size());
+        verify(invoiceRepository, times(1)).findByCustomerId("customer-1");
     }
 
-    @Test
-    void revenueReport_ShouldIncludeOnlyPaidInvoices() {
-        Invoice paidInvoice = Invoice.builder()
-                .id("invoice-1")
-                .requestId("req-1")
-                .customerId("customer-1")
-                .serviceAmount(new BigDecimal("100.00"))
-                .taxAmount(new BigDecimal("10.00"))
-                .totalAmount(new BigDecimal("110.00"))
-                .paymentStatus(PaymentStatus.PAID)
-                .createdAt(Instant.now())
-                .build();
-
-        Invoice pendingInvoice = Invoice.builder()
-                .id("invoice-2")
-                .requestId("req-2")
-                .customerId("customer-1")
-                .serviceAmount(new BigDecimal("50.00"))
-                .taxAmount(new BigDecimal("5.00"))
-                .totalAmount(new BigDecimal("55.00"))
-                .paymentStatus(PaymentStatus.PENDING)
-                .createdAt(Instant.now())
-                .build();
 
-        List<Invoice> invoices = Arrays.asList(paidInvoice, pendingInvoice);
-        when(invoiceRepository.findAll()).thenReturn(invoices);
+    @Test
+    void revenueReport_ShouldMapAggregatedTotals() {
+        InvoiceAggregates.RevenueTotals overall = new InvoiceAggregates.RevenueTotals(null, 2, 1,
+                new BigDecimal("150.00"), new BigDecimal("15.00"), new BigDecimal("165.00"));
+        when(invoiceRepository.revenueReport(null, null, false))
+                .thenReturn(new InvoiceAggregates.RevenueReport(overall, null));
 
-        RevenueReportResponse response = billingService.revenueReport();
+        RevenueReportResponse response = billingService.revenueReport(null, null, false);
 
-        assertNotNull(response);
         assertEquals(2, response.getInvoiceCount());
         assertEquals(1, response.getPaidCount());
+        assertEquals(new BigDecimal("165.00"), response.getTotalRevenue());
+        assertEquals(new BigDecimal("15.00"), response.getTotalTaxAmount());
+        assertNull(response.getByPaymentMethod());
+        verify(invoiceRepository, never()).findAll();
     }
 
     @Test
-    void monthlyRevenue_ShouldReturnEmptyList_WhenNoPaidInvoices() {
-        invoice.setPaymentStatus(PaymentStatus.PENDING);
-        List<Invoice> invoices = Arrays.asList(invoice);
-        when(invoiceRepository.findAll()).thenReturn(invoices);
-
-        List<MonthlyRevenueEntry> entries = billingService.monthlyRevenue();
-
-        assertNotNull(entries);
-        assertEquals(0, entries.size());
+    void revenueReport_ShouldQueryInclusiveDayRangeAndSplitByMethod() {
+        LocalDate from = LocalDate.of(2026, 1, 1);
+        LocalDate to = LocalDate.of(2026, 1, 31);
+        Instant start = from.atStartOfDay(ZoneId.systemDefault()).toInstant();
+        Instant end = LocalDate.of(2026, 2, 1).atStartOfDay(ZoneId.systemDefault()).toInstant();
+        InvoiceAggregates.RevenueTotals card = new InvoiceAggregates.RevenueTotals("Card", 1, 1,
+                new BigDecimal("100.00"), new BigDecimal("10.00"), new BigDecimal("110.00"));
+        when(invoiceRepository.revenueReport(start, end, true))
+                .thenReturn(new InvoiceAggregates.RevenueReport(card, List.of(card)));
+
+        RevenueReportResponse response = billingService.revenueReport(from, to, true);
+
+        assertEquals(1, response.getByPaymentMethod().size());
+        assertEquals("Card", response.getByPaymentMethod().get(0).getPaymentMethod());
+        assertEquals(new BigDecimal("110.00"), response.getByPaymentMethod().get(0).getTotalRevenue());
     }
 
     @Test
-    void monthlyRevenue_ShouldGroupByYearAndMonth() {
-        Invoice invoice1 = Invoice.builder()
-                .id("invoice-1")
-                .requestId("req-1")
-                .customerId("customer-1")
-                .serviceAmount(new BigDecimal("100.00"))
-                .taxAmount(new BigDecimal("10.00"))
-                .totalAmount(new BigDecimal("110.00"))
-                .paymentStatus(PaymentStatus.PAID)
-                .createdAt(Instant.now())
-                .build();
-
-        Invoice invoice2 = Invoice.builder()
-                .id("invoice-2")
-                .requestId("req-2")
-                .customerId("customer-1")
-                .serviceAmount(new BigDecimal("200.00"))
-                .taxAmount(new BigDecimal("20.00"))
-                .totalAmount(new BigDecimal("220.00"))
-                .paymentStatus(PaymentStatus.PAID)
-                .createdAt(Instant.now())
-                .build();
-
-        List<Invoice> invoices = Arrays.asList(invoice1, invoice2);
-        when(invoiceRepository.findAll()).thenReturn(invoices);
+    void revenueReport_ShouldRejectInvertedRange() {
+        LocalDate day = LocalDate.of(2026, 1, 2);
 
-        List<MonthlyRevenueEntry> entries = billingService.monthlyRevenue();
+        assertThrows(BadRequestException.class, () -> billingService.revenueReport(day, day.minusDays(1), false));
+        verify(invoiceRepository, never()).revenueReport(any(), any(), anyBoolean());
+    }
 
-        assertNotNull(entries);
-        assertTrue(entries.size() > 0);
+    @Test
+    void monthlyRevenue_ShouldMapMonthsInReportZone() {
+        Instant january = LocalDate.of(2026, 1, 1).atStartOfDay(ZoneId.systemDefault()).toInstant();
+        Instant february = LocalDate.of(2026, 2, 1).atStartOfDay(ZoneId.systemDefault()).toInstant();
+        when(invoiceRepository.monthlyRevenue(isNull(), isNull(), eq(ZoneId.systemDefault()), eq(true)))
+                .thenReturn(List.of(
+                        new InvoiceAggregates.MonthlyRevenue(january, "Card", 2, new BigDecimal("220.00")),
+                        new InvoiceAggregates.MonthlyRevenue(february, null, 1, new BigDecimal("0.10"))));
+
+        List<MonthlyRevenueEntry> entries = billingService.monthlyRevenue(null, null, true);
+
+        assertEquals(2, entries.size());
+        assertEquals(2026, entries.get(0).getYear());
+        assertEquals(1, entries.get(0).getMonth());
+        assertEquals("Card", entries.get(0).getPaymentMethod());
+        assertEquals(2, entries.get(0).getPaidInvoiceCount());
+        assertEquals(2, entries.get(1).getMonth());
+        assertEquals(new BigDecimal("0.10"), entries.get(1).getTotalRevenue());
+        verify(invoiceRepository, never()).findAll();
     }
 
     @Test
-    void getByCustomer_ShouldReturnEmptyList_WhenNoInvoices() {
-        when(invoiceRepository.findByCustomerId("customer-1")).thenReturn(Arrays.asList());
+    void getByCustomer_ShouldResolveMissingServiceNamesInTwoQueries() {
+        List<Invoice> invoices = new java.util.ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            invoices.add(Invoice.builder()
+                    .id("invoice-" + i)
+                    .requestId("req-" + i)
+                    .customerId("customer-1")
+                    .serviceName(i == 0 ? "Stored Name" : null)
+                    .serviceId(i == 1 ? "service-2" : null)
+                    .build());
+        }
+        List<ServiceRequest> requests = new java.util.ArrayList<>();
+        for (int i = 2; i < 200; i++) {
+            requests.add(ServiceRequest.builder().id("req-" + i).serviceId("service-1").build());
+        }
+        when(invoiceRepository.findByCustomerId("customer-1")).thenReturn(invoices);
+        when(requestRepository.findAllById(any())).thenReturn(requests);
+        when(serviceItemRepository.findAllById(any())).thenReturn(List.of(
+                ServiceItem.builder().id("service-1").name("AC Repair").build(),
+                ServiceItem.builder().id("service-2").name("Pipe Repair").build()));
 
         List<InvoiceResponse> responses = billingService.getByCustomer("customer-1");
 
-        assertNotNull(responses);
-        assertEquals(0, responses.size());
-        verify(invoiceRepository, times(1)).findByCustomerId("customer-1");
+        assertEquals(200, responses.size());
+        assertEquals("Stored Name", responses.get(0).getServiceName());
+        assertEquals("Pipe Repair", responses.get(1).getServiceName());
+        assertEquals("AC Repair", responses.get(199).getServiceName());
+        verify(requestRepository, times(1)).findAllById(any());
+        verify(serviceItemRepository, times(1)).findAllById(any());
+        verify(requestRepository, never()).findById(anyString());
+        verify(serviceItemRepository, never()).findById(anyString());
     }
-
 }
@@ -0,0 +1,78 @@
+package com.app.service_operations_service.service;
+
+import com.app.service_operations_service.dto.billing.CategoryRevenueEntry;
+import com.app.service_operations_service.exception.BadRequestException;
+import com.app.service_operations_service.model.ServiceCategory;
+import com.app.service_operations_service.repository.InvoiceAggregates;
+import com.app.service_operations_service.repository.InvoiceRepository;
+import com.app.service_operations_service.repository.ServiceCategoryRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CategoryRevenueServiceTest {
+
+    @Mock
+    private InvoiceRepository invoiceRepository;
+
+    @Mock
+    private ServiceCategoryRepository categoryRepository;
+
+    @Test
+    void revenueByCategory_ShouldNameCategoriesAndServeRepeatsFromCache() {
+        CategoryRevenueService service = new CategoryRevenueService(invoiceRepository, categoryRepository, "UTC", 60_000);
+        Instant start = Instant.parse("2026-01-01T00:00:00Z");
+        Instant end = Instant.parse("2026-02-01T00:00:00Z");
+        when(invoiceRepository.revenueByCategory(start, end)).thenReturn(List.of(
+                new InvoiceAggregates.CategoryRevenue("cat-1", new BigDecimal("330.00"), 3, List.of(
+                        new InvoiceAggregates.ServiceRevenue("service-1", "AC Repair", new BigDecimal("330.00"), 3))),
+                new InvoiceAggregates.CategoryRevenue(null, new BigDecimal("10.00"), 1, List.of())));
+        when(categoryRepository.findAllById(List.of("cat-1"))).thenReturn(List.of(
+                ServiceCategory.builder().id("cat-1").name("HVAC Services").build()));
+
+        LocalDate from = LocalDate.of(2026, 1, 1);
+        LocalDate to = LocalDate.of(2026, 1, 31);
+        List<CategoryRevenueEntry> first = service.revenueByCategory(from, to);
+        List<CategoryRevenueEntry> second = service.revenueByCategory(from, to);
+
+        assertEquals(2, first.size());
+        assertEquals("HVAC Services", first.get(0).getCategoryName());
+        assertEquals("AC Repair", first.get(0).getServices().get(0).getServiceName());
+        assertNull(first.get(1).getCategoryName());
+        assertSame(first, second);
+        verify(invoiceRepository, times(1)).revenueByCategory(any(), any());
+    }
+
+    @Test
+    void revenueByCategory_ShouldReloadAfterTtlAndKeyByRange() {
+        CategoryRevenueService service = new CategoryRevenueService(invoiceRepository, categoryRepository, "UTC", 0);
+        when(invoiceRepository.revenueByCategory(any(), any())).thenReturn(List.of());
+
+        service.revenueByCategory(null, null);
+        service.revenueByCategory(null, null);
+        service.revenueByCategory(LocalDate.of(2026, 1, 1), null);
+
+        verify(invoiceRepository, times(2)).revenueByCategory(null, null);
+        verify(invoiceRepository, times(1)).revenueByCategory(Instant.parse("2026-01-01T00:00:00Z"), null);
+    }
+
+    @Test
+    void revenueByCategory_ShouldRejectInvertedRange() {
+        CategoryRevenueService service = new CategoryRevenueService(invoiceRepository, categoryRepository, "UTC", 60_000);
+
+        assertThrows(BadRequestException.class,
+                () -> service.revenueByCategory(LocalDate.of(2026, 2, 1), LocalDate.of(2026, 1, 1)));
+        verifyNoInteractions(invoiceRepository);
+    }
+}
@@ -6,8 +6,10 @@ import com.app.service_operations_service.model.Invoice;
 import com.app.service_operations_service.model.ServiceRequest;
 import com.app.service_operations_service.model.enums.PaymentStatus;
 import com.app.service_operations_service.model.enums.RequestStatus;
+import com.app.service_operations_service.repository.InvoiceAggregates;
 import com.app.service_operations_service.repository.InvoiceRepository;
 import com.app.service_operations_service.repository.ServiceCategoryRepository;
+import com.app.service_operations_service.repository.ServiceRequestAggregates;
 import com.app.service_operations_service.repository.ServiceRequestRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -17,13 +19,17 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.Instant;
+import java.time.ZoneId;
 import java.util.Arrays;
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -75,8 +81,8 @@ class DashboardServiceTest {
         List<ServiceRequest> requests = Arrays.asList(serviceRequest);
         List<Invoice> invoices = Arrays.asList(invoice);
 
-        when(serviceRequestRepository.findAll()).thenReturn(requests);
-        when(invoiceRepository.findAll()).thenReturn(invoices);
+        stubRequests(requests);
+        stubInvoices(invoices);
         when(technicianClient.getStats()).thenReturn(createTechStats());
 
         DashboardSummaryResponse response = dashboardService.getDashboardSummary();
@@ -84,8 +90,8 @@ class DashboardServiceTest {
         assertNotNull(response);
         assertNotNull(response.getServiceRequestsByStatus());
         assertNotNull(response.getTotalRevenue());
-        verify(serviceRequestRepository, times(1)).findAll();
-        verify(invoiceRepository, times(1)).findAll();
+        verify(serviceRequestRepository, times(1)).summarize();
+        verify(invoiceRepository, times(1)).summarizeRevenue(any(), any());
     }
 
     @Test
@@ -111,18 +117,18 @@ class DashboardServiceTest {
     @Test
     void getAverageResolutionTime_ShouldReturnAverageTime() {
         List<ServiceRequest> completedRequests = Arrays.asList(serviceRequest);
-        when(serviceRequestRepository.findByStatus(RequestStatus.COMPLETED)).thenReturn(completedRequests);
+        stubRequests(completedRequests);
 
         ResolutionTimeResponse response = dashboardService.getAverageResolutionTime();
 
         assertNotNull(response);
         assertNotNull(response.getAverageResolutionTimeHours());
-        verify(serviceRequestRepository, times(1)).findByStatus(RequestStatus.COMPLETED);
+        verify(serviceRequestRepository, times(1)).summarize();
     }
 
     @Test
     void getAverageResolutionTime_ShouldReturnZero_WhenNoCompletedRequests() {
-        when(serviceRequestRepository.findByStatus(RequestStatus.COMPLETED)).thenReturn(List.of());
+        stubRequests(List.of());
 
         ResolutionTimeResponse response = dashboardService.getAverageResolutionTime();
 
@@ -133,7 +139,7 @@ class DashboardServiceTest {
     @Test
     void getCategoryStatistics_ShouldReturnCategoryStats() {
         List<ServiceRequest> requests = Arrays.asList(serviceRequest);
-        when(serviceRequestRepository.findAll()).thenReturn(requests);
+        stubRequests(requests);
         when(serviceItemRepository.findAll()).thenReturn(List.of());
         when(serviceCategoryRepository.findAll()).thenReturn(List.of());
         when(serviceCategoryRepository.count()).thenReturn(5L);
@@ -143,7 +149,7 @@ class DashboardServiceTest {
         assertNotNull(response);
         assertNotNull(response.getCategories());
         assertEquals(5L, response.getTotalCategories());
-        verify(serviceRequestRepository, times(1)).findAll();
+        verify(serviceRequestRepository, times(1)).summarize();
         verify(serviceCategoryRepository, times(1)).count();
     }
 
@@ -163,8 +169,8 @@ class DashboardServiceTest {
         List<ServiceRequest> requests = Arrays.asList(serviceRequest);
         List<Invoice> invoices = Arrays.asList(invoice);
 
-        when(serviceRequestRepository.findAll()).thenReturn(requests);
-        when(invoiceRepository.findAll()).thenReturn(invoices);
+        stubRequests(requests);
+        stubInvoices(invoices);
         when(technicianClient.getStats()).thenReturn(null);
 
         DashboardSummaryResponse response = dashboardService.getDashboardSummary();
@@ -178,8 +184,8 @@ class DashboardServiceTest {
         List<ServiceRequest> requests = Arrays.asList(serviceRequest);
         List<Invoice> invoices = Arrays.asList(invoice);
 
-        when(serviceRequestRepository.findAll()).thenReturn(requests);
-        when(invoiceRepository.findAll()).thenReturn(invoices);
+        stubRequests(requests);
+        stubInvoices(invoices);
         when(technicianClient.getStats()).thenThrow(new RuntimeException("Service unavailable"));
 
         DashboardSummaryResponse response = dashboardService.getDashboardSummary();
@@ -218,8 +224,8 @@ class DashboardServiceTest {
         List<ServiceRequest> requests = Arrays.asList(completedRequest);
         List<Invoice> invoices = Arrays.asList(paidInvoice, pendingInvoice);
 
-        when(serviceRequestRepository.findAll()).thenReturn(requests);
-        when(invoiceRepository.findAll()).thenReturn(invoices);
+        stubRequests(requests);
+        stubInvoices(invoices);
         when(technicianClient.getStats()).thenReturn(createTechStats());
 
         DashboardSummaryResponse response = dashboardService.getDashboardSummary();
@@ -250,8 +256,8 @@ class DashboardServiceTest {
         List<ServiceRequest> requests = Arrays.asList(request);
         List<Invoice> invoices = Arrays.asList(monthlyRevenueInvoice);
 
-        when(serviceRequestRepository.findAll()).thenReturn(requests);
-        when(invoiceRepository.findAll()).thenReturn(invoices);
+        stubRequests(requests);
+        stubInvoices(invoices);
         when(technicianClient.getStats()).thenReturn(createTechStats());
 
         DashboardSummaryResponse response = dashboardService.getDashboardSummary();
@@ -282,8 +288,8 @@ class DashboardServiceTest {
         List<ServiceRequest> requests = Arrays.asList(activeRequest, completedRequest);
         List<Invoice> invoices = List.of(this.invoice);
 
-        when(serviceRequestRepository.findAll()).thenReturn(requests);
-        when(invoiceRepository.findAll()).thenReturn(invoices);
+        stubRequests(requests);
+        stubInvoices(invoices);
         when(technicianClient.getStats()).thenReturn(createTechStats());
 
         DashboardSummaryResponse response = dashboardService.getDashboardSummary();
@@ -295,7 +301,7 @@ class DashboardServiceTest {
 
     @Test
     void getCategoryStatistics_ShouldHandleEmptyRequests() {
-        when(serviceRequestRepository.findAll()).thenReturn(List.of());
+        stubRequests(List.of());
         when(serviceItemRepository.findAll()).thenReturn(List.of());
         when(serviceCategoryRepository.findAll()).thenReturn(List.of());
         when(serviceCategoryRepository.count()).thenReturn(0L);
@@ -320,7 +326,7 @@ class DashboardServiceTest {
                 .build();
 
         List<ServiceRequest> completedRequests = Arrays.asList(requestWithoutDates);
-        when(serviceRequestRepository.findByStatus(RequestStatus.COMPLETED)).thenReturn(completedRequests);
+        stubRequests(completedRequests);
 
         ResolutionTimeResponse response = dashboardService.getAverageResolutionTime();
 
@@ -349,7 +355,7 @@ class DashboardServiceTest {
                 .build();
 
         List<ServiceRequest> completedRequests = Arrays.asList(request1, request2);
-        when(serviceRequestRepository.findByStatus(RequestStatus.COMPLETED)).thenReturn(completedRequests);
+        stubRequests(completedRequests);
 
         ResolutionTimeResponse response = dashboardService.getAverageResolutionTime();
 
@@ -404,8 +410,8 @@ class DashboardServiceTest {
         List<ServiceRequest> requests = Arrays.asList(requestedStatus, assignedStatus);
         List<Invoice> invoices = Arrays.asList();
 
-        when(serviceRequestRepository.findAll()).thenReturn(requests);
-        when(invoiceRepository.findAll()).thenReturn(invoices);
+        stubRequests(requests);
+        stubInvoices(invoices);
         when(technicianClient.getStats()).thenReturn(createTechStats());
 
         DashboardSummaryResponse response = dashboardService.getDashboardSummary();
@@ -436,8 +442,8 @@ class DashboardServiceTest {
         List<ServiceRequest> requests = Arrays.asList(request1, request2);
         List<Invoice> invoices = Arrays.asList();
 
-        when(serviceRequestRepository.findAll()).thenReturn(requests);
-        when(invoiceRepository.findAll()).thenReturn(invoices);
+        stubRequests(requests);
+        stubInvoices(invoices);
         when(technicianClient.getStats()).thenReturn(createTechStats());
 
         DashboardSummaryResponse response = dashboardService.getDashboardSummary();
@@ -445,4 +451,58 @@ class DashboardServiceTest {
         assertNotNull(response);
         assertNotNull(response.getServiceRequestsByCategory());
     }
+
+    @Test
+    void getDashboardSummary_ShouldMapAggregatedRevenue() {
+        stubRequests(List.of(serviceRequest));
+        when(invoiceRepository.summarizeRevenue(any(), any())).thenReturn(new InvoiceAggregates.RevenueSummary(
+                Map.of(PaymentStatus.PAID, 3L, PaymentStatus.PENDING, 2L),
+                Map.of(PaymentStatus.PAID, new BigDecimal("300.10"), PaymentStatus.PENDING, new BigDecimal("20.00")),
+                new BigDecimal("120.05")));
+
+        DashboardSummaryResponse response = dashboardService.getDashboardSummary();
+
+        assertEquals(new BigDecimal("300.10"), response.getTotalRevenue());
+        assertEquals(new BigDecimal("120.05"), response.getMonthlyRevenue());
+        assertEquals(2L, response.getPendingPayments());
+        verify(serviceRequestRepository, never()).findAll();
+        verify(invoiceRepository, never()).findAll();
+    }
+
+    // Stands in for the $facet pipelines: the same figures computed from documents
+    private void stubRequests(List<ServiceRequest> requests) {
+        Map<RequestStatus, Long> byStatus = new EnumMap<>(RequestStatus.class);
+        Map<String, Long> byService = new HashMap<>();
+        long resolved = 0;
+        double minutes = 0;
+        for (ServiceRequest r : requests) {
+            byStatus.merge(r.getStatus(), 1L, Long::sum);
+            if (r.getServiceId() != null) {
+                byService.merge(r.getServiceId(), 1L, Long::sum);
+            }
+            if (r.getStatus() == RequestStatus.COMPLETED && r.getCreatedAt() != null && r.getCompletedAt() != null) {
+                resolved++;
+                minutes += Duration.between(r.getCreatedAt(), r.getCompletedAt()).toMinutes();
+            }
+        }
+        when(serviceRequestRepository.summarize()).thenReturn(new ServiceRequestAggregates.Summary(
+                byStatus, byService, resolved == 0 ? 0 : minutes / resolved, resolved));
+    }
+
+    private void stubInvoices(List<Invoice> invoices) {
+        Map<PaymentStatus, Long> counts = new EnumMap<>(PaymentStatus.class);
+        Map<PaymentStatus, BigDecimal> amounts = new EnumMap<>(PaymentStatus.class);
+        BigDecimal month = BigDecimal.ZERO;
+        for (Invoice inv : invoices) {
+            counts.merge(inv.getPaymentStatus(), 1L, Long::sum);
+            amounts.merge(inv.getPaymentStatus(), inv.getTotalAmount(), BigDecimal::add);
+            if (inv.getPaymentStatus() == PaymentStatus.PAID
+                    && inv.getCreatedAt().atZone(ZoneId.systemDefault()).getMonth()
+                            == Instant.now().atZone(ZoneId.systemDefault()).getMonth()) {
+                month = month.add(inv.getTotalAmount());
+            }
+        }
+        when(invoiceRepository.summarizeRevenue(any(), any()))
+                .thenReturn(new InvoiceAggregates.RevenueSummary(counts, amounts, month));
+    }
 }
@@ -0,0 +1,82 @@
+package com.app.service_operations_service.service;
+
+import com.app.service_operations_service.dto.billing.ServiceNameBackfillResponse;
+import com.app.service_operations_service.model.Invoice;
+import com.app.service_operations_service.model.ServiceItem;
+import com.app.service_operations_service.model.ServiceRequest;
+import com.mongodb.bulk.BulkWriteResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class InvoiceBackfillServiceTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private BulkOperations bulkOperations;
+
+    private InvoiceBackfillService backfillService;
+
+    @BeforeEach
+    void setUp() {
+        backfillService = new InvoiceBackfillService(mongoTemplate, 2);
+    }
+
+    @Test
+    void backfillServiceNames_ShouldResolveEachBatchWithInQueriesAndOneBulkWrite() {
+        when(mongoTemplate.find(any(Query.class), eq(Invoice.class))).thenReturn(
+                List.of(invoice("inv-1", "req-1", null), invoice("inv-2", "req-2", null)),
+                List.of(invoice("inv-3", "req-3", "service-2")));
+        when(mongoTemplate.find(any(Query.class), eq(ServiceRequest.class))).thenReturn(
+                List.of(ServiceRequest.builder().id("req-1").serviceId("service-1").build()));
+        when(mongoTemplate.find(any(Query.class), eq(ServiceItem.class))).thenReturn(
+                List.of(ServiceItem.builder().id("service-1").name("AC Repair").build()),
+                List.of(ServiceItem.builder().id("service-2").name("Pipe Repair").build()));
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Invoice.class)).thenReturn(bulkOperations);
+        when(bulkOperations.execute()).thenReturn(BulkWriteResult.acknowledged(0, 1, 0, 1, List.of(), List.of()));
+
+        ServiceNameBackfillResponse response = backfillService.backfillServiceNames();
+
+        assertEquals(3, response.getScanned());
+        assertEquals(2, response.getUpdated());
+        // req-2 no longer exists
+        assertEquals(1, response.getUnresolved());
+        verify(mongoTemplate, times(1)).find(any(Query.class), eq(ServiceRequest.class));
+        verify(mongoTemplate, times(2)).find(any(Query.class), eq(ServiceItem.class));
+        verify(bulkOperations, times(2)).execute();
+        verify(bulkOperations).updateOne(any(Query.class),
+                argThat((Update u) -> "AC Repair".equals(u.getUpdateObject().get("$set", org.bson.Document.class)
+                        .get("serviceName"))));
+    }
+
+    @Test
+    void backfillServiceNames_ShouldStop_WhenNothingIsMissing() {
+        when(mongoTemplate.find(any(Query.class), eq(Invoice.class))).thenReturn(List.of());
+
+        ServiceNameBackfillResponse response = backfillService.backfillServiceNames();
+
+        assertEquals(0, response.getScanned());
+        verify(mongoTemplate, never()).bulkOps(any(BulkOperations.BulkMode.class), eq(Invoice.class));
+    }
+
+    private Invoice invoice(String id, String requestId, String serviceId) {
+        return Invoice.builder().id(id).requestId(requestId).serviceId(serviceId).build();
+    }
+}
@@ -0,0 +1,161 @@
+package com.app.service_operations_service.service;
+
+import com.app.service_operations_service.exception.BadRequestException;
+import com.app.service_operations_service.model.Invoice;
+import com.app.service_operations_service.model.ServiceItem;
+import com.app.service_operations_service.model.ServiceRequest;
+import com.app.service_operations_service.model.enums.PaymentStatus;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class InvoiceExportServiceTest {
+
+    private static final Instant T0 = Instant.parse("2026-01-05T10:00:00Z");
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    private ObjectMapper objectMapper;
+    private InvoiceExportService exportService;
+
+    @BeforeEach
+    void setUp() {
+        objectMapper = new ObjectMapper();
+        objectMapper.registerModule(new JavaTimeModule());
+        objectMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        exportService = new InvoiceExportService(mongoTemplate, objectMapper, 2, "UTC");
+    }
+
+    @Test
+    void export_ShouldWriteCsvAndResolveMissingNamesPerBatch() throws Exception {
+        when(mongoTemplate.stream(any(Query.class), eq(Invoice.class))).thenReturn(Stream.of(
+                invoice("inv-1", "req-1", "service-1", "AC Repair"),
+                invoice("inv-2", "req-2", null, null),
+                invoice("inv-3", "req-3", "service-2", null)));
+        when(mongoTemplate.find(any(Query.class), eq(ServiceRequest.class))).thenReturn(
+                List.of(ServiceRequest.builder().id("req-2").serviceId("service-1").build()));
+        when(mongoTemplate.find(any(Query.class), eq(ServiceItem.class))).thenReturn(
+                List.of(ServiceItem.builder().id("service-1").name("AC Repair").build()),
+                List.of(ServiceItem.builder().id("service-2").name("Pipe Repair").build()));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long written = exportService.export(null, null, null, InvoiceExportService.Format.CSV, out);
+
+        assertEquals(3, written);
+        List<String> lines = out.toString(StandardCharsets.UTF_8).lines().toList();
+        assertEquals("id,requestId,customerId,serviceId,serviceName,serviceAmount,taxAmount,totalAmount,"
+                + "paymentStatus,paymentMethod,paidAt,createdAt", lines.get(0));
+        assertEquals("inv-2,req-2,customer-1,service-1,\"AC Repair\",100.00,18.00,118.00,PAID,UPI,"
+                + "2026-01-05T10:00:00Z,2026-01-05T10:00:00Z", lines.get(2));
+        assertTrue(lines.get(3).contains("\"Pipe Repair\""));
+        // One batch had nothing to resolve by request, both needed a catalog lookup
+        verify(mongoTemplate, times(1)).find(any(Query.class), eq(ServiceRequest.class));
+        verify(mongoTemplate, times(2)).find(any(Query.class), eq(ServiceItem.class));
+    }
+
+    @Test
+    void export_ShouldWriteOneJsonObjectPerLine_AndFilterOnReportDays() throws Exception {
+        when(mongoTemplate.stream(any(Query.class), eq(Invoice.class))).thenReturn(Stream.of(
+                invoice("inv-1", "req-1", "service-1", "AC Repair"),
+                invoice("inv-2", "req-2", "service-1", "AC Repair")));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        exportService.export(LocalDate.of(2026, 1, 1), LocalDate.of(2026, 1, 31), PaymentStatus.PAID,
+                InvoiceExportService.Format.NDJSON, out);
+
+        List<String> lines = out.toString(StandardCharsets.UTF_8).lines().toList();
+        assertEquals(2, lines.size());
+        JsonNode first = objectMapper.readTree(lines.get(0));
+        assertEquals("inv-1", first.get("id").asText());
+        assertEquals("2026-01-05T10:00:00Z", first.get("createdAt").asText());
+        assertEquals(118.00, first.get("totalAmount").asDouble());
+
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).stream(query.capture(), eq(Invoice.class));
+        Document filter = query.getValue().getQueryObject();
+        assertEquals(PaymentStatus.PAID, filter.get("paymentStatus"));
+        assertEquals(new Document("$gte", Instant.parse("2026-01-01T00:00:00Z"))
+                .append("$lt", Instant.parse("2026-02-01T00:00:00Z")), filter.get("createdAt"));
+        assertEquals(new Document("createdAt", 1), query.getValue().getSortObject());
+        assertEquals(2, query.getValue().getMeta().getCursorBatchSize());
+        verify(mongoTemplate, never()).find(any(Query.class), any());
+    }
+
+    @Test
+    void export_ShouldRejectInvertedRange() {
+        assertThrows(BadRequestException.class, () -> exportService.export(LocalDate.of(2026, 2, 1),
+                LocalDate.of(2026, 1, 1), null, InvoiceExportService.Format.CSV, new ByteArrayOutputStream()));
+        verifyNoInteractions(mongoTemplate);
+    }
+
+    // Service names are looked up once per batch of rows, not once per row
+    @Test
+    void export_ShouldStreamManyRowsWithBatchedLookups() throws Exception {
+        InvoiceExportService large = new InvoiceExportService(mongoTemplate, objectMapper, 500, "UTC");
+        int rows = 5_000;
+        when(mongoTemplate.stream(any(Query.class), eq(Invoice.class))).thenReturn(IntStream.range(0, rows)
+                .mapToObj(i -> invoice("inv-" + i, "req-" + i, "service-" + (i % 40), null)));
+        when(mongoTemplate.find(any(Query.class), eq(ServiceItem.class))).thenReturn(List.of());
+        long[] bytes = new long[1];
+        OutputStream counting = new OutputStream() {
+            @Override
+            public void write(int b) {
+                bytes[0]++;
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+                bytes[0] += len;
+            }
+        };
+
+        assertEquals(rows, large.export(null, null, null, InvoiceExportService.Format.NDJSON, counting));
+
+        assertTrue(bytes[0] > rows * 100L);
+        verify(mongoTemplate, times(rows / 500)).find(any(Query.class), eq(ServiceItem.class));
+    }
+
+    private Invoice invoice(String id, String requestId, String serviceId, String serviceName) {
+        return Invoice.builder()
+                .id(id)
+                .requestId(requestId)
+                .customerId("customer-1")
+                .serviceId(serviceId)
+                .serviceName(serviceName)
+                .serviceAmount(new BigDecimal("100.00"))
+                .taxAmount(new BigDecimal("18.00"))
+                .totalAmount(new BigDecimal("118.00"))
+                .paymentStatus(PaymentStatus.PAID)
+                .paymentMethod("UPI")
+                .paidAt(T0)
+                .createdAt(T0)
+                .build();
+    }
+}
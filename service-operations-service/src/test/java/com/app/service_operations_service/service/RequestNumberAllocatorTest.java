@@ -0,0 +1,154 @@
+package com.app.service_operations_service.service;
+
+import com.app.service_operations_service.client.NotificationClient;
+import com.app.service_operations_service.client.TechnicianClient;
+import com.app.service_operations_service.dto.requests.CreateServiceRequest;
+import com.app.service_operations_service.model.SequenceCounter;
+import com.app.service_operations_service.model.ServiceRequest;
+import com.app.service_operations_service.repository.ServiceRequestRepository;
+import com.app.service_operations_service.service.sla.SlaMonitor;
+import com.app.service_operations_service.service.views.RequestViewQueries;
+import org.bson.Document;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class RequestNumberAllocatorTest {
+
+    @Test
+    void next_ShouldReserveOneBlockPerBlockSizeNumbers() {
+        MongoTemplate mongoTemplate = counter(new AtomicLong(), 0);
+        RequestNumberAllocator allocator = new RequestNumberAllocator(mongoTemplate, 3);
+
+        List<String> numbers = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            numbers.add(allocator.next());
+        }
+
+        assertEquals("REQ-000000001", numbers.get(0));
+        assertEquals("REQ-000000007", numbers.get(6));
+        verify(mongoTemplate, times(3)).findAndModify(any(Query.class), any(Update.class),
+                any(FindAndModifyOptions.class), eq(SequenceCounter.class));
+    }
+
+    @Test
+    void next_ShouldContinueAfterNumbersReservedByOtherInstances() {
+        AtomicLong shared = new AtomicLong();
+        RequestNumberAllocator first = new RequestNumberAllocator(counter(shared, 0), 10);
+        RequestNumberAllocator second = new RequestNumberAllocator(counter(shared, 0), 10);
+
+        assertEquals("REQ-000000001", first.next());
+        assertEquals("REQ-000000011", second.next());
+        assertEquals("REQ-000000002", first.next());
+    }
+
+    @Test
+    void next_ShouldNeverRepeatUnderConcurrency() throws Exception {
+        RequestNumberAllocator allocator = new RequestNumberAllocator(counter(new AtomicLong(), 0), 7);
+        Set<String> numbers = ConcurrentHashMap.newKeySet();
+        int threads = 8;
+        int perThread = 1_000;
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            futures.add(pool.submit(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    numbers.add(allocator.next());
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        pool.shutdown();
+
+        assertEquals(threads * perThread, numbers.size());
+    }
+
+    // Create-throughput benchmark: concurrent create() calls against a counter
+    // that takes a couple of milliseconds per round trip. Reserving one number
+    // per findAndModify serializes every create on the counter; blocks of 100
+    // need one round trip per hundred creates.
+    @Test
+    @Tag("benchmark")
+    void create_BenchmarkPerNumberAgainstBlockAllocation() throws Exception {
+        int threads = 16;
+        int perThread = 100;
+
+        AtomicLong perNumberTrips = new AtomicLong();
+        long perNumberMs = createConcurrently(1, threads, perThread, perNumberTrips);
+        AtomicLong blockTrips = new AtomicLong();
+        long blockMs = createConcurrently(100, threads, perThread, blockTrips);
+
+        assertEquals(threads * perThread, perNumberTrips.get());
+        assertEquals(threads * perThread / 100, blockTrips.get());
+        assertTrue(blockMs < perNumberMs, "blocks of 100 " + blockMs + " ms vs per-number " + perNumberMs + " ms");
+    }
+
+    private long createConcurrently(int blockSize, int threads, int perThread, AtomicLong trips) throws Exception {
+        AtomicLong counter = new AtomicLong();
+        MongoTemplate mongoTemplate = counter(counter, 2);
+        ServiceRequestRepository repository = mock(ServiceRequestRepository.class);
+        when(repository.save(any(ServiceRequest.class))).thenAnswer(inv -> inv.getArgument(0));
+        ServiceRequestService service = new ServiceRequestService(repository, mock(NotificationClient.class),
+                mock(TechnicianClient.class), mock(TechnicianDirectory.class), null, mock(TrendService.class),
+                new RequestNumberAllocator(mongoTemplate, blockSize), mock(RequestViewQueries.class),
+                mock(SlaMonitor.class));
+        Set<String> numbers = ConcurrentHashMap.newKeySet();
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        long started = System.nanoTime();
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            futures.add(pool.submit(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    CreateServiceRequest request = new CreateServiceRequest();
+                    request.setServiceId("service-1");
+                    numbers.add(service.create(request, "customer-1").getRequestNumber());
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        long elapsedMs = (System.nanoTime() - started) / 1_000_000;
+        pool.shutdown();
+
+        assertEquals(threads * perThread, numbers.size());
+        trips.set(mockingDetails(mongoTemplate).getInvocations().size());
+        return elapsedMs;
+    }
+
+    // findAndModify stand-in: $inc on a shared counter with a fixed latency
+    private MongoTemplate counter(AtomicLong value, long latencyMs) {
+        MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class),
+                eq(SequenceCounter.class))).thenAnswer(inv -> {
+                    if (latencyMs > 0) {
+                        Thread.sleep(latencyMs);
+                    }
+                    Update update = inv.getArgument(1);
+                    long inc = ((Number) update.getUpdateObject().get("$inc", Document.class).get("value")).longValue();
+                    return new SequenceCounter(RequestNumberAllocator.COUNTER_ID, value.addAndGet(inc));
+                });
+        return mongoTemplate;
+    }
+}
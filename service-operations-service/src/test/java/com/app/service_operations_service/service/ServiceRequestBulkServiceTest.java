@@ -0,0 +1,270 @@
+package com.app.service_operations_service.service;
+
+import com.app.service_operations_service.client.NotificationClient;
+import com.app.service_operations_service.client.dto.NotificationBatchRequest;
+import com.app.service_operations_service.client.dto.TechnicianProfileResponse;
+import com.app.service_operations_service.dto.requests.BulkAssignRequest;
+import com.app.service_operations_service.dto.requests.BulkStatusRequest;
+import com.app.service_operations_service.dto.requests.BulkUpdateResponse;
+import com.app.service_operations_service.dto.requests.BulkUpdateResponse.Outcome;
+import com.app.service_operations_service.model.ServiceRequest;
+import com.app.service_operations_service.model.enums.RequestStatus;
+import com.app.service_operations_service.repository.ServiceRequestRepository;
+import com.app.service_operations_service.service.completion.CompletionOutbox;
+import com.app.service_operations_service.service.sla.SlaMonitor;
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.ServerAddress;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import org.bson.BsonDocument;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ServiceRequestBulkServiceTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private BulkOperations bulkOperations;
+
+    @Mock
+    private ServiceRequestRepository requestRepository;
+
+    @Mock
+    private NotificationClient notificationClient;
+
+    @Mock
+    private TechnicianDirectory technicianDirectory;
+
+    @Mock
+    private CompletionOutbox completionOutbox;
+
+    @Mock
+    private TrendService trendService;
+
+    @Mock
+    private SlaMonitor slaMonitor;
+
+    private ServiceRequestBulkService bulkService;
+
+    @BeforeEach
+    void setUp() {
+        bulkService = new ServiceRequestBulkService(mongoTemplate, requestRepository, notificationClient,
+                technicianDirectory, completionOutbox, trendService, slaMonitor);
+    }
+
+    @Test
+    void assign_ShouldWriteOnceAndNotifyTechniciansInOneCall() {
+        ServiceRequest unchanged = request("req-3", RequestStatus.ASSIGNED, "tech-1");
+        when(requestRepository.findAllById(Set.of("req-1", "req-2", "req-3", "req-9"))).thenReturn(List.of(
+                request("req-1", RequestStatus.REQUESTED, null),
+                request("req-2", RequestStatus.REQUESTED, null),
+                unchanged));
+        stubBulk();
+        when(technicianDirectory.getTechnicians(Set.of("tech-1", "tech-2"))).thenReturn(Map.of(
+                "tech-1", technician("tech-1", "user-1"),
+                "tech-2", technician("tech-2", "user-2")));
+
+        BulkUpdateResponse response = bulkService.assign(List.of(
+                new BulkAssignRequest.Item("req-1", "tech-1"),
+                new BulkAssignRequest.Item("req-2", "tech-2"),
+                new BulkAssignRequest.Item("req-3", "tech-1"),
+                new BulkAssignRequest.Item("req-9", "tech-1"),
+                new BulkAssignRequest.Item("req-1", "tech-2")));
+
+        assertEquals(5, response.getRequested());
+        assertEquals(2, response.getUpdated());
+        assertEquals(List.of(Outcome.UPDATED, Outcome.UPDATED, Outcome.UNCHANGED, Outcome.NOT_FOUND, Outcome.DUPLICATE),
+                response.getResults().stream().map(BulkUpdateResponse.ItemResult::getOutcome).toList());
+        verify(bulkOperations, times(2)).updateOne(any(Query.class), any(Update.class));
+        verify(bulkOperations, times(1)).execute();
+        verify(requestRepository, never()).save(any());
+
+        ArgumentCaptor<NotificationBatchRequest> batch = ArgumentCaptor.forClass(NotificationBatchRequest.class);
+        verify(notificationClient, times(1)).sendNotifications(batch.capture());
+        assertEquals(List.of("user-1", "user-2"),
+                batch.getValue().getNotifications().stream().map(n -> n.getUserId()).toList());
+        verify(notificationClient, never()).sendNotification(any());
+        verify(slaMonitor, times(2)).track(any(ServiceRequest.class));
+    }
+
+    @Test
+    void updateStatus_ShouldQueueCompletionsOnTheOutboxInOneCall() {
+        when(requestRepository.findAllById(Set.of("req-1", "req-2", "req-3"))).thenReturn(List.of(
+                request("req-1", RequestStatus.IN_PROGRESS, "tech-1"),
+                request("req-2", RequestStatus.ACCEPTED, "tech-1"),
+                request("req-3", RequestStatus.REQUESTED, null)));
+        stubBulk();
+
+        BulkUpdateResponse response = bulkService.updateStatus(List.of(
+                new BulkStatusRequest.Item("req-1", "COMPLETED"),
+                new BulkStatusRequest.Item("req-2", "COMPLETED"),
+                new BulkStatusRequest.Item("req-3", "CANCELLED")));
+
+        assertEquals(3, response.getUpdated());
+        assertEquals(List.of("req-1", "req-2"), queued());
+        verify(trendService, times(2)).requestCompleted(any());
+        verify(trendService, times(1)).requestCancelled(any());
+        verifyNoInteractions(notificationClient);
+    }
+
+    @Test
+    void updateStatus_ShouldUnassign_WhenHandedBackToRequested() {
+        ServiceRequest assigned = request("req-1", RequestStatus.ASSIGNED, "tech-1");
+        assigned.setAssignedAt(Instant.now());
+        when(requestRepository.findAllById(Set.of("req-1"))).thenReturn(List.of(assigned));
+        stubBulk();
+
+        BulkUpdateResponse response = bulkService.updateStatus(List.of(new BulkStatusRequest.Item("req-1", "REQUESTED")));
+
+        assertEquals(1, response.getUpdated());
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(bulkOperations).updateOne(any(Query.class), update.capture());
+        Document unset = update.getValue().getUpdateObject().get("$unset", Document.class);
+        assertTrue(unset.containsKey("technicianId"));
+        assertTrue(unset.containsKey("assignedAt"));
+        assertNull(assigned.getTechnicianId());
+        assertNull(assigned.getAssignedAt());
+    }
+
+    @Test
+    void updateStatus_ShouldRequeueAnAlreadyCompletedRequest() {
+        when(requestRepository.findAllById(Set.of("req-1"))).thenReturn(
+                List.of(request("req-1", RequestStatus.COMPLETED, "tech-1")));
+
+        BulkUpdateResponse response = bulkService.updateStatus(List.of(new BulkStatusRequest.Item("req-1", "COMPLETED")));
+
+        assertEquals(Outcome.UNCHANGED, response.getResults().get(0).getOutcome());
+        assertEquals(List.of("req-1"), queued());
+        verifyNoInteractions(mongoTemplate, trendService);
+    }
+
+    @Test
+    void updateStatus_ShouldReportFailedWritesAndSkipTheirSideEffects() {
+        when(requestRepository.findAllById(Set.of("req-1", "req-2"))).thenReturn(List.of(
+                request("req-1", RequestStatus.IN_PROGRESS, "tech-1"),
+                request("req-2", RequestStatus.IN_PROGRESS, "tech-2")));
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, ServiceRequest.class)).thenReturn(bulkOperations);
+        MongoBulkWriteException source = new MongoBulkWriteException(
+                BulkWriteResult.acknowledged(0, 1, 0, 1, List.of(), List.of()),
+                List.of(new BulkWriteError(121, "Document failed validation", new BsonDocument(), 0)),
+                null, new ServerAddress(), Set.of());
+        when(bulkOperations.execute()).thenThrow(new BulkOperationException("bulk write failed", source));
+
+        BulkUpdateResponse response = bulkService.updateStatus(List.of(
+                new BulkStatusRequest.Item("req-1", "COMPLETED"),
+                new BulkStatusRequest.Item("req-2", "COMPLETED")));
+
+        assertEquals(1, response.getUpdated());
+        assertEquals(Outcome.FAILED, response.getResults().get(0).getOutcome());
+        assertEquals("Document failed validation", response.getResults().get(0).getMessage());
+        assertEquals(List.of("req-2"), queued());
+    }
+
+    @Test
+    void updateStatus_ShouldSkipWrite_WhenNothingChanges() {
+        when(requestRepository.findAllById(Set.of("req-1"))).thenReturn(
+                List.of(request("req-1", RequestStatus.CANCELLED, null)));
+
+        BulkUpdateResponse response = bulkService.updateStatus(List.of(new BulkStatusRequest.Item("req-1", "CANCELLED")));
+
+        assertEquals(0, response.getUpdated());
+        verifyNoInteractions(mongoTemplate, notificationClient, trendService);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<String> queued() {
+        ArgumentCaptor<List<ServiceRequest>> completed = ArgumentCaptor.forClass(List.class);
+        verify(completionOutbox).enqueueAll(completed.capture());
+        return completed.getValue().stream().map(ServiceRequest::getId).toList();
+    }
+
+    private void stubBulk() {
+        stubBulk(0);
+    }
+
+    // Every queued update matches except the given number of lost races
+    private void stubBulk(int missed) {
+        AtomicInteger writes = new AtomicInteger();
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, ServiceRequest.class)).thenReturn(bulkOperations);
+        when(bulkOperations.updateOne(any(Query.class), any(Update.class))).thenAnswer(invocation -> {
+            writes.incrementAndGet();
+            return bulkOperations;
+        });
+        when(bulkOperations.execute()).thenAnswer(invocation -> BulkWriteResult.acknowledged(
+                0, writes.get() - missed, 0, writes.get() - missed, List.of(), List.of()));
+    }
+
+    @Test
+    void updateStatus_ShouldRejectMovesOutsideTheTransitionTable() {
+        when(requestRepository.findAllById(Set.of("req-1"))).thenReturn(
+                List.of(request("req-1", RequestStatus.COMPLETED, "tech-1")));
+
+        BulkUpdateResponse response = bulkService.updateStatus(List.of(new BulkStatusRequest.Item("req-1", "CANCELLED")));
+
+        assertEquals(Outcome.CONFLICT, response.getResults().get(0).getOutcome());
+        assertEquals("Cannot move from COMPLETED to CANCELLED", response.getResults().get(0).getMessage());
+        verifyNoInteractions(mongoTemplate, trendService);
+    }
+
+    @Test
+    void updateStatus_ShouldReportLostRacesAndSkipTheirSideEffects() {
+        when(requestRepository.findAllById(Set.of("req-1", "req-2"))).thenReturn(
+                List.of(request("req-1", RequestStatus.IN_PROGRESS, "tech-1"),
+                        request("req-2", RequestStatus.IN_PROGRESS, "tech-2")),
+                List.of(request("req-1", RequestStatus.CANCELLED, "tech-1"),
+                        request("req-2", RequestStatus.COMPLETED, "tech-2")));
+        stubBulk(1);
+
+        BulkUpdateResponse response = bulkService.updateStatus(List.of(
+                new BulkStatusRequest.Item("req-1", "COMPLETED"),
+                new BulkStatusRequest.Item("req-2", "COMPLETED")));
+
+        assertEquals(List.of(Outcome.CONFLICT, Outcome.UPDATED),
+                response.getResults().stream().map(BulkUpdateResponse.ItemResult::getOutcome).toList());
+        ArgumentCaptor<Query> guard = ArgumentCaptor.forClass(Query.class);
+        verify(bulkOperations, times(2)).updateOne(guard.capture(), any(Update.class));
+        assertEquals(RequestStatus.IN_PROGRESS, guard.getAllValues().get(0).getQueryObject().get("status"));
+        assertEquals(List.of("req-2"), queued());
+        verify(trendService, times(1)).requestCompleted(any());
+    }
+
+    private ServiceRequest request(String id, RequestStatus status, String technicianId) {
+        return ServiceRequest.builder()
+                .id(id)
+                .requestNumber("REQ-" + id)
+                .customerId("customer-" + id)
+                .status(status)
+                .technicianId(technicianId)
+                .build();
+    }
+
+    private TechnicianProfileResponse technician(String id, String userId) {
+        TechnicianProfileResponse technician = new TechnicianProfileResponse();
+        technician.setId(id);
+        technician.setUserId(userId);
+        return technician;
+    }
+}
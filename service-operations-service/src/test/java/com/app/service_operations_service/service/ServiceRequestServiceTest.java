@@ -2,27 +2,44 @@ package com.app.service_operations_service.service;
 
 import com.app.service_operations_service.client.NotificationClient;
 import com.app.service_operations_service.client.TechnicianClient;
+import com.app.service_operations_service.client.dto.TechnicianBatchRequest;
 import com.app.service_operations_service.client.dto.TechnicianProfileResponse;
-import com.app.service_operations_service.dto.PagedResponse;
+import com.app.service_operations_service.client.dto.WorkloadAdjustmentRequest;
+import com.app.service_operations_service.dto.CursorPage;
 import com.app.service_operations_service.dto.requests.*;
+import com.app.service_operations_service.exception.BadRequestException;
+import com.app.service_operations_service.exception.ConflictException;
 import com.app.service_operations_service.exception.NotFoundException;
 import com.app.service_operations_service.model.ServiceRequest;
 import com.app.service_operations_service.model.enums.RequestStatus;
+import com.app.service_operations_service.repository.RequestViewPaging;
+import com.app.service_operations_service.repository.ServiceRequestPaging.Filter;
+import com.app.service_operations_service.repository.ServiceRequestPaging.PageCursor;
 import com.app.service_operations_service.repository.ServiceRequestRepository;
+import com.app.service_operations_service.repository.ServiceRequestSearch.SearchQuery;
+import com.app.service_operations_service.service.completion.CompletionOutbox;
+import com.app.service_operations_service.service.sla.SlaMonitor;
+import com.app.service_operations_service.service.views.RequestViewQueries;
+import com.app.service_operations_service.util.KeysetPages;
+import org.bson.Document;
 import org.junit.jupiter.api.BeforeEach;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
+import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.query.Update;
 
 import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -41,6 +58,24 @@ class ServiceRequestServiceTest {
     @Mock
     private TechnicianClient technicianClient;
 
+    @Mock
+    private TechnicianDirectory technicianDirectory;
+
+    @Mock
+    private TrendService trendService;
+
+    @Mock
+    private RequestNumberAllocator requestNumberAllocator;
+
+    @Mock
+    private CompletionOutbox completionOutbox;
+
+    @Mock
+    private RequestViewQueries requestViews;
+
+    @Mock
+    private SlaMonitor slaMonitor;
+
     @InjectMocks
     private ServiceRequestService serviceRequestService;
 
@@ -62,36 +97,65 @@ class ServiceRequestServiceTest {
     }
 
     @Test
-    void getAll_ShouldReturnAllRequests() {
+    void getAll_ShouldReturnLastPageWithoutCount() {
         List<ServiceRequest> requests = Arrays.asList(serviceRequest);
-        Pageable pageable = PageRequest.of(0, 20);
-        Page<ServiceRequest> page = new PageImpl<>(requests, pageable, requests.size());
-
-        when(requestRepository.findAll(any(Pageable.class))).thenReturn(page);
+        when(requestRepository.findPage(Filter.all(), null, 21)).thenReturn(requests);
 
-        PagedResponse<ServiceRequestResponse> response = serviceRequestService.getAll(pageable);
+        CursorPage<ServiceRequestResponse> response = serviceRequestService.getAll(null, 20, false);
 
         assertNotNull(response);
-        assertNotNull(response.getContent());
         assertEquals(1, response.getContent().size());
         assertEquals("req-1", response.getContent().get(0).getId());
-        assertEquals(0, response.getPageNumber());
-        assertEquals(20, response.getPageSize());
-        assertEquals(1, response.getTotalElements());
-        verify(requestRepository, times(1)).findAll(any(Pageable.class));
+        assertFalse(response.isHasMore());
+        assertNull(response.getNextCursor());
+        assertNull(response.getTotalElements());
+        verify(requestRepository, never()).countMatching(any());
+    }
+
+    @Test
+    void getAll_ShouldReturnCursorOfLastRow_WhenMoreRowsExist() {
+        Instant created = Instant.parse("2024-05-01T10:00:00Z");
+        List<ServiceRequest> rows = List.of(
+                ServiceRequest.builder().id("req-3").createdAt(created.plusSeconds(2)).build(),
+                ServiceRequest.builder().id("req-2").createdAt(created).build(),
+                ServiceRequest.builder().id("req-1").createdAt(created).build());
+        when(requestRepository.findPage(Filter.all(), null, 3)).thenReturn(rows);
+        when(requestRepository.countMatching(Filter.all())).thenReturn(7L);
+
+        CursorPage<ServiceRequestResponse> first = serviceRequestService.getAll(null, 2, true);
+
+        assertEquals(List.of("req-3", "req-2"), first.getContent().stream().map(ServiceRequestResponse::getId).toList());
+        assertTrue(first.isHasMore());
+        assertEquals(7L, first.getTotalElements());
+
+        when(requestRepository.findPage(Filter.all(), new PageCursor(created, "req-2"), 3))
+                .thenReturn(List.of(rows.get(2)));
+        CursorPage<ServiceRequestResponse> second = serviceRequestService.getAll(first.getNextCursor(), 2, false);
+
+        assertEquals("req-1", second.getContent().get(0).getId());
+        assertFalse(second.isHasMore());
+    }
+
+    @Test
+    void getAll_ShouldRejectBadCursorAndSize() {
+        assertThrows(BadRequestException.class, () -> serviceRequestService.getAll("not-a-cursor", 20, false));
+        assertThrows(BadRequestException.class,
+                () -> serviceRequestService.getAll(null, KeysetPages.MAX_PAGE_SIZE + 1, false));
+        verify(requestRepository, never()).findPage(any(), any(), anyInt());
     }
 
     @Test
     void getByStatus_ShouldReturnRequestsByStatus() {
         List<ServiceRequest> requests = Arrays.asList(serviceRequest);
-        when(requestRepository.findByStatus(RequestStatus.REQUESTED)).thenReturn(requests);
+        when(requestRepository.findPage(Filter.status(RequestStatus.REQUESTED), null, 21)).thenReturn(requests);
 
-        List<ServiceRequestResponse> responses = serviceRequestService.getByStatus("REQUESTED");
+        List<ServiceRequestResponse> responses = serviceRequestService.getByStatus("REQUESTED", null, 20, false)
+                .getContent();
 
         assertNotNull(responses);
         assertEquals(1, responses.size());
         assertEquals(RequestStatus.REQUESTED, responses.get(0).getStatus());
-        verify(requestRepository, times(1)).findByStatus(RequestStatus.REQUESTED);
+        verify(requestRepository, times(1)).findPage(Filter.status(RequestStatus.REQUESTED), null, 21);
     }
 
     @Test
@@ -102,6 +166,7 @@ class ServiceRequestServiceTest {
         request.setPreferredDate(Instant.now().plusSeconds(3600));
         request.setAddress("123 Main St");
 
+        when(requestNumberAllocator.next()).thenReturn("REQ-000000042");
         when(requestRepository.save(any(ServiceRequest.class))).thenAnswer(invocation -> {
             ServiceRequest savedRequest = invocation.getArgument(0);
             savedRequest.setId("req-1"); // Simulate auto-generated ID
@@ -114,8 +179,14 @@ class ServiceRequestServiceTest {
 
         assertNotNull(response);
         assertEquals("req-1", response.getId());
+        assertEquals("REQ-000000042", response.getRequestNumber());
         assertEquals(RequestStatus.REQUESTED, response.getStatus());
         verify(requestRepository, times(1)).save(any(ServiceRequest.class));
+        // The deadline is stamped before the insert and armed after it
+        InOrder order = inOrder(slaMonitor, requestRepository);
+        order.verify(slaMonitor).stamp(any(ServiceRequest.class));
+        order.verify(requestRepository).save(any(ServiceRequest.class));
+        order.verify(slaMonitor).arm(any(ServiceRequest.class));
     }
 
     @Test
@@ -139,14 +210,15 @@ class ServiceRequestServiceTest {
     @Test
     void getByCustomer_ShouldReturnCustomerRequests() {
         List<ServiceRequest> requests = Arrays.asList(serviceRequest);
-        when(requestRepository.findByCustomerId("customer-1")).thenReturn(requests);
+        when(requestRepository.findPage(Filter.customer("customer-1"), null, 21)).thenReturn(requests);
 
-        List<ServiceRequestResponse> responses = serviceRequestService.getByCustomer("customer-1");
+        List<ServiceRequestResponse> responses = serviceRequestService.getByCustomer("customer-1", null, 20, false)
+                .getContent();
 
         assertNotNull(responses);
         assertEquals(1, responses.size());
         assertEquals("customer-1", responses.get(0).getCustomerId());
-        verify(requestRepository, times(1)).findByCustomerId("customer-1");
+        verify(requestRepository, times(1)).findPage(Filter.customer("customer-1"), null, 21);
     }
 
     @Test
@@ -158,82 +230,223 @@ class ServiceRequestServiceTest {
         technician.setId("tech-1");
         technician.setUserId("user-123");
 
-        when(requestRepository.findById("req-1")).thenReturn(Optional.of(serviceRequest));
-        when(requestRepository.save(any(ServiceRequest.class))).thenReturn(serviceRequest);
-        when(technicianClient.getTechnician("tech-1")).thenReturn(technician);
+        serviceRequest.setTechnicianId("tech-1");
+        when(requestRepository.transition(eq("req-1"), eq(RequestStatus.sourcesOf(RequestStatus.ASSIGNED)), any()))
+                .thenReturn(serviceRequest);
+        when(technicianDirectory.getTechnician("tech-1")).thenReturn(technician);
 
         serviceRequestService.assign("req-1", assignRequest);
 
-        verify(requestRepository, times(1)).save(any(ServiceRequest.class));
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(requestRepository).transition(eq("req-1"), any(), update.capture());
+        Document set = (Document) update.getValue().getUpdateObject().get("$set");
+        assertEquals(Set.of("status", "technicianId", "assignedAt"), set.keySet());
+        assertEquals(RequestStatus.ASSIGNED, set.get("status"));
+        verify(requestRepository, never()).findById(any());
+        verify(requestRepository, never()).save(any(ServiceRequest.class));
+        verify(notificationClient).sendNotification(any());
+        verify(slaMonitor).track(serviceRequest);
+    }
+
+    @Test
+    void assign_ShouldRejectConflictingMove() {
+        serviceRequest.setStatus(RequestStatus.COMPLETED);
+        AssignRequest assignRequest = new AssignRequest();
+        assignRequest.setTechnicianId("tech-1");
+        when(requestRepository.transition(eq("req-1"), any(), any())).thenReturn(null);
+        when(requestRepository.findById("req-1")).thenReturn(Optional.of(serviceRequest));
+
+        assertThrows(ConflictException.class, () -> serviceRequestService.assign("req-1", assignRequest));
+
+        verifyNoInteractions(notificationClient);
     }
 
     @Test
     void updateStatus_ShouldUpdateStatus() {
         UpdateStatusRequest request = new UpdateStatusRequest();
-        request.setStatus("ASSIGNED");
+        request.setStatus("IN_PROGRESS");
+        serviceRequest.setStatus(RequestStatus.IN_PROGRESS);
 
-        when(requestRepository.findById("req-1")).thenReturn(Optional.of(serviceRequest));
-        when(requestRepository.save(any(ServiceRequest.class))).thenReturn(serviceRequest);
+        when(requestRepository.transition(eq("req-1"), eq(Set.of(RequestStatus.ASSIGNED, RequestStatus.ACCEPTED)), any()))
+                .thenReturn(serviceRequest);
 
         serviceRequestService.updateStatus("req-1", request);
 
-        verify(requestRepository, times(1)).save(any(ServiceRequest.class));
+        verify(requestRepository, times(1)).transition(eq("req-1"), any(), any());
+        verify(requestRepository, never()).save(any(ServiceRequest.class));
+    }
+
+    @Test
+    void updateStatus_ShouldUnassign_WhenHandedBackToRequested() {
+        UpdateStatusRequest request = new UpdateStatusRequest();
+        request.setStatus("requested");
+        serviceRequest.setStatus(RequestStatus.REQUESTED);
+        when(requestRepository.transition(eq("req-1"), eq(Set.of(RequestStatus.ASSIGNED)), any()))
+                .thenReturn(serviceRequest);
+
+        serviceRequestService.updateStatus("req-1", request);
+
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(requestRepository).transition(eq("req-1"), any(), update.capture());
+        Document unset = update.getValue().getUpdateObject().get("$unset", Document.class);
+        assertTrue(unset.containsKey("technicianId"));
+        assertTrue(unset.containsKey("assignedAt"));
+    }
+
+    @Test
+    void updateStatus_ShouldCompleteUnassignedRequestWithoutSideEffects() {
+        UpdateStatusRequest request = new UpdateStatusRequest();
+        request.setStatus("completed");
+        serviceRequest.setStatus(RequestStatus.COMPLETED);
+        serviceRequest.setCompletedAt(Instant.now());
+        when(requestRepository.transition(eq("req-1"), eq(RequestStatus.sourcesOf(RequestStatus.COMPLETED)), any()))
+                .thenReturn(serviceRequest);
+
+        serviceRequestService.updateStatus("req-1", request);
+
+        verify(trendService).requestCompleted(serviceRequest.getCompletedAt());
+        verifyNoInteractions(technicianClient, notificationClient, completionOutbox);
     }
 
     @Test
     void stats_ShouldReturnStats() {
-        when(requestRepository.count()).thenReturn(1L);
-        when(requestRepository.countByStatus(RequestStatus.COMPLETED)).thenReturn(0L);
-        when(requestRepository.countByStatus(RequestStatus.REQUESTED)).thenReturn(1L);
-        when(requestRepository.countByStatus(RequestStatus.IN_PROGRESS)).thenReturn(0L);
+        when(requestRepository.countAllByStatus()).thenReturn(Map.of(RequestStatus.REQUESTED, 1L));
 
         ServiceRequestStatsResponse response = serviceRequestService.stats();
 
         assertNotNull(response);
         assertNotNull(response.getByStatus());
         assertEquals(1, response.getTotal());
-        verify(requestRepository, times(1)).count();
+        assertEquals(0L, response.getByStatus().get(RequestStatus.COMPLETED));
+        verify(requestRepository, times(1)).countAllByStatus();
+        verify(requestRepository, never()).countByStatus(any());
     }
 
     @Test
     void acceptWork_ShouldAcceptWork() {
+        serviceRequest.setStatus(RequestStatus.ACCEPTED);
+        serviceRequest.setTechnicianId("tech-1");
+        when(requestRepository.transition(eq("req-1"), eq(Set.of(RequestStatus.ASSIGNED)), any()))
+                .thenReturn(serviceRequest);
+
+        serviceRequestService.acceptWork("req-1", "tech-user-1");
+
+        ArgumentCaptor<WorkloadAdjustmentRequest> adjustment = ArgumentCaptor.forClass(WorkloadAdjustmentRequest.class);
+        verify(technicianClient).adjustWorkloads(eq("req-1:ACCEPT"), adjustment.capture());
+        assertEquals(Map.of("tech-1", 1), adjustment.getValue().getDeltas());
+        verify(technicianClient, never()).getTechnician(any());
+        verify(technicianClient, never()).updateWorkload(any(), any());
+        verify(requestRepository, never()).save(any(ServiceRequest.class));
+    }
+
+    @Test
+    void assign_ShouldNotReassignAnAcceptedRequest() {
+        serviceRequest.setStatus(RequestStatus.ACCEPTED);
+        serviceRequest.setTechnicianId("tech-1");
+        AssignRequest assignRequest = new AssignRequest();
+        assignRequest.setTechnicianId("tech-2");
+        when(requestRepository.transition(eq("req-1"), eq(Set.of(RequestStatus.REQUESTED, RequestStatus.ASSIGNED)), any()))
+                .thenReturn(null);
+        when(requestRepository.findById("req-1")).thenReturn(Optional.of(serviceRequest));
+
+        // tech-1 already carries the request in its workload
+        assertThrows(ConflictException.class, () -> serviceRequestService.assign("req-1", assignRequest));
+
+        verifyNoInteractions(technicianClient, notificationClient);
+    }
+
+    @Test
+    void acceptWork_ShouldNotRaiseWorkloadTwice_WhenAlreadyAccepted() {
+        serviceRequest.setStatus(RequestStatus.ACCEPTED);
+        serviceRequest.setTechnicianId("tech-1");
+        when(requestRepository.transition(eq("req-1"), any(), any())).thenReturn(null);
         when(requestRepository.findById("req-1")).thenReturn(Optional.of(serviceRequest));
-        when(requestRepository.save(any(ServiceRequest.class))).thenReturn(serviceRequest);
 
         serviceRequestService.acceptWork("req-1", "tech-user-1");
 
-        verify(requestRepository, times(1)).save(any(ServiceRequest.class));
+        verifyNoInteractions(technicianClient);
     }
 
     @Test
     void rejectWork_ShouldRejectWork() {
-        when(requestRepository.findById("req-1")).thenReturn(Optional.of(serviceRequest));
-        when(requestRepository.save(any(ServiceRequest.class))).thenReturn(serviceRequest);
+        serviceRequest.setStatus(RequestStatus.CANCELLED);
+        serviceRequest.setCancelledAt(Instant.now());
+        when(requestRepository.transition(eq("req-1"), eq(RequestStatus.sourcesOf(RequestStatus.CANCELLED)), any()))
+                .thenReturn(serviceRequest);
 
         serviceRequestService.rejectWork("req-1", "tech-user-1", "Reason");
 
-        verify(requestRepository, times(1)).save(any(ServiceRequest.class));
+        verify(trendService).requestCancelled(serviceRequest.getCancelledAt());
+        verify(requestRepository, never()).save(any(ServiceRequest.class));
     }
 
     @Test
     void completeByTechnician_ShouldCompleteRequest() {
-        when(requestRepository.findById("req-1")).thenReturn(Optional.of(serviceRequest));
-        when(requestRepository.save(any(ServiceRequest.class))).thenReturn(serviceRequest);
+        serviceRequest.setStatus(RequestStatus.COMPLETED);
+        serviceRequest.setCompletedAt(Instant.now());
+        when(requestRepository.transition(eq("req-1"), eq(Set.of(RequestStatus.ACCEPTED, RequestStatus.IN_PROGRESS)), any()))
+                .thenReturn(serviceRequest);
 
         ServiceRequestResponse response = serviceRequestService.completeByTechnician("req-1", "tech-user-1");
 
         assertNotNull(response);
-        verify(requestRepository, times(1)).save(any(ServiceRequest.class));
+        verify(trendService).requestCompleted(serviceRequest.getCompletedAt());
+        verify(completionOutbox).enqueue(serviceRequest);
+        // Workload, invoice and notification run later on the outbox workers
+        verifyNoInteractions(technicianClient, notificationClient);
+        verify(requestRepository, never()).save(any(ServiceRequest.class));
+    }
+
+    @Test
+    void completeByTechnician_ShouldRequeueWithoutCountingTwice_WhenAlreadyCompleted() {
+        serviceRequest.setStatus(RequestStatus.COMPLETED);
+        when(requestRepository.transition(eq("req-1"), any(), any())).thenReturn(null);
+        when(requestRepository.findById("req-1")).thenReturn(Optional.of(serviceRequest));
+
+        serviceRequestService.completeByTechnician("req-1", "tech-user-1");
+
+        verify(trendService, never()).requestCompleted(any());
+        verify(completionOutbox).enqueue(serviceRequest);
+    }
+
+    @Test
+    void completeByTechnician_ShouldRejectCancelledRequest() {
+        serviceRequest.setStatus(RequestStatus.CANCELLED);
+        when(requestRepository.transition(eq("req-1"), any(), any())).thenReturn(null);
+        when(requestRepository.findById("req-1")).thenReturn(Optional.of(serviceRequest));
+
+        assertThrows(ConflictException.class,
+                () -> serviceRequestService.completeByTechnician("req-1", "tech-user-1"));
+
+        verifyNoInteractions(trendService, notificationClient);
     }
 
     @Test
     void cancel_ShouldCancelRequest() {
+        serviceRequest.setStatus(RequestStatus.CANCELLED);
+        serviceRequest.setCancelledAt(Instant.now());
+        when(requestRepository.transition(eq("req-1"), eq(RequestStatus.sourcesOf(RequestStatus.CANCELLED)), any()))
+                .thenReturn(serviceRequest);
+
+        ServiceRequestResponse response = serviceRequestService.cancel("req-1", "customer-1");
+
+        assertEquals(RequestStatus.CANCELLED, response.getStatus());
+        verify(trendService).requestCancelled(serviceRequest.getCancelledAt());
+        verify(notificationClient).sendNotification(any());
+        verify(requestRepository, never()).findById(any());
+        verify(requestRepository, never()).save(any(ServiceRequest.class));
+    }
+
+    @Test
+    void cancel_ShouldCountCancellationOnce_WhenAlreadyCancelled() {
+        serviceRequest.setStatus(RequestStatus.CANCELLED);
+        when(requestRepository.transition(eq("req-1"), any(), any())).thenReturn(null);
         when(requestRepository.findById("req-1")).thenReturn(Optional.of(serviceRequest));
-        when(requestRepository.save(any(ServiceRequest.class))).thenReturn(serviceRequest);
 
         serviceRequestService.cancel("req-1", "customer-1");
 
-        verify(requestRepository, times(1)).save(any(ServiceRequest.class));
+        verify(trendService, never()).requestCancelled(any());
+        verifyNoInteractions(notificationClient);
     }
 
     @Test
@@ -241,28 +454,43 @@ class ServiceRequestServiceTest {
         RescheduleServiceRequest request = new RescheduleServiceRequest();
         request.setPreferredDate(Instant.now().plusSeconds(7200));
 
-        when(requestRepository.findById("req-1")).thenReturn(Optional.of(serviceRequest));
-        when(requestRepository.save(any(ServiceRequest.class))).thenReturn(serviceRequest);
+        when(requestRepository.transition(eq("req-1"), eq(RequestStatus.open()), any())).thenReturn(serviceRequest);
 
         serviceRequestService.reschedule("req-1", "customer-1", request);
 
-        verify(requestRepository, times(1)).save(any(ServiceRequest.class));
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(requestRepository).transition(eq("req-1"), any(), update.capture());
+        Document set = (Document) update.getValue().getUpdateObject().get("$set");
+        assertEquals(Set.of("preferredDate"), set.keySet());
+        verify(requestRepository, never()).save(any(ServiceRequest.class));
+        verify(slaMonitor).track(serviceRequest);
+    }
+
+    @Test
+    void reschedule_ShouldRejectCompletedRequest() {
+        serviceRequest.setStatus(RequestStatus.COMPLETED);
+        RescheduleServiceRequest request = new RescheduleServiceRequest();
+        request.setPreferredDate(Instant.now().plusSeconds(7200));
+        when(requestRepository.transition(eq("req-1"), any(), any())).thenReturn(null);
+        when(requestRepository.findById("req-1")).thenReturn(Optional.of(serviceRequest));
+
+        assertThrows(ConflictException.class, () -> serviceRequestService.reschedule("req-1", "customer-1", request));
     }
 
     @Test
     void getByCustomerWithTechnicianDetails_ShouldReturnRequestsWithTechnicianDetails() {
         serviceRequest.setTechnicianId("tech-1");
         List<ServiceRequest> requests = Arrays.asList(serviceRequest);
-        when(requestRepository.findByCustomerId("customer-1")).thenReturn(requests);
+        when(requestRepository.findPage(Filter.customer("customer-1"), null, 21)).thenReturn(requests);
 
         List<ServiceRequestWithTechnicianResponse> responses = serviceRequestService
-                .getByCustomerWithTechnicianDetails("customer-1");
+                .getByCustomerWithTechnicianDetails("customer-1", null, 20, false).getContent();
 
         assertNotNull(responses);
         assertEquals(1, responses.size());
         assertEquals("customer-1", responses.get(0).getCustomerId());
         assertEquals("tech-1", responses.get(0).getTechnicianId());
-        verify(requestRepository, times(1)).findByCustomerId("customer-1");
+        verify(requestRepository, times(1)).findPage(Filter.customer("customer-1"), null, 21);
     }
 
     @Test
@@ -274,30 +502,76 @@ class ServiceRequestServiceTest {
         serviceRequest.setTechnicianId("tech-1");
         List<ServiceRequest> requests = Arrays.asList(serviceRequest);
 
-        when(technicianClient.getTechnicianByUserId("user-123")).thenReturn(technician);
-        when(requestRepository.findByTechnicianId("tech-1")).thenReturn(requests);
+        when(technicianDirectory.getTechnicianByUserId("user-123")).thenReturn(technician);
+        when(requestRepository.findPage(Filter.technician("tech-1"), null, 21)).thenReturn(requests);
 
         List<ServiceRequestWithCustomerResponse> responses = serviceRequestService
-                .getByTechnicianUserIdWithCustomerDetails("user-123");
+                .getByTechnicianUserIdWithCustomerDetails("user-123", null, 20, false).getContent();
 
         assertNotNull(responses);
         assertEquals(1, responses.size());
         assertEquals("customer-1", responses.get(0).getCustomerId());
-        verify(technicianClient, times(1)).getTechnicianByUserId("user-123");
-        verify(requestRepository, times(1)).findByTechnicianId("tech-1");
+        verify(technicianDirectory, times(1)).getTechnicianByUserId("user-123");
+        verify(requestRepository, times(1)).findPage(Filter.technician("tech-1"), null, 21);
     }
 
     @Test
     void getByTechnicianUserIdWithCustomerDetails_ShouldReturnEmptyList_WhenTechnicianNotFound() {
-        when(technicianClient.getTechnicianByUserId("user-999")).thenReturn(null);
+        when(technicianDirectory.getTechnicianByUserId("user-999")).thenReturn(null);
 
         List<ServiceRequestWithCustomerResponse> responses = serviceRequestService
-                .getByTechnicianUserIdWithCustomerDetails("user-999");
+                .getByTechnicianUserIdWithCustomerDetails("user-999", null, 20, false).getContent();
 
         assertNotNull(responses);
         assertTrue(responses.isEmpty());
-        verify(technicianClient, times(1)).getTechnicianByUserId("user-999");
-        verify(requestRepository, never()).findByTechnicianId(anyString());
+        verify(technicianDirectory, times(1)).getTechnicianByUserId("user-999");
+        verify(requestRepository, never()).findPage(any(), any(), anyInt());
+    }
+
+    @Test
+    void search_ShouldTreatRequestNumberFragmentsAsPrefix() {
+        when(requestRepository.search(any(), isNull(), eq(21))).thenReturn(List.of(serviceRequest));
+
+        serviceRequestService.search("req00012", null, "assigned", LocalDate.of(2024, 5, 1), LocalDate.of(2024, 5, 31),
+                null, 20, false);
+
+        ArgumentCaptor<SearchQuery> query = ArgumentCaptor.forClass(SearchQuery.class);
+        verify(requestRepository).search(query.capture(), isNull(), eq(21));
+        assertEquals(new SearchQuery("REQ-00012", null, null, RequestStatus.ASSIGNED,
+                Instant.parse("2024-05-01T00:00:00Z"), Instant.parse("2024-06-01T00:00:00Z")), query.getValue());
+        verify(requestRepository, never()).countSearch(any());
+    }
+
+    @Test
+    void search_ShouldSearchAddressText_AndCountWhenAsked() {
+        when(requestRepository.search(any(), isNull(), eq(21))).thenReturn(List.of(serviceRequest));
+        when(requestRepository.countSearch(any())).thenReturn(1L);
+
+        CursorPage<ServiceRequestResponse> page =
+                serviceRequestService.search(" main st ", "customer-1", null, null, null, null, 20, true);
+
+        assertEquals(1L, page.getTotalElements());
+        assertEquals("req-1", page.getContent().get(0).getId());
+        verify(requestRepository).countSearch(new SearchQuery(null, "main st", "customer-1", null, null, null));
+    }
+
+    @Test
+    void search_ShouldRejectInvertedDateRange() {
+        assertThrows(BadRequestException.class, () -> serviceRequestService.search(
+                null, null, null, LocalDate.of(2024, 6, 1), LocalDate.of(2024, 5, 1), null, 20, false));
+        verifyNoInteractions(requestRepository);
+    }
+
+    @Test
+    void getByTechnicianUserIdWithCustomerDetails_ShouldReadRequestViews_WhenEnabled() {
+        CursorPage<ServiceRequestWithCustomerResponse> page = new CursorPage<>(List.of(), null, false, null);
+        when(requestViews.enabled()).thenReturn(true);
+        when(requestViews.<ServiceRequestWithCustomerResponse>page(eq(RequestViewPaging.Filter.technicianUser("user-123")),
+                isNull(), eq(20), eq(false), any())).thenReturn(page);
+
+        assertSame(page, serviceRequestService.getByTechnicianUserIdWithCustomerDetails("user-123", null, 20, false));
+
+        verifyNoInteractions(technicianDirectory, technicianClient, requestRepository);
     }
 
     @Test
@@ -309,32 +583,35 @@ class ServiceRequestServiceTest {
         serviceRequest.setTechnicianId("tech-1");
         List<ServiceRequest> requests = Arrays.asList(serviceRequest);
 
-        when(technicianClient.getTechnicianByUserId("user-123")).thenReturn(technician);
-        when(requestRepository.findByTechnicianId("tech-1")).thenReturn(requests);
+        when(technicianDirectory.getTechnicianByUserId("user-123")).thenReturn(technician);
+        when(requestRepository.findPage(Filter.technician("tech-1"), null, 21)).thenReturn(requests);
 
-        List<ServiceRequestResponse> responses = serviceRequestService.getByTechnicianUserId("user-123");
+        List<ServiceRequestResponse> responses = serviceRequestService.getByTechnicianUserId("user-123", null, 20, false)
+                .getContent();
 
         assertNotNull(responses);
         assertEquals(1, responses.size());
         assertEquals("req-1", responses.get(0).getId());
-        verify(technicianClient, times(1)).getTechnicianByUserId("user-123");
-        verify(requestRepository, times(1)).findByTechnicianId("tech-1");
+        verify(technicianDirectory, times(1)).getTechnicianByUserId("user-123");
+        verify(requestRepository, times(1)).findPage(Filter.technician("tech-1"), null, 21);
     }
 
     @Test
     void getByTechnicianUserId_ShouldReturnEmptyList_WhenTechnicianNotFound() {
-        when(technicianClient.getTechnicianByUserId("user-999")).thenReturn(null);
+        when(technicianDirectory.getTechnicianByUserId("user-999")).thenReturn(null);
 
-        List<ServiceRequestResponse> responses = serviceRequestService.getByTechnicianUserId("user-999");
+        List<ServiceRequestResponse> responses = serviceRequestService.getByTechnicianUserId("user-999", null, 20, false)
+                .getContent();
 
         assertNotNull(responses);
         assertTrue(responses.isEmpty());
-        verify(technicianClient, times(1)).getTechnicianByUserId("user-999");
-        verify(requestRepository, never()).findByTechnicianId(anyString());
+        verify(technicianDirectory, times(1)).getTechnicianByUserId("user-999");
+        verify(requestRepository, never()).findPage(any(), any(), anyInt());
     }
 
     @Test
     void completeByTechnician_ShouldThrowException_WhenRequestNotFound() {
+        when(requestRepository.transition(eq("invalid-id"), any(), any())).thenReturn(null);
         when(requestRepository.findById("invalid-id")).thenReturn(Optional.empty());
 
         assertThrows(NotFoundException.class,
@@ -342,4 +619,92 @@ class ServiceRequestServiceTest {
 
         verify(requestRepository, never()).save(any(ServiceRequest.class));
     }
+
+    @Test
+    void getByStatus_ShouldEnrichAssignedRequestsWithOneDirectoryLookup() {
+        List<ServiceRequest> requests = assignedRequests(6, 3);
+        TechnicianProfileResponse technician = new TechnicianProfileResponse();
+        technician.setId("tech-0");
+        technician.setName("Tech Zero");
+        when(requestRepository.findPage(Filter.status(RequestStatus.ASSIGNED), null, 21)).thenReturn(requests);
+        when(technicianDirectory.getTechnicians(Set.of("tech-0", "tech-1", "tech-2")))
+                .thenReturn(Map.of("tech-0", technician));
+
+        List<ServiceRequestResponse> responses = serviceRequestService.getByStatus("ASSIGNED", null, 20, false)
+                .getContent();
+
+        assertEquals(6, responses.size());
+        assertEquals("Tech Zero", responses.get(0).getTechnicianName());
+        assertEquals("Tech Zero", responses.get(3).getTechnicianName());
+        assertNull(responses.get(1).getTechnicianName());
+        verify(technicianDirectory, times(1)).getTechnicians(anyCollection());
+        verify(technicianDirectory, never()).getTechnician(anyString());
+    }
+
+    // List-latency benchmark against a cold directory and a technician-service
+    // that takes a few milliseconds per call: the previous mapper made one call
+    // per assigned row, the batched one makes one call per page.
+    @Test
+    @Tag("benchmark")
+    void listEnrichment_BenchmarkPerRowAgainstBatched() {
+        int rows = KeysetPages.MAX_PAGE_SIZE;
+        int technicians = 50;
+        long callLatencyMs = 3;
+        TechnicianClient slowClient = mock(TechnicianClient.class);
+        when(slowClient.getTechnician(anyString())).thenAnswer(inv -> {
+            Thread.sleep(callLatencyMs);
+            return technician(inv.getArgument(0));
+        });
+        when(slowClient.getTechnicians(any(TechnicianBatchRequest.class))).thenAnswer(inv -> {
+            Thread.sleep(callLatencyMs);
+            TechnicianBatchRequest request = inv.getArgument(0);
+            return request.getIds().stream().map(this::technician).toList();
+        });
+        List<ServiceRequest> requests = assignedRequests(rows, technicians);
+        when(requestRepository.findPage(Filter.status(RequestStatus.ASSIGNED), null, rows + 1)).thenReturn(requests);
+
+        // Before: every assigned row resolved on its own, nothing cached between pages
+        TechnicianDirectory perRowDirectory = new TechnicianDirectory(slowClient, 0);
+        long started = System.nanoTime();
+        for (ServiceRequest request : requests) {
+            assertNotNull(perRowDirectory.getTechnician(request.getTechnicianId()));
+        }
+        long perRowMs = (System.nanoTime() - started) / 1_000_000;
+
+        ServiceRequestService batched = new ServiceRequestService(requestRepository, notificationClient,
+                slowClient, new TechnicianDirectory(slowClient, 0), completionOutbox, trendService, requestNumberAllocator,
+                requestViews, slaMonitor);
+        started = System.nanoTime();
+        List<ServiceRequestResponse> responses = batched.getByStatus("ASSIGNED", null, rows, false).getContent();
+        long batchedMs = (System.nanoTime() - started) / 1_000_000;
+
+        assertEquals(rows, responses.size());
+        assertTrue(responses.stream().allMatch(r -> r.getTechnicianName() != null));
+        verify(slowClient, times(rows)).getTechnician(anyString());
+        verify(slowClient, times(1)).getTechnicians(any(TechnicianBatchRequest.class));
+        assertTrue(batchedMs < perRowMs, "batched " + batchedMs + " ms vs per-row " + perRowMs + " ms");
+    }
+
+    private List<ServiceRequest> assignedRequests(int count, int technicians) {
+        List<ServiceRequest> requests = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            requests.add(ServiceRequest.builder()
+                    .id("req-" + i)
+                    .customerId("customer-1")
+                    .serviceId("service-1")
+                    .status(RequestStatus.ASSIGNED)
+                    .technicianId("tech-" + (i % technicians))
+                    .createdAt(Instant.now())
+                    .build());
+        }
+        return requests;
+    }
+
+    private TechnicianProfileResponse technician(String id) {
+        TechnicianProfileResponse technician = new TechnicianProfileResponse();
+        technician.setId(id);
+        technician.setName("Name of " + id);
+        technician.setPhone("555-0100");
+        return technician;
+    }
 }
@@ -0,0 +1,157 @@
+package com.app.service_operations_service.service;
+
+import com.app.service_operations_service.client.TechnicianClient;
+import com.app.service_operations_service.client.dto.TechnicianBatchRequest;
+import com.app.service_operations_service.client.dto.TechnicianProfileResponse;
+import com.app.service_operations_service.messaging.event.TechnicianChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TechnicianDirectoryTest {
+
+    @Mock
+    private TechnicianClient technicianClient;
+
+    private TechnicianDirectory directory;
+
+    @BeforeEach
+    void setUp() {
+        directory = new TechnicianDirectory(technicianClient, 60_000);
+    }
+
+    @Test
+    void getTechnician_ShouldLoadOnceAndServeFromMemory() {
+        when(technicianClient.getTechnician("tech-1")).thenReturn(profile("tech-1", "user-1", 3L, 2));
+
+        assertEquals(2, directory.getTechnician("tech-1").getCurrentWorkload());
+        assertEquals(2, directory.getTechnicianByUserId("user-1").getCurrentWorkload());
+
+        verify(technicianClient, times(1)).getTechnician("tech-1");
+        verify(technicianClient, never()).getTechnicianByUserId("user-1");
+    }
+
+    @Test
+    void apply_ShouldReplaceEntry_WhenEventIsNewer() {
+        when(technicianClient.getTechnician("tech-1")).thenReturn(profile("tech-1", "user-1", 3L, 2));
+        directory.getTechnician("tech-1");
+
+        directory.apply(event(TechnicianChangedEvent.Type.WORKLOAD_CHANGED, "tech-1", 4L, 3));
+
+        assertEquals(3, directory.getTechnician("tech-1").getCurrentWorkload());
+        verify(technicianClient, times(1)).getTechnician("tech-1");
+    }
+
+    @Test
+    void apply_ShouldIgnoreOutOfOrderEvent() {
+        directory.apply(event(TechnicianChangedEvent.Type.WORKLOAD_CHANGED, "tech-1", 5L, 4));
+        directory.apply(event(TechnicianChangedEvent.Type.WORKLOAD_CHANGED, "tech-1", 4L, 1));
+
+        assertEquals(4, directory.getTechnician("tech-1").getCurrentWorkload());
+        verifyNoInteractions(technicianClient);
+    }
+
+    @Test
+    void apply_ShouldNotResurrectDeletedTechnician() {
+        directory.apply(event(TechnicianChangedEvent.Type.CREATED, "tech-1", 0L, 0));
+        directory.apply(event(TechnicianChangedEvent.Type.DELETED, "tech-1", 2L, 0));
+        directory.apply(event(TechnicianChangedEvent.Type.AVAILABILITY_CHANGED, "tech-1", 1L, 0));
+
+        assertEquals(0, directory.size());
+    }
+
+    @Test
+    void getTechnician_ShouldReloadExpiredEntry() {
+        TechnicianDirectory expiring = new TechnicianDirectory(technicianClient, 0);
+        when(technicianClient.getTechnician("tech-1")).thenReturn(profile("tech-1", "user-1", 1L, 0));
+
+        expiring.getTechnician("tech-1");
+        expiring.getTechnician("tech-1");
+
+        verify(technicianClient, times(2)).getTechnician("tech-1");
+    }
+
+    @Test
+    void getTechnician_ShouldNotCacheMisses() {
+        when(technicianClient.getTechnician("tech-9")).thenReturn(null);
+
+        assertNull(directory.getTechnician("tech-9"));
+        assertEquals(0, directory.size());
+    }
+
+    @Test
+    void getTechnicians_ShouldFetchOnlyMissesInOneCall() {
+        when(technicianClient.getTechnician("tech-1")).thenReturn(profile("tech-1", "user-1", 1L, 0));
+        directory.getTechnician("tech-1");
+        when(technicianClient.getTechnicians(new TechnicianBatchRequest(List.of("tech-2", "tech-3"))))
+                .thenReturn(List.of(profile("tech-2", "user-2", 1L, 1)));
+
+        Map<String, TechnicianProfileResponse> result =
+                directory.getTechnicians(List.of("tech-1", "tech-2", "tech-3", "tech-2"));
+
+        assertEquals(2, result.size());
+        assertEquals(1, result.get("tech-2").getCurrentWorkload());
+        assertFalse(result.containsKey("tech-3"));
+        // Loaded profiles are remembered for single lookups
+        assertEquals(1, directory.getTechnician("tech-2").getCurrentWorkload());
+        verify(technicianClient, times(1)).getTechnicians(any());
+        verify(technicianClient, never()).getTechnician("tech-2");
+    }
+
+    @Test
+    void getTechnicians_ShouldSplitLargeLookups() {
+        List<String> ids = IntStream.range(0, TechnicianDirectory.MAX_BATCH_SIZE + 1)
+                .mapToObj(i -> "tech-" + i)
+                .toList();
+        when(technicianClient.getTechnicians(any())).thenReturn(List.of());
+
+        directory.getTechnicians(ids);
+
+        verify(technicianClient, times(2)).getTechnicians(any());
+    }
+
+    @Test
+    void getTechnicians_ShouldServeExpiredEntries_WhenServiceUnavailable() {
+        TechnicianDirectory expiring = new TechnicianDirectory(technicianClient, 0);
+        expiring.apply(event(TechnicianChangedEvent.Type.CREATED, "tech-1", 1L, 2));
+        when(technicianClient.getTechnicians(any())).thenReturn(null);
+
+        Map<String, TechnicianProfileResponse> result = expiring.getTechnicians(List.of("tech-1", "tech-2"));
+
+        assertEquals(1, result.size());
+        assertEquals(2, result.get("tech-1").getCurrentWorkload());
+    }
+
+    private TechnicianProfileResponse profile(String id, String userId, Long version, int workload) {
+        TechnicianProfileResponse p = new TechnicianProfileResponse();
+        p.setId(id);
+        p.setUserId(userId);
+        p.setVersion(version);
+        p.setCurrentWorkload(workload);
+        p.setMaxWorkload(5);
+        p.setSkills(List.of("Plumbing"));
+        return p;
+    }
+
+    private TechnicianChangedEvent event(TechnicianChangedEvent.Type type, String id, long version, int workload) {
+        TechnicianChangedEvent e = new TechnicianChangedEvent();
+        e.setType(type);
+        e.setTechnicianId(id);
+        e.setUserId("user-1");
+        e.setVersion(version);
+        e.setCurrentWorkload(workload);
+        e.setMaxWorkload(5);
+        return e;
+    }
+}
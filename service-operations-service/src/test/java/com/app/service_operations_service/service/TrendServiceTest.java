@@ -0,0 +1,91 @@
+package com.app.service_operations_service.service;
+
+import com.app.service_operations_service.dto.dashboard.DailyTrendEntry;
+import com.app.service_operations_service.exception.BadRequestException;
+import com.app.service_operations_service.model.DailyRollup;
+import com.app.service_operations_service.repository.DailyRollupRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TrendServiceTest {
+
+    private static final ZoneId ZONE = ZoneId.of("Asia/Kolkata");
+
+    @Mock
+    private DailyRollupRepository rollupRepository;
+
+    private TrendService trendService;
+
+    @BeforeEach
+    void setUp() {
+        trendService = new TrendService(rollupRepository, ZONE,
+                Clock.fixed(Instant.parse("2026-03-10T20:00:00Z"), ZoneId.of("UTC")));
+    }
+
+    @Test
+    void requestCreated_ShouldCountOnLocalCalendarDay() {
+        // 20:00 UTC is already the next day in Kolkata
+        trendService.requestCreated(Instant.parse("2026-03-10T20:00:00Z"));
+
+        verify(rollupRepository).incrementRequests(LocalDate.of(2026, 3, 11), 1, 0, 0);
+    }
+
+    @Test
+    void invoicePaid_ShouldNotFail_WhenRollupWriteFails() {
+        doThrow(new DataAccessResourceFailureException("down"))
+                .when(rollupRepository).addRevenue(any(), any());
+
+        assertDoesNotThrow(() -> trendService.invoicePaid(Instant.now(), new BigDecimal("110.00")));
+    }
+
+    @Test
+    void getDailyTrends_ShouldZeroFillMissingDays() {
+        LocalDate from = LocalDate.of(2026, 3, 1);
+        LocalDate to = LocalDate.of(2026, 3, 3);
+        when(rollupRepository.findRange(from, to)).thenReturn(List.of(
+                DailyRollup.builder().id("2026-03-02").created(5).completed(2).cancelled(1)
+                        .paidInvoices(2).revenue(new BigDecimal("220.00")).build()));
+
+        List<DailyTrendEntry> trends = trendService.getDailyTrends(from, to);
+
+        assertEquals(3, trends.size());
+        assertEquals(0, trends.get(0).getCreated());
+        assertEquals(BigDecimal.ZERO, trends.get(0).getRevenue());
+        assertEquals(5, trends.get(1).getCreated());
+        assertEquals(new BigDecimal("220.00"), trends.get(1).getRevenue());
+        assertEquals(to, trends.get(2).getDate());
+    }
+
+    @Test
+    void getDailyTrends_ShouldDefaultToLastYear() {
+        List<DailyTrendEntry> trends = trendService.getDailyTrends(null, null);
+
+        assertEquals(TrendService.DEFAULT_DAYS, trends.size());
+        assertEquals(LocalDate.of(2026, 3, 11), trends.get(trends.size() - 1).getDate());
+    }
+
+    @Test
+    void getDailyTrends_ShouldRejectInvalidRanges() {
+        LocalDate day = LocalDate.of(2026, 3, 1);
+
+        assertThrows(BadRequestException.class, () -> trendService.getDailyTrends(day, day.minusDays(1)));
+        assertThrows(BadRequestException.class, () -> trendService.getDailyTrends(day.minusYears(2), day));
+        verifyNoInteractions(rollupRepository);
+    }
+}
@@ -0,0 +1,108 @@
+package com.app.service_operations_service.service.completion;
+
+import com.app.service_operations_service.client.CompletionNotificationClient;
+import com.app.service_operations_service.client.CompletionTechnicianClient;
+import com.app.service_operations_service.client.dto.NotificationBatchRequest;
+import com.app.service_operations_service.client.dto.NotificationRequest;
+import com.app.service_operations_service.client.dto.WorkloadAdjustmentRequest;
+import com.app.service_operations_service.model.CompletionTask;
+import com.app.service_operations_service.model.CompletionTask.Effect;
+import com.app.service_operations_service.service.BillingService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CompletionEffectsTest {
+
+    @Mock
+    private CompletionTechnicianClient technicianClient;
+
+    @Mock
+    private CompletionNotificationClient notificationClient;
+
+    @Mock
+    private BillingService billingService;
+
+    private CompletionEffects effects;
+
+    @BeforeEach
+    void setUp() {
+        effects = new CompletionEffects(technicianClient, notificationClient, billingService);
+    }
+
+    @Test
+    void run_ShouldReleaseWorkloadRelatively_KeyedByTaskId() {
+        effects.run(task(Effect.WORKLOAD));
+
+        ArgumentCaptor<WorkloadAdjustmentRequest> adjustment = ArgumentCaptor.forClass(WorkloadAdjustmentRequest.class);
+        verify(technicianClient).adjustWorkloads(eq("req-1:WORKLOAD"), adjustment.capture());
+        assertEquals(Map.of("tech-1", -1), adjustment.getValue().getDeltas());
+    }
+
+    @Test
+    void runBatch_ShouldSumReleasesPerTechnicianIntoOneCall_KeyedByBatch() {
+        effects.runBatch("batch-1", List.of(
+                task("req-1", Effect.WORKLOAD, "tech-1"),
+                task("req-2", Effect.WORKLOAD, "tech-2"),
+                task("req-3", Effect.WORKLOAD, "tech-1")));
+
+        ArgumentCaptor<WorkloadAdjustmentRequest> adjustment = ArgumentCaptor.forClass(WorkloadAdjustmentRequest.class);
+        verify(technicianClient, times(1)).adjustWorkloads(eq("batch-1"), adjustment.capture());
+        assertEquals(Map.of("tech-1", -2, "tech-2", -1), adjustment.getValue().getDeltas());
+    }
+
+    @Test
+    void runBatch_ShouldSendNotificationsInOneCall() {
+        effects.runBatch("batch-1", List.of(
+                task("req-1", Effect.NOTIFICATION, "tech-1"),
+                task("req-2", Effect.NOTIFICATION, "tech-2")));
+
+        ArgumentCaptor<NotificationBatchRequest> batch = ArgumentCaptor.forClass(NotificationBatchRequest.class);
+        verify(notificationClient, times(1)).sendNotifications(batch.capture());
+        assertEquals(List.of("customer-req-1", "customer-req-2"),
+                batch.getValue().getNotifications().stream().map(NotificationRequest::getUserId).toList());
+        verify(notificationClient, never()).sendNotification(any());
+    }
+
+    @Test
+    void run_ShouldThrow_WhenTheDownstreamCallFails() {
+        doThrow(new IllegalStateException("notification-service unavailable"))
+                .when(notificationClient).sendNotification(any(NotificationRequest.class));
+
+        assertThrows(IllegalStateException.class, () -> effects.run(task(Effect.NOTIFICATION)));
+    }
+
+    private CompletionTask task(String requestId, Effect effect, String technicianId) {
+        return CompletionTask.builder()
+                .id(CompletionTask.key(requestId, effect))
+                .requestId(requestId)
+                .requestNumber("REQ-" + requestId)
+                .customerId("customer-" + requestId)
+                .technicianId(technicianId)
+                .effect(effect)
+                .build();
+    }
+
+    private CompletionTask task(Effect effect) {
+        return CompletionTask.builder()
+                .id(CompletionTask.key("req-1", effect))
+                .requestId("req-1")
+                .requestNumber("REQ-000000001")
+                .customerId("customer-1")
+                .technicianId("tech-1")
+                .effect(effect)
+                .build();
+    }
+}
@@ -0,0 +1,342 @@
+package com.app.service_operations_service.service.completion;
+
+import com.app.service_operations_service.client.CompletionNotificationClient;
+import com.app.service_operations_service.client.CompletionTechnicianClient;
+import com.app.service_operations_service.client.dto.NotificationBatchRequest;
+import com.app.service_operations_service.client.dto.WorkloadAdjustmentRequest;
+import com.app.service_operations_service.exception.ExternalServiceException;
+import com.app.service_operations_service.model.CompletionTask;
+import com.app.service_operations_service.model.CompletionTask.Effect;
+import com.app.service_operations_service.model.CompletionTask.Status;
+import com.app.service_operations_service.model.ServiceRequest;
+import com.app.service_operations_service.service.BillingService;
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.ServerAddress;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.BsonDocument;
+import org.bson.Document;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CompletionOutboxTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private BulkOperations bulkOperations;
+
+    @Mock
+    private CompletionEffects effects;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private CompletionOutbox outbox;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        outbox = new CompletionOutbox(mongoTemplate, effects, meterRegistry, 4, 3, 60_000, 1_000, 200);
+    }
+
+    @AfterEach
+    void tearDown() {
+        outbox.shutdown();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void enqueue_ShouldQueueEachEffectUnderItsIdempotencyKeyInOneWrite() {
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, CompletionTask.class)).thenReturn(bulkOperations);
+        when(bulkOperations.insert(anyList())).thenReturn(bulkOperations);
+
+        outbox.enqueue(request("tech-1"));
+
+        ArgumentCaptor<List<CompletionTask>> tasks = ArgumentCaptor.forClass(List.class);
+        verify(bulkOperations).insert(tasks.capture());
+        verify(bulkOperations, times(1)).execute();
+        assertEquals(List.of("req-1:WORKLOAD", "req-1:INVOICE", "req-1:NOTIFICATION"),
+                tasks.getValue().stream().map(CompletionTask::getId).toList());
+        assertTrue(tasks.getValue().stream().allMatch(task -> task.getStatus() == Status.PENDING));
+        verifyNoInteractions(effects);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void enqueue_ShouldSkipWorkload_WhenRequestWasNeverAssigned() {
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, CompletionTask.class)).thenReturn(bulkOperations);
+        when(bulkOperations.insert(anyList())).thenReturn(bulkOperations);
+
+        outbox.enqueue(request(null));
+
+        ArgumentCaptor<List<CompletionTask>> tasks = ArgumentCaptor.forClass(List.class);
+        verify(bulkOperations).insert(tasks.capture());
+        assertEquals(Set.of(Effect.INVOICE, Effect.NOTIFICATION),
+                Set.copyOf(tasks.getValue().stream().map(CompletionTask::getEffect).toList()));
+    }
+
+    @Test
+    void enqueue_ShouldIgnoreEffectsThatAreAlreadyQueued() {
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, CompletionTask.class)).thenReturn(bulkOperations);
+        when(bulkOperations.insert(anyList())).thenReturn(bulkOperations);
+        when(bulkOperations.execute()).thenThrow(bulkFailure(11000, "E11000 duplicate key error"));
+
+        assertDoesNotThrow(() -> outbox.enqueue(request("tech-1")));
+    }
+
+    @Test
+    void enqueue_ShouldFail_WhenInsertFailsForAnotherReason() {
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, CompletionTask.class)).thenReturn(bulkOperations);
+        when(bulkOperations.insert(anyList())).thenReturn(bulkOperations);
+        when(bulkOperations.execute()).thenThrow(bulkFailure(121, "Document failed validation"));
+
+        assertThrows(BulkOperationException.class, () -> outbox.enqueue(request("tech-1")));
+    }
+
+    @Test
+    void process_ShouldMarkDoneAndRecordLag() {
+        CompletionTask task = task(Effect.INVOICE, 1);
+
+        outbox.process(task);
+
+        verify(effects).run(task);
+        ArgumentCaptor<Query> guard = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate).updateFirst(guard.capture(), update.capture(), eq(CompletionTask.class));
+        assertEquals("claim-1", guard.getValue().getQueryObject().get("claim"));
+        assertEquals(Status.DONE, ((Document) update.getValue().getUpdateObject().get("$set")).get("status"));
+        assertEquals(1, meterRegistry.get("completion.effect.lag").tag("effect", "invoice").timer().count());
+        assertEquals(1.0, meterRegistry.get("completion.effect.runs").tag("result", "done").counter().count());
+    }
+
+    @Test
+    void process_ShouldRescheduleWithBackoff_WhenEffectFails() {
+        CompletionTask task = task(Effect.WORKLOAD, 2);
+        doThrow(new ExternalServiceException("Technician not available: tech-1")).when(effects).run(task);
+
+        Instant before = Instant.now();
+        outbox.process(task);
+
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate).updateFirst(any(Query.class), update.capture(), eq(CompletionTask.class));
+        Document set = (Document) update.getValue().getUpdateObject().get("$set");
+        assertNull(set.get("status"));
+        assertFalse(((Instant) set.get("availableAt")).isBefore(before.plusSeconds(2)));
+        assertEquals("Technician not available: tech-1", set.get("lastError"));
+        assertEquals(1.0, meterRegistry.get("completion.effect.runs").tag("result", "retry").counter().count());
+    }
+
+    @Test
+    void process_ShouldGiveUp_AfterMaxAttempts() {
+        CompletionTask task = task(Effect.NOTIFICATION, 3);
+        doThrow(new IllegalStateException("boom")).when(effects).run(task);
+
+        outbox.process(task);
+
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate).updateFirst(any(Query.class), update.capture(), eq(CompletionTask.class));
+        assertEquals(Status.DEAD, ((Document) update.getValue().getUpdateObject().get("$set")).get("status"));
+        assertEquals(1.0, meterRegistry.get("completion.effect.runs").tag("result", "dead").counter().count());
+    }
+
+    @Test
+    void backoff_ShouldDoubleAndCap() {
+        assertEquals(Duration.ofSeconds(1), outbox.backoff(1));
+        assertEquals(Duration.ofSeconds(4), outbox.backoff(3));
+        assertEquals(Duration.ofMinutes(10), outbox.backoff(30));
+    }
+
+    @Test
+    void drain_ShouldRunDueTasksOnThePoolAndReportBacklog() {
+        Queue<CompletionTask> due = new ConcurrentLinkedQueue<>(
+                IntStream.range(0, 10).mapToObj(i -> task(Effect.INVOICE, 1)).toList());
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class),
+                eq(CompletionTask.class))).thenAnswer(invocation -> due.poll());
+        when(mongoTemplate.count(any(Query.class), eq(CompletionTask.class))).thenReturn(7L);
+
+        assertEquals(6, outbox.drain(6));
+        assertEquals(4, due.size());
+        assertEquals(4, outbox.drain(100));
+
+        verify(effects, times(10)).run(any());
+        assertEquals(7.0, meterRegistry.get("completion.outbox.backlog").gauge().value());
+    }
+
+    @Test
+    void drain_ShouldSendOneWorkloadAndOneNotificationCall_ForABulkCompletion() {
+        CompletionTechnicianClient technicianClient = mock(CompletionTechnicianClient.class);
+        CompletionNotificationClient notificationClient = mock(CompletionNotificationClient.class);
+        CompletionOutbox bulkOutbox = new CompletionOutbox(mongoTemplate,
+                new CompletionEffects(technicianClient, notificationClient, mock(BillingService.class)),
+                meterRegistry, 1, 3, 60_000, 1_000, 200);
+        List<CompletionTask> workload = List.of(
+                task("req-1", Effect.WORKLOAD, "tech-1"),
+                task("req-2", Effect.WORKLOAD, "tech-1"),
+                task("req-3", Effect.WORKLOAD, "tech-2"));
+        List<CompletionTask> notifications = List.of(
+                task("req-1", Effect.NOTIFICATION, "tech-1"),
+                task("req-2", Effect.NOTIFICATION, "tech-1"),
+                task("req-3", Effect.NOTIFICATION, "tech-2"));
+        Queue<CompletionTask> leaders = new ConcurrentLinkedQueue<>(List.of(workload.get(0), notifications.get(0)));
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class),
+                eq(CompletionTask.class))).thenAnswer(invocation -> leaders.poll());
+        // Each batch: the other due tasks of the effect, then the batch as claimed
+        when(mongoTemplate.find(any(Query.class), eq(CompletionTask.class)))
+                .thenReturn(workload.subList(1, 3), workload, notifications.subList(1, 3), notifications);
+
+        try {
+            assertEquals(6, bulkOutbox.drain(500));
+        } finally {
+            bulkOutbox.shutdown();
+        }
+
+        ArgumentCaptor<String> key = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<WorkloadAdjustmentRequest> adjustment = ArgumentCaptor.forClass(WorkloadAdjustmentRequest.class);
+        verify(technicianClient, times(1)).adjustWorkloads(key.capture(), adjustment.capture());
+        assertEquals(Map.of("tech-1", -2, "tech-2", -1), adjustment.getValue().getDeltas());
+        ArgumentCaptor<NotificationBatchRequest> batch = ArgumentCaptor.forClass(NotificationBatchRequest.class);
+        verify(notificationClient, times(1)).sendNotifications(batch.capture());
+        assertEquals(3, batch.getValue().getNotifications().size());
+        verify(notificationClient, never()).sendNotification(any());
+
+        // The batch key is the idempotency key and is stamped on every member
+        ArgumentCaptor<Update> updates = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate, times(4)).updateMulti(any(Query.class), updates.capture(), eq(CompletionTask.class));
+        assertEquals(key.getValue(), ((Document) updates.getAllValues().get(0).getUpdateObject().get("$set")).get("batchKey"));
+        assertEquals(6.0, meterRegistry.get("completion.effect.runs").tag("result", "done").counter().count());
+    }
+
+    @Test
+    void processBatch_ShouldResendTheSameBatch_WhenARetriedTaskIsClaimed() {
+        CompletionTask leader = task("req-1", Effect.WORKLOAD, "tech-1");
+        leader.setBatchKey("batch-1");
+        leader.setAttempts(2);
+        when(mongoTemplate.find(any(Query.class), eq(CompletionTask.class))).thenReturn(List.of(leader));
+        doThrow(new ExternalServiceException("technician-service unavailable")).when(effects).runBatch(any(), anyList());
+
+        outbox.processBatch(leader);
+
+        verify(effects).runBatch(eq("batch-1"), eq(List.of(leader)));
+        ArgumentCaptor<Query> queries = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> updates = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate, times(2)).updateMulti(queries.capture(), updates.capture(), eq(CompletionTask.class));
+        // Members are re-claimed by batch key rather than regrouped with other due tasks
+        assertEquals("batch-1", queries.getAllValues().get(0).getQueryObject().get("batchKey"));
+        Document retry = (Document) updates.getAllValues().get(1).getUpdateObject().get("$set");
+        assertNull(retry.get("status"));
+        assertEquals("technician-service unavailable", retry.get("lastError"));
+        verify(mongoTemplate, never()).find(argThat(query -> query.getLimit() > 0), eq(CompletionTask.class));
+    }
+
+    @Test
+    @Tag("benchmark")
+    void completionLatency_BenchmarkInlineAgainstOutbox() throws InterruptedException {
+        // Simulated downstream latency of one side effect
+        int effectMillis = 40;
+        int completions = 20;
+        doAnswer(invocation -> {
+            Thread.sleep(effectMillis);
+            return null;
+        }).when(effects).run(any());
+        doAnswer(invocation -> {
+            Thread.sleep(effectMillis);
+            return null;
+        }).when(effects).runBatch(any(), anyList());
+
+        long started = System.nanoTime();
+        for (int i = 0; i < completions; i++) {
+            for (Effect effect : Effect.values()) {
+                effects.run(task(effect, 1));
+            }
+        }
+        long inlineMillis = (System.nanoTime() - started) / 1_000_000;
+
+        // With the outbox the request thread stops after the enqueue; the
+        // effects run on the pool
+        Queue<CompletionTask> due = new ConcurrentLinkedQueue<>();
+        IntStream.range(0, completions).forEach(i -> {
+            for (Effect effect : Effect.values()) {
+                due.add(task(effect, 1));
+            }
+        });
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class),
+                eq(CompletionTask.class))).thenAnswer(invocation -> due.poll());
+        started = System.nanoTime();
+        int processed = outbox.drain(Integer.MAX_VALUE);
+        long drainMillis = (System.nanoTime() - started) / 1_000_000;
+
+        assertEquals(completions * Effect.values().length, processed);
+        assertTrue(drainMillis < inlineMillis, "outbox drain " + drainMillis + " ms vs inline " + inlineMillis + " ms");
+    }
+
+    private ServiceRequest request(String technicianId) {
+        return ServiceRequest.builder()
+                .id("req-1")
+                .requestNumber("REQ-000000001")
+                .customerId("customer-1")
+                .technicianId(technicianId)
+                .build();
+    }
+
+    private CompletionTask task(Effect effect, int attempts) {
+        return CompletionTask.builder()
+                .id(CompletionTask.key("req-1", effect))
+                .requestId("req-1")
+                .technicianId("tech-1")
+                .effect(effect)
+                .attempts(attempts)
+                .claim("claim-1")
+                .createdAt(Instant.now().minusMillis(250))
+                .build();
+    }
+
+    private CompletionTask task(String requestId, Effect effect, String technicianId) {
+        return CompletionTask.builder()
+                .id(CompletionTask.key(requestId, effect))
+                .requestId(requestId)
+                .requestNumber("REQ-" + requestId)
+                .customerId("customer-" + requestId)
+                .technicianId(technicianId)
+                .effect(effect)
+                .attempts(1)
+                .claim("claim-" + requestId)
+                .createdAt(Instant.now().minusMillis(250))
+                .build();
+    }
+
+    private BulkOperationException bulkFailure(int code, String message) {
+        MongoBulkWriteException source = new MongoBulkWriteException(
+                BulkWriteResult.acknowledged(2, 0, 0, 0, List.of(), List.of()),
+                List.of(new BulkWriteError(code, message, new BsonDocument(), 0)),
+                null, new ServerAddress(), Set.of());
+        return new BulkOperationException("bulk write failed", source);
+    }
+}
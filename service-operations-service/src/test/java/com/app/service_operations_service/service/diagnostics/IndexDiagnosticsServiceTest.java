@@ -0,0 +1,87 @@
+package com.app.service_operations_service.service.diagnostics;
+
+import com.app.service_operations_service.dto.diagnostics.IndexUsageReport;
+import com.app.service_operations_service.dto.diagnostics.IndexUsageReport.QueryPlan;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class IndexDiagnosticsServiceTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    private IndexDiagnosticsService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new IndexDiagnosticsService(mongoTemplate);
+        when(mongoTemplate.getCollectionName(any())).thenAnswer(inv -> ((Class<?>) inv.getArgument(0)).getSimpleName());
+    }
+
+    @Test
+    void explainRepositoryQueries_ShouldReportIndexScans() {
+        when(mongoTemplate.executeCommand(any(Document.class))).thenReturn(explain(
+                new Document("stage", "FETCH").append("inputStage",
+                        new Document("stage", "IXSCAN").append("indexName", "status_createdAt_id")), 3, 3, 3));
+
+        IndexUsageReport report = service.explainRepositoryQueries();
+
+        assertEquals(0, report.getCollectionScans());
+        assertEquals(service.probes().size(), report.getQueries().size());
+        QueryPlan plan = report.getQueries().get(0);
+        assertEquals("IXSCAN", plan.getStage());
+        assertEquals("status_createdAt_id", plan.getIndexName());
+        assertEquals(3, plan.getKeysExamined());
+    }
+
+    @Test
+    void explainRepositoryQueries_ShouldFlagCollectionScansInSlotBasedPlans() {
+        Document collscan = explain(new Document("queryPlan",
+                new Document("stage", "SORT").append("inputStage", new Document("stage", "COLLSCAN"))), 0, 5000, 20);
+        Document ixscan = explain(new Document("stage", "IXSCAN").append("indexName", "requestNumber_unique"), 1, 1, 1);
+        when(mongoTemplate.executeCommand(any(Document.class))).thenReturn(collscan, ixscan);
+
+        IndexUsageReport report = service.explainRepositoryQueries();
+
+        assertEquals(1, report.getCollectionScans());
+        QueryPlan first = report.getQueries().get(0);
+        assertTrue(first.isCollectionScan());
+        assertEquals("COLLSCAN", first.getStage());
+        assertEquals(5000, first.getDocsExamined());
+        assertEquals("{\"createdAt\": -1, \"_id\": -1}", first.getSort());
+        assertFalse(report.getQueries().get(1).isCollectionScan());
+    }
+
+    @Test
+    void explainRepositoryQueries_ShouldRecordExplainFailures() {
+        when(mongoTemplate.executeCommand(any(Document.class)))
+                .thenThrow(new DataAccessResourceFailureException("no primary"));
+
+        IndexUsageReport report = service.explainRepositoryQueries();
+
+        assertTrue(report.getQueries().stream().allMatch(p -> "no primary".equals(p.getError())));
+        assertEquals(0, report.getCollectionScans());
+    }
+
+    private static Document explain(Document winningPlan, long keys, long docs, long returned) {
+        return new Document("queryPlanner", new Document("winningPlan", winningPlan))
+                .append("executionStats", new Document("totalKeysExamined", keys)
+                        .append("totalDocsExamined", docs)
+                        .append("nReturned", (int) returned))
+                .append("ok", 1.0)
+                .append("command", List.of());
+    }
+}
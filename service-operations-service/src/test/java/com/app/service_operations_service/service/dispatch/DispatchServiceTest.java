@@ -0,0 +1,218 @@
+package com.app.service_operations_service.service.dispatch;
+
+import com.app.service_operations_service.client.NotificationClient;
+import com.app.service_operations_service.client.TechnicianClient;
+import com.app.service_operations_service.client.dto.NotificationRequest;
+import com.app.service_operations_service.client.dto.TechnicianProfileResponse;
+import com.app.service_operations_service.dto.PagedResponse;
+import com.app.service_operations_service.dto.dispatch.DispatchRunResponse;
+import com.app.service_operations_service.exception.ExternalServiceException;
+import com.app.service_operations_service.model.ServiceCategory;
+import com.app.service_operations_service.model.ServiceItem;
+import com.app.service_operations_service.model.ServiceRequest;
+import com.app.service_operations_service.repository.ServiceCategoryRepository;
+import com.app.service_operations_service.repository.ServiceItemRepository;
+import com.mongodb.client.result.UpdateResult;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationResults;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class DispatchServiceTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private ServiceItemRepository itemRepository;
+
+    @Mock
+    private ServiceCategoryRepository categoryRepository;
+
+    @Mock
+    private TechnicianClient technicianClient;
+
+    @Mock
+    private NotificationClient notificationClient;
+
+    private SimpleMeterRegistry meterRegistry;
+    private DispatchService dispatchService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        dispatchService = new DispatchService(mongoTemplate, itemRepository, categoryRepository,
+                technicianClient, notificationClient, meterRegistry, 200, 60_000);
+
+        // Grant the lease to whoever asks for it
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class),
+                eq(Document.class), eq(DispatchService.LEASE_COLLECTION)))
+                .thenAnswer(inv -> {
+                    Update update = inv.getArgument(1);
+                    return new Document("owner", update.getUpdateObject().get("$set", Document.class).get("owner"));
+                });
+
+        ServiceItem item = ServiceItem.builder().id("svc-1").categoryId("cat-1").name("Pipe Repair").build();
+        when(itemRepository.findAllById(any())).thenReturn(List.of(item));
+        when(categoryRepository.findAllById(any())).thenReturn(List.of(
+                ServiceCategory.builder().id("cat-1").name("Plumbing").build()));
+    }
+
+    @Test
+    void runBatch_ShouldAssignWithinCapacityAndNotify() {
+        givenPending(request("r1", "URGENT"), request("r2", "LOW"));
+        // one slot left: max 3, current 1, one ASSIGNED request pending acceptance
+        givenTechnicians(technician("tech-1", "user-1", 3, 1));
+        givenAssignedCounts(new Document("_id", "tech-1").append("count", 1));
+        when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(ServiceRequest.class)))
+                .thenReturn(UpdateResult.acknowledged(1, 1L, null));
+
+        DispatchRunResponse response = dispatchService.runBatch();
+
+        assertTrue(response.isExecuted());
+        assertEquals(2, response.getBatchSize());
+        assertEquals(1, response.getAssigned());
+        assertEquals(1, response.getUnmatched());
+
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).updateFirst(query.capture(), any(Update.class), eq(ServiceRequest.class));
+        assertEquals("r1", query.getValue().getQueryObject().get("_id"));
+
+        ArgumentCaptor<NotificationRequest> notification = ArgumentCaptor.forClass(NotificationRequest.class);
+        verify(notificationClient).sendNotification(notification.capture());
+        assertEquals("user-1", notification.getValue().getUserId());
+        assertEquals(1.0, meterRegistry.get("dispatch.assignments").tag("result", "assigned").counter().count());
+    }
+
+    @Test
+    void runBatch_ShouldCountConflict_WhenRequestChangedMeanwhile() {
+        givenPending(request("r1", "HIGH"));
+        givenTechnicians(technician("tech-1", "user-1", 5, 0));
+        givenAssignedCounts();
+        when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(ServiceRequest.class)))
+                .thenReturn(UpdateResult.acknowledged(0, 0L, null));
+
+        DispatchRunResponse response = dispatchService.runBatch();
+
+        assertEquals(0, response.getAssigned());
+        assertEquals(1, response.getConflicts());
+        verifyNoInteractions(notificationClient);
+    }
+
+    @Test
+    void runBatch_ShouldBackOut_WhenTechnicianFilledUpSinceTheSnapshot() {
+        givenPending(request("r1", "HIGH"));
+        givenTechnicians(technician("tech-1", "user-1", 2, 1));
+        givenAssignedCounts();
+        when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(ServiceRequest.class)))
+                .thenReturn(UpdateResult.acknowledged(1, 1L, null));
+        // a manual assignment landed after the snapshot: two assigned with ours
+        when(mongoTemplate.count(any(Query.class), eq(ServiceRequest.class))).thenReturn(2L);
+
+        DispatchRunResponse response = dispatchService.runBatch();
+
+        assertEquals(0, response.getAssigned());
+        assertEquals(1, response.getConflicts());
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate, times(2)).updateFirst(query.capture(), update.capture(), eq(ServiceRequest.class));
+        assertEquals("tech-1", query.getAllValues().get(1).getQueryObject().get("technicianId"));
+        Document undo = update.getAllValues().get(1).getUpdateObject();
+        assertTrue(undo.get("$unset", Document.class).containsKey("technicianId"));
+        verifyNoInteractions(notificationClient);
+    }
+
+    @Test
+    void runBatch_ShouldSkip_WhenLeaseHeldElsewhere() {
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class),
+                eq(Document.class), eq(DispatchService.LEASE_COLLECTION)))
+                .thenThrow(new DuplicateKeyException("lease"));
+
+        DispatchRunResponse response = dispatchService.runBatch();
+
+        assertFalse(response.isExecuted());
+        verify(mongoTemplate, never()).aggregate(any(Aggregation.class), eq(ServiceRequest.class), eq(ServiceRequest.class));
+    }
+
+    @Test
+    void runBatch_ShouldAbortAndReleaseLease_WhenTechnicianServiceDown() {
+        givenPending(request("r1", "HIGH"));
+        when(technicianClient.getAvailable(anyInt(), anyInt())).thenReturn(null);
+
+        assertThrows(ExternalServiceException.class, () -> dispatchService.runBatch());
+        verify(mongoTemplate, never()).updateFirst(any(Query.class), any(Update.class), eq(ServiceRequest.class));
+        verify(mongoTemplate).remove(any(Query.class), eq(DispatchService.LEASE_COLLECTION));
+    }
+
+    @Test
+    void toTechnician_ShouldFoldSpecializationIntoSkills() {
+        TechnicianProfileResponse profile = technician("tech-1", "user-1", 4, 1);
+        profile.setSpecialization("Electrical");
+
+        DispatchSolver.Technician tech = DispatchService.toTechnician(profile, 2);
+
+        assertEquals(List.of("Plumbing", "Electrical"), tech.skills());
+        assertEquals(3, tech.load());
+        assertEquals(1, tech.capacity());
+    }
+
+    private void givenPending(ServiceRequest... requests) {
+        when(mongoTemplate.aggregate(any(Aggregation.class), eq(ServiceRequest.class), eq(ServiceRequest.class)))
+                .thenReturn(new AggregationResults<>(List.of(requests), new Document()));
+    }
+
+    private void givenAssignedCounts(Document... counts) {
+        when(mongoTemplate.aggregate(any(Aggregation.class), eq(ServiceRequest.class), eq(Document.class)))
+                .thenReturn(new AggregationResults<>(List.of(counts), new Document()));
+    }
+
+    private void givenTechnicians(TechnicianProfileResponse... technicians) {
+        when(technicianClient.getAvailable(0, 100))
+                .thenReturn(new PagedResponse<>(List.of(technicians), 0, 100, technicians.length, 1, true));
+    }
+
+    private ServiceRequest request(String id, String priority) {
+        return ServiceRequest.builder()
+                .id(id)
+                .requestNumber("REQ-" + id)
+                .serviceId("svc-1")
+                .priority(priority)
+                .address("Pune")
+                .createdAt(Instant.now().minusSeconds(60))
+                .build();
+    }
+
+    private TechnicianProfileResponse technician(String id, String userId, int max, int current) {
+        TechnicianProfileResponse t = new TechnicianProfileResponse();
+        t.setId(id);
+        t.setUserId(userId);
+        t.setSkills(List.of("Plumbing"));
+        t.setLocation("Pune");
+        t.setAvailable(true);
+        t.setMaxWorkload(max);
+        t.setCurrentWorkload(current);
+        return t;
+    }
+}
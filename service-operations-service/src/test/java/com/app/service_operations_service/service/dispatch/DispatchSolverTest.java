@@ -0,0 +1,124 @@
+package com.app.service_operations_service.service.dispatch;
+
+import com.app.service_operations_service.service.dispatch.DispatchSolver.Assignment;
+import com.app.service_operations_service.service.dispatch.DispatchSolver.Job;
+import com.app.service_operations_service.service.dispatch.DispatchSolver.Result;
+import com.app.service_operations_service.service.dispatch.DispatchSolver.Technician;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DispatchSolverTest {
+
+    private final DispatchSolver solver = new DispatchSolver();
+    private final Instant now = Instant.parse("2026-01-10T09:00:00Z");
+
+    @Test
+    void solve_ShouldServeUrgentBeforeOlderLowPriority_WhenCapacityIsShort() {
+        List<Job> jobs = List.of(
+                job("low", "LOW", now.minus(2, ChronoUnit.DAYS), "Plumbing"),
+                job("urgent", "URGENT", now, "Plumbing"));
+        List<Technician> techs = List.of(tech("t1", List.of("plumbing"), "Pune", 5, 4));
+
+        Result result = solver.solve(jobs, techs);
+
+        assertEquals(List.of(new Assignment("urgent", "t1")), result.assignments());
+        assertEquals(List.of("low"), result.unmatched());
+    }
+
+    @Test
+    void solve_ShouldMatchSkillsAndPreferLocalLessLoadedTechnician() {
+        Job job = new Job("r1", "HIGH", now, now, "12 MG Road, Pune", List.of("AC Repair", "Appliances"));
+        List<Technician> techs = List.of(
+                tech("electrician", List.of("Wiring"), "Pune", 5, 0),
+                tech("busy-local", List.of("AC repair"), "Pune", 5, 3),
+                tech("idle-remote", List.of("AC repair"), "Mumbai", 5, 0),
+                tech("idle-local", List.of("Appliance servicing"), "Pune", 5, 1));
+
+        Result result = solver.solve(List.of(job), techs);
+
+        assertEquals("idle-local", result.assignments().get(0).technicianId());
+    }
+
+    @Test
+    void solve_ShouldLeaveJobUnmatched_WhenNoTechnicianHasSkill() {
+        Result result = solver.solve(
+                List.of(job("r1", "MEDIUM", now, "Pest Control")),
+                List.of(tech("t1", List.of("Plumbing"), "Pune", 5, 0)));
+
+        assertTrue(result.assignments().isEmpty());
+        assertEquals(List.of("r1"), result.unmatched());
+    }
+
+    @Test
+    void solve_ShouldMatchAnyTechnician_WhenServiceIsUnknown() {
+        Result result = solver.solve(
+                List.of(new Job("r1", "LOW", now, now, null, List.of())),
+                List.of(tech("t1", List.of("Plumbing"), null, 1, 0)));
+
+        assertEquals(1, result.assignments().size());
+    }
+
+    @Test
+    void solve_ShouldOrderByPreferredDateWithinPriority() {
+        List<Job> jobs = List.of(
+                job("later", "HIGH", now.plus(1, ChronoUnit.DAYS), "Plumbing"),
+                job("sooner", "HIGH", now, "Plumbing"));
+
+        Result result = solver.solve(jobs, List.of(tech("t1", List.of("Plumbing"), "Pune", 1, 0)));
+
+        assertEquals("sooner", result.assignments().get(0).requestId());
+    }
+
+    // A large random batch must respect every technician's capacity
+    @Test
+    void simulator_ShouldNeverExceedCapacity() {
+        Random random = new Random(42);
+        String[] skills = {"Plumbing", "Electrical", "Carpentry", "Painting", "Cleaning", "AC Repair"};
+        String[] cities = {"Pune", "Mumbai", "Delhi", "Chennai", "Hyderabad"};
+        String[] priorities = {"LOW", "MEDIUM", "HIGH", "URGENT"};
+
+        List<Technician> techs = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            int max = 3 + random.nextInt(5);
+            int load = random.nextInt(max + 1);
+            techs.add(new Technician("t" + i, "u" + i,
+                    List.of(skills[random.nextInt(skills.length)], skills[random.nextInt(skills.length)]),
+                    cities[random.nextInt(cities.length)], max, load, max - load));
+        }
+        List<Job> jobs = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            jobs.add(new Job("r" + i, priorities[random.nextInt(priorities.length)],
+                    now.plus(random.nextInt(72), ChronoUnit.HOURS), now,
+                    "Street " + i + ", " + cities[random.nextInt(cities.length)],
+                    List.of(skills[random.nextInt(skills.length)])));
+        }
+
+        Result result = solver.solve(jobs, techs);
+
+        Map<String, Integer> given = new HashMap<>();
+        result.assignments().forEach(a -> given.merge(a.technicianId(), 1, Integer::sum));
+        for (Technician t : techs) {
+            assertTrue(given.getOrDefault(t.id(), 0) <= t.capacity(), "capacity exceeded for " + t.id());
+        }
+        int totalCapacity = techs.stream().mapToInt(Technician::capacity).sum();
+        assertEquals(jobs.size(), result.assignments().size() + result.unmatched().size());
+        assertTrue(result.assignments().size() <= totalCapacity);
+    }
+
+    private Job job(String id, String priority, Instant preferredDate, String skill) {
+        return new Job(id, priority, preferredDate, now, "Pune", List.of(skill));
+    }
+
+    private Technician tech(String id, List<String> skills, String location, int max, int load) {
+        return new Technician(id, "user-" + id, skills, location, max, load, max - load);
+    }
+}
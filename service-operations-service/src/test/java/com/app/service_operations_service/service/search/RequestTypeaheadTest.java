@@ -0,0 +1,179 @@
+package com.app.service_operations_service.service.search;
+
+import com.app.service_operations_service.dto.requests.RequestSuggestion;
+import com.app.service_operations_service.exception.BadRequestException;
+import com.app.service_operations_service.model.ServiceRequest;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RequestTypeaheadTest {
+
+    private static final Instant T0 = Instant.parse("2024-05-01T10:00:00Z");
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    private RequestTypeahead typeahead;
+
+    @BeforeEach
+    void setUp() {
+        typeahead = new RequestTypeahead(mongoTemplate, 100);
+    }
+
+    @Test
+    void suggest_ShouldMatchNumberAndAddressFragmentsNewestFirst() {
+        load(request(1, "12 Main St.", 0), request(2, "7 Lake View Road", 1), request(3, "44 Mainland Ave", 2));
+
+        assertEquals(List.of("REQ-000000003", "REQ-000000001"), numbers(typeahead.suggest("main", 10)));
+        assertEquals(List.of("REQ-000000001"), numbers(typeahead.suggest("mainst", 10)));
+        assertEquals(List.of("REQ-000000002"), numbers(typeahead.suggest("req-000000002", 10)));
+        assertEquals(List.of("REQ-000000003"), numbers(typeahead.suggest("00003", 10)));
+        assertTrue(typeahead.suggest("harbour", 10).isEmpty());
+    }
+
+    @Test
+    void suggest_ShouldScanNewestFirst_WhenQueryIsShorterThanAGram() {
+        load(request(1, "Lake Road", 0), request(2, "Lake View", 1), request(3, "Hill Top", 2));
+
+        assertEquals(List.of("REQ-000000002", "REQ-000000001"), numbers(typeahead.suggest("la", 10)));
+        assertEquals(List.of("REQ-000000002"), numbers(typeahead.suggest("La", 1)));
+    }
+
+    @Test
+    void suggest_ShouldKeepOnlyTheNewestLimitMatches() {
+        List<ServiceRequest> requests = new ArrayList<>();
+        for (int i = 1; i <= 30; i++) {
+            requests.add(request(i, i + " Main St", i));
+        }
+        load(requests.toArray(ServiceRequest[]::new));
+
+        assertEquals(List.of("REQ-000000030", "REQ-000000029", "REQ-000000028"),
+                numbers(typeahead.suggest("main", 3)));
+        assertThrows(BadRequestException.class, () -> typeahead.suggest("main", RequestTypeahead.MAX_LIMIT + 1));
+    }
+
+    @Test
+    void refresh_ShouldEvictOldestBeyondCapacity() {
+        RequestTypeahead small = new RequestTypeahead(mongoTemplate, 2);
+        when(mongoTemplate.find(any(Query.class), eq(ServiceRequest.class))).thenReturn(
+                List.of(request(1, "Oak Street", 0), request(2, "Oak Lane", 1)),
+                List.of(request(3, "Oak Park", 2)));
+
+        small.refresh();
+        small.refresh();
+
+        assertEquals(2, small.size());
+        assertEquals(List.of("REQ-000000003", "REQ-000000002"), numbers(small.suggest("oak", 10)));
+    }
+
+    @Test
+    void refresh_ShouldReadOverlapAfterWatermarkAndSkipKnownRequests() {
+        ServiceRequest first = request(1, "Oak Street", 0);
+        when(mongoTemplate.find(any(Query.class), eq(ServiceRequest.class))).thenReturn(
+                List.of(first),
+                List.of(first, request(2, "Oak Lane", 1)));
+
+        assertEquals(1, typeahead.refresh());
+        assertEquals(1, typeahead.refresh());
+
+        ArgumentCaptor<Query> queries = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate, times(2)).find(queries.capture(), eq(ServiceRequest.class));
+        assertEquals(100, queries.getAllValues().get(0).getLimit());
+        assertEquals(new Document("createdAt", new Document("$gte", T0.minus(RequestTypeahead.REFRESH_OVERLAP))),
+                queries.getAllValues().get(1).getQueryObject());
+        assertEquals(2, typeahead.size());
+    }
+
+    // Before/after for the suggest path: a substring scan over every held
+    // request against the trigram lookup, on a full index of 50k requests
+    @Test
+    @Tag("benchmark")
+    void suggest_ShouldAnswerFromPostingLists_Benchmark() {
+        int held = 50_000;
+        RequestTypeahead full = new RequestTypeahead(mongoTemplate, held);
+        String[] streets = {"Main", "Lake View", "Hill Top", "Market", "Station", "Church", "Park", "Temple",
+                "Harbour", "Mill", "Bridge", "Garden", "River", "Forest", "Castle", "Meadow"};
+        Random random = new Random(7);
+        List<ServiceRequest> requests = new ArrayList<>(held);
+        for (int i = 1; i <= held; i++) {
+            requests.add(request(i, random.nextInt(999) + " " + streets[random.nextInt(streets.length)]
+                    + " Road, Block " + random.nextInt(60), i));
+        }
+        when(mongoTemplate.find(any(Query.class), eq(ServiceRequest.class))).thenReturn(requests);
+        full.refresh();
+        List<String> needles = Arrays.asList("req-00004", "000031", "harbour", "lake view", "12 mill",
+                "block 17", "temple road", "req-000049999", "castle", "meadow road block 5");
+
+        long started = System.nanoTime();
+        int scanned = 0;
+        for (int round = 0; round < 20; round++) {
+            for (String needle : needles) {
+                String normalized = RequestTypeahead.normalize(needle);
+                int found = 0;
+                for (int i = requests.size() - 1; i >= 0 && found < 10; i--) {
+                    ServiceRequest r = requests.get(i);
+                    if (RequestTypeahead.normalize(r.getRequestNumber()).contains(normalized)
+                            || RequestTypeahead.normalize(r.getAddress()).contains(normalized)) {
+                        found++;
+                    }
+                }
+                scanned++;
+            }
+        }
+        double scanMs = (System.nanoTime() - started) / 1_000_000.0 / scanned;
+
+        long[] samples = new long[needles.size() * 100];
+        int n = 0;
+        for (int round = 0; round < 100; round++) {
+            for (String needle : needles) {
+                long t = System.nanoTime();
+                assertFalse(full.suggest(needle, 10).isEmpty(), needle);
+                samples[n++] = System.nanoTime() - t;
+            }
+        }
+        Arrays.sort(samples);
+        double medianMs = samples[samples.length / 2] / 1_000_000.0;
+        double p99Ms = samples[(int) (samples.length * 0.99)] / 1_000_000.0;
+
+        assertTrue(medianMs < 10, "median " + medianMs + " ms");
+        assertTrue(p99Ms < scanMs, "trigram p99 " + p99Ms + " ms vs scan " + scanMs + " ms");
+    }
+
+    private void load(ServiceRequest... requests) {
+        when(mongoTemplate.find(any(Query.class), eq(ServiceRequest.class))).thenReturn(List.of(requests));
+        typeahead.refresh();
+    }
+
+    private static List<String> numbers(List<RequestSuggestion> suggestions) {
+        return suggestions.stream().map(RequestSuggestion::getRequestNumber).toList();
+    }
+
+    private static ServiceRequest request(int number, String address, int secondsAfterT0) {
+        return ServiceRequest.builder()
+                .id(String.format("id-%06d", number))
+                .requestNumber(String.format("REQ-%09d", number))
+                .address(address)
+                .createdAt(T0.plusSeconds(secondsAfterT0))
+                .build();
+    }
+}
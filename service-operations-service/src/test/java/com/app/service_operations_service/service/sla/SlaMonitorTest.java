@@ -0,0 +1,208 @@
+package com.app.service_operations_service.service.sla;
+
+import com.app.service_operations_service.client.NotificationClient;
+import com.app.service_operations_service.client.dto.NotificationBatchRequest;
+import com.app.service_operations_service.client.dto.TechnicianProfileResponse;
+import com.app.service_operations_service.model.ServiceItem;
+import com.app.service_operations_service.model.ServiceRequest;
+import com.app.service_operations_service.model.enums.RequestStatus;
+import com.app.service_operations_service.repository.ServiceItemRepository;
+import com.app.service_operations_service.service.TechnicianDirectory;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SlaMonitorTest {
+
+    private static final Instant CREATED = Instant.parse("2026-01-05T10:00:00Z");
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private ServiceItemRepository serviceItemRepository;
+
+    @Mock
+    private NotificationClient notificationClient;
+
+    @Mock
+    private TechnicianDirectory technicianDirectory;
+
+    private SimpleMeterRegistry meterRegistry;
+    private SlaMonitor monitor;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        monitor = new SlaMonitor(mongoTemplate, serviceItemRepository, notificationClient, technicianDirectory,
+                meterRegistry, true, 1000);
+    }
+
+    @Test
+    void deadlineOf_ShouldStartFromTheLaterOfCreationAndPreferredDate() {
+        ServiceRequest request = request("req-1", RequestStatus.REQUESTED, null);
+
+        assertEquals(CREATED.plus(Duration.ofHours(24)), SlaMonitor.deadlineOf(request, 24));
+        request.setPreferredDate(CREATED.plus(Duration.ofDays(3)));
+        assertEquals(CREATED.plus(Duration.ofDays(4)), SlaMonitor.deadlineOf(request, 24));
+        assertNull(SlaMonitor.deadlineOf(request, null));
+        assertNull(SlaMonitor.deadlineOf(request, 0));
+    }
+
+    @Test
+    void stamp_ShouldCopySlaHoursFromTheCatalogItem() {
+        when(serviceItemRepository.findById("service-1"))
+                .thenReturn(Optional.of(ServiceItem.builder().id("service-1").slaHours(48).build()));
+        ServiceRequest request = request(null, RequestStatus.REQUESTED, null);
+
+        monitor.stamp(request);
+
+        assertEquals(48, request.getSlaHours());
+        assertEquals(CREATED.plus(Duration.ofHours(48)), request.getSlaDeadline());
+        verifyNoInteractions(mongoTemplate);
+    }
+
+    @Test
+    void track_ShouldWriteOnlyAMovedDeadline_AndArmIt() {
+        ServiceRequest unchanged = request("req-1", RequestStatus.ASSIGNED, "tech-1");
+        unchanged.setSlaHours(24);
+        unchanged.setSlaDeadline(CREATED.plus(Duration.ofHours(24)));
+
+        monitor.track(unchanged);
+
+        verifyNoInteractions(mongoTemplate, serviceItemRepository);
+        assertEquals(1, monitor.pending());
+
+        ServiceRequest rescheduled = request("req-2", RequestStatus.REQUESTED, null);
+        rescheduled.setSlaHours(24);
+        rescheduled.setSlaDeadline(CREATED.plus(Duration.ofHours(24)));
+        rescheduled.setSlaBreachedAt(CREATED.plus(Duration.ofHours(25)));
+        rescheduled.setPreferredDate(CREATED.plus(Duration.ofDays(2)));
+
+        monitor.track(rescheduled);
+
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate).updateFirst(query.capture(), update.capture(), eq(ServiceRequest.class));
+        assertEquals("req-2", query.getValue().getQueryObject().get("_id"));
+        Document set = update.getValue().getUpdateObject().get("$set", Document.class);
+        assertEquals(CREATED.plus(Duration.ofDays(3)), set.get("slaDeadline"));
+        assertTrue(update.getValue().getUpdateObject().get("$unset", Document.class).containsKey("slaBreachedAt"));
+        assertNull(rescheduled.getSlaBreachedAt());
+        assertEquals(2, monitor.pending());
+    }
+
+    @Test
+    void arm_ShouldSkipFinishedRequestsAndDisabledMonitors() {
+        ServiceRequest completed = request("req-1", RequestStatus.COMPLETED, null);
+        completed.setSlaDeadline(CREATED);
+        monitor.arm(completed);
+        assertEquals(0, monitor.pending());
+
+        SlaMonitor disabled = new SlaMonitor(mongoTemplate, serviceItemRepository, notificationClient,
+                technicianDirectory, new SimpleMeterRegistry(), false, 1000);
+        ServiceRequest open = request("req-2", RequestStatus.REQUESTED, null);
+        open.setSlaDeadline(CREATED);
+        disabled.arm(open);
+        assertEquals(0, disabled.pending());
+    }
+
+    @Test
+    void tick_ShouldRecordEachBreachOnce_AndNotifyInOneBatch() {
+        ServiceRequest overdue = request("req-1", RequestStatus.ASSIGNED, "tech-1");
+        overdue.setSlaDeadline(Instant.now().minusSeconds(30));
+        ServiceRequest finished = request("req-2", RequestStatus.REQUESTED, null);
+        finished.setSlaDeadline(Instant.now().minusSeconds(30));
+        monitor.arm(overdue);
+        monitor.arm(finished);
+        // req-2 was completed since it was armed, so the guarded update misses
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class),
+                eq(ServiceRequest.class))).thenReturn(overdue, (ServiceRequest) null);
+        when(technicianDirectory.getTechnicians(Set.of("tech-1"))).thenReturn(Map.of("tech-1", technician()));
+
+        assertEquals(1, monitor.tick());
+
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate, times(2)).findAndModify(query.capture(), any(Update.class),
+                any(FindAndModifyOptions.class), eq(ServiceRequest.class));
+        Document guard = query.getAllValues().get(0).getQueryObject();
+        assertTrue(guard.containsKey("status"));
+        assertTrue(guard.containsKey("slaBreachedAt"));
+        assertTrue(guard.containsKey("slaDeadline"));
+
+        ArgumentCaptor<NotificationBatchRequest> batch = ArgumentCaptor.forClass(NotificationBatchRequest.class);
+        verify(notificationClient).sendNotifications(batch.capture());
+        assertEquals(List.of("customer-1", "user-7"),
+                batch.getValue().getNotifications().stream().map(n -> n.getUserId()).toList());
+        assertEquals(1.0, meterRegistry.counter("sla.breaches", "status", "assigned").count());
+        assertEquals(0, monitor.pending());
+        assertEquals(0, monitor.tick());
+    }
+
+    @Test
+    void rebuild_ShouldArmOpenDeadlinesFromTheIndex_AndSweepOnlyTheWindowSinceThen() {
+        ServiceRequest open = request("req-1", RequestStatus.REQUESTED, null);
+        open.setSlaDeadline(CREATED.plus(Duration.ofDays(365 * 5)));
+        when(mongoTemplate.stream(any(Query.class), eq(ServiceRequest.class))).thenReturn(Stream.of(open));
+
+        assertEquals(0, monitor.sweep());
+        assertEquals(1, monitor.rebuild());
+        assertEquals(1, monitor.pending());
+
+        ArgumentCaptor<Query> load = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).stream(load.capture(), eq(ServiceRequest.class));
+        assertEquals(RequestStatus.open(), Set.copyOf(
+                load.getValue().getQueryObject().get("status", Document.class).get("$in", Collection.class)));
+
+        when(mongoTemplate.find(any(Query.class), eq(ServiceRequest.class))).thenReturn(List.of());
+        monitor.sweep();
+        ArgumentCaptor<Query> sweep = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).find(sweep.capture(), eq(ServiceRequest.class));
+        Document window = sweep.getValue().getQueryObject().get("slaDeadline", Document.class);
+        assertTrue(window.containsKey("$gt"));
+        assertTrue(window.containsKey("$lte"));
+    }
+
+    private ServiceRequest request(String id, RequestStatus status, String technicianId) {
+        return ServiceRequest.builder()
+                .id(id)
+                .requestNumber("REQ-000000001")
+                .customerId("customer-1")
+                .serviceId("service-1")
+                .status(status)
+                .technicianId(technicianId)
+                .createdAt(CREATED)
+                .build();
+    }
+
+    private TechnicianProfileResponse technician() {
+        TechnicianProfileResponse technician = new TechnicianProfileResponse();
+        technician.setId("tech-1");
+        technician.setUserId("user-7");
+        return technician;
+    }
+}
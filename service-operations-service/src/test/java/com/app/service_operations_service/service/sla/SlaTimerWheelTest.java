@@ -0,0 +1,134 @@
+package com.app.service_operations_service.service.sla;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SlaTimerWheelTest {
+
+    private static final Instant T0 = Instant.parse("2026-01-01T00:00:00Z");
+    private static final Duration SECOND = Duration.ofSeconds(1);
+
+    @Test
+    void advance_ShouldFireOnTheTickOfTheDeadline_NotBefore() {
+        SlaTimerWheel wheel = new SlaTimerWheel(SECOND, T0);
+        wheel.schedule("req-1", T0.plusMillis(2500));
+        wheel.schedule("req-2", T0.plus(Duration.ofHours(3)));
+
+        assertTrue(wheel.advance(T0.plusSeconds(2)).isEmpty());
+        assertEquals(List.of("req-1"), ids(wheel.advance(T0.plusSeconds(3))));
+        assertTrue(wheel.advance(T0.plus(Duration.ofHours(3)).minusSeconds(1)).isEmpty());
+        assertEquals(List.of("req-2"), ids(wheel.advance(T0.plus(Duration.ofHours(3)))));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void advance_ShouldFireOverdueDeadlinesOnTheNextTick() {
+        SlaTimerWheel wheel = new SlaTimerWheel(SECOND, T0);
+        wheel.schedule("late", T0.minus(Duration.ofDays(2)));
+
+        assertEquals(List.of("late"), ids(wheel.advance(T0)));
+    }
+
+    // Deadlines spread over every level, advanced in uneven steps: each one
+    // must come out in the first advance that reaches it
+    @Test
+    void advance_ShouldCascadeEveryLevelWithoutFiringEarlyOrLate() {
+        SlaTimerWheel wheel = new SlaTimerWheel(SECOND, T0);
+        Random random = new Random(11);
+        List<Instant> deadlines = new ArrayList<>();
+        for (int i = 0; i < 20_000; i++) {
+            long seconds = switch (i % 4) {
+                case 0 -> random.nextInt(64);
+                case 1 -> random.nextInt(4096);
+                case 2 -> random.nextInt(262_144);
+                default -> random.nextInt(3_000_000);
+            };
+            Instant deadline = T0.plusSeconds(seconds).plusMillis(random.nextInt(1000));
+            deadlines.add(deadline);
+            wheel.schedule("req-" + i, deadline);
+        }
+
+        Instant now = T0;
+        Instant previous = T0.minusSeconds(1);
+        Set<String> fired = new HashSet<>();
+        while (now.isBefore(T0.plusSeconds(3_000_100))) {
+            for (SlaTimerWheel.Timer timer : wheel.advance(now)) {
+                assertFalse(timer.deadline().isAfter(now), timer.toString());
+                assertTrue(timer.deadline().isAfter(previous), timer.toString());
+                assertTrue(fired.add(timer.requestId()));
+            }
+            previous = now;
+            now = now.plusSeconds(1 + random.nextInt(900));
+        }
+        assertEquals(deadlines.size(), fired.size());
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void advance_ShouldRefileDeadlinesBeyondTheWheelSpan() {
+        // Two levels span 4096 ticks
+        SlaTimerWheel wheel = new SlaTimerWheel(SECOND, T0, 2);
+        wheel.schedule("far", T0.plusSeconds(10_000));
+
+        for (int second = 1; second < 10_000; second += 7) {
+            assertTrue(wheel.advance(T0.plusSeconds(second)).isEmpty());
+        }
+        assertTrue(wheel.advance(T0.plusSeconds(9_999)).isEmpty());
+        assertEquals(List.of("far"), ids(wheel.advance(T0.plusSeconds(10_000))));
+    }
+
+    // Before/after for a tick: the scan over every open deadline that a
+    // periodic query would do, against the wheel, with a million deadlines
+    // spread over 30 days
+    @Test
+    @Tag("benchmark")
+    void advance_ShouldCostWhatExpires_Benchmark() {
+        int held = 1_000_000;
+        SlaTimerWheel wheel = new SlaTimerWheel(SECOND, T0);
+        Random random = new Random(3);
+        long[] deadlines = new long[held];
+        for (int i = 0; i < held; i++) {
+            deadlines[i] = T0.toEpochMilli() + (long) random.nextInt(30 * 24 * 3600) * 1000L;
+            wheel.schedule("req-" + i, Instant.ofEpochMilli(deadlines[i]));
+        }
+
+        int scanTicks = 20;
+        long started = System.nanoTime();
+        int scanned = 0;
+        for (int tick = 1; tick <= scanTicks; tick++) {
+            long now = T0.plusSeconds(tick).toEpochMilli();
+            for (long deadline : deadlines) {
+                if (deadline <= now && deadline > now - 1000) {
+                    scanned++;
+                }
+            }
+        }
+        double scanUs = (System.nanoTime() - started) / 1_000.0 / scanTicks;
+
+        int wheelTicks = 3 * 3600;
+        started = System.nanoTime();
+        int fired = 0;
+        for (int tick = 0; tick <= wheelTicks; tick++) {
+            fired += wheel.advance(T0.plusSeconds(tick)).size();
+        }
+        double wheelUs = (System.nanoTime() - started) / 1_000.0 / wheelTicks;
+
+        assertEquals(held - fired, wheel.size());
+        assertTrue(wheelUs < scanUs, "wheel " + wheelUs + " us/tick vs scan " + scanUs + " us/tick ("
+                + scanned + " due)");
+    }
+
+    private static List<String> ids(List<SlaTimerWheel.Timer> timers) {
+        return timers.stream().map(SlaTimerWheel.Timer::requestId).toList();
+    }
+}
@@ -0,0 +1,218 @@
+package com.app.service_operations_service.service.views;
+
+import com.app.service_operations_service.client.IdentityClient;
+import com.app.service_operations_service.client.dto.CustomerSummary;
+import com.app.service_operations_service.client.dto.TechnicianProfileResponse;
+import com.app.service_operations_service.messaging.event.TechnicianChangedEvent;
+import com.app.service_operations_service.messaging.event.UserProfileChangedEvent;
+import com.app.service_operations_service.model.RequestView;
+import com.app.service_operations_service.model.ServiceItem;
+import com.app.service_operations_service.model.ServiceRequest;
+import com.app.service_operations_service.model.enums.RequestStatus;
+import com.app.service_operations_service.repository.ServiceItemRepository;
+import com.app.service_operations_service.service.TechnicianDirectory;
+import com.mongodb.client.result.UpdateResult;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RequestViewProjectorTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private ServiceItemRepository serviceItemRepository;
+
+    @Mock
+    private TechnicianDirectory technicianDirectory;
+
+    @Mock
+    private IdentityClient identityClient;
+
+    private RequestViewProjector projector;
+
+    @BeforeEach
+    void setUp() {
+        projector = new RequestViewProjector(mongoTemplate, serviceItemRepository, technicianDirectory, identityClient);
+    }
+
+    @Test
+    void project_ShouldDenormalizeServiceTechnicianAndCustomer_ForNewRow() {
+        when(mongoTemplate.findById("req-1", ServiceRequest.class)).thenReturn(request("tech-1"));
+        when(serviceItemRepository.findById("service-1")).thenReturn(Optional.of(serviceItem()));
+        when(technicianDirectory.getTechnician("tech-1")).thenReturn(technician());
+        when(identityClient.getCustomer("customer-1")).thenReturn(customer());
+
+        projector.project("req-1");
+
+        Document set = captureUpsert().get("$set", Document.class);
+        assertEquals(RequestStatus.ASSIGNED, set.get("status"));
+        assertEquals("Pipe repair", set.get("serviceName"));
+        RequestView.Technician technician = (RequestView.Technician) set.get("technician");
+        assertEquals("user-7", technician.getUserId());
+        assertEquals("Ravi", technician.getName());
+        assertEquals(3L, technician.getVersion());
+        assertEquals("asha@example.com", ((RequestView.Customer) set.get("customer")).getEmail());
+    }
+
+    @Test
+    void project_ShouldKeepSnapshots_WhenTechnicianAndCustomerAreKnown() {
+        when(mongoTemplate.findById("req-1", ServiceRequest.class)).thenReturn(request("tech-1"));
+        when(mongoTemplate.findById("req-1", RequestView.class)).thenReturn(RequestView.builder()
+                .id("req-1")
+                .serviceId("service-1")
+                .serviceName("Pipe repair")
+                .technicianId("tech-1")
+                .technician(RequestView.Technician.builder().name("Ravi").version(3L).build())
+                .customer(RequestView.Customer.builder().name("Asha").build())
+                .build());
+
+        projector.project("req-1");
+
+        Document update = captureUpsert();
+        Document set = update.get("$set", Document.class);
+        assertFalse(set.containsKey("serviceName"));
+        assertFalse(set.containsKey("technician"));
+        assertFalse(set.containsKey("customer"));
+        assertNull(update.get("$unset"));
+        verifyNoInteractions(serviceItemRepository, technicianDirectory, identityClient);
+    }
+
+    @Test
+    void project_ShouldReuseCustomerOfAnotherRow_BeforeCallingIdentityService() {
+        when(mongoTemplate.findById("req-1", ServiceRequest.class)).thenReturn(request(null));
+        when(mongoTemplate.findOne(any(Query.class), eq(RequestView.class))).thenReturn(RequestView.builder()
+                .customer(RequestView.Customer.builder().name("Asha").build())
+                .build());
+
+        projector.project("req-1");
+
+        Document update = captureUpsert();
+        assertEquals("Asha", ((RequestView.Customer) update.get("$set", Document.class).get("customer")).getName());
+        assertTrue(update.get("$unset", Document.class).containsKey("technician"));
+        verifyNoInteractions(identityClient, technicianDirectory);
+    }
+
+    @Test
+    void project_ShouldRemoveView_WhenRequestIsGone() {
+        projector.project("req-1");
+
+        verify(mongoTemplate).remove(any(Query.class), eq(RequestView.class));
+        verify(mongoTemplate, never()).upsert(any(Query.class), any(Update.class), eq(RequestView.class));
+    }
+
+    @Test
+    void applyTechnician_ShouldOnlyMoveSnapshotsForward() {
+        when(mongoTemplate.updateMulti(any(Query.class), any(Update.class), eq(RequestView.class)))
+                .thenReturn(UpdateResult.acknowledged(2, 2L, null));
+        TechnicianChangedEvent event = new TechnicianChangedEvent();
+        event.setType(TechnicianChangedEvent.Type.AVAILABILITY_CHANGED);
+        event.setTechnicianId("tech-1");
+        event.setUserId("user-7");
+        event.setName("Ravi K");
+        event.setVersion(5L);
+
+        assertEquals(2, projector.applyTechnician(event));
+
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate).updateMulti(query.capture(), update.capture(), eq(RequestView.class));
+        Document filter = query.getValue().getQueryObject();
+        assertEquals("tech-1", filter.get("technicianId"));
+        assertEquals(List.of(
+                new Document("technician.version", new Document("$lt", 5L)),
+                new Document("technician.version", new Document("$exists", false))),
+                filter.get("$or"));
+        Document set = update.getValue().getUpdateObject().get("$set", Document.class);
+        assertEquals("Ravi K", set.get("technician.name"));
+        assertEquals(5L, set.get("technician.version"));
+    }
+
+    @Test
+    void applyTechnician_ShouldKeepRows_WhenTechnicianIsDeleted() {
+        TechnicianChangedEvent event = new TechnicianChangedEvent();
+        event.setType(TechnicianChangedEvent.Type.DELETED);
+        event.setTechnicianId("tech-1");
+
+        assertEquals(0, projector.applyTechnician(event));
+
+        verifyNoInteractions(mongoTemplate);
+    }
+
+    @Test
+    void applyCustomer_ShouldUpdateEveryRowOfTheCustomer() {
+        when(mongoTemplate.updateMulti(any(Query.class), any(Update.class), eq(RequestView.class)))
+                .thenReturn(UpdateResult.acknowledged(3, 3L, null));
+        UserProfileChangedEvent event = new UserProfileChangedEvent();
+        event.setUserId("customer-1");
+        event.setName("Asha R");
+        event.setPhone("9000000000");
+
+        assertEquals(3, projector.applyCustomer(event));
+
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate).updateMulti(query.capture(), update.capture(), eq(RequestView.class));
+        assertEquals(new Document("customerId", "customer-1"), query.getValue().getQueryObject());
+        assertEquals("Asha R", update.getValue().getUpdateObject().get("$set", Document.class).get("customer.name"));
+    }
+
+    private Document captureUpsert() {
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate).upsert(any(Query.class), update.capture(), eq(RequestView.class));
+        return update.getValue().getUpdateObject();
+    }
+
+    private ServiceRequest request(String technicianId) {
+        return ServiceRequest.builder()
+                .id("req-1")
+                .requestNumber("SR-000001")
+                .customerId("customer-1")
+                .serviceId("service-1")
+                .status(technicianId != null ? RequestStatus.ASSIGNED : RequestStatus.REQUESTED)
+                .technicianId(technicianId)
+                .createdAt(Instant.parse("2024-05-01T10:00:00Z"))
+                .build();
+    }
+
+    private ServiceItem serviceItem() {
+        ServiceItem item = new ServiceItem();
+        item.setId("service-1");
+        item.setName("Pipe repair");
+        return item;
+    }
+
+    private TechnicianProfileResponse technician() {
+        TechnicianProfileResponse profile = new TechnicianProfileResponse();
+        profile.setId("tech-1");
+        profile.setUserId("user-7");
+        profile.setName("Ravi");
+        profile.setPhone("9111111111");
+        profile.setVersion(3L);
+        return profile;
+    }
+
+    private CustomerSummary customer() {
+        CustomerSummary customer = new CustomerSummary();
+        customer.setId("customer-1");
+        customer.setEmail("asha@example.com");
+        return customer;
+    }
+}
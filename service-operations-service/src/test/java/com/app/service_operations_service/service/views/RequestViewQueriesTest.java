@@ -0,0 +1,85 @@
+package com.app.service_operations_service.service.views;
+
+import com.app.service_operations_service.dto.CursorPage;
+import com.app.service_operations_service.dto.requests.ServiceRequestWithCustomerResponse;
+import com.app.service_operations_service.dto.requests.ServiceRequestWithTechnicianResponse;
+import com.app.service_operations_service.exception.BadRequestException;
+import com.app.service_operations_service.model.RequestView;
+import com.app.service_operations_service.repository.RequestViewPaging.Filter;
+import com.app.service_operations_service.repository.RequestViewRepository;
+import com.app.service_operations_service.repository.ServiceRequestPaging.PageCursor;
+import com.app.service_operations_service.util.CursorTokens;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RequestViewQueriesTest {
+
+    @Mock
+    private RequestViewRepository viewRepository;
+
+    private RequestViewQueries queries;
+
+    @BeforeEach
+    void setUp() {
+        queries = new RequestViewQueries(viewRepository, true);
+    }
+
+    @Test
+    void page_ShouldMapRowsAndReturnCursorOfLastRow() {
+        Instant created = Instant.parse("2024-05-01T10:00:00Z");
+        Filter filter = Filter.technicianUser("user-7");
+        when(viewRepository.findPage(filter, null, 3)).thenReturn(List.of(
+                view("req-3", created.plusSeconds(1)), view("req-2", created), view("req-1", created)));
+        when(viewRepository.countMatching(filter)).thenReturn(5L);
+
+        CursorPage<ServiceRequestWithCustomerResponse> page =
+                queries.page(filter, null, 2, true, RequestViewQueries::toResponseWithCustomer);
+
+        assertEquals(List.of("req-3", "req-2"), page.getContent().stream().map(r -> r.getId()).toList());
+        assertEquals("Pipe repair", page.getContent().get(0).getServiceName());
+        assertEquals("Asha", page.getContent().get(0).getCustomerDetails().getName());
+        assertEquals("customer-1", page.getContent().get(0).getCustomerDetails().getId());
+        assertTrue(page.isHasMore());
+        assertEquals(5L, page.getTotalElements());
+        assertEquals(new PageCursor(created, "req-2"), CursorTokens.decode(page.getNextCursor()));
+    }
+
+    @Test
+    void toResponseWithTechnician_ShouldFillDetailsFromSnapshot() {
+        ServiceRequestWithTechnicianResponse response = RequestViewQueries.toResponseWithTechnician(
+                view("req-1", Instant.parse("2024-05-01T10:00:00Z")));
+
+        assertEquals("tech-1", response.getTechnicianDetails().getId());
+        assertEquals("Ravi", response.getTechnicianDetails().getName());
+        assertEquals(4.5, response.getTechnicianDetails().getRating());
+    }
+
+    @Test
+    void page_ShouldRejectOversizedPages() {
+        assertThrows(BadRequestException.class,
+                () -> queries.page(Filter.all(), null, 101, false, RequestViewQueries::toResponse));
+        verifyNoInteractions(viewRepository);
+    }
+
+    private RequestView view(String id, Instant createdAt) {
+        return RequestView.builder()
+                .id(id)
+                .customerId("customer-1")
+                .serviceName("Pipe repair")
+                .technicianId("tech-1")
+                .createdAt(createdAt)
+                .technician(RequestView.Technician.builder().userId("user-7").name("Ravi").rating(4.5).build())
+                .customer(RequestView.Customer.builder().name("Asha").build())
+                .build();
+    }
+}
@@ -0,0 +1,73 @@
+package com.app.technicianservice.config;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+// JPA cannot declare functional or multi-valued indexes, so the JSON skills
+// index on technician_applications is created here once (MySQL 8.0.17+).
+// EXPLAIN on the skill filter then confirms the optimizer can use it.
+@Slf4j
+@Component
+public class ApplicationIndexInitializer implements ApplicationRunner {
+
+    static final String SKILLS_INDEX = "idx_app_skills";
+
+    private static final String INDEX_EXISTS_SQL = """
+            SELECT COUNT(*) FROM information_schema.statistics
+             WHERE table_schema = DATABASE()
+               AND table_name = 'technician_applications'
+               AND index_name = ?
+            """;
+
+    private static final String CREATE_SKILLS_INDEX_SQL =
+            "CREATE INDEX " + SKILLS_INDEX + " ON technician_applications "
+                    + "((CAST(skills->'$' AS CHAR(100) ARRAY)))";
+
+    // Same predicate as TechnicianApplicationRepository.searchByStatus
+    static final String EXPLAIN_SKILL_FILTER_SQL =
+            "EXPLAIN SELECT a.id FROM technician_applications a WHERE ? MEMBER OF (a.skills->'$')";
+
+    private final ObjectProvider<JdbcTemplate> jdbcTemplate;
+    private final boolean enabled;
+
+    public ApplicationIndexInitializer(ObjectProvider<JdbcTemplate> jdbcTemplate,
+            @Value("${app.applications.skills-index.enabled:true}") boolean enabled) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        JdbcTemplate jdbc = jdbcTemplate.getIfAvailable();
+        if (!enabled || jdbc == null) {
+            return;
+        }
+
+        try {
+            Integer existing = jdbc.queryForObject(INDEX_EXISTS_SQL, Integer.class, SKILLS_INDEX);
+            if (existing == null || existing == 0) {
+                jdbc.execute(CREATE_SKILLS_INDEX_SQL);
+                log.info("Created multi-valued index {} on technician_applications.skills", SKILLS_INDEX);
+            }
+            if (!skillFilterUsesIndex(jdbc)) {
+                log.warn("Skill filter on technician_applications cannot use index {}", SKILLS_INDEX);
+            }
+        } catch (DataAccessException e) {
+            // Skill filtering still works without the index, only slower
+            log.warn("Could not create index {}: {}", SKILLS_INDEX, e.getMessage());
+        }
+    }
+
+    boolean skillFilterUsesIndex(JdbcTemplate jdbc) {
+        return jdbc.queryForList(EXPLAIN_SKILL_FILTER_SQL, "Plumbing").stream()
+                .map(row -> row.get("possible_keys"))
+                .anyMatch(keys -> keys != null && keys.toString().contains(SKILLS_INDEX));
+    }
+}
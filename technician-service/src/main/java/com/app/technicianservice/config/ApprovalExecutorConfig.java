@@ -0,0 +1,33 @@
+package com.app.technicianservice.config;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import com.app.technicianservice.util.ForwardedHeaders;
+
+// Bounded worker pool for batch application approvals. The pool size caps how
+// many approvals hit identity-service and the database at once; tasks carry
+// the submitting request's identity headers for their Feign calls.
+@Configuration
+public class ApprovalExecutorConfig {
+
+    @Bean(name = "approvalExecutor")
+    public ThreadPoolTaskExecutor approvalExecutor(
+            @Value("${app.approvals.batch.parallelism:8}") int parallelism,
+            @Value("${app.approvals.batch.queue-capacity:2000}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(parallelism);
+        executor.setMaxPoolSize(parallelism);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("approval-");
+        executor.setTaskDecorator(ForwardedHeaders::propagate);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+}
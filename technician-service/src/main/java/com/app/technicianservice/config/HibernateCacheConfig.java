@@ -0,0 +1,71 @@
+package com.app.technicianservice.config;
+
+import java.net.URI;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.app.technicianservice.entity.TechnicianProfile;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+
+// Second-level cache for technician profiles: the entity, its skills collection
+// and the userId -> id natural-id mapping. Regions are bounded Caffeine caches
+// with a write TTL as a backstop; READ_WRITE concurrency keeps them consistent
+// with updates made through Hibernate (create, availability, workload).
+@Configuration
+public class HibernateCacheConfig {
+
+    public static final List<String> REGIONS = List.of(
+            TechnicianProfile.CACHE_REGION,
+            TechnicianProfile.SKILLS_CACHE_REGION,
+            TechnicianProfile.USER_ID_CACHE_REGION);
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(
+            @Value("${app.cache.technicians.max-entries:10000}") long maxEntries,
+            @Value("${app.cache.technicians.ttl-seconds:600}") long ttlSeconds) {
+        CachingProvider provider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+        // Own manager per application context so test contexts do not share regions
+        CacheManager cacheManager = provider.getCacheManager(
+                URI.create("technician-l2-" + UUID.randomUUID()), getClass().getClassLoader());
+
+        for (String region : REGIONS) {
+            CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+            configuration.setMaximumSize(OptionalLong.of(maxEntries));
+            configuration.setExpireAfterWrite(OptionalLong.of(TimeUnit.SECONDS.toNanos(ttlSeconds)));
+            configuration.setStatisticsEnabled(true);
+            // Hibernate stores disassembled state, so entries need no defensive copy
+            configuration.setStoreByValue(false);
+            cacheManager.createCache(region, configuration);
+        }
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(
+            CacheManager hibernateCacheManager,
+            @Value("${app.cache.technicians.enabled:true}") boolean enabled,
+            @Value("${app.cache.statistics:true}") boolean statistics) {
+        return properties -> {
+            properties.put("hibernate.cache.use_second_level_cache", enabled);
+            properties.put("hibernate.cache.region.factory_class", "jcache");
+            properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+            properties.put("hibernate.generate_statistics", statistics);
+            // Statistics otherwise log a metrics block at INFO for every session
+            properties.put("hibernate.session.events.log", false);
+        };
+    }
+}
@@ -0,0 +1,11 @@
+package com.app.technicianservice.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+// Turns on @Scheduled for the whole service; today that is the live location
+// flush
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -1,14 +1,21 @@
 package com.app.technicianservice.controller;
 
+import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.List;
 
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
@@ -17,16 +24,32 @@ import org.springframework.web.bind.annotation.RestController;
 import com.app.technicianservice.dto.ApplicationRejectionRequest;
 import com.app.technicianservice.dto.ApplicationReviewResponse;
 import com.app.technicianservice.dto.ApplicationSubmissionResponse;
+import com.app.technicianservice.dto.ApprovalJobResponse;
+import com.app.technicianservice.dto.BatchApprovalRequest;
+import com.app.technicianservice.dto.CacheStatsResponse;
 import com.app.technicianservice.dto.AvailabilityUpdateRequest;
 import com.app.technicianservice.dto.CreateProfileRequest;
 import com.app.technicianservice.dto.IdMessageResponse;
+import com.app.technicianservice.dto.LocationUpdateRequest;
+import com.app.technicianservice.dto.NearbyTechnicianResponse;
+import com.app.technicianservice.dto.TechnicianBatchRequest;
+import com.app.technicianservice.dto.PagedResponse;
+import com.app.technicianservice.dto.ScheduleResponse;
+import com.app.technicianservice.dto.ScheduleSlotsRequest;
+import com.app.technicianservice.dto.SlotResponse;
 import com.app.technicianservice.dto.StatsResponse;
 import com.app.technicianservice.dto.TechnicianApplicationRequest;
 import com.app.technicianservice.dto.TechnicianProfileResponse;
 import com.app.technicianservice.dto.TechnicianSummaryResponse;
+import com.app.technicianservice.dto.WorkloadAdjustmentRequest;
 import com.app.technicianservice.dto.WorkloadResponse;
+import com.app.technicianservice.exception.BadRequestException;
 import com.app.technicianservice.security.RequestUser;
+import com.app.technicianservice.service.BatchApprovalService;
+import com.app.technicianservice.service.CacheStatisticsService;
+import com.app.technicianservice.service.LiveLocationService;
 import com.app.technicianservice.service.TechnicianApplicationService;
+import com.app.technicianservice.service.TechnicianScheduleService;
 import com.app.technicianservice.service.TechnicianService;
 
 import jakarta.validation.Valid;
@@ -37,12 +60,24 @@ public class TechnicianController {
 
     private final TechnicianService technicianService;
     private final TechnicianApplicationService applicationService;
+    private final TechnicianScheduleService scheduleService;
+    private final BatchApprovalService batchApprovalService;
+    private final CacheStatisticsService cacheStatisticsService;
+    private final LiveLocationService liveLocationService;
 
     public TechnicianController(
             TechnicianService technicianService,
-            TechnicianApplicationService applicationService) {
+            TechnicianApplicationService applicationService,
+            TechnicianScheduleService scheduleService,
+            BatchApprovalService batchApprovalService,
+            CacheStatisticsService cacheStatisticsService,
+            LiveLocationService liveLocationService) {
         this.technicianService = technicianService;
         this.applicationService = applicationService;
+        this.scheduleService = scheduleService;
+        this.batchApprovalService = batchApprovalService;
+        this.cacheStatisticsService = cacheStatisticsService;
+        this.liveLocationService = liveLocationService;
     }
 
     // ============ Prefix-based endpoints (must come before /{id}) ============
@@ -56,22 +91,47 @@ public class TechnicianController {
         return new IdMessageResponse(profile.getId(), "Technician profile created successfully");
     }
     @GetMapping("/suggestions")
-public List<TechnicianProfileResponse> getSuggestions(
-        @RequestParam(name = "location", required = false) String location,
-        @RequestParam(name = "skills", required = false) String skillsParam) {
+    public List<TechnicianProfileResponse> getSuggestions(
+            @RequestParam(name = "location", required = false) String location,
+            @RequestParam(name = "skills", required = false) String skillsParam,
+            @RequestParam(name = "afterWorkload", required = false) Integer afterWorkload,
+            @RequestParam(name = "afterId", required = false) String afterId,
+            @RequestParam(name = "limit", defaultValue = "20") int limit) {
+        // The cursor is the (workload, id) pair of the last technician received
+        if ((afterWorkload == null) != (afterId == null)) {
+            throw new BadRequestException("afterWorkload and afterId must be sent together");
+        }
 
-    List<String> skills = (skillsParam == null || skillsParam.isBlank())
-            ? null
-            : Arrays.asList(skillsParam.split(","));
+        List<String> skills = (skillsParam == null || skillsParam.isBlank())
+                ? null
+                : Arrays.asList(skillsParam.split(","));
 
-    return technicianService.findSuggestions(location, skills);
-}
+        return technicianService.findSuggestions(location, skills, afterWorkload, afterId, limit);
+    }
 
-   
+    // Bulk profile lookup for callers enriching lists of assigned requests
+    @PostMapping("/batch")
+    public List<TechnicianProfileResponse> getBatch(@Valid @RequestBody TechnicianBatchRequest request) {
+        return technicianService.getByIds(request.getIds());
+    }
 
     @GetMapping("/available")
-    public List<TechnicianSummaryResponse> getAvailable() {
-        return technicianService.getAvailable();
+    public PagedResponse<TechnicianSummaryResponse> getAvailable(
+            @RequestParam(value = "page", defaultValue = "0") int page,
+            @RequestParam(value = "size", defaultValue = "20") int size) {
+        if (page < 0 || size < 1 || size > TechnicianService.MAX_PAGE_SIZE) {
+            throw new BadRequestException(
+                    "Page must be >= 0 and size between 1 and " + TechnicianService.MAX_PAGE_SIZE);
+        }
+        Pageable pageable = PageRequest.of(page, size, Sort.by("currentWorkload", "id"));
+        return technicianService.getAvailable(pageable);
+    }
+
+    @GetMapping("/schedule/first-free")
+    public SlotResponse firstFreeSlot(
+            @RequestParam("skill") String skill,
+            @RequestParam(value = "days", defaultValue = "7") int days) {
+        return scheduleService.findFirstFreeSlot(skill, days);
     }
 
     @GetMapping("/stats")
@@ -79,6 +139,12 @@ public List<TechnicianProfileResponse> getSuggestions(
         return technicianService.getStats();
     }
 
+    // Hit/miss counters of the profile second-level cache
+    @GetMapping("/cache/stats")
+    public CacheStatsResponse cacheStats(RequestUser user) {
+        return cacheStatisticsService.getStats(user);
+    }
+
     @GetMapping("/me")
     public TechnicianProfileResponse getMyProfile(RequestUser user) {
         return technicianService.getByUserId(user.userId());
@@ -94,6 +160,25 @@ public List<TechnicianProfileResponse> getSuggestions(
         return technicianService.getMyWorkload(user);
     }
 
+    // Live position from the technician app; stored in memory and flushed in batches
+    @PutMapping("/my/location")
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    public void reportLocation(
+            RequestUser user,
+            @Valid @RequestBody LocationUpdateRequest request) {
+        liveLocationService.report(user, request);
+    }
+
+    @GetMapping("/nearby")
+    public List<NearbyTechnicianResponse> nearby(
+            @RequestParam("lat") double latitude,
+            @RequestParam("lng") double longitude,
+            @RequestParam(value = "radiusKm", defaultValue = "10") double radiusKm,
+            @RequestParam(value = "limit", defaultValue = "20") int limit,
+            @RequestParam(value = "maxAgeSeconds", required = false) Integer maxAgeSeconds) {
+        return liveLocationService.findNearby(latitude, longitude, radiusKm, limit, maxAgeSeconds);
+    }
+
     @PutMapping("/my/availability")
     @ResponseStatus(HttpStatus.NO_CONTENT)
     public void updateMyAvailability(
@@ -110,8 +195,32 @@ public List<TechnicianProfileResponse> getSuggestions(
     }
 
     @GetMapping("/applications/pending")
-    public List<ApplicationReviewResponse> pending(RequestUser user) {
-        return applicationService.getPendingApplications(user);
+    public PagedResponse<ApplicationReviewResponse> pending(
+            RequestUser user,
+            @RequestParam(name = "skill", required = false) String skill,
+            @RequestParam(name = "city", required = false) String city,
+            @RequestParam(name = "specialization", required = false) String specialization,
+            @RequestParam(value = "page", defaultValue = "0") int page,
+            @RequestParam(value = "size", defaultValue = "20") int size,
+            @RequestParam(value = "sort", defaultValue = "createdAt") String sortBy,
+            @RequestParam(value = "direction", defaultValue = "asc") String direction) {
+        return applicationService.getPendingApplications(
+                user, skill, city, specialization, page, size, sortBy, direction);
+    }
+
+    @PostMapping("/applications/approve-batch")
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    public ApprovalJobResponse approveBatch(
+            RequestUser user,
+            @Valid @RequestBody BatchApprovalRequest request) {
+        return batchApprovalService.submit(user, request.getApplicationIds());
+    }
+
+    @GetMapping("/applications/approval-jobs/{jobId}")
+    public ApprovalJobResponse approvalJob(
+            RequestUser user,
+            @PathVariable("jobId") String jobId) {
+        return batchApprovalService.getJob(user, jobId);
     }
 
     @PostMapping("/applications/{id}/approve")
@@ -146,6 +255,16 @@ public List<TechnicianProfileResponse> getSuggestions(
         technicianService.updateWorkload(id, currentWorkload);
     }
 
+    // Relative workload changes for many technicians in one call, used when
+    // requests are completed or reassigned in bulk. A retried call carrying
+    // the same Idempotency-Key is applied only once.
+    @PutMapping("/workload/adjust")
+    public List<WorkloadResponse> adjustWorkloads(
+            @RequestHeader(name = "Idempotency-Key", required = false) String idempotencyKey,
+            @Valid @RequestBody WorkloadAdjustmentRequest request) {
+        return technicianService.adjustWorkloads(request.getDeltas(), idempotencyKey);
+    }
+
     @PutMapping("/{id}/availability")
     @ResponseStatus(HttpStatus.NO_CONTENT)
     public void updateAvailability(
@@ -155,6 +274,50 @@ public List<TechnicianProfileResponse> getSuggestions(
         technicianService.updateAvailability(user, id, request);
     }
 
+    @GetMapping("/{id}/schedule/{date}")
+    public ScheduleResponse schedule(
+            @PathVariable("id") String id,
+            @PathVariable("date") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        return scheduleService.getSchedule(id, date);
+    }
+
+    @PutMapping("/{id}/schedule/{date}/open")
+    public ScheduleResponse openSlots(
+            RequestUser user,
+            @PathVariable("id") String id,
+            @PathVariable("date") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @Valid @RequestBody ScheduleSlotsRequest request) {
+        return scheduleService.openSlots(user, id, date, request.getSlots());
+    }
+
+    @PutMapping("/{id}/schedule/{date}/close")
+    public ScheduleResponse closeSlots(
+            RequestUser user,
+            @PathVariable("id") String id,
+            @PathVariable("date") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @Valid @RequestBody ScheduleSlotsRequest request) {
+        return scheduleService.closeSlots(user, id, date, request.getSlots());
+    }
+
+    @PostMapping("/{id}/schedule/{date}/slots/{slot}")
+    @ResponseStatus(HttpStatus.CREATED)
+    public SlotResponse bookSlot(
+            RequestUser user,
+            @PathVariable("id") String id,
+            @PathVariable("date") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @PathVariable("slot") int slot) {
+        return scheduleService.bookSlot(user, id, date, slot);
+    }
+
+    @DeleteMapping("/{id}/schedule/{date}/slots/{slot}")
+    public ScheduleResponse releaseSlot(
+            RequestUser user,
+            @PathVariable("id") String id,
+            @PathVariable("date") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @PathVariable("slot") int slot) {
+        return scheduleService.releaseSlot(user, id, date, slot);
+    }
+
     // ============ Generic /{id} endpoint (MUST BE LAST to avoid matching other
     // patterns) ============
 
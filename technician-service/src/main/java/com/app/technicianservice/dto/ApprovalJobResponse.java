@@ -0,0 +1,35 @@
+package com.app.technicianservice.dto;
+
+import java.time.Instant;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Progress of a batch approval job
+@Data
+@NoArgsConstructor
+public class ApprovalJobResponse {
+    private String jobId;
+    private String status;
+    private String requestedBy;
+    private Integer total;
+    private Integer succeeded;
+    private Integer failed;
+    private Integer skipped;
+    private Instant createdAt;
+    private Instant finishedAt;
+    private List<Item> items;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Item {
+        private String applicationId;
+        private String status;
+        private Integer attempts;
+        private String technicianUserId;
+        private String message;
+    }
+}
@@ -0,0 +1,18 @@
+package com.app.technicianservice.dto;
+
+import java.util.List;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+public class BatchApprovalRequest {
+
+    @NotEmpty
+    @Size(max = 500)
+    private List<@NotBlank String> applicationIds;
+}
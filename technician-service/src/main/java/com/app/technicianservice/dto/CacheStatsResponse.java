@@ -0,0 +1,31 @@
+package com.app.technicianservice.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+public class CacheStatsResponse {
+    private boolean statisticsEnabled;
+    // Entities loaded from the database vs. fetched through a lookup
+    private long entityLoads;
+    private long entityFetches;
+    private long naturalIdQueries;
+    private List<Region> regions = new ArrayList<>();
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Region {
+        private String name;
+        private long hits;
+        private long misses;
+        private long puts;
+        private long entriesInMemory;
+        private double hitRatio;
+    }
+}
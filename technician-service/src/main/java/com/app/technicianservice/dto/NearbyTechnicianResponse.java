@@ -0,0 +1,19 @@
+package com.app.technicianservice.dto;
+
+import java.time.Instant;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NearbyTechnicianResponse {
+    private String technicianId;
+    private String userId;
+    private double latitude;
+    private double longitude;
+    private double distanceKm;
+    private Instant recordedAt;
+}
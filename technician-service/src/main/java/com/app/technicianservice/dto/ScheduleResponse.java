@@ -0,0 +1,29 @@
+package com.app.technicianservice.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import com.app.technicianservice.entity.TechnicianSchedule;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+public class ScheduleResponse {
+    private String technicianId;
+    private LocalDate date;
+    private Integer slotMinutes;
+    private List<Integer> availableSlots;
+    private List<Integer> bookedSlots;
+    private List<Integer> freeSlots;
+
+    public ScheduleResponse(String technicianId, LocalDate date, long available, long booked) {
+        this.technicianId = technicianId;
+        this.date = date;
+        this.slotMinutes = TechnicianSchedule.SLOT_MINUTES;
+        this.availableSlots = TechnicianSchedule.slotsOf(available);
+        this.bookedSlots = TechnicianSchedule.slotsOf(booked);
+        this.freeSlots = TechnicianSchedule.slotsOf(available & ~booked);
+    }
+}
@@ -0,0 +1,16 @@
+package com.app.technicianservice.dto;
+
+import java.util.List;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+public class ScheduleSlotsRequest {
+
+    @NotEmpty
+    private List<@NotNull Integer> slots;
+}
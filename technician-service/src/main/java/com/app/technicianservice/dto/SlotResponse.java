@@ -0,0 +1,27 @@
+package com.app.technicianservice.dto;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+import com.app.technicianservice.entity.TechnicianSchedule;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+public class SlotResponse {
+    private String technicianId;
+    private LocalDate date;
+    private Integer slot;
+    private LocalTime startTime;
+    private LocalTime endTime;
+
+    public SlotResponse(String technicianId, LocalDate date, int slot) {
+        this.technicianId = technicianId;
+        this.date = date;
+        this.slot = slot;
+        this.startTime = TechnicianSchedule.slotStart(slot);
+        this.endTime = startTime.plusMinutes(TechnicianSchedule.SLOT_MINUTES);
+    }
+}
@@ -0,0 +1,20 @@
+package com.app.technicianservice.dto;
+
+import java.util.List;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TechnicianBatchRequest {
+
+    @NotEmpty
+    @Size(max = 200)
+    private List<@NotBlank String> ids;
+}
@@ -1,6 +1,7 @@
 package com.app.technicianservice.dto;
 
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
 
 import lombok.Data;
@@ -23,6 +24,7 @@ public class TechnicianProfileResponse {
     private Integer currentWorkload;
     private Integer maxWorkload;
     private Instant createdAt;
+    private Long version;
 
     public void populateFrom(com.app.technicianservice.entity.TechnicianProfile profile) {
         this.id = profile.getId();
@@ -32,11 +34,12 @@ public class TechnicianProfileResponse {
         this.phone = profile.getPhone();
         this.specialization = profile.getSpecialization();
         this.experience = profile.getExperience();
-        this.skills = profile.getSkills();
+        this.skills = profile.getSkills() != null ? new ArrayList<>(profile.getSkills()) : new ArrayList<>();
         this.location = profile.getLocation();
         this.available = profile.getAvailable();
         this.currentWorkload = profile.getCurrentWorkload();
         this.maxWorkload = profile.getMaxWorkload();
         this.createdAt = profile.getCreatedAt();
+        this.version = profile.getVersion();
     }
 }
@@ -3,6 +3,7 @@ package com.app.technicianservice.dto;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import java.util.ArrayList;
 import java.util.List;
 
 @Data
@@ -18,4 +19,11 @@ public class TechnicianSummaryResponse {
     private Boolean available;
     private Integer currentWorkload;
     private Integer maxWorkload;
+
+    // Constructor expression target for the paged projection query; skills are
+    // attached afterwards from a single batched lookup.
+    public TechnicianSummaryResponse(String id, String userId, String name, String specialization,
+            String location, Boolean available, Integer currentWorkload, Integer maxWorkload) {
+        this(id, userId, name, specialization, new ArrayList<>(), location, available, currentWorkload, maxWorkload);
+    }
 }
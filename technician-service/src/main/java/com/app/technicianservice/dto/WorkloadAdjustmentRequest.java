@@ -0,0 +1,22 @@
+package com.app.technicianservice.dto;
+
+import java.util.Map;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Relative workload changes keyed by technician profile id, e.g. {"t-1": -2}
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class WorkloadAdjustmentRequest {
+
+    @NotEmpty
+    @Size(max = 200)
+    private Map<@NotBlank String, @NotNull Integer> deltas;
+}
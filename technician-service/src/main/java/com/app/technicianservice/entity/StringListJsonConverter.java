@@ -0,0 +1,49 @@
+package com.app.technicianservice.entity;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+// Maps a List<String> to a JSON array column. ObjectReader/ObjectWriter are
+// immutable and thread-safe, so one pair is shared by every conversion.
+@Converter
+public class StringListJsonConverter implements AttributeConverter<List<String>, String> {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final ObjectReader READER = MAPPER.readerFor(new TypeReference<List<String>>() {});
+    private static final ObjectWriter WRITER = MAPPER.writerFor(new TypeReference<List<String>>() {});
+
+    @Override
+    public String convertToDatabaseColumn(List<String> attribute) {
+        if (attribute == null || attribute.isEmpty()) {
+            return "[]";
+        }
+        try {
+            return WRITER.writeValueAsString(attribute);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Cannot serialize list to JSON", e);
+        }
+    }
+
+    @Override
+    public List<String> convertToEntityAttribute(String dbData) {
+        if (dbData == null || dbData.isBlank()) {
+            return new ArrayList<>();
+        }
+        try {
+            List<String> values = READER.readValue(dbData);
+            return values != null ? new ArrayList<>(values) : new ArrayList<>();
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Cannot read JSON list column", e);
+        }
+    }
+}
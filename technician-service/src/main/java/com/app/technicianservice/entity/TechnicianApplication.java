@@ -3,15 +3,16 @@ package com.app.technicianservice.entity;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
-import com.fasterxml.jackson.databind.ObjectMapper;
 
 import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.Table;
 import com.app.technicianservice.dto.TechnicianApplicationRequest;
@@ -21,7 +22,11 @@ import lombok.NoArgsConstructor;
 @Data
 @NoArgsConstructor
 @Entity
-@Table(name = "technician_applications")
+@Table(name = "technician_applications", indexes = {
+        @Index(name = "idx_app_status_created", columnList = "status, created_at, id"),
+        @Index(name = "idx_app_status_city", columnList = "status, city, created_at"),
+        @Index(name = "idx_app_status_specialization", columnList = "status, specialization, created_at")
+})
 public class TechnicianApplication {
 
     @Id
@@ -55,8 +60,10 @@ public class TechnicianApplication {
     @Column(nullable = false)
     private String specialization;
 
+    // Searched with MEMBER OF through the multi-valued index idx_app_skills
+    @Convert(converter = StringListJsonConverter.class)
     @Column(columnDefinition = "JSON", nullable = false)
-    private String skills; // Stored as JSON string
+    private List<String> skills = new ArrayList<>();
 
     @Column(length = 200)
     private String certifications;
@@ -108,19 +115,6 @@ public class TechnicianApplication {
         PENDING, APPROVED, REJECTED
     }
 
-    // Helper method to deserialize skills from JSON string to List
-    public List<String> getSkillsList() {
-        if (skills == null || skills.isEmpty() || skills.equals("[]")) {
-            return new ArrayList<>();
-        }
-        try {
-            ObjectMapper mapper = new ObjectMapper();
-            return mapper.readValue(skills, mapper.getTypeFactory().constructCollectionType(List.class, String.class));
-        } catch (Exception e) {
-            return new ArrayList<>();
-        }
-    }
-
     @PrePersist
     public void prePersist() {
         if (createdAt == null) {
@@ -129,9 +123,8 @@ public class TechnicianApplication {
         if (status == null) {
             status = ApplicationStatus.PENDING;
         }
-        // Ensure skills is serialized to JSON string
-        if (skills == null || skills.isEmpty()) {
-            skills = "[]";
+        if (skills == null) {
+            skills = new ArrayList<>();
         }
     }
     
@@ -146,17 +139,7 @@ public class TechnicianApplication {
         this.experience = r.getExperience();
         this.specialization = r.getSpecialization();
         
-        // Serialize skills list to JSON
-        if (r.getSkills() != null && !r.getSkills().isEmpty()) {
-            try {
-                ObjectMapper mapper = new ObjectMapper();
-                this.skills = mapper.writeValueAsString(r.getSkills());
-            } catch (Exception e) {
-                this.skills = "[]";
-            }
-        } else {
-            this.skills = "[]";
-        }
+        this.skills = r.getSkills() != null ? new ArrayList<>(r.getSkills()) : new ArrayList<>();
         
         this.certifications = r.getCertifications();
         this.previousEmployer = r.getPreviousEmployer();
@@ -0,0 +1,37 @@
+package com.app.technicianservice.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Last flushed live position of a technician. Written in batches by
+// LiveLocationService with plain JDBC; mapped here for the schema and for
+// restoring the in-memory store on startup.
+@Data
+@NoArgsConstructor
+@Entity
+@Table(name = "technician_live_locations", indexes = {
+        @Index(name = "idx_live_location_recorded", columnList = "recorded_at")
+})
+public class TechnicianLiveLocation {
+
+    @Id
+    private String technicianId;
+
+    @Column(nullable = false)
+    private String userId;
+
+    @Column(nullable = false)
+    private double latitude;
+
+    @Column(nullable = false)
+    private double longitude;
+
+    // Epoch millis, so batched JDBC writes and JPA reads agree without time zone handling
+    @Column(nullable = false)
+    private long recordedAt;
+}
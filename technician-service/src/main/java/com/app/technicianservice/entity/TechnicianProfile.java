@@ -4,8 +4,15 @@ import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
 
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
+
 import com.app.technicianservice.dto.CreateProfileRequest;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.ElementCollection;
 import jakarta.persistence.Entity;
@@ -13,8 +20,10 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import lombok.Data;
@@ -23,13 +32,25 @@ import lombok.NoArgsConstructor;
 @Data
 @NoArgsConstructor
 @Entity
-@Table(name = "technician_profiles")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = TechnicianProfile.CACHE_REGION)
+@NaturalIdCache(region = TechnicianProfile.USER_ID_CACHE_REGION)
+@Table(name = "technician_profiles", indexes = {
+        // Backs the keyset scan used by /available and /suggestions
+        @Index(name = "idx_tech_available_workload", columnList = "is_available, current_workload, id")
+})
 public class TechnicianProfile {
 
+    // Second-level cache regions, created in HibernateCacheConfig
+    public static final String CACHE_REGION = "technicianProfiles";
+    public static final String SKILLS_CACHE_REGION = "technicianProfiles.skills";
+    public static final String USER_ID_CACHE_REGION = "technicianProfiles.byUserId";
+
     @Id
     @GeneratedValue(strategy = GenerationType.UUID)
     private String id;
 
+    @NaturalId
     @Column(nullable = false, unique = true)
     private String userId;
 
@@ -49,7 +70,11 @@ public class TechnicianProfile {
     private String specialization;
     private Integer experience;
 
-    @ElementCollection(fetch = FetchType.EAGER)
+    // Lazy so list queries stay one select per page; skills for a whole page
+    // are initialised together in a single IN (...) select.
+    @ElementCollection(fetch = FetchType.LAZY)
+    @BatchSize(size = 100)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = TechnicianProfile.SKILLS_CACHE_REGION)
     @Column(nullable = false)
     private List<String> skills = new ArrayList<>();
 
@@ -67,6 +92,11 @@ public class TechnicianProfile {
 
     @Column(nullable = false, updatable = false)
     private Instant createdAt;
+
+    // Bumped on every update; change events carry it so consumers can drop stale ones
+    @Version
+    @Column(nullable = false)
+    private Long version;
     
     public void populateFrom(CreateProfileRequest r) {
         this.name = r.getName();
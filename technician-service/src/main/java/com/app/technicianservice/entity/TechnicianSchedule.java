@@ -1,23 +1,37 @@
 package com.app.technicianservice.entity;
 
 import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
-import jakarta.persistence.Lob;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+// One row per technician per day. Slots are 30-minute windows stored as bits
+// of a BIGINT (bit i = slot starting at i * 30 minutes), so a booking is a
+// single conditional UPDATE on a fixed-width column.
 @Data
 @NoArgsConstructor
 @Entity
-@Table(name = "technician_schedules")
+@Table(name = "technician_schedules",
+        uniqueConstraints = @UniqueConstraint(name = "uk_schedule_technician_date",
+                columnNames = {"technician_id", "schedule_date"}),
+        indexes = @Index(name = "idx_schedule_date", columnList = "schedule_date"))
 public class TechnicianSchedule {
 
+    public static final int SLOT_MINUTES = 30;
+    public static final int SLOTS_PER_DAY = 24 * 60 / SLOT_MINUTES;
+
     @Id
     @GeneratedValue(strategy = GenerationType.UUID)
     private String id;
@@ -28,11 +42,42 @@ public class TechnicianSchedule {
     @Column(nullable = false)
     private LocalDate scheduleDate;
 
-    @Lob
-    @Column(columnDefinition = "TEXT")
-    private String availableSlotsJson;
+    @Column(nullable = false)
+    private Long availableSlots = 0L;
+
+    @Column(nullable = false)
+    private Long bookedSlots = 0L;
+
+    public long freeSlots() {
+        return availableSlots & ~bookedSlots;
+    }
+
+    public static long slotBit(int slot) {
+        if (slot < 0 || slot >= SLOTS_PER_DAY) {
+            throw new IllegalArgumentException("Slot must be between 0 and " + (SLOTS_PER_DAY - 1));
+        }
+        return 1L << slot;
+    }
+
+    public static long maskOf(Collection<Integer> slots) {
+        long mask = 0L;
+        for (Integer slot : slots) {
+            mask |= slotBit(slot);
+        }
+        return mask;
+    }
+
+    public static List<Integer> slotsOf(long mask) {
+        List<Integer> slots = new ArrayList<>(Long.bitCount(mask));
+        long remaining = mask;
+        while (remaining != 0) {
+            slots.add(Long.numberOfTrailingZeros(remaining));
+            remaining &= remaining - 1;
+        }
+        return slots;
+    }
 
-    @Lob
-    @Column(columnDefinition = "TEXT")
-    private String bookedSlotsJson;
+    public static LocalTime slotStart(int slot) {
+        return LocalTime.MIDNIGHT.plusMinutes((long) slot * SLOT_MINUTES);
+    }
 }
@@ -0,0 +1,28 @@
+package com.app.technicianservice.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Idempotency key of a workload adjustment that has been applied. Written in
+// the same transaction as the adjustment, so a retried call with the same key
+// finds it and changes nothing.
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "workload_adjustment_keys")
+public class WorkloadAdjustmentKey {
+
+    @Id
+    @Column(name = "idempotency_key", length = 100)
+    private String key;
+
+    // Epoch millis
+    @Column(nullable = false)
+    private long appliedAt;
+}
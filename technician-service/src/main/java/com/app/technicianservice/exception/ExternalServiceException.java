@@ -0,0 +1,12 @@
+package com.app.technicianservice.exception;
+
+// Exception thrown when a downstream service is unavailable or keeps failing
+public class ExternalServiceException extends RuntimeException {
+    public ExternalServiceException(String message) {
+        super(message);
+    }
+
+    public ExternalServiceException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
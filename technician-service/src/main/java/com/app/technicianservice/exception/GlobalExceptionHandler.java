@@ -31,6 +31,11 @@ public class GlobalExceptionHandler {
         return build(HttpStatus.CONFLICT, ex.getMessage());
     }
 
+    @ExceptionHandler(ExternalServiceException.class)
+    public ResponseEntity<Map<String, Object>> handleExternalService(ExternalServiceException ex) {
+        return build(HttpStatus.SERVICE_UNAVAILABLE, ex.getMessage());
+    }
+
     @ExceptionHandler(FeignException.Conflict.class)
     public ResponseEntity<Map<String, Object>> handleFeignConflict(FeignException.Conflict ex) {
         String message = "Email already registered or resource conflict. Please check if the technician is already registered.";
@@ -0,0 +1,22 @@
+package com.app.technicianservice.feign;
+
+import java.util.List;
+
+import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+
+import com.app.technicianservice.feign.dto.UserAuthResponse;
+import com.app.technicianservice.feign.fallback.IdentityUserClientFallback;
+
+import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
+
+@FeignClient(name = "identity-service", contextId = "identityUserClient", path = "api/users",
+        fallback = IdentityUserClientFallback.class)
+public interface IdentityUserClient {
+
+    @GetMapping("/search")
+    @CircuitBreaker(name = "identity-service", fallbackMethod = "searchByEmailFallback")
+    ResponseEntity<List<UserAuthResponse>> searchByEmail(@RequestParam("email") String email);
+}
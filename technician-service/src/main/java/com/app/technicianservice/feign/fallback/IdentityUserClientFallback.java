@@ -0,0 +1,24 @@
+package com.app.technicianservice.feign.fallback;
+
+import java.util.List;
+
+import com.app.technicianservice.feign.IdentityUserClient;
+import com.app.technicianservice.feign.dto.UserAuthResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+// Fallback implementation for IdentityUserClient
+// Used when the circuit breaker is open or the identity service is unavailable
+@Slf4j
+@Component
+public class IdentityUserClientFallback implements IdentityUserClient {
+
+    @Override
+    public ResponseEntity<List<UserAuthResponse>> searchByEmail(String email) {
+        log.warn("Identity service is unavailable. Cannot search users by email: {}", email);
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .body(null);
+    }
+}
@@ -0,0 +1,39 @@
+package com.app.technicianservice.messaging;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.app.technicianservice.config.RabbitConfig;
+import com.app.technicianservice.messaging.event.TechnicianChangedEvent;
+
+// Forwards technician changes to RabbitMQ once the transaction has committed,
+// so consumers never see a change that was rolled back. Delivery is best
+// effort: consumers that miss an event reload the technician over HTTP.
+@Component
+public class TechnicianEventPublisher {
+
+    private static final Logger log = LoggerFactory.getLogger(TechnicianEventPublisher.class);
+
+    private final RabbitTemplate rabbitTemplate;
+
+    public TechnicianEventPublisher(RabbitTemplate rabbitTemplate) {
+        this.rabbitTemplate = rabbitTemplate;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void publish(TechnicianChangedEvent event) {
+        try {
+            rabbitTemplate.convertAndSend(RabbitConfig.TECHNICIAN_EXCHANGE, event.getType().routingKey(), event);
+            log.debug("Published {} for technician {} at version {}",
+                    event.getType(), event.getTechnicianId(), event.getVersion());
+        } catch (AmqpException e) {
+            log.warn("Could not publish {} for technician {}: {}",
+                    event.getType(), event.getTechnicianId(), e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.app.technicianservice.messaging.event;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.app.technicianservice.entity.TechnicianProfile;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Compact snapshot of a technician after a committed change. version is the
+// profile's optimistic-lock version, so it only ever grows per technician.
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TechnicianChangedEvent implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    public enum Type {
+        CREATED, AVAILABILITY_CHANGED, WORKLOAD_CHANGED, DELETED;
+
+        public String routingKey() {
+            return "technician." + name().toLowerCase();
+        }
+    }
+
+    private Type type;
+    private String technicianId;
+    private String userId;
+    private long version;
+    private String name;
+    private String email;
+    private String phone;
+    private String specialization;
+    private List<String> skills;
+    private String location;
+    private Boolean available;
+    private Integer currentWorkload;
+    private Integer maxWorkload;
+    private Instant occurredAt;
+
+    public static TechnicianChangedEvent of(Type type, TechnicianProfile profile) {
+        TechnicianChangedEvent event = new TechnicianChangedEvent();
+        event.type = type;
+        event.technicianId = profile.getId();
+        event.userId = profile.getUserId();
+        event.version = profile.getVersion() != null ? profile.getVersion() : 0L;
+        event.name = profile.getName();
+        event.email = profile.getEmail();
+        event.phone = profile.getPhone();
+        event.specialization = profile.getSpecialization();
+        event.skills = profile.getSkills() != null ? new ArrayList<>(profile.getSkills()) : new ArrayList<>();
+        event.location = profile.getLocation();
+        event.available = profile.getAvailable();
+        event.currentWorkload = profile.getCurrentWorkload();
+        event.maxWorkload = profile.getMaxWorkload();
+        event.occurredAt = Instant.now();
+        return event;
+    }
+
+    // The row is gone, so there is no newer version to read; one past the last
+    // one seen still orders after every earlier event.
+    public static TechnicianChangedEvent deleted(TechnicianProfile profile) {
+        TechnicianChangedEvent event = of(Type.DELETED, profile);
+        event.version = event.version + 1;
+        return event;
+    }
+}
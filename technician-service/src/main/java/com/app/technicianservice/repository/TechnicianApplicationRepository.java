@@ -1,9 +1,16 @@
 package com.app.technicianservice.repository;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.app.technicianservice.entity.TechnicianApplication;
 import com.app.technicianservice.entity.TechnicianApplication.ApplicationStatus;
@@ -11,5 +18,53 @@ import com.app.technicianservice.entity.TechnicianApplication.ApplicationStatus;
 public interface TechnicianApplicationRepository extends JpaRepository<TechnicianApplication, String> {
     Optional<TechnicianApplication> findByEmail(String email);
     List<TechnicianApplication> findByStatus(ApplicationStatus status);
-}
 
+    // Native so the skill filter can use MEMBER OF against the multi-valued
+    // index; the path has to be skills->'$' as in the index definition or the
+    // optimizer does not pick it (see ApplicationIndexInitializer). Null
+    // filters are folded away by the optimizer. Sort properties must be
+    // column names.
+    @Query(value = """
+            SELECT * FROM technician_applications a
+             WHERE a.status = :status
+               AND (:city IS NULL OR a.city = :city)
+               AND (:specialization IS NULL OR a.specialization = :specialization)
+               AND (:skill IS NULL OR :skill MEMBER OF (a.skills->'$'))
+            """,
+            countQuery = """
+            SELECT COUNT(*) FROM technician_applications a
+             WHERE a.status = :status
+               AND (:city IS NULL OR a.city = :city)
+               AND (:specialization IS NULL OR a.specialization = :specialization)
+               AND (:skill IS NULL OR :skill MEMBER OF (a.skills->'$'))
+            """,
+            nativeQuery = true)
+    Page<TechnicianApplication> searchByStatus(
+            @Param("status") String status,
+            @Param("skill") String skill,
+            @Param("city") String city,
+            @Param("specialization") String specialization,
+            Pageable pageable);
+
+    // Moves an application between statuses only if it is still in the expected one;
+    // returns 0 if another reviewer got there first
+    @Transactional
+    @Modifying
+    @Query("""
+            update TechnicianApplication a
+               set a.status = :target,
+                   a.reviewedAt = :reviewedAt,
+                   a.reviewedBy = :reviewedBy
+             where a.id = :id
+               and a.status = :current
+            """)
+    int updateStatusIfCurrent(@Param("id") String id,
+                              @Param("current") ApplicationStatus current,
+                              @Param("target") ApplicationStatus target,
+                              @Param("reviewedBy") String reviewedBy,
+                              @Param("reviewedAt") Instant reviewedAt);
+
+    default int markApprovedIfPending(String id, String reviewedBy, Instant reviewedAt) {
+        return updateStatusIfCurrent(id, ApplicationStatus.PENDING, ApplicationStatus.APPROVED, reviewedBy, reviewedAt);
+    }
+}
@@ -0,0 +1,11 @@
+package com.app.technicianservice.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import com.app.technicianservice.entity.TechnicianLiveLocation;
+
+public interface TechnicianLiveLocationRepository extends JpaRepository<TechnicianLiveLocation, String> {
+    List<TechnicianLiveLocation> findByRecordedAtGreaterThan(long cutoffMillis);
+}
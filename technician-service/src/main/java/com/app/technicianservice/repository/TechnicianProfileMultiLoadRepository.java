@@ -0,0 +1,13 @@
+package com.app.technicianservice.repository;
+
+import java.util.Collection;
+import java.util.List;
+
+import com.app.technicianservice.entity.TechnicianProfile;
+
+public interface TechnicianProfileMultiLoadRepository {
+
+    // Profiles already in the second-level cache are served from it; the rest
+    // are loaded with batched IN selects. Unknown ids are left out.
+    List<TechnicianProfile> findAllCachedById(Collection<String> ids);
+}
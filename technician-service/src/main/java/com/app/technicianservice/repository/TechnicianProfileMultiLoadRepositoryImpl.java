@@ -0,0 +1,43 @@
+package com.app.technicianservice.repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+
+import org.hibernate.CacheMode;
+import org.hibernate.Hibernate;
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.app.technicianservice.entity.TechnicianProfile;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+class TechnicianProfileMultiLoadRepositoryImpl implements TechnicianProfileMultiLoadRepository {
+
+    private static final int BATCH_SIZE = 100;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<TechnicianProfile> findAllCachedById(Collection<String> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        List<TechnicianProfile> profiles = entityManager.unwrap(Session.class)
+                .byMultipleIds(TechnicianProfile.class)
+                .with(CacheMode.NORMAL)
+                .withBatchSize(BATCH_SIZE)
+                .multiLoad(new ArrayList<>(ids))
+                .stream()
+                .filter(Objects::nonNull)
+                .toList();
+        // Skills are @BatchSize'd, so cold collections load a batch at a time
+        profiles.forEach(p -> Hibernate.initialize(p.getSkills()));
+        return profiles;
+    }
+}
@@ -0,0 +1,11 @@
+package com.app.technicianservice.repository;
+
+import java.util.Optional;
+
+import com.app.technicianservice.entity.TechnicianProfile;
+
+public interface TechnicianProfileNaturalIdRepository {
+
+    // Resolved through the natural-id cache instead of a query on user_id
+    Optional<TechnicianProfile> findByUserId(String userId);
+}
@@ -0,0 +1,29 @@
+package com.app.technicianservice.repository;
+
+import java.util.Optional;
+
+import org.hibernate.Hibernate;
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.app.technicianservice.entity.TechnicianProfile;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+class TechnicianProfileNaturalIdRepositoryImpl implements TechnicianProfileNaturalIdRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<TechnicianProfile> findByUserId(String userId) {
+        Optional<TechnicianProfile> profile = entityManager.unwrap(Session.class)
+                .bySimpleNaturalId(TechnicianProfile.class)
+                .loadOptional(userId);
+        // Callers always render skills; served from the collection cache when warm
+        profile.ifPresent(p -> Hibernate.initialize(p.getSkills()));
+        return profile;
+    }
+}
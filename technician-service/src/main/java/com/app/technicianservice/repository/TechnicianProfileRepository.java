@@ -1,14 +1,67 @@
 package com.app.technicianservice.repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import com.app.technicianservice.dto.TechnicianSummaryResponse;
 import com.app.technicianservice.entity.TechnicianProfile;
 
-public interface TechnicianProfileRepository extends JpaRepository<TechnicianProfile, String> {
-    Optional<TechnicianProfile> findByUserId(String userId);
+public interface TechnicianProfileRepository
+        extends JpaRepository<TechnicianProfile, String>, TechnicianProfileNaturalIdRepository,
+                TechnicianProfileMultiLoadRepository {
+
+    // Single-profile lookups always render skills, so load them in the same select
+    @Override
+    @EntityGraph(attributePaths = "skills")
+    Optional<TechnicianProfile> findById(String id);
+
     List<TechnicianProfile> findByIsAvailableTrue();
     List<TechnicianProfile> findByIsAvailableTrueAndCurrentWorkloadLessThan(Integer maxWorkload);
+
+    // Scalar projection of one page of technicians that can take more work
+    @Query(value = """
+            select new com.app.technicianservice.dto.TechnicianSummaryResponse(
+                p.id, p.userId, p.name, p.specialization, p.location,
+                p.isAvailable, p.currentWorkload, p.maxWorkload)
+            from TechnicianProfile p
+            where p.isAvailable = true and p.currentWorkload < p.maxWorkload
+            """,
+            countQuery = """
+            select count(p) from TechnicianProfile p
+            where p.isAvailable = true and p.currentWorkload < p.maxWorkload
+            """)
+    Page<TechnicianSummaryResponse> findAvailableSummaries(Pageable pageable);
+
+    // Skills for a page of profiles in one select
+    @Query("select p.id as profileId, s as skill from TechnicianProfile p join p.skills s where p.id in :ids")
+    List<ProfileSkill> findSkillsByProfileIds(@Param("ids") Collection<String> ids);
+
+    // Keyset scan over available technicians ordered by (currentWorkload, id)
+    @Query("""
+            select p from TechnicianProfile p
+            where p.isAvailable = true
+              and (p.currentWorkload > :afterWorkload
+                   or (p.currentWorkload = :afterWorkload and p.id > :afterId))
+            order by p.currentWorkload asc, p.id asc
+            """)
+    List<TechnicianProfile> findAvailableAfter(
+            @Param("afterWorkload") int afterWorkload,
+            @Param("afterId") String afterId,
+            Pageable pageable);
+
+    @Query("select distinct p.id from TechnicianProfile p join p.skills s where p.isAvailable = true and lower(s) = lower(:skill)")
+    List<String> findAvailableIdsWithSkill(@Param("skill") String skill);
+
+    interface ProfileSkill {
+        String getProfileId();
+        String getSkill();
+    }
 }
@@ -1,13 +1,68 @@
 package com.app.technicianservice.repository;
 
 import java.time.LocalDate;
+import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.app.technicianservice.entity.TechnicianSchedule;
 
 public interface TechnicianScheduleRepository extends JpaRepository<TechnicianSchedule, String> {
     Optional<TechnicianSchedule> findByTechnicianIdAndScheduleDate(String technicianId, LocalDate scheduleDate);
-}
 
+    List<TechnicianSchedule> findByScheduleDate(LocalDate scheduleDate);
+
+    // Sets the booked bit only if the slot is open and not yet taken; returns 0 on conflict
+    @Modifying
+    @Query(value = """
+            UPDATE technician_schedules
+               SET booked_slots = booked_slots | :bit
+             WHERE technician_id = :technicianId
+               AND schedule_date = :date
+               AND (available_slots & :bit) <> 0
+               AND (booked_slots & :bit) = 0
+            """, nativeQuery = true)
+    int bookSlot(@Param("technicianId") String technicianId,
+                 @Param("date") LocalDate date,
+                 @Param("bit") long bit);
+
+    @Modifying
+    @Query(value = """
+            UPDATE technician_schedules
+               SET booked_slots = booked_slots & ~:bit
+             WHERE technician_id = :technicianId
+               AND schedule_date = :date
+               AND (booked_slots & :bit) <> 0
+            """, nativeQuery = true)
+    int releaseSlot(@Param("technicianId") String technicianId,
+                    @Param("date") LocalDate date,
+                    @Param("bit") long bit);
+
+    // Creates the day row on first use; the unique key makes concurrent opens merge
+    @Modifying(clearAutomatically = true)
+    @Query(value = """
+            INSERT INTO technician_schedules (id, technician_id, schedule_date, available_slots, booked_slots)
+            VALUES (:id, :technicianId, :date, :mask, 0)
+            ON DUPLICATE KEY UPDATE available_slots = available_slots | :mask
+            """, nativeQuery = true)
+    int openSlots(@Param("id") String id,
+                  @Param("technicianId") String technicianId,
+                  @Param("date") LocalDate date,
+                  @Param("mask") long mask);
+
+    // Booked slots stay booked; closing only stops new bookings
+    @Modifying(clearAutomatically = true)
+    @Query(value = """
+            UPDATE technician_schedules
+               SET available_slots = available_slots & ~:mask
+             WHERE technician_id = :technicianId
+               AND schedule_date = :date
+            """, nativeQuery = true)
+    int closeSlots(@Param("technicianId") String technicianId,
+                   @Param("date") LocalDate date,
+                   @Param("mask") long mask);
+}
@@ -0,0 +1,8 @@
+package com.app.technicianservice.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import com.app.technicianservice.entity.WorkloadAdjustmentKey;
+
+public interface WorkloadAdjustmentKeyRepository extends JpaRepository<WorkloadAdjustmentKey, String> {
+}
@@ -0,0 +1,95 @@
+package com.app.technicianservice.service;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.app.technicianservice.dto.ApprovalJobResponse;
+
+// In-memory state of one batch approval. Items are updated concurrently by
+// worker threads; reads take a snapshot.
+class ApprovalJob {
+
+    enum Status { RUNNING, COMPLETED, COMPLETED_WITH_ERRORS }
+
+    enum ItemStatus { QUEUED, RUNNING, SUCCEEDED, FAILED, SKIPPED }
+
+    private final String id = UUID.randomUUID().toString();
+    private final String requestedBy;
+    private final Instant createdAt = Instant.now();
+    private final List<String> applicationIds;
+    private final Map<String, ApprovalJobResponse.Item> items = new ConcurrentHashMap<>();
+    private final AtomicInteger remaining;
+    private final AtomicInteger succeeded = new AtomicInteger();
+    private final AtomicInteger failed = new AtomicInteger();
+    private final AtomicInteger skipped = new AtomicInteger();
+    private volatile Instant finishedAt;
+
+    ApprovalJob(String requestedBy, List<String> applicationIds) {
+        this.requestedBy = requestedBy;
+        this.applicationIds = List.copyOf(applicationIds);
+        this.remaining = new AtomicInteger(applicationIds.size());
+        applicationIds.forEach(appId -> items.put(appId,
+                new ApprovalJobResponse.Item(appId, ItemStatus.QUEUED.name(), 0, null, null)));
+    }
+
+    String getId() {
+        return id;
+    }
+
+    String getRequestedBy() {
+        return requestedBy;
+    }
+
+    List<String> getApplicationIds() {
+        return applicationIds;
+    }
+
+    boolean isFinished() {
+        return finishedAt != null;
+    }
+
+    Instant getFinishedAt() {
+        return finishedAt;
+    }
+
+    void started(String applicationId, int attempt) {
+        items.computeIfPresent(applicationId, (appId, item) ->
+                new ApprovalJobResponse.Item(appId, ItemStatus.RUNNING.name(), attempt, item.getTechnicianUserId(), null));
+    }
+
+    void finish(String applicationId, ItemStatus status, int attempts, String technicianUserId, String message) {
+        items.put(applicationId, new ApprovalJobResponse.Item(
+                applicationId, status.name(), attempts, technicianUserId, message));
+        switch (status) {
+            case SUCCEEDED -> succeeded.incrementAndGet();
+            case SKIPPED -> skipped.incrementAndGet();
+            default -> failed.incrementAndGet();
+        }
+        if (remaining.decrementAndGet() == 0) {
+            finishedAt = Instant.now();
+        }
+    }
+
+    ApprovalJobResponse toResponse() {
+        ApprovalJobResponse r = new ApprovalJobResponse();
+        r.setJobId(id);
+        r.setRequestedBy(requestedBy);
+        r.setTotal(applicationIds.size());
+        r.setSucceeded(succeeded.get());
+        r.setFailed(failed.get());
+        r.setSkipped(skipped.get());
+        r.setCreatedAt(createdAt);
+        r.setFinishedAt(finishedAt);
+        if (!isFinished()) {
+            r.setStatus(Status.RUNNING.name());
+        } else {
+            r.setStatus(failed.get() == 0 ? Status.COMPLETED.name() : Status.COMPLETED_WITH_ERRORS.name());
+        }
+        r.setItems(applicationIds.stream().map(items::get).toList());
+        return r;
+    }
+}
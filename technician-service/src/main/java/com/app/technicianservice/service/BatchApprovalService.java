@@ -0,0 +1,211 @@
+package com.app.technicianservice.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+
+import com.app.technicianservice.dto.ApprovalJobResponse;
+import com.app.technicianservice.entity.TechnicianApplication;
+import com.app.technicianservice.exception.BadRequestException;
+import com.app.technicianservice.exception.ConflictException;
+import com.app.technicianservice.exception.ExternalServiceException;
+import com.app.technicianservice.exception.NotFoundException;
+import com.app.technicianservice.feign.IdentityUserClient;
+import com.app.technicianservice.feign.dto.UserAuthResponse;
+import com.app.technicianservice.repository.TechnicianApplicationRepository;
+import com.app.technicianservice.security.RequestUser;
+import com.app.technicianservice.service.ApprovalJob.ItemStatus;
+import com.app.technicianservice.util.UserContext;
+
+import io.github.resilience4j.core.IntervalFunction;
+import io.github.resilience4j.retry.Retry;
+import io.github.resilience4j.retry.RetryConfig;
+import lombok.extern.slf4j.Slf4j;
+
+// Approves many applications in the background. Each application runs on the
+// bounded approvalExecutor: register (or reconcile) the identity account,
+// create the profile, flip the application to APPROVED with a conditional
+// update, then send credentials. Remote steps are retried on transient
+// failures; a profile created for an item that then fails is deleted again.
+// Nothing here holds a transaction across remote calls.
+@Slf4j
+@Service
+public class BatchApprovalService {
+
+    public static final int MAX_BATCH_SIZE = 500;
+    private static final Duration JOB_RETENTION = Duration.ofHours(1);
+
+    private final TechnicianApplicationService applicationService;
+    private final TechnicianApplicationRepository repository;
+    private final TechnicianService technicianService;
+    private final IdentityUserClient identityUserClient;
+    private final TaskExecutor executor;
+    private final Retry retry;
+    private final Map<String, ApprovalJob> jobs = new ConcurrentHashMap<>();
+
+    public BatchApprovalService(
+            TechnicianApplicationService applicationService,
+            TechnicianApplicationRepository repository,
+            TechnicianService technicianService,
+            IdentityUserClient identityUserClient,
+            @Qualifier("approvalExecutor") TaskExecutor executor,
+            @Value("${app.approvals.batch.max-attempts:3}") int maxAttempts,
+            @Value("${app.approvals.batch.retry-wait-ms:500}") long retryWaitMs) {
+        this.applicationService = applicationService;
+        this.repository = repository;
+        this.technicianService = technicianService;
+        this.identityUserClient = identityUserClient;
+        this.executor = executor;
+        this.retry = Retry.of("batch-approval", RetryConfig.custom()
+                .maxAttempts(maxAttempts)
+                .intervalFunction(IntervalFunction.ofExponentialBackoff(retryWaitMs, 2.0))
+                .retryExceptions(ExternalServiceException.class)
+                .build());
+    }
+
+    public ApprovalJobResponse submit(RequestUser user, List<String> applicationIds) {
+        UserContext.requireAuthenticated(user.userId());
+        UserContext.requireRole(user.role(), UserContext.Role.ADMIN, UserContext.Role.MANAGER);
+
+        List<String> ids = applicationIds == null ? List.of() : applicationIds.stream()
+                .filter(id -> id != null && !id.isBlank())
+                .map(String::trim)
+                .distinct()
+                .toList();
+        if (ids.isEmpty() || ids.size() > MAX_BATCH_SIZE) {
+            throw new BadRequestException("Batch must contain between 1 and " + MAX_BATCH_SIZE + " application ids");
+        }
+
+        evictExpiredJobs();
+        ApprovalJob job = new ApprovalJob(user.userId(), ids);
+        jobs.put(job.getId(), job);
+
+        for (String applicationId : ids) {
+            try {
+                executor.execute(() -> process(job, applicationId));
+            } catch (TaskRejectedException e) {
+                job.finish(applicationId, ItemStatus.FAILED, 0, null, "Approval queue is full, resubmit later");
+            }
+        }
+        log.info("Batch approval job {} queued {} applications", job.getId(), ids.size());
+        return job.toResponse();
+    }
+
+    public ApprovalJobResponse getJob(RequestUser user, String jobId) {
+        UserContext.requireAuthenticated(user.userId());
+        UserContext.requireRole(user.role(), UserContext.Role.ADMIN, UserContext.Role.MANAGER);
+
+        ApprovalJob job = jobs.get(jobId);
+        if (job == null) {
+            throw new NotFoundException("Approval job not found");
+        }
+        return job.toResponse();
+    }
+
+    void process(ApprovalJob job, String applicationId) {
+        TechnicianApplication app;
+        try {
+            app = applicationService.getPending(applicationId);
+        } catch (NotFoundException e) {
+            job.finish(applicationId, ItemStatus.FAILED, 0, null, e.getMessage());
+            return;
+        } catch (BadRequestException e) {
+            job.finish(applicationId, ItemStatus.SKIPPED, 0, null, e.getMessage());
+            return;
+        }
+
+        AtomicInteger attempts = new AtomicInteger();
+        String technicianUserId = null;
+        boolean profileCreated = false;
+        try {
+            technicianUserId = retry.executeSupplier(() -> {
+                job.started(applicationId, attempts.incrementAndGet());
+                return registerOrReconcile(app);
+            });
+
+            if (!technicianService.hasProfile(technicianUserId)) {
+                technicianService.createProfile(
+                        new RequestUser(technicianUserId, "TECHNICIAN"),
+                        applicationService.toProfileRequest(app));
+                profileCreated = true;
+            }
+
+            if (repository.markApprovedIfPending(applicationId, job.getRequestedBy(), Instant.now()) == 0) {
+                compensate(applicationId, technicianUserId, profileCreated);
+                job.finish(applicationId, ItemStatus.SKIPPED, attempts.get(), technicianUserId,
+                        "Application was reviewed concurrently");
+                return;
+            }
+        } catch (RuntimeException e) {
+            compensate(applicationId, technicianUserId, profileCreated);
+            log.warn("Batch approval of application {} failed after {} attempt(s): {}",
+                    applicationId, attempts.get(), e.getMessage());
+            job.finish(applicationId, ItemStatus.FAILED, attempts.get(), technicianUserId, e.getMessage());
+            return;
+        }
+
+        // The approval is committed at this point; a lost email does not undo it
+        String message = sendCredentials(app) ? null : "Approved, but the credentials email could not be sent";
+        job.finish(applicationId, ItemStatus.SUCCEEDED, attempts.get(), technicianUserId, message);
+    }
+
+    // A Conflict means the account exists, typically from an earlier attempt
+    // that failed later on; reuse it if it is a technician account for this email.
+    private String registerOrReconcile(TechnicianApplication app) {
+        try {
+            return applicationService.registerIdentityUser(app);
+        } catch (ConflictException e) {
+            ResponseEntity<List<UserAuthResponse>> response = identityUserClient.searchByEmail(app.getEmail());
+            if (response == null || response.getStatusCode().is5xxServerError() || response.getBody() == null) {
+                throw new ExternalServiceException("Identity service unavailable while reconciling " + app.getEmail());
+            }
+            return response.getBody().stream()
+                    .filter(u -> app.getEmail().equalsIgnoreCase(u.getEmail()))
+                    .filter(u -> u.getRole() != null && u.getRole().toUpperCase().endsWith("TECHNICIAN"))
+                    .map(UserAuthResponse::getId)
+                    .findFirst()
+                    .orElseThrow(() -> e);
+        }
+    }
+
+    private boolean sendCredentials(TechnicianApplication app) {
+        try {
+            return retry.executeSupplier(() -> {
+                if (!applicationService.sendCredentials(app)) {
+                    throw new ExternalServiceException("Notification service unavailable");
+                }
+                return true;
+            });
+        } catch (RuntimeException e) {
+            log.warn("Credentials email for {} not sent: {}", app.getEmail(), e.getMessage());
+            return false;
+        }
+    }
+
+    private void compensate(String applicationId, String technicianUserId, boolean profileCreated) {
+        if (!profileCreated) {
+            return;
+        }
+        try {
+            technicianService.deleteProfileByUserId(technicianUserId);
+        } catch (RuntimeException e) {
+            log.error("Could not remove profile of user {} after failed approval of {}: {}",
+                    technicianUserId, applicationId, e.getMessage());
+        }
+    }
+
+    private void evictExpiredJobs() {
+        Instant cutoff = Instant.now().minus(JOB_RETENTION);
+        jobs.values().removeIf(job -> job.isFinished() && job.getFinishedAt().isBefore(cutoff));
+    }
+}
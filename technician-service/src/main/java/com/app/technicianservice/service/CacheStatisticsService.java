@@ -0,0 +1,58 @@
+package com.app.technicianservice.service;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Service;
+
+import com.app.technicianservice.config.HibernateCacheConfig;
+import com.app.technicianservice.dto.CacheStatsResponse;
+import com.app.technicianservice.exception.BadRequestException;
+import com.app.technicianservice.security.RequestUser;
+import com.app.technicianservice.util.UserContext;
+
+import jakarta.persistence.EntityManagerFactory;
+
+// Hibernate statistics for the technician profile cache regions
+@Service
+public class CacheStatisticsService {
+
+    private final ObjectProvider<EntityManagerFactory> entityManagerFactory;
+
+    public CacheStatisticsService(ObjectProvider<EntityManagerFactory> entityManagerFactory) {
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    public CacheStatsResponse getStats(RequestUser user) {
+        UserContext.requireAuthenticated(user.userId());
+        UserContext.requireRole(user.role(), UserContext.Role.ADMIN, UserContext.Role.MANAGER);
+
+        EntityManagerFactory emf = entityManagerFactory.getIfAvailable();
+        if (emf == null) {
+            throw new BadRequestException("Persistence is not configured");
+        }
+        Statistics statistics = emf.unwrap(SessionFactory.class).getStatistics();
+
+        CacheStatsResponse response = new CacheStatsResponse();
+        response.setStatisticsEnabled(statistics.isStatisticsEnabled());
+        response.setEntityLoads(statistics.getEntityLoadCount());
+        response.setEntityFetches(statistics.getEntityFetchCount());
+        response.setNaturalIdQueries(statistics.getNaturalIdQueryExecutionCount());
+        for (String name : HibernateCacheConfig.REGIONS) {
+            CacheRegionStatistics region = statistics.getDomainDataRegionStatistics(name);
+            if (region == null) {
+                continue;
+            }
+            long lookups = region.getHitCount() + region.getMissCount();
+            response.getRegions().add(new CacheStatsResponse.Region(
+                    name,
+                    region.getHitCount(),
+                    region.getMissCount(),
+                    region.getPutCount(),
+                    region.getElementCountInMemory(),
+                    lookups == 0 ? 0.0 : (double) region.getHitCount() / lookups));
+        }
+        return response;
+    }
+}
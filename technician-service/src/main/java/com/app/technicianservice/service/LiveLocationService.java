@@ -0,0 +1,168 @@
+package com.app.technicianservice.service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.app.technicianservice.dto.LocationUpdateRequest;
+import com.app.technicianservice.dto.NearbyTechnicianResponse;
+import com.app.technicianservice.entity.TechnicianLiveLocation;
+import com.app.technicianservice.exception.BadRequestException;
+import com.app.technicianservice.exception.NotFoundException;
+import com.app.technicianservice.repository.TechnicianLiveLocationRepository;
+import com.app.technicianservice.repository.TechnicianProfileRepository;
+import com.app.technicianservice.security.RequestUser;
+import com.app.technicianservice.util.UserContext;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+// Live technician positions. Reports go to the in-memory LiveLocationStore;
+// a scheduled flush writes whatever changed since the last one to
+// technician_live_locations in a single JDBC batch, so MySQL sees at most one
+// row write per technician per interval however often the app reports.
+@Slf4j
+@Service
+public class LiveLocationService {
+
+    public static final int MAX_NEARBY_RESULTS = 100;
+    public static final double MAX_RADIUS_KM = 500.0;
+    private static final long MAX_CLOCK_SKEW_MS = 60_000;
+
+    // Keeps the newest position if two instances flush the same technician
+    static final String UPSERT_SQL = """
+            INSERT INTO technician_live_locations (technician_id, user_id, latitude, longitude, recorded_at)
+            VALUES (?, ?, ?, ?, ?)
+            ON DUPLICATE KEY UPDATE
+                latitude = IF(VALUES(recorded_at) >= recorded_at, VALUES(latitude), latitude),
+                longitude = IF(VALUES(recorded_at) >= recorded_at, VALUES(longitude), longitude),
+                recorded_at = GREATEST(recorded_at, VALUES(recorded_at))
+            """;
+
+    private final LiveLocationStore store;
+    private final TechnicianProfileRepository profileRepository;
+    private final TechnicianLiveLocationRepository locationRepository;
+    private final ObjectProvider<JdbcTemplate> jdbcTemplate;
+    private final long maxAgeMillis;
+
+    public LiveLocationService(
+            TechnicianProfileRepository profileRepository,
+            TechnicianLiveLocationRepository locationRepository,
+            ObjectProvider<JdbcTemplate> jdbcTemplate,
+            @Value("${app.location.capacity:100000}") int capacity,
+            @Value("${app.location.max-age-seconds:900}") long maxAgeSeconds) {
+        this.store = new LiveLocationStore(capacity);
+        this.profileRepository = profileRepository;
+        this.locationRepository = locationRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.maxAgeMillis = maxAgeSeconds * 1000;
+    }
+
+    public void report(RequestUser user, LocationUpdateRequest request) {
+        UserContext.requireAuthenticated(user.userId());
+        UserContext.requireRole(user.role(), UserContext.Role.TECHNICIAN);
+        if (request.getLatitude() == null || request.getLongitude() == null
+                || Math.abs(request.getLatitude()) > 90 || Math.abs(request.getLongitude()) > 180) {
+            throw new BadRequestException("Latitude must be between -90 and 90 and longitude between -180 and 180");
+        }
+
+        long now = System.currentTimeMillis();
+        long recordedAt = request.getRecordedAt() != null ? request.getRecordedAt() : now;
+        if (recordedAt > now + MAX_CLOCK_SKEW_MS || recordedAt < now - maxAgeMillis) {
+            throw new BadRequestException("recordedAt is too far from the current time");
+        }
+
+        int slot = store.slotOf(user.userId());
+        if (slot < 0) {
+            String technicianId = profileRepository.findByUserId(user.userId())
+                    .orElseThrow(() -> new NotFoundException("Technician profile not found"))
+                    .getId();
+            slot = store.register(user.userId(), technicianId);
+        }
+        store.update(slot, request.getLatitude(), request.getLongitude(), recordedAt);
+    }
+
+    public List<NearbyTechnicianResponse> findNearby(
+            double latitude, double longitude, double radiusKm, int limit, Integer maxAgeSeconds) {
+        if (Math.abs(latitude) > 90 || Math.abs(longitude) > 180) {
+            throw new BadRequestException("Latitude must be between -90 and 90 and longitude between -180 and 180");
+        }
+        if (radiusKm <= 0 || radiusKm > MAX_RADIUS_KM) {
+            throw new BadRequestException("radiusKm must be between 0 and " + MAX_RADIUS_KM);
+        }
+        if (limit < 1 || limit > MAX_NEARBY_RESULTS) {
+            throw new BadRequestException("limit must be between 1 and " + MAX_NEARBY_RESULTS);
+        }
+        long maxAge = maxAgeSeconds != null ? Math.min(maxAgeSeconds * 1000L, maxAgeMillis) : maxAgeMillis;
+
+        return store.nearby(latitude, longitude, radiusKm, limit, System.currentTimeMillis() - maxAge)
+                .stream()
+                .map(n -> new NearbyTechnicianResponse(n.technicianId(), n.userId(), n.latitude(),
+                        n.longitude(), n.distanceKm(), Instant.ofEpochMilli(n.recordedAtMillis())))
+                .toList();
+    }
+
+    @Scheduled(fixedDelayString = "${app.location.flush-interval-ms:5000}")
+    public int flush() {
+        JdbcTemplate jdbc = jdbcTemplate.getIfAvailable();
+        if (jdbc == null) {
+            return 0;
+        }
+
+        List<Object[]> rows = new ArrayList<>();
+        List<Integer> slots = new ArrayList<>();
+        store.drainDirty((slot, technicianId, userId, latitude, longitude, recordedAt) -> {
+            rows.add(new Object[] { technicianId, userId, latitude, longitude, recordedAt });
+            slots.add(slot);
+        });
+        if (rows.isEmpty()) {
+            return 0;
+        }
+
+        try {
+            jdbc.batchUpdate(UPSERT_SQL, rows);
+            log.debug("Flushed {} live locations", rows.size());
+            return rows.size();
+        } catch (DataAccessException e) {
+            // Positions stay in memory and go out with the next flush
+            slots.forEach(store::markDirty);
+            log.warn("Could not flush {} live locations: {}", rows.size(), e.getMessage());
+            return 0;
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void restore() {
+        try {
+            List<TechnicianLiveLocation> recent =
+                    locationRepository.findByRecordedAtGreaterThan(System.currentTimeMillis() - maxAgeMillis);
+            for (TechnicianLiveLocation location : recent) {
+                int slot = store.register(location.getUserId(), location.getTechnicianId());
+                store.restore(slot, location.getLatitude(), location.getLongitude(), location.getRecordedAt());
+            }
+            if (!recent.isEmpty()) {
+                log.info("Restored {} live locations", recent.size());
+            }
+        } catch (DataAccessException e) {
+            log.warn("Could not restore live locations: {}", e.getMessage());
+        }
+    }
+
+    LiveLocationStore store() {
+        return store;
+    }
+}
@@ -0,0 +1,217 @@
+package com.app.technicianservice.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import com.app.technicianservice.exception.ConflictException;
+
+// Latest reported position per technician, held in flat primitive arrays
+// indexed by a dense slot number. A position is packed into one long as two
+// 32-bit fixed-point degrees (1e-7 precision, about 1 cm), so an update is two
+// array writes under a striped lock plus a bit in the dirty bitmap; nothing is
+// allocated once a technician has a slot. Updates older than the stored one are dropped, and
+// repeated updates between flushes coalesce into the latest.
+public class LiveLocationStore {
+
+    private static final double FIXED_POINT = 1e7;
+    private static final double EARTH_RADIUS_KM = 6371.0088;
+    private static final int LOCK_STRIPES = 256;
+
+    private final int capacity;
+    private final Map<String, Integer> slotsByUserId = new ConcurrentHashMap<>();
+    private final AtomicInteger allocated = new AtomicInteger();
+    private final AtomicReferenceArray<String> technicianIds;
+    private final AtomicReferenceArray<String> userIds;
+    private final AtomicLongArray positions;
+    // 0 means no position reported yet
+    private final AtomicLongArray recordedAt;
+    private final AtomicLongArray dirty;
+    // Orders the position/timestamp pair of one slot against concurrent reports
+    private final Object[] locks = new Object[LOCK_STRIPES];
+
+    public LiveLocationStore(int capacity) {
+        this.capacity = capacity;
+        this.technicianIds = new AtomicReferenceArray<>(capacity);
+        this.userIds = new AtomicReferenceArray<>(capacity);
+        this.positions = new AtomicLongArray(capacity);
+        this.recordedAt = new AtomicLongArray(capacity);
+        this.dirty = new AtomicLongArray((capacity + 63) >>> 6);
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new Object();
+        }
+    }
+
+    // -1 if the user has not reported yet
+    public int slotOf(String userId) {
+        Integer slot = slotsByUserId.get(userId);
+        return slot == null ? -1 : slot;
+    }
+
+    public int register(String userId, String technicianId) {
+        return slotsByUserId.computeIfAbsent(userId, key -> {
+            int slot = allocated.getAndIncrement();
+            if (slot >= capacity) {
+                allocated.decrementAndGet();
+                throw new ConflictException("Live location store is full");
+            }
+            technicianIds.set(slot, technicianId);
+            userIds.set(slot, userId);
+            return slot;
+        });
+    }
+
+    // Returns false when a newer position is already stored
+    public boolean update(int slot, double latitude, double longitude, long recordedAtMillis) {
+        long packed = pack(latitude, longitude);
+        synchronized (locks[slot & (LOCK_STRIPES - 1)]) {
+            if (recordedAtMillis < recordedAt.get(slot)) {
+                return false;
+            }
+            positions.set(slot, packed);
+            recordedAt.set(slot, recordedAtMillis);
+        }
+        markDirty(slot);
+        return true;
+    }
+
+    // Loads a previously flushed position without scheduling it for another flush
+    public void restore(int slot, double latitude, double longitude, long recordedAtMillis) {
+        synchronized (locks[slot & (LOCK_STRIPES - 1)]) {
+            if (recordedAtMillis >= recordedAt.get(slot)) {
+                positions.set(slot, pack(latitude, longitude));
+                recordedAt.set(slot, recordedAtMillis);
+            }
+        }
+    }
+
+    public void markDirty(int slot) {
+        int word = slot >>> 6;
+        long bit = 1L << (slot & 63);
+        long bits;
+        do {
+            bits = dirty.get(word);
+            if ((bits & bit) != 0) {
+                return;
+            }
+        } while (!dirty.compareAndSet(word, bits, bits | bit));
+    }
+
+    // Clears the dirty set and hands every changed slot to the sink once
+    public int drainDirty(SlotSink sink) {
+        int drained = 0;
+        for (int word = 0; word < dirty.length(); word++) {
+            long bits = dirty.getAndSet(word, 0L);
+            while (bits != 0) {
+                int slot = (word << 6) + Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+                long packed = positions.get(slot);
+                sink.accept(slot, technicianIds.get(slot), userIds.get(slot),
+                        latitudeOf(packed), longitudeOf(packed), recordedAt.get(slot));
+                drained++;
+            }
+        }
+        return drained;
+    }
+
+    public int size() {
+        return Math.min(allocated.get(), capacity);
+    }
+
+    // Nearest technicians within radiusKm whose position is not older than
+    // minRecordedAtMillis, closest first.
+    public List<Nearby> nearby(double latitude, double longitude, double radiusKm, int limit,
+            long minRecordedAtMillis) {
+        // Degree box around the point rejects most slots before the trigonometry
+        double latDelta = Math.toDegrees(radiusKm / EARTH_RADIUS_KM);
+        double cosLat = Math.max(Math.cos(Math.toRadians(latitude)), 1e-6);
+        double lngDelta = Math.min(180.0, latDelta / cosLat);
+
+        int[] bestSlots = new int[limit];
+        double[] bestDistances = new double[limit];
+        int found = 0;
+
+        int size = size();
+        for (int slot = 0; slot < size; slot++) {
+            long at = recordedAt.get(slot);
+            if (at == 0 || at < minRecordedAtMillis) {
+                continue;
+            }
+            long packed = positions.get(slot);
+            double lat = latitudeOf(packed);
+            double lng = longitudeOf(packed);
+            if (Math.abs(lat - latitude) > latDelta || lngDistance(lng, longitude) > lngDelta) {
+                continue;
+            }
+            double distance = distanceKm(latitude, longitude, lat, lng);
+            if (distance > radiusKm) {
+                continue;
+            }
+            // Insertion into a small sorted buffer; limit is capped by the caller
+            if (found < limit) {
+                found++;
+            } else if (distance >= bestDistances[limit - 1]) {
+                continue;
+            }
+            int i = found - 1;
+            while (i > 0 && bestDistances[i - 1] > distance) {
+                bestDistances[i] = bestDistances[i - 1];
+                bestSlots[i] = bestSlots[i - 1];
+                i--;
+            }
+            bestDistances[i] = distance;
+            bestSlots[i] = slot;
+        }
+
+        List<Nearby> result = new ArrayList<>(found);
+        for (int i = 0; i < found; i++) {
+            int slot = bestSlots[i];
+            long packed = positions.get(slot);
+            result.add(new Nearby(technicianIds.get(slot), userIds.get(slot),
+                    latitudeOf(packed), longitudeOf(packed), bestDistances[i], recordedAt.get(slot)));
+        }
+        return result;
+    }
+
+    static long pack(double latitude, double longitude) {
+        long lat = Math.round(latitude * FIXED_POINT);
+        long lng = Math.round(longitude * FIXED_POINT);
+        return (lat << 32) | (lng & 0xFFFFFFFFL);
+    }
+
+    static double latitudeOf(long packed) {
+        return (int) (packed >> 32) / FIXED_POINT;
+    }
+
+    static double longitudeOf(long packed) {
+        return (int) packed / FIXED_POINT;
+    }
+
+    static double distanceKm(double lat1, double lng1, double lat2, double lng2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLng = Math.toRadians(lng2 - lng1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.sin(dLng / 2) * Math.sin(dLng / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1.0, Math.sqrt(a)));
+    }
+
+    private static double lngDistance(double a, double b) {
+        double d = Math.abs(a - b);
+        return d > 180 ? 360 - d : d;
+    }
+
+    @FunctionalInterface
+    public interface SlotSink {
+        void accept(int slot, String technicianId, String userId,
+                double latitude, double longitude, long recordedAtMillis);
+    }
+
+    public record Nearby(String technicianId, String userId, double latitude, double longitude,
+            double distanceKm, long recordedAtMillis) {
+    }
+}
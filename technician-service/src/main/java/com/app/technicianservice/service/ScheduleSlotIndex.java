@@ -0,0 +1,80 @@
+package com.app.technicianservice.service;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.app.technicianservice.entity.TechnicianSchedule;
+import com.app.technicianservice.repository.TechnicianScheduleRepository;
+
+// In-memory free-slot masks per day (technicianId -> available & ~booked).
+// Used only to pick candidates quickly; the conditional UPDATE on booking is
+// what actually guarantees a slot is free. Days are reloaded after the TTL so
+// writes made by other instances show up.
+@Component
+public class ScheduleSlotIndex {
+
+    private final TechnicianScheduleRepository repository;
+    private final long ttlMillis;
+    private final Map<LocalDate, Day> days = new ConcurrentHashMap<>();
+
+    public ScheduleSlotIndex(TechnicianScheduleRepository repository,
+            @Value("${app.schedule.index-ttl-ms:60000}") long ttlMillis) {
+        this.repository = repository;
+        this.ttlMillis = ttlMillis;
+    }
+
+    public Map<String, Long> freeMasks(LocalDate date) {
+        long now = System.currentTimeMillis();
+        Day day = days.get(date);
+        if (day == null || now - day.loadedAt > ttlMillis) {
+            day = load(date, now);
+        }
+        return day.free;
+    }
+
+    public void put(String technicianId, LocalDate date, long free) {
+        Day day = days.get(date);
+        if (day == null) {
+            return;
+        }
+        if (free == 0) {
+            day.free.remove(technicianId);
+        } else {
+            day.free.put(technicianId, free);
+        }
+    }
+
+    public void markBooked(String technicianId, LocalDate date, long bit) {
+        Day day = days.get(date);
+        if (day != null) {
+            day.free.computeIfPresent(technicianId, (id, free) -> free & ~bit);
+        }
+    }
+
+    private Day load(LocalDate date, long now) {
+        days.keySet().removeIf(d -> d.isBefore(LocalDate.now()));
+
+        Day day = new Day(now);
+        for (TechnicianSchedule schedule : repository.findByScheduleDate(date)) {
+            long free = schedule.freeSlots();
+            if (free != 0) {
+                day.free.put(schedule.getTechnicianId(), free);
+            }
+        }
+        days.put(date, day);
+        return day;
+    }
+
+    private static final class Day {
+        private final long loadedAt;
+        private final Map<String, Long> free = new ConcurrentHashMap<>();
+
+        private Day(long loadedAt) {
+            this.loadedAt = loadedAt;
+        }
+    }
+}
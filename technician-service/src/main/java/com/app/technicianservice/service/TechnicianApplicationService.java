@@ -1,9 +1,13 @@
 package com.app.technicianservice.service;
 
 import java.time.Instant;
-import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -11,11 +15,13 @@ import org.springframework.transaction.annotation.Transactional;
 import com.app.technicianservice.dto.ApplicationReviewResponse;
 import com.app.technicianservice.dto.ApplicationSubmissionResponse;
 import com.app.technicianservice.dto.CreateProfileRequest;
+import com.app.technicianservice.dto.PagedResponse;
 import com.app.technicianservice.dto.TechnicianApplicationRequest;
 import com.app.technicianservice.entity.TechnicianApplication;
 import com.app.technicianservice.entity.TechnicianApplication.ApplicationStatus;
 import com.app.technicianservice.exception.BadRequestException;
 import com.app.technicianservice.exception.ConflictException;
+import com.app.technicianservice.exception.ExternalServiceException;
 import com.app.technicianservice.exception.NotFoundException;
 import com.app.technicianservice.feign.IdentityServiceClient;
 import com.app.technicianservice.feign.NotificationServiceClient;
@@ -39,6 +45,15 @@ public class TechnicianApplicationService {
     private static final int MAX_WORKLOAD = 20;
     private static final int MIN_REJECTION_REASON_LENGTH = 10;
     private static final int TEMP_PASSWORD_LENGTH = 12;
+    private static final int MAX_PAGE_SIZE = 100;
+
+    // Sortable fields of the pending queue mapped to their columns
+    private static final Map<String, String> PENDING_SORT_COLUMNS = Map.of(
+            "createdAt", "created_at",
+            "experience", "experience",
+            "fullName", "full_name",
+            "city", "city",
+            "specialization", "specialization");
 
     private final TechnicianApplicationRepository repository;
     private final IdentityServiceClient identityClient;
@@ -85,14 +100,44 @@ public class TechnicianApplicationService {
         return toSubmissionResponse(repository.save(app));
     }
 
-    public List<ApplicationReviewResponse> getPendingApplications(RequestUser user) {
+    public PagedResponse<ApplicationReviewResponse> getPendingApplications(
+            RequestUser user,
+            String skill,
+            String city,
+            String specialization,
+            int page,
+            int size,
+            String sortBy,
+            String direction) {
         UserContext.requireAuthenticated(user.userId());
         UserContext.requireRole(user.role(), UserContext.Role.ADMIN, UserContext.Role.MANAGER);
 
-        return repository.findByStatus(ApplicationStatus.PENDING)
-                .stream()
-                .map(this::toReviewResponse)
-                .toList();
+        if (page < 0 || size < 1 || size > MAX_PAGE_SIZE) {
+            throw new BadRequestException("Page must be >= 0 and size between 1 and " + MAX_PAGE_SIZE);
+        }
+        String column = PENDING_SORT_COLUMNS.get(sortBy);
+        if (column == null) {
+            throw new BadRequestException("Cannot sort by " + sortBy + ". Allowed: " + PENDING_SORT_COLUMNS.keySet());
+        }
+        Sort.Direction sortDirection = Sort.Direction.fromOptionalString(direction)
+                .orElseThrow(() -> new BadRequestException("Invalid sort direction: " + direction));
+        // id as tie-breaker keeps page boundaries stable
+        Pageable pageable = PageRequest.of(page, size, Sort.by(sortDirection, column).and(Sort.by("id")));
+
+        Page<TechnicianApplication> result = repository.searchByStatus(
+                ApplicationStatus.PENDING.name(),
+                trimToNull(skill),
+                trimToNull(city),
+                trimToNull(specialization),
+                pageable);
+
+        return new PagedResponse<>(
+                result.getContent().stream().map(this::toReviewResponse).toList(),
+                result.getNumber(),
+                result.getSize(),
+                result.getTotalElements(),
+                result.getTotalPages(),
+                result.isLast());
     }
 
     public ApplicationReviewResponse approveApplication(RequestUser user, String id) {
@@ -101,8 +146,26 @@ public class TechnicianApplicationService {
 
         TechnicianApplication app = getPending(id);
 
-        String tempPassword = UUID.randomUUID().toString().substring(0, TEMP_PASSWORD_LENGTH);
+        String technicianUserId = registerIdentityUser(app);
+
+        // Create the technician profile with the newly registered technician's user context
+        RequestUser technicianUser = new RequestUser(technicianUserId, "TECHNICIAN");
+        technicianService.createProfile(technicianUser, toProfileRequest(app));
+
+        sendCredentials(app);
+
+        app.setStatus(ApplicationStatus.APPROVED);
+        app.setReviewedAt(Instant.now());
+        app.setReviewedBy(user.userId());
+
+        return toReviewResponse(repository.save(app));
+    }
+
+    // ============ Approval steps (shared with BatchApprovalService) ============
 
+    // Registers the applicant in identity-service and returns the new user id.
+    // Unreachable identity-service surfaces as ExternalServiceException so callers can retry.
+    String registerIdentityUser(TechnicianApplication app) {
         RegisterTechnicianRequest registerRequest =
                 new RegisterTechnicianRequest(app.getEmail(), app.getFullName(), app.getPhone());
 
@@ -115,11 +178,18 @@ public class TechnicianApplicationService {
                 " is already registered. The technician may have been registered previously."
             );
         } catch (FeignException e) {
+            if (e.status() < 0 || e.status() >= 500) {
+                throw new ExternalServiceException("Identity service unavailable: " + e.getMessage(), e);
+            }
             throw new BadRequestException(
                 "Failed to register technician in identity service: " + e.getMessage()
             );
         }
 
+        if (registerResponse == null || registerResponse.getStatusCode().is5xxServerError()) {
+            throw new ExternalServiceException("Identity service unavailable");
+        }
+
         // Extract userId from registration response
         UserAuthResponse responseBody = registerResponse.getBody();
         if (responseBody == null) {
@@ -129,31 +199,30 @@ public class TechnicianApplicationService {
         if (technicianUserId == null || technicianUserId.isBlank()) {
             throw new BadRequestException("Invalid response from identity service: missing user ID");
         }
+        return technicianUserId;
+    }
 
-        // Create technician profile from application data
+    // Create technician profile from application data
+    CreateProfileRequest toProfileRequest(TechnicianApplication app) {
         CreateProfileRequest profileRequest = new CreateProfileRequest();
         profileRequest.setEmail(app.getEmail());
         profileRequest.setName(app.getFullName());
         profileRequest.setPhone(app.getPhone());
-        profileRequest.setSkills(app.getSkillsList());
+        profileRequest.setSkills(app.getSkills());
         profileRequest.setSpecialization(app.getSpecialization());
         profileRequest.setExperience(app.getExperience());
         profileRequest.setLocation(app.getCity()); // Use city as location
         profileRequest.setMaxWorkload(app.getMaxWorkload());
+        return profileRequest;
+    }
 
-        // Create the technician profile with the newly registered technician's user context
-        RequestUser technicianUser = new RequestUser(technicianUserId, "TECHNICIAN");
-        technicianService.createProfile(technicianUser, profileRequest);
-
-        notificationClient.sendCredentialsEmail(
+    // Returns false when notification-service did not accept the email
+    boolean sendCredentials(TechnicianApplication app) {
+        String tempPassword = UUID.randomUUID().toString().substring(0, TEMP_PASSWORD_LENGTH);
+        ResponseEntity<Void> response = notificationClient.sendCredentialsEmail(
                 new CredentialsEmailRequest(app.getEmail(), tempPassword, "TECHNICIAN")
         );
-
-        app.setStatus(ApplicationStatus.APPROVED);
-        app.setReviewedAt(Instant.now());
-        app.setReviewedBy(user.userId());
-
-        return toReviewResponse(repository.save(app));
+        return response != null && response.getStatusCode().is2xxSuccessful();
     }
 
     public ApplicationReviewResponse rejectApplication(RequestUser user, String id, String rejectionReason) {
@@ -178,7 +247,11 @@ public class TechnicianApplicationService {
         return toReviewResponse(repository.save(app));
     }
 
-    private TechnicianApplication getPending(String id) {
+    private static String trimToNull(String value) {
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+
+    TechnicianApplication getPending(String id) {
         TechnicianApplication app = repository.findById(id)
                 .orElseThrow(() -> new NotFoundException("Application not found"));
 
@@ -215,7 +288,7 @@ public class TechnicianApplicationService {
         r.setZipCode(app.getZipCode());
         r.setExperience(app.getExperience());
         r.setSpecialization(app.getSpecialization());
-        r.setSkills(app.getSkillsList());
+        r.setSkills(app.getSkills());
         r.setCertifications(app.getCertifications());
         r.setMaxWorkload(app.getMaxWorkload());
         r.setHasVehicle(app.getHasVehicle());
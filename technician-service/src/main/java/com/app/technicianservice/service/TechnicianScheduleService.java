@@ -0,0 +1,196 @@
+package com.app.technicianservice.service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.app.technicianservice.dto.ScheduleResponse;
+import com.app.technicianservice.dto.SlotResponse;
+import com.app.technicianservice.entity.TechnicianProfile;
+import com.app.technicianservice.entity.TechnicianSchedule;
+import com.app.technicianservice.exception.BadRequestException;
+import com.app.technicianservice.exception.ConflictException;
+import com.app.technicianservice.exception.NotFoundException;
+import com.app.technicianservice.repository.TechnicianProfileRepository;
+import com.app.technicianservice.repository.TechnicianScheduleRepository;
+import com.app.technicianservice.security.RequestUser;
+import com.app.technicianservice.util.UserContext;
+
+@Service
+@Transactional
+@SuppressWarnings("null")
+public class TechnicianScheduleService {
+
+    public static final int MAX_SEARCH_DAYS = 60;
+
+    private final TechnicianScheduleRepository scheduleRepository;
+    private final TechnicianProfileRepository profileRepository;
+    private final ScheduleSlotIndex slotIndex;
+
+    public TechnicianScheduleService(TechnicianScheduleRepository scheduleRepository,
+            TechnicianProfileRepository profileRepository,
+            ScheduleSlotIndex slotIndex) {
+        this.scheduleRepository = scheduleRepository;
+        this.profileRepository = profileRepository;
+        this.slotIndex = slotIndex;
+    }
+
+    @Transactional(readOnly = true)
+    public ScheduleResponse getSchedule(String technicianId, LocalDate date) {
+        return scheduleRepository.findByTechnicianIdAndScheduleDate(technicianId, date)
+                .map(s -> new ScheduleResponse(technicianId, date, s.getAvailableSlots(), s.getBookedSlots()))
+                .orElseGet(() -> new ScheduleResponse(technicianId, date, 0L, 0L));
+    }
+
+    public ScheduleResponse openSlots(RequestUser user, String technicianId, LocalDate date, List<Integer> slots) {
+        requireOwner(user, technicianId);
+        requireNotPast(date);
+
+        scheduleRepository.openSlots(UUID.randomUUID().toString(), technicianId, date, toMask(slots));
+        return refresh(technicianId, date);
+    }
+
+    public ScheduleResponse closeSlots(RequestUser user, String technicianId, LocalDate date, List<Integer> slots) {
+        requireOwner(user, technicianId);
+
+        if (scheduleRepository.closeSlots(technicianId, date, toMask(slots)) == 0) {
+            throw new NotFoundException("No schedule for technician on " + date);
+        }
+        return refresh(technicianId, date);
+    }
+
+    // Single conditional UPDATE: of two concurrent bookings for the same bit,
+    // exactly one sees it clear and the other gets a conflict.
+    public SlotResponse bookSlot(RequestUser user, String technicianId, LocalDate date, int slot) {
+        requireOwner(user, technicianId);
+        requireNotPast(date);
+        long bit = toBit(slot);
+
+        if (scheduleRepository.bookSlot(technicianId, date, bit) == 0) {
+            throw new ConflictException("Slot " + slot + " on " + date + " is not available");
+        }
+        slotIndex.markBooked(technicianId, date, bit);
+        return new SlotResponse(technicianId, date, slot);
+    }
+
+    public ScheduleResponse releaseSlot(RequestUser user, String technicianId, LocalDate date, int slot) {
+        requireOwner(user, technicianId);
+        if (scheduleRepository.releaseSlot(technicianId, date, toBit(slot)) == 0) {
+            throw new ConflictException("Slot " + slot + " on " + date + " is not booked");
+        }
+        return refresh(technicianId, date);
+    }
+
+    @Transactional(readOnly = true)
+    public SlotResponse findFirstFreeSlot(String skill, int days) {
+        return findFirstFreeSlot(skill, days, LocalDateTime.now());
+    }
+
+    // Earliest open slot across technicians with the skill, scanning day by day
+    // from the in-memory index; slots that have already started today are skipped.
+    @Transactional(readOnly = true)
+    public SlotResponse findFirstFreeSlot(String skill, int days, LocalDateTime from) {
+        if (skill == null || skill.isBlank()) {
+            throw new BadRequestException("Skill is required");
+        }
+        if (days < 1 || days > MAX_SEARCH_DAYS) {
+            throw new BadRequestException("Days must be between 1 and " + MAX_SEARCH_DAYS);
+        }
+
+        Set<String> candidates = new HashSet<>(profileRepository.findAvailableIdsWithSkill(skill.trim()));
+        if (candidates.isEmpty()) {
+            throw new NotFoundException("No available technician with skill " + skill);
+        }
+
+        LocalDate today = from.toLocalDate();
+        for (int offset = 0; offset < days; offset++) {
+            LocalDate date = today.plusDays(offset);
+            long notBefore = offset == 0 ? startedSlotsMask(from.toLocalTime()) : 0L;
+
+            SlotResponse best = earliest(slotIndex.freeMasks(date), candidates, date, notBefore);
+            if (best != null) {
+                return best;
+            }
+        }
+        throw new NotFoundException("No free slot for skill " + skill + " in the next " + days + " days");
+    }
+
+    private SlotResponse earliest(Map<String, Long> freeMasks, Collection<String> candidates,
+            LocalDate date, long excluded) {
+        String bestTechnician = null;
+        int bestSlot = TechnicianSchedule.SLOTS_PER_DAY;
+
+        // Walk whichever side is smaller: the day's schedules or the skill matches
+        boolean scanDay = freeMasks.size() <= candidates.size();
+        Iterable<String> ids = scanDay ? freeMasks.keySet() : candidates;
+
+        for (String id : ids) {
+            if (scanDay && !candidates.contains(id)) {
+                continue;
+            }
+            Long free = freeMasks.get(id);
+            if (free == null) {
+                continue;
+            }
+            long usable = free & ~excluded;
+            if (usable == 0) {
+                continue;
+            }
+            int slot = Long.numberOfTrailingZeros(usable);
+            if (slot < bestSlot || (slot == bestSlot && id.compareTo(bestTechnician) < 0)) {
+                bestSlot = slot;
+                bestTechnician = id;
+            }
+        }
+        return bestTechnician == null ? null : new SlotResponse(bestTechnician, date, bestSlot);
+    }
+
+    private ScheduleResponse refresh(String technicianId, LocalDate date) {
+        TechnicianSchedule schedule = scheduleRepository.findByTechnicianIdAndScheduleDate(technicianId, date)
+                .orElseThrow(() -> new NotFoundException("No schedule for technician on " + date));
+        slotIndex.put(technicianId, date, schedule.freeSlots());
+        return new ScheduleResponse(technicianId, date, schedule.getAvailableSlots(), schedule.getBookedSlots());
+    }
+
+    private void requireOwner(RequestUser user, String technicianId) {
+        TechnicianProfile profile = profileRepository.findById(technicianId)
+                .orElseThrow(() -> new NotFoundException("Technician not found"));
+        UserContext.requireOwnershipOrAdmin(user.userId(), user.role(), profile.getUserId());
+    }
+
+    private void requireNotPast(LocalDate date) {
+        if (date.isBefore(LocalDate.now())) {
+            throw new BadRequestException("Date cannot be in the past");
+        }
+    }
+
+    private static long startedSlotsMask(LocalTime now) {
+        int started = (now.toSecondOfDay() / 60 + TechnicianSchedule.SLOT_MINUTES - 1) / TechnicianSchedule.SLOT_MINUTES;
+        return started >= Long.SIZE ? -1L : (1L << started) - 1;
+    }
+
+    private static long toBit(int slot) {
+        try {
+            return TechnicianSchedule.slotBit(slot);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException(e.getMessage());
+        }
+    }
+
+    private static long toMask(List<Integer> slots) {
+        try {
+            return TechnicianSchedule.maskOf(slots);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException(e.getMessage());
+        }
+    }
+}
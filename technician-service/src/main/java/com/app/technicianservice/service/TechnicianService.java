@@ -1,21 +1,34 @@
 package com.app.technicianservice.service;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
-
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.app.technicianservice.dto.AvailabilityUpdateRequest;
 import com.app.technicianservice.dto.CreateProfileRequest;
+import com.app.technicianservice.dto.PagedResponse;
 import com.app.technicianservice.dto.StatsResponse;
 import com.app.technicianservice.dto.TechnicianProfileResponse;
 import com.app.technicianservice.dto.TechnicianSummaryResponse;
 import com.app.technicianservice.dto.WorkloadResponse;
 import com.app.technicianservice.entity.TechnicianProfile;
+import com.app.technicianservice.entity.WorkloadAdjustmentKey;
 import com.app.technicianservice.exception.BadRequestException;
 import com.app.technicianservice.exception.NotFoundException;
 import com.app.technicianservice.feign.IdentityServiceClient;
+import com.app.technicianservice.messaging.event.TechnicianChangedEvent;
 import com.app.technicianservice.repository.TechnicianProfileRepository;
+import com.app.technicianservice.repository.WorkloadAdjustmentKeyRepository;
 import com.app.technicianservice.security.RequestUser;
 import com.app.technicianservice.util.UserContext;
 
@@ -24,24 +37,71 @@ import com.app.technicianservice.util.UserContext;
 @SuppressWarnings("null")
 public class TechnicianService {
 
+    public static final int DEFAULT_SUGGESTION_LIMIT = 20;
+    public static final int MAX_BATCH_LOOKUP = 200;
+    public static final int MAX_PAGE_SIZE = 100;
+    private static final int SUGGESTION_SCAN_CHUNK = 100;
+    private static final int MAX_IDEMPOTENCY_KEY_LENGTH = 100;
+
     private final TechnicianProfileRepository repository;
     private final IdentityServiceClient identityServiceClient;
+    private final ApplicationEventPublisher eventPublisher;
+    private final WorkloadAdjustmentKeyRepository adjustmentKeyRepository;
 
     public TechnicianService(TechnicianProfileRepository repository,
-            IdentityServiceClient identityServiceClient) {
+            IdentityServiceClient identityServiceClient,
+            ApplicationEventPublisher eventPublisher,
+            WorkloadAdjustmentKeyRepository adjustmentKeyRepository) {
         this.repository = repository;
         this.identityServiceClient = identityServiceClient;
+        this.eventPublisher = eventPublisher;
+        this.adjustmentKeyRepository = adjustmentKeyRepository;
     }
 
     public List<TechnicianProfileResponse> findSuggestions(String location, List<String> skills) {
-        List<TechnicianProfile> availableTechs = repository.findByIsAvailableTrue();
+        return findSuggestions(location, skills, null, null, DEFAULT_SUGGESTION_LIMIT);
+    }
 
-        return availableTechs.stream()
-                .filter(tech -> matchesLocation(location, tech))
-                .filter(tech -> matchesSkills(skills, tech))
-                .sorted(this::compareByWorkload)
-                .map(this::toResponse)
-                .toList();
+    // Keyset page of suggestions ordered by (currentWorkload, id). Callers pass the
+    // workload and id of the last technician they received to continue.
+    @Transactional(readOnly = true)
+    public List<TechnicianProfileResponse> findSuggestions(
+            String location,
+            List<String> skills,
+            Integer afterWorkload,
+            String afterId,
+            int limit) {
+        if (limit < 1) {
+            throw new BadRequestException("Limit must be positive");
+        }
+
+        int cursorWorkload = afterWorkload != null ? afterWorkload : -1;
+        String cursorId = afterId != null ? afterId : "";
+        List<TechnicianProfileResponse> result = new ArrayList<>();
+
+        while (result.size() < limit) {
+            List<TechnicianProfile> chunk = repository.findAvailableAfter(
+                    cursorWorkload, cursorId, PageRequest.ofSize(SUGGESTION_SCAN_CHUNK));
+            if (chunk.isEmpty()) {
+                break;
+            }
+
+            chunk.stream()
+                    .filter(tech -> matchesLocation(location, tech))
+                    .filter(tech -> matchesSkills(skills, tech))
+                    .sorted(this::compareByWorkload)
+                    .limit((long) limit - result.size())
+                    .map(this::toResponse)
+                    .forEach(result::add);
+
+            if (chunk.size() < SUGGESTION_SCAN_CHUNK) {
+                break;
+            }
+            TechnicianProfile last = chunk.get(chunk.size() - 1);
+            cursorWorkload = last.getCurrentWorkload() != null ? last.getCurrentWorkload() : 0;
+            cursorId = last.getId();
+        }
+        return result;
     }
 
     private boolean matchesLocation(String location, TechnicianProfile tech) {
@@ -137,7 +197,20 @@ public class TechnicianService {
         profile.setEmail(email);
         profile.setName(name);
 
-        return toResponse(repository.save(profile));
+        return toResponse(saveAndAnnounce(profile, TechnicianChangedEvent.Type.CREATED));
+    }
+
+    @Transactional(readOnly = true)
+    public boolean hasProfile(String userId) {
+        return repository.findByUserId(userId).isPresent();
+    }
+
+    // Compensation for a failed application approval
+    public void deleteProfileByUserId(String userId) {
+        repository.findByUserId(userId).ifPresent(profile -> {
+            repository.delete(profile);
+            eventPublisher.publishEvent(TechnicianChangedEvent.deleted(profile));
+        });
     }
 
     public TechnicianProfileResponse updateAvailability(
@@ -152,7 +225,7 @@ public class TechnicianService {
                 profile.getUserId());
 
         profile.applyAvailabilityUpdate(request);
-        return toResponse(repository.save(profile));
+        return toResponse(saveAndAnnounce(profile, TechnicianChangedEvent.Type.AVAILABILITY_CHANGED));
     }
 
     public TechnicianProfileResponse updateMyAvailability(
@@ -170,25 +243,54 @@ public class TechnicianService {
         }
 
         profile.applyAvailabilityUpdate(request);
-        return toResponse(repository.save(profile));
+        return toResponse(saveAndAnnounce(profile, TechnicianChangedEvent.Type.AVAILABILITY_CHANGED));
     }
 
     public TechnicianProfileResponse getById(String id) {
         return toResponse(fetch(id));
     }
 
+    // Profiles in request order; ids without a profile are left out
+    @Transactional(readOnly = true)
+    public List<TechnicianProfileResponse> getByIds(List<String> ids) {
+        List<String> distinct = ids.stream().distinct().toList();
+        if (distinct.size() > MAX_BATCH_LOOKUP) {
+            throw new BadRequestException("At most " + MAX_BATCH_LOOKUP + " technician ids per lookup");
+        }
+        Map<String, TechnicianProfile> byId = repository.findAllCachedById(distinct).stream()
+                .collect(Collectors.toMap(TechnicianProfile::getId, p -> p));
+        return distinct.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .map(this::toResponse)
+                .toList();
+    }
+
     public TechnicianProfileResponse getByUserId(String userId) {
         return toResponse(
                 repository.findByUserId(userId)
                         .orElseThrow(() -> new NotFoundException("Not found")));
     }
 
-    public List<TechnicianSummaryResponse> getAvailable() {
-        return repository.findAll().stream()
-                .filter(p -> Boolean.TRUE.equals(p.getAvailable()))
-                .filter(p -> p.getCurrentWorkload() < p.getMaxWorkload())
-                .map(this::toSummaryResponse)
-                .toList();
+    @Transactional(readOnly = true)
+    public PagedResponse<TechnicianSummaryResponse> getAvailable(Pageable pageable) {
+        Page<TechnicianSummaryResponse> page = repository.findAvailableSummaries(pageable);
+        List<TechnicianSummaryResponse> content = page.getContent();
+
+        if (!content.isEmpty()) {
+            Map<String, TechnicianSummaryResponse> byId = new HashMap<>();
+            content.forEach(summary -> byId.put(summary.getId(), summary));
+            repository.findSkillsByProfileIds(byId.keySet())
+                    .forEach(row -> byId.get(row.getProfileId()).getSkills().add(row.getSkill()));
+        }
+
+        return new PagedResponse<>(
+                content,
+                page.getNumber(),
+                page.getSize(),
+                page.getTotalElements(),
+                page.getTotalPages(),
+                page.isLast());
     }
 
     public WorkloadResponse getWorkload(String id) {
@@ -243,11 +345,62 @@ public class TechnicianService {
         }
 
         p.setCurrentWorkload(currentWorkload);
-        TechnicianProfile updated = repository.save(p);
+        TechnicianProfile updated = saveAndAnnounce(p, TechnicianChangedEvent.Type.WORKLOAD_CHANGED);
         return new WorkloadResponse(updated.getId(), updated.getAvailable(), updated.getCurrentWorkload(),
                 updated.getMaxWorkload());
     }
 
+    // Applies many relative workload changes in one call, clamped to
+    // [0, maxWorkload] instead of rejected, since the caller is reconciling
+    // work that already happened. Unknown ids are skipped.
+    public List<WorkloadResponse> adjustWorkloads(Map<String, Integer> deltas) {
+        return adjustWorkloads(deltas, null);
+    }
+
+    // With an idempotency key the adjustment is applied at most once: the key
+    // is stored in the same transaction, and a retry that finds it is a no-op.
+    // Two concurrent calls with one key collide on its primary key and only
+    // one commits.
+    public List<WorkloadResponse> adjustWorkloads(Map<String, Integer> deltas, String idempotencyKey) {
+        if (deltas.size() > MAX_BATCH_LOOKUP) {
+            throw new BadRequestException("At most " + MAX_BATCH_LOOKUP + " technicians per adjustment");
+        }
+        if (idempotencyKey != null) {
+            if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_IDEMPOTENCY_KEY_LENGTH) {
+                throw new BadRequestException("Idempotency key must be 1 to " + MAX_IDEMPOTENCY_KEY_LENGTH
+                        + " characters");
+            }
+            if (adjustmentKeyRepository.existsById(idempotencyKey)) {
+                return List.of();
+            }
+            adjustmentKeyRepository.saveAndFlush(
+                    new WorkloadAdjustmentKey(idempotencyKey, System.currentTimeMillis()));
+        }
+        List<WorkloadResponse> responses = new ArrayList<>();
+        for (TechnicianProfile p : repository.findAllById(deltas.keySet())) {
+            int delta = deltas.get(p.getId());
+            int current = p.getCurrentWorkload() != null ? p.getCurrentWorkload() : 0;
+            int adjusted = Math.max(0, Math.min(p.getMaxWorkload(), current + delta));
+            if (delta == 0 || adjusted == current) {
+                continue;
+            }
+            p.setCurrentWorkload(adjusted);
+            TechnicianProfile updated = saveAndAnnounce(p, TechnicianChangedEvent.Type.WORKLOAD_CHANGED);
+            responses.add(new WorkloadResponse(updated.getId(), updated.getAvailable(),
+                    updated.getCurrentWorkload(), updated.getMaxWorkload()));
+        }
+        return responses;
+    }
+
+    // Flushing assigns the new version before the event snapshot is taken; the
+    // event itself is only sent once the transaction commits.
+    private TechnicianProfile saveAndAnnounce(TechnicianProfile profile, TechnicianChangedEvent.Type type) {
+        TechnicianProfile saved = repository.save(profile);
+        repository.flush();
+        eventPublisher.publishEvent(TechnicianChangedEvent.of(type, saved));
+        return saved;
+    }
+
     private TechnicianProfile fetch(String id) {
         return repository.findById(id)
                 .orElseThrow(() -> new NotFoundException("Technician not found"));
@@ -258,17 +411,4 @@ public class TechnicianService {
         r.populateFrom(p);
         return r;
     }
-
-    private TechnicianSummaryResponse toSummaryResponse(TechnicianProfile p) {
-        return new TechnicianSummaryResponse(
-                p.getId(),
-                p.getUserId(),
-                p.getName(),
-                p.getSpecialization(),
-                p.getSkills(),
-                p.getLocation(),
-                p.getAvailable(),
-                p.getCurrentWorkload(),
-                p.getMaxWorkload());
-    }
 }
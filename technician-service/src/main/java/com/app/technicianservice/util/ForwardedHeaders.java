@@ -0,0 +1,63 @@
+package com.app.technicianservice.util;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+// Identity headers to forward on Feign calls. Request threads read them from
+// the current servlet request; background workers get a snapshot taken on the
+// request thread that submitted the work.
+public final class ForwardedHeaders {
+
+    public static final String AUTHORIZATION = "Authorization";
+
+    private static final String[] NAMES = {
+            UserContext.HEADER_USER_ID, UserContext.HEADER_USER_ROLE, AUTHORIZATION
+    };
+
+    private static final ThreadLocal<Map<String, String>> SNAPSHOT = new ThreadLocal<>();
+
+    private ForwardedHeaders() {}
+
+    public static Map<String, String> current() {
+        ServletRequestAttributes attrs =
+                (ServletRequestAttributes) RequestContextHolder.getRequestAttributes();
+        if (attrs == null) {
+            Map<String, String> snapshot = SNAPSHOT.get();
+            return snapshot != null ? snapshot : Collections.emptyMap();
+        }
+
+        HttpServletRequest request = attrs.getRequest();
+        Map<String, String> headers = new HashMap<>();
+        for (String name : NAMES) {
+            String value = request.getHeader(name);
+            if (value != null) {
+                headers.put(name, value);
+            }
+        }
+        return headers;
+    }
+
+    // Wraps a task so it runs with the headers of the thread that created it
+    public static Runnable propagate(Runnable task) {
+        Map<String, String> captured = Map.copyOf(current());
+        return () -> {
+            Map<String, String> previous = SNAPSHOT.get();
+            SNAPSHOT.set(captured);
+            try {
+                task.run();
+            } finally {
+                if (previous != null) {
+                    SNAPSHOT.set(previous);
+                } else {
+                    SNAPSHOT.remove();
+                }
+            }
+        };
+    }
+}
@@ -6,6 +6,8 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import com.app.technicianservice.repository.TechnicianProfileRepository;
 import com.app.technicianservice.repository.TechnicianApplicationRepository;
 import com.app.technicianservice.repository.TechnicianScheduleRepository;
+import com.app.technicianservice.repository.TechnicianLiveLocationRepository;
+import com.app.technicianservice.repository.WorkloadAdjustmentKeyRepository;
 
 @SpringBootTest
 class TechnicianServiceApplicationTests {
@@ -19,6 +21,12 @@ class TechnicianServiceApplicationTests {
 	@MockBean
 	private TechnicianScheduleRepository technicianScheduleRepository;
 
+	@MockBean
+	private TechnicianLiveLocationRepository technicianLiveLocationRepository;
+
+	@MockBean
+	private WorkloadAdjustmentKeyRepository workloadAdjustmentKeyRepository;
+
 	@Test
 	void contextLoads() {
 	}
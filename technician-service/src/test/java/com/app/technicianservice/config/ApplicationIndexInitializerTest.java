@@ -0,0 +1,67 @@
+package com.app.technicianservice.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ApplicationIndexInitializerTest {
+
+    @Mock
+    private ObjectProvider<JdbcTemplate> jdbcTemplateProvider;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private ApplicationIndexInitializer initializer;
+
+    @BeforeEach
+    void setUp() {
+        initializer = new ApplicationIndexInitializer(jdbcTemplateProvider, true);
+        lenient().when(jdbcTemplateProvider.getIfAvailable()).thenReturn(jdbcTemplate);
+    }
+
+    @Test
+    void run_ShouldCreateIndexOnce_AndExplainTheSkillFilter() {
+        when(jdbcTemplate.queryForObject(anyString(), eq(Integer.class), eq(ApplicationIndexInitializer.SKILLS_INDEX)))
+                .thenReturn(0, 1);
+        when(jdbcTemplate.queryForList(ApplicationIndexInitializer.EXPLAIN_SKILL_FILTER_SQL, "Plumbing"))
+                .thenReturn(List.of(plan(ApplicationIndexInitializer.SKILLS_INDEX)));
+
+        initializer.run(null);
+        initializer.run(null);
+
+        verify(jdbcTemplate, times(1)).execute(contains("CAST(skills->'$' AS CHAR(100) ARRAY)"));
+        verify(jdbcTemplate, times(2)).queryForList(ApplicationIndexInitializer.EXPLAIN_SKILL_FILTER_SQL, "Plumbing");
+    }
+
+    // The filter has to name the same JSON path as the index expression
+    @Test
+    void skillFilterUsesIndex_ShouldReadPossibleKeysOfThePlan() {
+        assertTrue(ApplicationIndexInitializer.EXPLAIN_SKILL_FILTER_SQL.contains("MEMBER OF (a.skills->'$')"));
+        when(jdbcTemplate.queryForList(ApplicationIndexInitializer.EXPLAIN_SKILL_FILTER_SQL, "Plumbing"))
+                .thenReturn(List.of(plan("PRIMARY," + ApplicationIndexInitializer.SKILLS_INDEX)), List.of(plan(null)));
+
+        assertTrue(initializer.skillFilterUsesIndex(jdbcTemplate));
+        assertFalse(initializer.skillFilterUsesIndex(jdbcTemplate));
+    }
+
+    private static Map<String, Object> plan(String possibleKeys) {
+        Map<String, Object> row = new HashMap<>();
+        row.put("table", "a");
+        row.put("possible_keys", possibleKeys);
+        return row;
+    }
+}
@@ -4,7 +4,12 @@ import com.app.technicianservice.dto.*;
 import com.app.technicianservice.exception.NotFoundException;
 import com.app.technicianservice.security.RequestUser;
 import com.app.technicianservice.security.RequestUserResolver;
+import com.app.technicianservice.exception.ConflictException;
+import com.app.technicianservice.service.BatchApprovalService;
+import com.app.technicianservice.service.CacheStatisticsService;
+import com.app.technicianservice.service.LiveLocationService;
 import com.app.technicianservice.service.TechnicianApplicationService;
+import com.app.technicianservice.service.TechnicianScheduleService;
 import com.app.technicianservice.service.TechnicianService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
@@ -20,6 +25,7 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.web.method.support.HandlerMethodArgumentResolver;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
+import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.List;
 
@@ -58,6 +64,18 @@ class TechnicianControllerTest {
         @MockBean
         private TechnicianApplicationService applicationService;
 
+        @MockBean
+        private TechnicianScheduleService scheduleService;
+
+        @MockBean
+        private BatchApprovalService batchApprovalService;
+
+        @MockBean
+        private CacheStatisticsService cacheStatisticsService;
+
+        @MockBean
+        private LiveLocationService liveLocationService;
+
         @Autowired
         private ObjectMapper objectMapper;
 
@@ -120,17 +138,54 @@ class TechnicianControllerTest {
                 TechnicianSummaryResponse summary = new TechnicianSummaryResponse(
                                 "profile-1", "user-1", "John Doe", "Plumbing",
                                 Arrays.asList("Pipe Repair", "Water Heater"), "New York", true, 2, 5);
-                List<TechnicianSummaryResponse> summaries = Arrays.asList(summary);
-                when(technicianService.getAvailable()).thenReturn(summaries);
+                PagedResponse<TechnicianSummaryResponse> page = new PagedResponse<>(
+                                Arrays.asList(summary), 0, 20, 1, 1, true);
+                when(technicianService.getAvailable(any())).thenReturn(page);
 
                 mockMvc.perform(get("/api/technicians/available"))
                                 .andExpect(status().isOk())
-                                .andExpect(jsonPath("$[0].id").value("profile-1"))
-                                .andExpect(jsonPath("$[0].name").value("John Doe"));
+                                .andExpect(jsonPath("$.content[0].id").value("profile-1"))
+                                .andExpect(jsonPath("$.content[0].name").value("John Doe"))
+                                .andExpect(jsonPath("$.totalElements").value(1));
+        }
+
+        @Test
+        void getAvailable_ShouldRejectNegativePageAndOversizedPages() throws Exception {
+                mockMvc.perform(get("/api/technicians/available").param("page", "-1"))
+                                .andExpect(status().isBadRequest());
+                mockMvc.perform(get("/api/technicians/available").param("size", "0"))
+                                .andExpect(status().isBadRequest());
+                mockMvc.perform(get("/api/technicians/available")
+                                .param("size", String.valueOf(TechnicianService.MAX_PAGE_SIZE + 1)))
+                                .andExpect(status().isBadRequest());
+
+                verify(technicianService, never()).getAvailable(any());
         }
 
+        @Test
+        void getSuggestions_ShouldPassKeysetCursor() throws Exception {
+                when(technicianService.findSuggestions(eq("Boston"), eq(Arrays.asList("HVAC")), eq(2), eq("tech-9"), eq(10)))
+                                .thenReturn(Arrays.asList(profileResponse));
+
+                mockMvc.perform(get("/api/technicians/suggestions")
+                                .param("location", "Boston")
+                                .param("skills", "HVAC")
+                                .param("afterWorkload", "2")
+                                .param("afterId", "tech-9")
+                                .param("limit", "10"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$[0].id").value("profile-1"));
+        }
 
+        @Test
+        void getSuggestions_ShouldRejectHalfACursor() throws Exception {
+                mockMvc.perform(get("/api/technicians/suggestions").param("afterId", "tech-9"))
+                                .andExpect(status().isBadRequest());
+                mockMvc.perform(get("/api/technicians/suggestions").param("afterWorkload", "2"))
+                                .andExpect(status().isBadRequest());
 
+                verify(technicianService, never()).findSuggestions(any(), any(), any(), any(), anyInt());
+        }
 
         @Test
         void getStats_ShouldReturnOk() throws Exception {
@@ -147,6 +202,99 @@ class TechnicianControllerTest {
                                 .andExpect(jsonPath("$.availableTechnicians").value(5));
         }
 
+        @Test
+        void getCacheStats_ShouldReturnRegions() throws Exception {
+                CacheStatsResponse stats = new CacheStatsResponse();
+                stats.setStatisticsEnabled(true);
+                stats.getRegions().add(new CacheStatsResponse.Region("technicianProfiles", 9, 1, 1, 1, 0.9));
+                when(cacheStatisticsService.getStats(any(RequestUser.class))).thenReturn(stats);
+
+                mockMvc.perform(get("/api/technicians/cache/stats")
+                                .header("X-User-Id", "admin-1")
+                                .header("X-User-Role", "ADMIN"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.regions[0].name").value("technicianProfiles"))
+                                .andExpect(jsonPath("$.regions[0].hitRatio").value(0.9));
+        }
+
+        @Test
+        void getBatch_ShouldReturnProfiles() throws Exception {
+                when(technicianService.getByIds(List.of("profile-1"))).thenReturn(List.of(profileResponse));
+
+                mockMvc.perform(post("/api/technicians/batch")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(new TechnicianBatchRequest(List.of("profile-1")))))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$[0].id").value(profileResponse.getId()));
+        }
+
+        @Test
+        void adjustWorkloads_ShouldReturnChangedWorkloads() throws Exception {
+                when(technicianService.adjustWorkloads(java.util.Map.of("profile-1", -1), "task-1"))
+                                .thenReturn(List.of(new WorkloadResponse("profile-1", true, 1, 5)));
+
+                mockMvc.perform(put("/api/technicians/workload/adjust")
+                                .header("Idempotency-Key", "task-1")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(
+                                                new WorkloadAdjustmentRequest(java.util.Map.of("profile-1", -1)))))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$[0].technicianId").value("profile-1"))
+                                .andExpect(jsonPath("$[0].currentWorkload").value(1));
+        }
+
+        @Test
+        void getBatch_ShouldRejectEmptyIds() throws Exception {
+                mockMvc.perform(post("/api/technicians/batch")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(new TechnicianBatchRequest(List.of()))))
+                                .andExpect(status().isBadRequest());
+
+                verifyNoInteractions(technicianService);
+        }
+
+        @Test
+        void reportLocation_ShouldReturnAccepted() throws Exception {
+                LocationUpdateRequest request = new LocationUpdateRequest(12.9716, 77.5946, null);
+
+                mockMvc.perform(put("/api/technicians/my/location")
+                                .header("X-User-Id", "user-1")
+                                .header("X-User-Role", "TECHNICIAN")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(request)))
+                                .andExpect(status().isAccepted());
+
+                verify(liveLocationService).report(any(RequestUser.class), any(LocationUpdateRequest.class));
+        }
+
+        @Test
+        void reportLocation_ShouldRejectOutOfRangeLatitude() throws Exception {
+                LocationUpdateRequest request = new LocationUpdateRequest(91.0, 77.5946, null);
+
+                mockMvc.perform(put("/api/technicians/my/location")
+                                .header("X-User-Id", "user-1")
+                                .header("X-User-Role", "TECHNICIAN")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(request)))
+                                .andExpect(status().isBadRequest());
+
+                verifyNoInteractions(liveLocationService);
+        }
+
+        @Test
+        void nearby_ShouldReturnClosestTechnicians() throws Exception {
+                when(liveLocationService.findNearby(12.97, 77.59, 10.0, 20, null)).thenReturn(List.of(
+                                new NearbyTechnicianResponse("profile-1", "user-1", 12.9716, 77.5946, 0.5,
+                                                java.time.Instant.parse("2026-01-01T00:00:00Z"))));
+
+                mockMvc.perform(get("/api/technicians/nearby")
+                                .param("lat", "12.97")
+                                .param("lng", "77.59"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$[0].technicianId").value("profile-1"))
+                                .andExpect(jsonPath("$[0].distanceKm").value(0.5));
+        }
+
         @Test
         void getMyProfile_ShouldReturnOk() throws Exception {
                 when(technicianService.getByUserId("user-1")).thenReturn(profileResponse);
@@ -235,13 +383,50 @@ class TechnicianControllerTest {
                 review.setEmail("newtech@example.com");
                 List<ApplicationReviewResponse> reviews = Arrays.asList(review);
 
-                when(applicationService.getPendingApplications(any(RequestUser.class))).thenReturn(reviews);
+                when(applicationService.getPendingApplications(any(RequestUser.class), eq("Leak Repair"), isNull(),
+                                isNull(), eq(0), eq(20), eq("createdAt"), eq("asc")))
+                                .thenReturn(new PagedResponse<>(reviews, 0, 20, 1, 1, true));
 
                 mockMvc.perform(get("/api/technicians/applications/pending")
+                                .param("skill", "Leak Repair")
                                 .header("X-User-Id", "admin-1")
                                 .header("X-User-Role", "ADMIN"))
                                 .andExpect(status().isOk())
-                                .andExpect(jsonPath("$[0].id").value("app-1"));
+                                .andExpect(jsonPath("$.content[0].id").value("app-1"))
+                                .andExpect(jsonPath("$.totalElements").value(1));
+        }
+
+        @Test
+        void approveBatch_ShouldReturnAccepted() throws Exception {
+                BatchApprovalRequest request = new BatchApprovalRequest();
+                request.setApplicationIds(List.of("app-1", "app-2"));
+                ApprovalJobResponse job = new ApprovalJobResponse();
+                job.setJobId("job-1");
+                job.setStatus("RUNNING");
+                job.setTotal(2);
+
+                when(batchApprovalService.submit(any(RequestUser.class), eq(List.of("app-1", "app-2"))))
+                                .thenReturn(job);
+
+                mockMvc.perform(post("/api/technicians/applications/approve-batch")
+                                .header("X-User-Id", "admin-1")
+                                .header("X-User-Role", "ADMIN")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(request)))
+                                .andExpect(status().isAccepted())
+                                .andExpect(jsonPath("$.jobId").value("job-1"))
+                                .andExpect(jsonPath("$.total").value(2));
+        }
+
+        @Test
+        void approvalJob_ShouldReturnNotFound_WhenUnknown() throws Exception {
+                when(batchApprovalService.getJob(any(RequestUser.class), eq("job-x")))
+                                .thenThrow(new NotFoundException("Approval job not found"));
+
+                mockMvc.perform(get("/api/technicians/applications/approval-jobs/job-x")
+                                .header("X-User-Id", "admin-1")
+                                .header("X-User-Role", "ADMIN"))
+                                .andExpect(status().isNotFound());
         }
 
         @Test
@@ -337,4 +522,61 @@ class TechnicianControllerTest {
                 mockMvc.perform(get("/api/technicians/invalid-id"))
                                 .andExpect(status().isNotFound());
         }
+
+        @Test
+        void firstFreeSlot_ShouldReturnOk() throws Exception {
+                when(scheduleService.findFirstFreeSlot("Plumbing", 3))
+                                .thenReturn(new SlotResponse("profile-1", LocalDate.of(2030, 1, 2), 19));
+
+                mockMvc.perform(get("/api/technicians/schedule/first-free")
+                                .param("skill", "Plumbing")
+                                .param("days", "3"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.technicianId").value("profile-1"))
+                                .andExpect(jsonPath("$.slot").value(19))
+                                .andExpect(jsonPath("$.startTime").value("09:30:00"));
+        }
+
+        @Test
+        void bookSlot_ShouldReturnCreated() throws Exception {
+                LocalDate date = LocalDate.of(2030, 1, 2);
+                when(scheduleService.bookSlot(any(RequestUser.class), eq("profile-1"), eq(date), eq(20)))
+                                .thenReturn(new SlotResponse("profile-1", date, 20));
+
+                mockMvc.perform(post("/api/technicians/profile-1/schedule/2030-01-02/slots/20")
+                                .header("X-User-Id", "user-1")
+                                .header("X-User-Role", "TECHNICIAN"))
+                                .andExpect(status().isCreated())
+                                .andExpect(jsonPath("$.date").value("2030-01-02"))
+                                .andExpect(jsonPath("$.endTime").value("10:30:00"));
+        }
+
+        @Test
+        void bookSlot_ShouldReturnConflict_WhenTaken() throws Exception {
+                when(scheduleService.bookSlot(any(RequestUser.class), eq("profile-1"), any(LocalDate.class), eq(20)))
+                                .thenThrow(new ConflictException("Slot 20 on 2030-01-02 is not available"));
+
+                mockMvc.perform(post("/api/technicians/profile-1/schedule/2030-01-02/slots/20")
+                                .header("X-User-Id", "user-1")
+                                .header("X-User-Role", "TECHNICIAN"))
+                                .andExpect(status().isConflict());
+        }
+
+        @Test
+        void openSlots_ShouldReturnSchedule() throws Exception {
+                LocalDate date = LocalDate.of(2030, 1, 2);
+                ScheduleSlotsRequest request = new ScheduleSlotsRequest();
+                request.setSlots(List.of(18, 19));
+                when(scheduleService.openSlots(any(RequestUser.class), eq("profile-1"), eq(date), eq(List.of(18, 19))))
+                                .thenReturn(new ScheduleResponse("profile-1", date, (1L << 18) | (1L << 19), 0L));
+
+                mockMvc.perform(put("/api/technicians/profile-1/schedule/2030-01-02/open")
+                                .header("X-User-Id", "user-1")
+                                .header("X-User-Role", "TECHNICIAN")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(request)))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.freeSlots[0]").value(18))
+                                .andExpect(jsonPath("$.freeSlots[1]").value(19));
+        }
 }
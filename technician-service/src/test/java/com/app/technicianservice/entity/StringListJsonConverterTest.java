@@ -0,0 +1,40 @@
+package com.app.technicianservice.entity;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StringListJsonConverterTest {
+
+    private final StringListJsonConverter converter = new StringListJsonConverter();
+
+    @Test
+    void shouldRoundTripList() {
+        String json = converter.convertToDatabaseColumn(List.of("Pipe Installation", "Leak \"Repair\""));
+
+        assertEquals(List.of("Pipe Installation", "Leak \"Repair\""), converter.convertToEntityAttribute(json));
+    }
+
+    @Test
+    void shouldMapEmptyValues() {
+        assertEquals("[]", converter.convertToDatabaseColumn(null));
+        assertEquals("[]", converter.convertToDatabaseColumn(List.of()));
+        assertTrue(converter.convertToEntityAttribute(null).isEmpty());
+        assertTrue(converter.convertToEntityAttribute("[]").isEmpty());
+    }
+
+    @Test
+    void shouldReturnMutableList() {
+        List<String> skills = converter.convertToEntityAttribute("[\"HVAC\"]");
+
+        skills.add("Electrical");
+        assertEquals(2, skills.size());
+    }
+
+    @Test
+    void shouldRejectMalformedJson() {
+        assertThrows(IllegalArgumentException.class, () -> converter.convertToEntityAttribute("not json"));
+    }
+}
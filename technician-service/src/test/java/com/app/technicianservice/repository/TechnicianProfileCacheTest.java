@@ -0,0 +1,168 @@
+package com.app.technicianservice.repository;
+
+import com.app.technicianservice.config.HibernateCacheConfig;
+import com.app.technicianservice.dto.AvailabilityUpdateRequest;
+import com.app.technicianservice.entity.TechnicianProfile;
+import com.app.technicianservice.feign.IdentityServiceClient;
+import com.app.technicianservice.security.RequestUser;
+import com.app.technicianservice.service.TechnicianService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Second-level cache behaviour for profile lookups by id and by userId. Runs
+// without a test transaction so every lookup gets its own persistence context,
+// as it would per HTTP request.
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({ HibernateCacheConfig.class, TechnicianService.class })
+@TestPropertySource(properties = {
+        "spring.autoconfigure.exclude=",
+        "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+class TechnicianProfileCacheTest {
+
+    private static final int PROFILES = 50;
+
+    @Autowired
+    private TechnicianProfileRepository repository;
+
+    @Autowired
+    private TechnicianService technicianService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @MockBean
+    private IdentityServiceClient identityServiceClient;
+
+    private Statistics statistics;
+    private final List<String> ids = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < PROFILES; i++) {
+            TechnicianProfile p = new TechnicianProfile();
+            p.setUserId("user-" + i);
+            p.setEmail("tech" + i + "@example.com");
+            p.setName("Tech " + i);
+            p.setPhone("555-" + i);
+            p.setLocation("Pune");
+            p.setSkills(new ArrayList<>(List.of("Plumbing", "Wiring")));
+            p.setAvailable(true);
+            p.setCurrentWorkload(1);
+            p.setMaxWorkload(5);
+            ids.add(repository.save(p).getId());
+        }
+        entityManagerFactory.getCache().evictAll();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        repository.deleteAll();
+        ids.clear();
+    }
+
+    @Test
+    void getById_ShouldServeRepeatReadsFromCache() {
+        technicianService.getById(ids.get(0));
+        long statements = statistics.getPrepareStatementCount();
+
+        var profile = technicianService.getById(ids.get(0));
+
+        assertEquals(statements, statistics.getPrepareStatementCount());
+        assertEquals(List.of("Plumbing", "Wiring"), profile.getSkills());
+        assertTrue(statistics.getDomainDataRegionStatistics(TechnicianProfile.CACHE_REGION).getHitCount() > 0);
+        assertTrue(statistics.getDomainDataRegionStatistics(TechnicianProfile.SKILLS_CACHE_REGION).getHitCount() > 0);
+    }
+
+    @Test
+    void getByUserId_ShouldResolveNaturalIdFromCache() {
+        technicianService.getByUserId("user-3");
+        long statements = statistics.getPrepareStatementCount();
+
+        var profile = technicianService.getByUserId("user-3");
+
+        assertEquals(statements, statistics.getPrepareStatementCount());
+        assertEquals(ids.get(3), profile.getId());
+        assertTrue(statistics.getDomainDataRegionStatistics(TechnicianProfile.USER_ID_CACHE_REGION).getHitCount() > 0);
+    }
+
+    @Test
+    void updates_ShouldNotLeaveStaleEntries() {
+        String id = ids.get(1);
+        technicianService.getById(id);
+        technicianService.getByUserId("user-1");
+
+        technicianService.updateWorkload(id, 4);
+        AvailabilityUpdateRequest unavailable = new AvailabilityUpdateRequest();
+        unavailable.setAvailable(false);
+        technicianService.updateMyAvailability(new RequestUser("user-1", "TECHNICIAN"), unavailable);
+
+        var byId = technicianService.getById(id);
+        var byUser = technicianService.getByUserId("user-1");
+        assertEquals(4, byId.getCurrentWorkload());
+        assertFalse(byId.getAvailable());
+        assertEquals(4, byUser.getCurrentWorkload());
+        assertEquals(2L, byId.getVersion());
+    }
+
+    @Test
+    void getByIds_ShouldLoadColdProfilesInBatchesAndWarmOnesFromCache() {
+        technicianService.getById(ids.get(0));
+        long statements = statistics.getPrepareStatementCount();
+
+        var profiles = technicianService.getByIds(ids);
+
+        assertEquals(PROFILES, profiles.size());
+        assertEquals(ids, profiles.stream().map(p -> p.getId()).toList());
+        assertEquals(List.of("Plumbing", "Wiring"), profiles.get(PROFILES - 1).getSkills());
+        // One select for the 49 cold profiles and one for their skills
+        assertEquals(2, statistics.getPrepareStatementCount() - statements);
+
+        statements = statistics.getPrepareStatementCount();
+        technicianService.getByIds(ids);
+        assertEquals(statements, statistics.getPrepareStatementCount());
+    }
+
+    // After one warm-up pass every lookup is served without touching the
+    // database
+    @Test
+    void repeatReads_ShouldNotHitDatabaseOnceWarm() {
+        for (int i = 0; i < PROFILES; i++) {
+            technicianService.getById(ids.get(i));
+            technicianService.getByUserId("user-" + i);
+        }
+        long statements = statistics.getPrepareStatementCount();
+        long hits = statistics.getDomainDataRegionStatistics(TechnicianProfile.CACHE_REGION).getHitCount();
+
+        for (int i = 0; i < 4 * PROFILES; i++) {
+            if (i % 2 == 0) {
+                technicianService.getById(ids.get(i % PROFILES));
+            } else {
+                technicianService.getByUserId("user-" + (i % PROFILES));
+            }
+        }
+
+        assertEquals(statements, statistics.getPrepareStatementCount());
+        assertTrue(statistics.getDomainDataRegionStatistics(TechnicianProfile.CACHE_REGION).getHitCount() > hits);
+    }
+}
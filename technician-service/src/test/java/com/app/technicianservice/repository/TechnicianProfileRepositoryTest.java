@@ -0,0 +1,142 @@
+package com.app.technicianservice.repository;
+
+import com.app.technicianservice.dto.PagedResponse;
+import com.app.technicianservice.dto.TechnicianProfileResponse;
+import com.app.technicianservice.dto.TechnicianSummaryResponse;
+import com.app.technicianservice.entity.TechnicianProfile;
+import com.app.technicianservice.feign.IdentityServiceClient;
+import com.app.technicianservice.service.TechnicianService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Query-count checks for the technician listing endpoints: the number of
+// statements per page must not grow with the number of technicians on it.
+@DataJpaTest
+@Import(TechnicianService.class)
+@TestPropertySource(properties = {
+        "spring.autoconfigure.exclude=",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+class TechnicianProfileRepositoryTest {
+
+    @Autowired
+    private TechnicianProfileRepository repository;
+
+    @Autowired
+    private TechnicianService technicianService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @MockBean
+    private IdentityServiceClient identityServiceClient;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < 60; i++) {
+            TechnicianProfile p = new TechnicianProfile();
+            p.setUserId("user-" + i);
+            p.setEmail("tech" + i + "@example.com");
+            p.setName("Tech " + i);
+            p.setPhone("555000" + i);
+            p.setLocation(i % 2 == 0 ? "New York" : "Boston");
+            p.setSkills(List.of("Electrical", "Skill " + i));
+            p.setAvailable(i % 10 != 0);
+            p.setCurrentWorkload(i % 5);
+            p.setMaxWorkload(5);
+            repository.save(p);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void getAvailable_ShouldUseConstantQueriesPerPage() {
+        long small = countQueries(() -> technicianService.getAvailable(
+                PageRequest.of(0, 5, Sort.by("currentWorkload", "id"))));
+        long large = countQueries(() -> technicianService.getAvailable(
+                PageRequest.of(0, 40, Sort.by("currentWorkload", "id"))));
+
+        // page select + count + one batched skills select
+        assertEquals(3, small);
+        assertEquals(small, large);
+    }
+
+    @Test
+    void getAvailable_ShouldAttachSkillsToEveryRow() {
+        PagedResponse<TechnicianSummaryResponse> page = technicianService.getAvailable(
+                PageRequest.of(0, 40, Sort.by("currentWorkload", "id")));
+
+        assertEquals(40, page.getContent().size());
+        assertEquals(54, page.getTotalElements());
+        page.getContent().forEach(row -> {
+            assertTrue(row.getAvailable());
+            assertTrue(row.getCurrentWorkload() < row.getMaxWorkload());
+            assertEquals(2, row.getSkills().size());
+        });
+    }
+
+    @Test
+    void findSuggestions_ShouldUseConstantQueriesPerChunk() {
+        long small = countQueries(() -> technicianService.findSuggestions(null, List.of("Electrical"), null, null, 5));
+        long large = countQueries(() -> technicianService.findSuggestions(null, List.of("Electrical"), null, null, 40));
+
+        // keyset select + one batched skills select
+        assertEquals(2, small);
+        assertEquals(small, large);
+    }
+
+    @Test
+    void findSuggestions_ShouldPageByKeysetWithoutGapsOrDuplicates() {
+        List<TechnicianProfileResponse> first = technicianService.findSuggestions(null, null, null, null, 25);
+        TechnicianProfileResponse last = first.get(first.size() - 1);
+        List<TechnicianProfileResponse> rest = technicianService.findSuggestions(
+                null, null, last.getCurrentWorkload(), last.getId(), 100);
+
+        assertEquals(25, first.size());
+        assertEquals(54 - 25, rest.size());
+        assertTrue(rest.stream().noneMatch(r -> first.stream().anyMatch(f -> f.getId().equals(r.getId()))));
+    }
+
+    @Test
+    void findById_ShouldLoadSkillsInSameSelect() {
+        String id = repository.findAll().get(0).getId();
+        entityManager.clear();
+        statistics.clear();
+
+        technicianService.getById(id);
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    private long countQueries(Runnable action) {
+        entityManager.clear();
+        statistics.clear();
+        action.run();
+        return statistics.getPrepareStatementCount();
+    }
+}
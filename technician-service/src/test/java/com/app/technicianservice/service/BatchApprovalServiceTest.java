@@ -0,0 +1,217 @@
+package com.app.technicianservice.service;
+
+import com.app.technicianservice.dto.ApprovalJobResponse;
+import com.app.technicianservice.dto.CreateProfileRequest;
+import com.app.technicianservice.entity.TechnicianApplication;
+import com.app.technicianservice.exception.BadRequestException;
+import com.app.technicianservice.exception.ConflictException;
+import com.app.technicianservice.exception.ExternalServiceException;
+import com.app.technicianservice.exception.NotFoundException;
+import com.app.technicianservice.feign.IdentityUserClient;
+import com.app.technicianservice.feign.dto.UserAuthResponse;
+import com.app.technicianservice.repository.TechnicianApplicationRepository;
+import com.app.technicianservice.security.RequestUser;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BatchApprovalServiceTest {
+
+    @Mock
+    private TechnicianApplicationService applicationService;
+
+    @Mock
+    private TechnicianApplicationRepository repository;
+
+    @Mock
+    private TechnicianService technicianService;
+
+    @Mock
+    private IdentityUserClient identityUserClient;
+
+    private BatchApprovalService batchApprovalService;
+    private RequestUser adminUser;
+    private TechnicianApplication application;
+
+    @BeforeEach
+    void setUp() {
+        // Runs items inline so the job is finished when submit returns
+        batchApprovalService = new BatchApprovalService(applicationService, repository, technicianService,
+                identityUserClient, new SyncTaskExecutor(), 3, 1);
+        adminUser = new RequestUser("admin-1", "ADMIN");
+
+        application = new TechnicianApplication();
+        application.setId("app-1");
+        application.setEmail("newtech@example.com");
+        application.setStatus(TechnicianApplication.ApplicationStatus.PENDING);
+    }
+
+    @Test
+    void submit_ShouldApproveEveryApplication() {
+        stubPending();
+        when(applicationService.registerIdentityUser(application)).thenReturn("tech-user-1");
+        when(repository.markApprovedIfPending(eq("app-1"), eq("admin-1"), any())).thenReturn(1);
+        when(applicationService.sendCredentials(application)).thenReturn(true);
+
+        ApprovalJobResponse job = batchApprovalService.submit(adminUser, List.of("app-1", "app-1"));
+
+        assertEquals("COMPLETED", job.getStatus());
+        assertEquals(1, job.getTotal());
+        assertEquals(1, job.getSucceeded());
+        ApprovalJobResponse.Item item = job.getItems().get(0);
+        assertEquals("SUCCEEDED", item.getStatus());
+        assertEquals("tech-user-1", item.getTechnicianUserId());
+        verify(technicianService).createProfile(any(RequestUser.class), any());
+    }
+
+    @Test
+    void submit_ShouldRetryTransientIdentityFailures() {
+        stubPending();
+        when(applicationService.registerIdentityUser(application))
+                .thenThrow(new ExternalServiceException("Identity service unavailable"))
+                .thenReturn("tech-user-1");
+        when(repository.markApprovedIfPending(eq("app-1"), eq("admin-1"), any())).thenReturn(1);
+        when(applicationService.sendCredentials(application)).thenReturn(true);
+
+        ApprovalJobResponse job = batchApprovalService.submit(adminUser, List.of("app-1"));
+
+        assertEquals("SUCCEEDED", job.getItems().get(0).getStatus());
+        assertEquals(2, job.getItems().get(0).getAttempts());
+    }
+
+    @Test
+    void submit_ShouldFailItem_WhenRetriesExhausted() {
+        stubPending();
+        when(applicationService.registerIdentityUser(application))
+                .thenThrow(new ExternalServiceException("Identity service unavailable"));
+
+        ApprovalJobResponse job = batchApprovalService.submit(adminUser, List.of("app-1"));
+
+        assertEquals("COMPLETED_WITH_ERRORS", job.getStatus());
+        assertEquals("FAILED", job.getItems().get(0).getStatus());
+        assertEquals(3, job.getItems().get(0).getAttempts());
+        verify(technicianService, never()).createProfile(any(), any());
+    }
+
+    @Test
+    void submit_ShouldReconcileExistingIdentityAccount_OnConflict() {
+        stubPending();
+        when(applicationService.registerIdentityUser(application))
+                .thenThrow(new ConflictException("already registered"));
+        when(identityUserClient.searchByEmail("newtech@example.com")).thenReturn(ResponseEntity.ok(List.of(
+                new UserAuthResponse("other", "other@example.com", "TECHNICIAN", true, true, true),
+                new UserAuthResponse("tech-user-9", "NewTech@example.com", "TECHNICIAN", true, true, true))));
+        when(technicianService.hasProfile("tech-user-9")).thenReturn(true);
+        when(repository.markApprovedIfPending(eq("app-1"), eq("admin-1"), any())).thenReturn(1);
+        when(applicationService.sendCredentials(application)).thenReturn(true);
+
+        ApprovalJobResponse job = batchApprovalService.submit(adminUser, List.of("app-1"));
+
+        assertEquals("SUCCEEDED", job.getItems().get(0).getStatus());
+        assertEquals("tech-user-9", job.getItems().get(0).getTechnicianUserId());
+        verify(technicianService, never()).createProfile(any(), any());
+    }
+
+    @Test
+    void submit_ShouldFail_WhenConflictingAccountIsNotTechnician() {
+        stubPending();
+        when(applicationService.registerIdentityUser(application))
+                .thenThrow(new ConflictException("already registered"));
+        when(identityUserClient.searchByEmail("newtech@example.com")).thenReturn(ResponseEntity.ok(List.of(
+                new UserAuthResponse("cust-1", "newtech@example.com", "CUSTOMER", true, true, false))));
+
+        ApprovalJobResponse job = batchApprovalService.submit(adminUser, List.of("app-1"));
+
+        assertEquals("FAILED", job.getItems().get(0).getStatus());
+        assertEquals(1, job.getItems().get(0).getAttempts());
+    }
+
+    @Test
+    void submit_ShouldDeleteCreatedProfile_WhenApplicationReviewedConcurrently() {
+        stubPending();
+        when(applicationService.registerIdentityUser(application)).thenReturn("tech-user-1");
+        when(repository.markApprovedIfPending(eq("app-1"), eq("admin-1"), any())).thenReturn(0);
+
+        ApprovalJobResponse job = batchApprovalService.submit(adminUser, List.of("app-1"));
+
+        assertEquals("SKIPPED", job.getItems().get(0).getStatus());
+        verify(technicianService).deleteProfileByUserId("tech-user-1");
+        verify(applicationService, never()).sendCredentials(any());
+    }
+
+    @Test
+    void submit_ShouldDeleteCreatedProfile_WhenApprovalUpdateFails() {
+        stubPending();
+        when(applicationService.registerIdentityUser(application)).thenReturn("tech-user-1");
+        when(repository.markApprovedIfPending(eq("app-1"), eq("admin-1"), any()))
+                .thenThrow(new IllegalStateException("connection lost"));
+
+        ApprovalJobResponse job = batchApprovalService.submit(adminUser, List.of("app-1"));
+
+        assertEquals("FAILED", job.getItems().get(0).getStatus());
+        verify(technicianService).deleteProfileByUserId("tech-user-1");
+    }
+
+    @Test
+    void submit_ShouldKeepApproval_WhenCredentialsEmailFails() {
+        stubPending();
+        when(applicationService.registerIdentityUser(application)).thenReturn("tech-user-1");
+        when(repository.markApprovedIfPending(eq("app-1"), eq("admin-1"), any())).thenReturn(1);
+        when(applicationService.sendCredentials(application)).thenReturn(false);
+
+        ApprovalJobResponse job = batchApprovalService.submit(adminUser, List.of("app-1"));
+
+        ApprovalJobResponse.Item item = job.getItems().get(0);
+        assertEquals("SUCCEEDED", item.getStatus());
+        assertNotNull(item.getMessage());
+        verify(applicationService, times(3)).sendCredentials(application);
+        verify(technicianService, never()).deleteProfileByUserId(any());
+    }
+
+    @Test
+    void submit_ShouldSkipApplicationsNoLongerPending() {
+        when(applicationService.getPending("app-1")).thenThrow(new BadRequestException("not pending"));
+        when(applicationService.getPending("missing")).thenThrow(new NotFoundException("Application not found"));
+
+        ApprovalJobResponse job = batchApprovalService.submit(adminUser, List.of("app-1", "missing"));
+
+        assertEquals(1, job.getSkipped());
+        assertEquals(1, job.getFailed());
+        assertEquals("SKIPPED", job.getItems().get(0).getStatus());
+        assertEquals("FAILED", job.getItems().get(1).getStatus());
+    }
+
+    @Test
+    void submit_ShouldRejectInvalidBatches() {
+        RequestUser technician = new RequestUser("user-1", "TECHNICIAN");
+        List<String> ids = List.of("app-1");
+
+        assertThrows(BadRequestException.class, () -> batchApprovalService.submit(adminUser, List.of(" ")));
+        assertThrows(BadRequestException.class, () -> batchApprovalService.submit(technician, ids));
+    }
+
+    @Test
+    void getJob_ShouldReturnSubmittedJob() {
+        when(applicationService.getPending("app-1")).thenThrow(new BadRequestException("not pending"));
+        String jobId = batchApprovalService.submit(adminUser, List.of("app-1")).getJobId();
+
+        assertEquals(jobId, batchApprovalService.getJob(adminUser, jobId).getJobId());
+        assertThrows(NotFoundException.class, () -> batchApprovalService.getJob(adminUser, "unknown"));
+    }
+
+    private void stubPending() {
+        when(applicationService.getPending("app-1")).thenReturn(application);
+        lenient().when(applicationService.toProfileRequest(application)).thenReturn(new CreateProfileRequest());
+    }
+}
@@ -0,0 +1,151 @@
+package com.app.technicianservice.service;
+
+import com.app.technicianservice.dto.LocationUpdateRequest;
+import com.app.technicianservice.dto.NearbyTechnicianResponse;
+import com.app.technicianservice.entity.TechnicianLiveLocation;
+import com.app.technicianservice.entity.TechnicianProfile;
+import com.app.technicianservice.exception.BadRequestException;
+import com.app.technicianservice.exception.NotFoundException;
+import com.app.technicianservice.repository.TechnicianLiveLocationRepository;
+import com.app.technicianservice.repository.TechnicianProfileRepository;
+import com.app.technicianservice.security.RequestUser;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LiveLocationServiceTest {
+
+    @Mock
+    private TechnicianProfileRepository profileRepository;
+
+    @Mock
+    private TechnicianLiveLocationRepository locationRepository;
+
+    @Mock
+    private ObjectProvider<JdbcTemplate> jdbcTemplateProvider;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private LiveLocationService service;
+    private RequestUser technician;
+
+    @BeforeEach
+    void setUp() {
+        service = new LiveLocationService(profileRepository, locationRepository, jdbcTemplateProvider, 100, 900);
+        technician = new RequestUser("user-1", "TECHNICIAN");
+
+        TechnicianProfile profile = new TechnicianProfile();
+        profile.setId("profile-1");
+        profile.setUserId("user-1");
+        lenient().when(profileRepository.findByUserId("user-1")).thenReturn(Optional.of(profile));
+        lenient().when(jdbcTemplateProvider.getIfAvailable()).thenReturn(jdbcTemplate);
+    }
+
+    @Test
+    void report_ShouldResolveProfileOnlyOnFirstReport() {
+        service.report(technician, new LocationUpdateRequest(12.97, 77.59, null));
+        service.report(technician, new LocationUpdateRequest(12.98, 77.60, null));
+
+        verify(profileRepository, times(1)).findByUserId("user-1");
+        List<NearbyTechnicianResponse> nearby = service.findNearby(12.98, 77.60, 1, 5, null);
+        assertEquals(1, nearby.size());
+        assertEquals("profile-1", nearby.get(0).getTechnicianId());
+        assertEquals(12.98, nearby.get(0).getLatitude(), 1e-7);
+    }
+
+    @Test
+    void report_ShouldRejectNonTechnicians() {
+        RequestUser customer = new RequestUser("user-2", "CUSTOMER");
+
+        assertThrows(BadRequestException.class,
+                () -> service.report(customer, new LocationUpdateRequest(12.97, 77.59, null)));
+        verifyNoInteractions(profileRepository);
+    }
+
+    @Test
+    void report_ShouldRejectTimestampsInTheFuture() {
+        long future = System.currentTimeMillis() + 3_600_000;
+
+        assertThrows(BadRequestException.class,
+                () -> service.report(technician, new LocationUpdateRequest(12.97, 77.59, future)));
+    }
+
+    @Test
+    void report_ShouldThrowWhenProfileMissing() {
+        RequestUser unknown = new RequestUser("user-9", "TECHNICIAN");
+        when(profileRepository.findByUserId("user-9")).thenReturn(Optional.empty());
+
+        assertThrows(NotFoundException.class,
+                () -> service.report(unknown, new LocationUpdateRequest(12.97, 77.59, null)));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void flush_ShouldWriteOneRowPerChangedTechnician() {
+        for (int i = 0; i < 20; i++) {
+            service.report(technician, new LocationUpdateRequest(12.97 + i * 0.001, 77.59, null));
+        }
+
+        assertEquals(1, service.flush());
+        ArgumentCaptor<List<Object[]>> rows = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(eq(LiveLocationService.UPSERT_SQL), rows.capture());
+        assertEquals(1, rows.getValue().size());
+        assertEquals("profile-1", rows.getValue().get(0)[0]);
+        assertEquals(12.989, (double) rows.getValue().get(0)[2], 1e-7);
+
+        assertEquals(0, service.flush());
+        verifyNoMoreInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void flush_ShouldRetryPositionsAfterFailure() {
+        service.report(technician, new LocationUpdateRequest(12.97, 77.59, null));
+        when(jdbcTemplate.batchUpdate(eq(LiveLocationService.UPSERT_SQL), anyList()))
+                .thenThrow(new DataAccessResourceFailureException("down"))
+                .thenReturn(new int[] { 1 });
+
+        assertEquals(0, service.flush());
+        assertEquals(1, service.flush());
+    }
+
+    @Test
+    void restore_ShouldLoadRecentPositionsWithoutFlushingThem() {
+        TechnicianLiveLocation location = new TechnicianLiveLocation();
+        location.setTechnicianId("profile-1");
+        location.setUserId("user-1");
+        location.setLatitude(12.97);
+        location.setLongitude(77.59);
+        location.setRecordedAt(System.currentTimeMillis());
+        when(locationRepository.findByRecordedAtGreaterThan(anyLong())).thenReturn(List.of(location));
+
+        service.restore();
+
+        assertEquals(1, service.findNearby(12.97, 77.59, 1, 5, null).size());
+        assertEquals(0, service.flush());
+        // Reports after a restart reuse the restored slot
+        service.report(technician, new LocationUpdateRequest(12.971, 77.59, null));
+        verify(profileRepository, never()).findByUserId(any());
+    }
+
+    @Test
+    void findNearby_ShouldValidateArguments() {
+        assertThrows(BadRequestException.class, () -> service.findNearby(12.97, 77.59, 0, 5, null));
+        assertThrows(BadRequestException.class, () -> service.findNearby(12.97, 77.59, 5, 500, null));
+        assertThrows(BadRequestException.class, () -> service.findNearby(95, 77.59, 5, 5, null));
+    }
+}
@@ -0,0 +1,142 @@
+package com.app.technicianservice.service;
+
+import com.app.technicianservice.exception.ConflictException;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LiveLocationStoreTest {
+
+    @Test
+    void pack_ShouldRoundTripToSevenDecimals() {
+        long packed = LiveLocationStore.pack(-33.8688197, 151.2092955);
+
+        assertEquals(-33.8688197, LiveLocationStore.latitudeOf(packed), 1e-9);
+        assertEquals(151.2092955, LiveLocationStore.longitudeOf(packed), 1e-9);
+    }
+
+    @Test
+    void update_ShouldDropOlderPositions() {
+        LiveLocationStore store = new LiveLocationStore(10);
+        int slot = store.register("user-1", "tech-1");
+
+        assertTrue(store.update(slot, 12.0, 77.0, 2_000));
+        assertFalse(store.update(slot, 13.0, 78.0, 1_000));
+
+        List<double[]> drained = new ArrayList<>();
+        store.drainDirty((s, technicianId, userId, lat, lng, at) -> drained.add(new double[] { lat, lng, at }));
+        assertEquals(1, drained.size());
+        assertArrayEquals(new double[] { 12.0, 77.0, 2_000 }, drained.get(0), 1e-9);
+    }
+
+    @Test
+    void drainDirty_ShouldCoalesceUpdatesBetweenFlushes() {
+        LiveLocationStore store = new LiveLocationStore(10);
+        int first = store.register("user-1", "tech-1");
+        int second = store.register("user-2", "tech-2");
+        for (int i = 1; i <= 50; i++) {
+            store.update(first, 12.0 + i * 0.001, 77.0, i);
+        }
+        store.update(second, 13.0, 78.0, 1);
+
+        List<String> drained = new ArrayList<>();
+        assertEquals(2, store.drainDirty((s, technicianId, userId, lat, lng, at) -> drained.add(technicianId + "@" + at)));
+        assertEquals(List.of("tech-1@50", "tech-2@1"), drained);
+        assertEquals(0, store.drainDirty((s, technicianId, userId, lat, lng, at) -> fail("nothing is dirty")));
+    }
+
+    @Test
+    void restore_ShouldNotMarkSlotDirty() {
+        LiveLocationStore store = new LiveLocationStore(10);
+        int slot = store.register("user-1", "tech-1");
+        store.restore(slot, 12.0, 77.0, 1_000);
+
+        assertEquals(0, store.drainDirty((s, technicianId, userId, lat, lng, at) -> fail("restored slot flushed")));
+        assertEquals(1, store.nearby(12.0, 77.0, 1, 5, 0).size());
+    }
+
+    @Test
+    void register_ShouldReuseSlotAndRejectWhenFull() {
+        LiveLocationStore store = new LiveLocationStore(1);
+        int slot = store.register("user-1", "tech-1");
+
+        assertEquals(slot, store.register("user-1", "tech-1"));
+        assertEquals(slot, store.slotOf("user-1"));
+        assertThrows(ConflictException.class, () -> store.register("user-2", "tech-2"));
+        assertEquals(-1, store.slotOf("user-2"));
+        assertEquals(1, store.size());
+    }
+
+    @Test
+    void nearby_ShouldReturnClosestWithinRadiusAndAge() {
+        LiveLocationStore store = new LiveLocationStore(10);
+        // Bengaluru city centre and points roughly 1, 3 and 40 km away
+        store.update(store.register("u-far", "far"), 13.3409, 77.1010, 5_000);
+        store.update(store.register("u-3km", "three"), 12.9716, 77.6223, 5_000);
+        store.update(store.register("u-1km", "one"), 12.9806, 77.5946, 5_000);
+        store.update(store.register("u-stale", "stale"), 12.9720, 77.5950, 1_000);
+        store.register("u-silent", "silent");
+
+        List<LiveLocationStore.Nearby> result = store.nearby(12.9716, 77.5946, 10, 5, 2_000);
+
+        assertEquals(List.of("one", "three"), result.stream().map(LiveLocationStore.Nearby::technicianId).toList());
+        assertEquals(1.0, result.get(0).distanceKm(), 0.05);
+        assertEquals(3.0, result.get(1).distanceKm(), 0.05);
+        assertEquals(1, store.nearby(12.9716, 77.5946, 10, 1, 2_000).size());
+    }
+
+    @Test
+    void nearby_ShouldWrapAroundTheAntimeridian() {
+        LiveLocationStore store = new LiveLocationStore(10);
+        store.update(store.register("user-1", "tech-1"), -17.0, 179.99, 1);
+
+        assertEquals(1, store.nearby(-17.0, -179.99, 5, 5, 0).size());
+    }
+
+    @Test
+    void concurrentIngestion_ShouldKeepNewestPositionPerTechnician() throws Exception {
+        int technicians = 1_000;
+        int threads = 4;
+        int updatesPerThread = 20_000;
+        LiveLocationStore store = new LiveLocationStore(technicians);
+        for (int i = 0; i < technicians; i++) {
+            store.register("user-" + i, "tech-" + i);
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<java.util.concurrent.Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int offset = t;
+            futures.add(pool.submit(() -> {
+                start.await();
+                for (int i = 0; i < updatesPerThread; i++) {
+                    int slot = (i * 31 + offset) % technicians;
+                    // Timestamps grow with i, so the newest report per slot is well defined
+                    store.update(slot, 12.0 + slot * 1e-5, 77.0, 1L + i);
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (java.util.concurrent.Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        pool.shutdown();
+
+        int[] flushed = new int[1];
+        store.drainDirty((slot, technicianId, userId, lat, lng, at) -> {
+            assertEquals("tech-" + slot, technicianId);
+            assertEquals(12.0 + slot * 1e-5, lat, 1e-7);
+            flushed[0]++;
+        });
+        assertEquals(technicians, flushed[0]);
+    }
+}
@@ -4,6 +4,7 @@ import com.app.technicianservice.dto.*;
 import com.app.technicianservice.entity.TechnicianApplication;
 import com.app.technicianservice.exception.BadRequestException;
 import com.app.technicianservice.exception.ConflictException;
+import com.app.technicianservice.exception.ExternalServiceException;
 import com.app.technicianservice.exception.NotFoundException;
 import com.app.technicianservice.feign.IdentityServiceClient;
 import com.app.technicianservice.feign.NotificationServiceClient;
@@ -18,6 +19,10 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.ResponseEntity;
 
 import java.time.Instant;
@@ -146,19 +151,57 @@ class TechnicianApplicationServiceTest {
         TechnicianApplication app1 = new TechnicianApplication();
         app1.setId("app-1");
         app1.setStatus(TechnicianApplication.ApplicationStatus.PENDING);
+        app1.setSkills(List.of("Pipe Installation"));
 
         TechnicianApplication app2 = new TechnicianApplication();
         app2.setId("app-2");
         app2.setStatus(TechnicianApplication.ApplicationStatus.PENDING);
 
-        when(repository.findByStatus(TechnicianApplication.ApplicationStatus.PENDING))
-                .thenReturn(Arrays.asList(app1, app2));
+        when(repository.searchByStatus(eq("PENDING"), isNull(), isNull(), isNull(), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(Arrays.asList(app1, app2), PageRequest.of(0, 20), 2));
 
-        List<ApplicationReviewResponse> responses = applicationService.getPendingApplications(adminUser);
+        PagedResponse<ApplicationReviewResponse> responses = applicationService.getPendingApplications(
+                adminUser, null, null, null, 0, 20, "createdAt", "asc");
 
         assertNotNull(responses);
-        assertEquals(2, responses.size());
-        verify(repository, times(1)).findByStatus(TechnicianApplication.ApplicationStatus.PENDING);
+        assertEquals(2, responses.getContent().size());
+        assertEquals(2, responses.getTotalElements());
+        assertEquals(List.of("Pipe Installation"), responses.getContent().get(0).getSkills());
+    }
+
+    @Test
+    void getPendingApplications_ShouldPassFiltersAndMapSortToColumn() {
+        when(repository.searchByStatus(eq("PENDING"), eq("Leak Repair"), eq("Austin"), eq("Plumbing"), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(), PageRequest.of(1, 10), 0));
+
+        applicationService.getPendingApplications(
+                adminUser, " Leak Repair ", "Austin", "Plumbing", 1, 10, "experience", "DESC");
+
+        verify(repository).searchByStatus(eq("PENDING"), eq("Leak Repair"), eq("Austin"), eq("Plumbing"),
+                argThat(p -> p.getPageNumber() == 1
+                        && p.getPageSize() == 10
+                        && p.getSort().equals(Sort.by(Sort.Direction.DESC, "experience").and(Sort.by("id")))));
+    }
+
+    @Test
+    void getPendingApplications_ShouldRejectUnknownSortField() {
+        assertThrows(BadRequestException.class, () -> applicationService.getPendingApplications(
+                adminUser, null, null, null, 0, 20, "email; drop table", "asc"));
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    void getPendingApplications_ShouldRejectOversizedPage() {
+        assertThrows(BadRequestException.class, () -> applicationService.getPendingApplications(
+                adminUser, null, null, null, 0, 500, "createdAt", "asc"));
+    }
+
+    @Test
+    void getPendingApplications_ShouldRejectNonAdmin() {
+        RequestUser technician = new RequestUser("user-1", "TECHNICIAN");
+
+        assertThrows(BadRequestException.class, () -> applicationService.getPendingApplications(
+                technician, null, null, null, 0, 20, "createdAt", "asc"));
     }
 
     @Test
@@ -199,6 +242,16 @@ class TechnicianApplicationServiceTest {
         assertThrows(ConflictException.class, () -> applicationService.approveApplication(adminUser, "app-1"));
     }
 
+    @Test
+    void approveApplication_ShouldThrowExternalServiceException_WhenIdentityUnavailable() {
+        when(repository.findById("app-1")).thenReturn(Optional.of(application));
+        when(identityClient.registerTechnician(any(RegisterTechnicianRequest.class)))
+                .thenReturn(ResponseEntity.status(503).body(null));
+
+        assertThrows(ExternalServiceException.class, () -> applicationService.approveApplication(adminUser, "app-1"));
+        verify(technicianService, never()).createProfile(any(), any());
+    }
+
     @Test
     void approveApplication_ShouldThrowBadRequest_WhenApplicationNotPending() {
         application.setStatus(TechnicianApplication.ApplicationStatus.APPROVED);
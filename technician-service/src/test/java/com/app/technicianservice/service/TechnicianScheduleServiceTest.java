@@ -0,0 +1,216 @@
+package com.app.technicianservice.service;
+
+import com.app.technicianservice.dto.ScheduleResponse;
+import com.app.technicianservice.dto.SlotResponse;
+import com.app.technicianservice.entity.TechnicianProfile;
+import com.app.technicianservice.entity.TechnicianSchedule;
+import com.app.technicianservice.exception.BadRequestException;
+import com.app.technicianservice.exception.ConflictException;
+import com.app.technicianservice.exception.NotFoundException;
+import com.app.technicianservice.repository.TechnicianProfileRepository;
+import com.app.technicianservice.repository.TechnicianScheduleRepository;
+import com.app.technicianservice.security.RequestUser;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TechnicianScheduleServiceTest {
+
+    @Mock
+    private TechnicianScheduleRepository scheduleRepository;
+
+    @Mock
+    private TechnicianProfileRepository profileRepository;
+
+    private ScheduleSlotIndex slotIndex;
+    private TechnicianScheduleService scheduleService;
+
+    private LocalDate tomorrow;
+    private TechnicianProfile profile;
+    private RequestUser owner;
+
+    @BeforeEach
+    void setUp() {
+        slotIndex = new ScheduleSlotIndex(scheduleRepository, 60_000);
+        scheduleService = new TechnicianScheduleService(scheduleRepository, profileRepository, slotIndex);
+        tomorrow = LocalDate.now().plusDays(1);
+
+        profile = new TechnicianProfile();
+        profile.setId("tech-1");
+        profile.setUserId("user-1");
+        owner = new RequestUser("user-1", "TECHNICIAN");
+        // Booking and release check the caller against the profile owner
+        lenient().when(profileRepository.findById("tech-1")).thenReturn(Optional.of(profile));
+    }
+
+    @Test
+    void slotBitmap_ShouldRoundTrip() {
+        long mask = TechnicianSchedule.maskOf(List.of(0, 18, 47));
+
+        assertEquals(List.of(0, 18, 47), TechnicianSchedule.slotsOf(mask));
+        assertEquals(LocalTime.of(9, 0), TechnicianSchedule.slotStart(18));
+        assertThrows(IllegalArgumentException.class, () -> TechnicianSchedule.slotBit(48));
+    }
+
+    @Test
+    void bookSlot_ShouldSucceed_WhenConditionalUpdateMatches() {
+        when(scheduleRepository.bookSlot("tech-1", tomorrow, 1L << 20)).thenReturn(1);
+
+        SlotResponse response = scheduleService.bookSlot(owner, "tech-1", tomorrow, 20);
+
+        assertEquals(20, response.getSlot());
+        assertEquals(LocalTime.of(10, 0), response.getStartTime());
+    }
+
+    @Test
+    void bookSlot_ShouldThrowConflict_WhenSlotTaken() {
+        when(scheduleRepository.bookSlot("tech-1", tomorrow, 1L << 20)).thenReturn(0);
+
+        assertThrows(ConflictException.class, () -> scheduleService.bookSlot(owner, "tech-1", tomorrow, 20));
+    }
+
+    @Test
+    void bookSlot_ShouldRejectOtherTechnician_ButAllowManagers() {
+        RequestUser other = new RequestUser("user-2", "TECHNICIAN");
+        when(scheduleRepository.bookSlot("tech-1", tomorrow, 1L << 20)).thenReturn(1);
+
+        assertThrows(BadRequestException.class, () -> scheduleService.bookSlot(other, "tech-1", tomorrow, 20));
+        assertThrows(BadRequestException.class, () -> scheduleService.releaseSlot(other, "tech-1", tomorrow, 20));
+        verify(scheduleRepository, never()).bookSlot(anyString(), any(), anyLong());
+        verify(scheduleRepository, never()).releaseSlot(anyString(), any(), anyLong());
+
+        scheduleService.bookSlot(new RequestUser("manager-1", "MANAGER"), "tech-1", tomorrow, 20);
+        verify(scheduleRepository).bookSlot("tech-1", tomorrow, 1L << 20);
+    }
+
+    @Test
+    void bookSlot_ShouldRejectOutOfRangeSlot() {
+        assertThrows(BadRequestException.class, () -> scheduleService.bookSlot(owner, "tech-1", tomorrow, 48));
+        verifyNoInteractions(scheduleRepository);
+    }
+
+    @Test
+    void bookSlot_ShouldRejectPastDate() {
+        LocalDate yesterday = LocalDate.now().minusDays(1);
+
+        assertThrows(BadRequestException.class, () -> scheduleService.bookSlot(owner, "tech-1", yesterday, 20));
+    }
+
+    @Test
+    void openSlots_ShouldUpsertMaskAndReturnSchedule() {
+        long mask = (1L << 18) | (1L << 19);
+        when(profileRepository.findById("tech-1")).thenReturn(Optional.of(profile));
+        when(scheduleRepository.findByTechnicianIdAndScheduleDate("tech-1", tomorrow))
+                .thenReturn(Optional.of(schedule("tech-1", tomorrow, mask, 0L)));
+
+        ScheduleResponse response = scheduleService.openSlots(
+                new RequestUser("user-1", "TECHNICIAN"), "tech-1", tomorrow, List.of(18, 19));
+
+        verify(scheduleRepository).openSlots(anyString(), eq("tech-1"), eq(tomorrow), eq(mask));
+        assertEquals(List.of(18, 19), response.getFreeSlots());
+    }
+
+    @Test
+    void openSlots_ShouldRejectOtherTechnician() {
+        when(profileRepository.findById("tech-1")).thenReturn(Optional.of(profile));
+        RequestUser other = new RequestUser("user-2", "TECHNICIAN");
+        List<Integer> slots = List.of(18);
+
+        assertThrows(BadRequestException.class,
+                () -> scheduleService.openSlots(other, "tech-1", tomorrow, slots));
+        verify(scheduleRepository, never()).openSlots(anyString(), anyString(), any(), anyLong());
+    }
+
+    @Test
+    void releaseSlot_ShouldThrowConflict_WhenNotBooked() {
+        when(scheduleRepository.releaseSlot("tech-1", tomorrow, 1L << 20)).thenReturn(0);
+
+        assertThrows(ConflictException.class, () -> scheduleService.releaseSlot(owner, "tech-1", tomorrow, 20));
+    }
+
+    @Test
+    void findFirstFreeSlot_ShouldPickEarliestSlotAcrossSkilledTechnicians() {
+        LocalDateTime from = tomorrow.atTime(8, 10);
+        when(profileRepository.findAvailableIdsWithSkill("Plumbing")).thenReturn(List.of("tech-1", "tech-2"));
+        when(scheduleRepository.findByScheduleDate(tomorrow)).thenReturn(List.of(
+                schedule("tech-1", tomorrow, TechnicianSchedule.maskOf(List.of(20, 21)), 0L),
+                // slot 10 is free but already started at 08:10
+                schedule("tech-2", tomorrow, TechnicianSchedule.maskOf(List.of(10, 19)), 0L),
+                // earliest on the day but lacks the skill
+                schedule("tech-3", tomorrow, TechnicianSchedule.maskOf(List.of(17)), 0L)));
+
+        SlotResponse slot = scheduleService.findFirstFreeSlot("Plumbing", 3, from);
+
+        assertEquals("tech-2", slot.getTechnicianId());
+        assertEquals(19, slot.getSlot());
+        assertEquals(tomorrow, slot.getDate());
+    }
+
+    @Test
+    void findFirstFreeSlot_ShouldSkipBookedSlotsAndMoveToNextDay() {
+        LocalDate dayAfter = tomorrow.plusDays(1);
+        when(profileRepository.findAvailableIdsWithSkill("Plumbing")).thenReturn(List.of("tech-1"));
+        when(scheduleRepository.findByScheduleDate(tomorrow)).thenReturn(List.of(
+                schedule("tech-1", tomorrow, 1L << 20, 1L << 20)));
+        when(scheduleRepository.findByScheduleDate(dayAfter)).thenReturn(List.of(
+                schedule("tech-1", dayAfter, 1L << 30, 0L)));
+
+        SlotResponse slot = scheduleService.findFirstFreeSlot("Plumbing", 2, tomorrow.atStartOfDay());
+
+        assertEquals(dayAfter, slot.getDate());
+        assertEquals(30, slot.getSlot());
+    }
+
+    @Test
+    void findFirstFreeSlot_ShouldReflectBookingsWithoutReloadingDay() {
+        when(profileRepository.findAvailableIdsWithSkill("Plumbing")).thenReturn(List.of("tech-1"));
+        when(scheduleRepository.findByScheduleDate(tomorrow)).thenReturn(List.of(
+                schedule("tech-1", tomorrow, TechnicianSchedule.maskOf(List.of(20, 21)), 0L)));
+        when(scheduleRepository.bookSlot("tech-1", tomorrow, 1L << 20)).thenReturn(1);
+
+        assertEquals(20, scheduleService.findFirstFreeSlot("Plumbing", 1, tomorrow.atStartOfDay()).getSlot());
+        scheduleService.bookSlot(owner, "tech-1", tomorrow, 20);
+
+        assertEquals(21, scheduleService.findFirstFreeSlot("Plumbing", 1, tomorrow.atStartOfDay()).getSlot());
+        verify(scheduleRepository, times(1)).findByScheduleDate(tomorrow);
+    }
+
+    @Test
+    void findFirstFreeSlot_ShouldThrowNotFound_WhenNothingFree() {
+        when(profileRepository.findAvailableIdsWithSkill("Plumbing")).thenReturn(List.of("tech-1"));
+        when(scheduleRepository.findByScheduleDate(any())).thenReturn(List.of());
+        LocalDateTime from = tomorrow.atStartOfDay();
+
+        assertThrows(NotFoundException.class, () -> scheduleService.findFirstFreeSlot("Plumbing", 2, from));
+    }
+
+    @Test
+    void findFirstFreeSlot_ShouldRejectInvalidRange() {
+        LocalDateTime from = tomorrow.atStartOfDay();
+
+        assertThrows(BadRequestException.class, () -> scheduleService.findFirstFreeSlot("Plumbing", 0, from));
+        assertThrows(BadRequestException.class, () -> scheduleService.findFirstFreeSlot(" ", 1, from));
+    }
+
+    private TechnicianSchedule schedule(String technicianId, LocalDate date, long available, long booked) {
+        TechnicianSchedule s = new TechnicianSchedule();
+        s.setTechnicianId(technicianId);
+        s.setScheduleDate(date);
+        s.setAvailableSlots(available);
+        s.setBookedSlots(booked);
+        return s;
+    }
+}
@@ -2,18 +2,26 @@ package com.app.technicianservice.service;
 
 import com.app.technicianservice.dto.*;
 import com.app.technicianservice.entity.TechnicianProfile;
+import com.app.technicianservice.entity.WorkloadAdjustmentKey;
 import com.app.technicianservice.exception.BadRequestException;
 import com.app.technicianservice.exception.NotFoundException;
 import com.app.technicianservice.feign.IdentityServiceClient;
 import com.app.technicianservice.feign.dto.UserMeResponse;
+import com.app.technicianservice.messaging.event.TechnicianChangedEvent;
 import com.app.technicianservice.repository.TechnicianProfileRepository;
+import com.app.technicianservice.repository.WorkloadAdjustmentKeyRepository;
 import com.app.technicianservice.security.RequestUser;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.ResponseEntity;
 
 import java.util.Arrays;
@@ -33,6 +41,12 @@ class TechnicianServiceTest {
     @Mock
     private IdentityServiceClient identityServiceClient;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private WorkloadAdjustmentKeyRepository adjustmentKeyRepository;
+
     @InjectMocks
     private TechnicianService technicianService;
 
@@ -136,53 +150,88 @@ class TechnicianServiceTest {
     }
 
     @Test
-    void getAvailable_ShouldReturnOnlyAvailableTechnicians() {
-        TechnicianProfile availableProfile = new TechnicianProfile();
-        availableProfile.setId("profile-1");
-        availableProfile.setUserId("user-1");
-        availableProfile.setName("John Doe");
-        availableProfile.setSpecialization("Plumbing");
-        availableProfile.setSkills(Arrays.asList("Pipe Repair", "Water Heater"));
-        availableProfile.setLocation("New York");
-        availableProfile.setAvailable(true);
-        availableProfile.setCurrentWorkload(2);
-        availableProfile.setMaxWorkload(5);
-
-        TechnicianProfile unavailableProfile = new TechnicianProfile();
-        unavailableProfile.setId("profile-2");
-        unavailableProfile.setUserId("user-2");
-        unavailableProfile.setName("Jane Smith");
-        unavailableProfile.setSpecialization("HVAC");
-        unavailableProfile.setSkills(Arrays.asList("AC Repair", "Heating"));
-        unavailableProfile.setLocation("Boston");
-        unavailableProfile.setAvailable(false);
-        unavailableProfile.setCurrentWorkload(0);
-        unavailableProfile.setMaxWorkload(5);
-
-        TechnicianProfile fullWorkloadProfile = new TechnicianProfile();
-        fullWorkloadProfile.setId("profile-3");
-        fullWorkloadProfile.setUserId("user-3");
-        fullWorkloadProfile.setName("Bob Johnson");
-        fullWorkloadProfile.setSpecialization("Electrical");
-        fullWorkloadProfile.setSkills(Arrays.asList("Wiring", "Panel Installation"));
-        fullWorkloadProfile.setLocation("Chicago");
-        fullWorkloadProfile.setAvailable(true);
-        fullWorkloadProfile.setCurrentWorkload(5);
-        fullWorkloadProfile.setMaxWorkload(5);
-
-        when(repository.findAll()).thenReturn(Arrays.asList(
-                availableProfile, unavailableProfile, fullWorkloadProfile));
-
-        List<TechnicianSummaryResponse> responses = technicianService.getAvailable();
-
-        assertNotNull(responses);
-        assertEquals(1, responses.size());
-        assertEquals("profile-1", responses.get(0).getId());
-        assertEquals("user-1", responses.get(0).getUserId());
-        assertEquals("John Doe", responses.get(0).getName());
-        assertEquals(Arrays.asList("Pipe Repair", "Water Heater"), responses.get(0).getSkills());
-        assertEquals("New York", responses.get(0).getLocation());
-        verify(repository, times(1)).findAll();
+    void getAvailable_ShouldReturnPageWithSkillsAttached() {
+        TechnicianSummaryResponse summary = new TechnicianSummaryResponse(
+                "profile-1", "user-1", "John Doe", "Plumbing", "New York", true, 2, 5);
+        Pageable pageable = PageRequest.of(0, 20);
+        when(repository.findAvailableSummaries(pageable))
+                .thenReturn(new PageImpl<>(List.of(summary), pageable, 1));
+        when(repository.findSkillsByProfileIds(anyCollection())).thenReturn(List.of(
+                skillRow("profile-1", "Pipe Repair"),
+                skillRow("profile-1", "Water Heater")));
+
+        PagedResponse<TechnicianSummaryResponse> response = technicianService.getAvailable(pageable);
+
+        assertNotNull(response);
+        assertEquals(1, response.getContent().size());
+        assertEquals(1, response.getTotalElements());
+        assertTrue(response.isLast());
+        assertEquals("profile-1", response.getContent().get(0).getId());
+        assertEquals("user-1", response.getContent().get(0).getUserId());
+        assertEquals("John Doe", response.getContent().get(0).getName());
+        assertEquals(Arrays.asList("Pipe Repair", "Water Heater"), response.getContent().get(0).getSkills());
+        assertEquals("New York", response.getContent().get(0).getLocation());
+        verify(repository, times(1)).findSkillsByProfileIds(anyCollection());
+    }
+
+    @Test
+    void getAvailable_ShouldSkipSkillLookup_WhenPageEmpty() {
+        Pageable pageable = PageRequest.of(3, 20);
+        when(repository.findAvailableSummaries(pageable))
+                .thenReturn(new PageImpl<>(List.of(), pageable, 0));
+
+        PagedResponse<TechnicianSummaryResponse> response = technicianService.getAvailable(pageable);
+
+        assertTrue(response.getContent().isEmpty());
+        verify(repository, never()).findSkillsByProfileIds(anyCollection());
+    }
+
+    @Test
+    void findSuggestions_ShouldContinueFromCursorAndRespectLimit() {
+        TechnicianProfile tech1 = new TechnicianProfile();
+        tech1.setId("tech-5");
+        tech1.setAvailable(true);
+        tech1.setCurrentWorkload(3);
+        tech1.setMaxWorkload(5);
+        tech1.setLocation("New York");
+        tech1.setSkills(Arrays.asList("Electrical"));
+
+        TechnicianProfile tech2 = new TechnicianProfile();
+        tech2.setId("tech-6");
+        tech2.setAvailable(true);
+        tech2.setCurrentWorkload(3);
+        tech2.setMaxWorkload(5);
+        tech2.setLocation("New York");
+        tech2.setSkills(Arrays.asList("Electrical"));
+
+        when(repository.findAvailableAfter(eq(3), eq("tech-4"), any(Pageable.class)))
+                .thenReturn(Arrays.asList(tech1, tech2));
+
+        List<TechnicianProfileResponse> results = technicianService.findSuggestions(
+                null, null, 3, "tech-4", 1);
+
+        assertEquals(1, results.size());
+        assertEquals("tech-5", results.get(0).getId());
+    }
+
+    @Test
+    void findSuggestions_ShouldRejectNonPositiveLimit() {
+        assertThrows(BadRequestException.class,
+                () -> technicianService.findSuggestions(null, null, null, null, 0));
+    }
+
+    private TechnicianProfileRepository.ProfileSkill skillRow(String profileId, String skill) {
+        return new TechnicianProfileRepository.ProfileSkill() {
+            @Override
+            public String getProfileId() {
+                return profileId;
+            }
+
+            @Override
+            public String getSkill() {
+                return skill;
+            }
+        };
     }
 
     @Test
@@ -295,6 +344,74 @@ class TechnicianServiceTest {
         verify(repository, times(1)).save(any(TechnicianProfile.class));
     }
 
+    @Test
+    void updateWorkload_ShouldAnnounceChangeWithFlushedVersion() {
+        when(repository.findById("profile-1")).thenReturn(Optional.of(profile));
+        when(repository.save(any(TechnicianProfile.class))).thenReturn(profile);
+        doAnswer(invocation -> {
+            profile.setVersion(7L);
+            return null;
+        }).when(repository).flush();
+
+        technicianService.updateWorkload("profile-1", 3);
+
+        ArgumentCaptor<TechnicianChangedEvent> event = ArgumentCaptor.forClass(TechnicianChangedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertEquals(TechnicianChangedEvent.Type.WORKLOAD_CHANGED, event.getValue().getType());
+        assertEquals(7L, event.getValue().getVersion());
+        assertEquals(3, event.getValue().getCurrentWorkload());
+    }
+
+    @Test
+    void deleteProfileByUserId_ShouldAnnounceDeletionAfterLastVersion() {
+        profile.setVersion(4L);
+        when(repository.findByUserId("user-1")).thenReturn(Optional.of(profile));
+
+        technicianService.deleteProfileByUserId("user-1");
+
+        ArgumentCaptor<TechnicianChangedEvent> event = ArgumentCaptor.forClass(TechnicianChangedEvent.class);
+        verify(repository).delete(profile);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertEquals(TechnicianChangedEvent.Type.DELETED, event.getValue().getType());
+        assertEquals(5L, event.getValue().getVersion());
+    }
+
+    @Test
+    void adjustWorkloads_ShouldClampAndSkipUnchangedProfiles() {
+        TechnicianProfile idle = new TechnicianProfile();
+        idle.setId("profile-2");
+        idle.setCurrentWorkload(0);
+        idle.setMaxWorkload(5);
+        when(repository.findAllById(java.util.Set.of("profile-1", "profile-2", "missing")))
+                .thenReturn(List.of(profile, idle));
+        when(repository.save(any(TechnicianProfile.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        List<WorkloadResponse> responses = technicianService.adjustWorkloads(
+                java.util.Map.of("profile-1", 7, "profile-2", -1, "missing", 1));
+
+        assertEquals(1, responses.size());
+        assertEquals(5, responses.get(0).getCurrentWorkload());
+        assertEquals(0, idle.getCurrentWorkload());
+        verify(repository, times(1)).save(profile);
+        verify(eventPublisher, times(1)).publishEvent(any(TechnicianChangedEvent.class));
+    }
+
+    @Test
+    void adjustWorkloads_ShouldApplyAKeyOnlyOnce() {
+        profile.setCurrentWorkload(3);
+        when(adjustmentKeyRepository.existsById("task-1")).thenReturn(false, true);
+        when(repository.findAllById(java.util.Set.of("profile-1"))).thenReturn(List.of(profile));
+        when(repository.save(any(TechnicianProfile.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        technicianService.adjustWorkloads(java.util.Map.of("profile-1", -1), "task-1");
+        List<WorkloadResponse> retried = technicianService.adjustWorkloads(java.util.Map.of("profile-1", -1), "task-1");
+
+        assertTrue(retried.isEmpty());
+        assertEquals(2, profile.getCurrentWorkload());
+        verify(adjustmentKeyRepository, times(1)).saveAndFlush(any(WorkloadAdjustmentKey.class));
+        verify(repository, times(1)).save(profile);
+    }
+
     @org.junit.jupiter.params.ParameterizedTest
     @org.junit.jupiter.params.provider.ValueSource(ints = { -1, 10 })
     void updateWorkload_ShouldThrowBadRequest_WhenWorkloadInvalid(int currentWorkload) {
@@ -324,13 +441,13 @@ class TechnicianServiceTest {
         tech2.setLocation("Boston");
         tech2.setSkills(Arrays.asList("HVAC"));
 
-        when(repository.findByIsAvailableTrue()).thenReturn(Arrays.asList(tech1, tech2));
+        when(repository.findAvailableAfter(anyInt(), anyString(), any(Pageable.class))).thenReturn(Arrays.asList(tech1, tech2));
 
         List<TechnicianProfileResponse> results = technicianService.findSuggestions(null, null);
 
         assertNotNull(results);
         assertEquals(2, results.size());
-        verify(repository, times(1)).findByIsAvailableTrue();
+        verify(repository, times(1)).findAvailableAfter(eq(-1), eq(""), any(Pageable.class));
     }
 
     @Test
@@ -353,7 +470,7 @@ class TechnicianServiceTest {
         tech2.setLocation("Boston");
         tech2.setSkills(Arrays.asList("HVAC"));
 
-        when(repository.findByIsAvailableTrue()).thenReturn(Arrays.asList(tech1, tech2));
+        when(repository.findAvailableAfter(anyInt(), anyString(), any(Pageable.class))).thenReturn(Arrays.asList(tech1, tech2));
 
         List<TechnicianProfileResponse> results = technicianService.findSuggestions("New York", null);
 
@@ -382,7 +499,7 @@ class TechnicianServiceTest {
         tech2.setLocation("Boston");
         tech2.setSkills(Arrays.asList("HVAC"));
 
-        when(repository.findByIsAvailableTrue()).thenReturn(Arrays.asList(tech1, tech2));
+        when(repository.findAvailableAfter(anyInt(), anyString(), any(Pageable.class))).thenReturn(Arrays.asList(tech1, tech2));
 
         List<TechnicianProfileResponse> results = technicianService.findSuggestions(null, Arrays.asList("Electrical"));
 
@@ -420,7 +537,7 @@ class TechnicianServiceTest {
         tech3.setLocation("Boston");
         tech3.setSkills(Arrays.asList("Electrical"));
 
-        when(repository.findByIsAvailableTrue()).thenReturn(Arrays.asList(tech1, tech2, tech3));
+        when(repository.findAvailableAfter(anyInt(), anyString(), any(Pageable.class))).thenReturn(Arrays.asList(tech1, tech2, tech3));
 
         List<TechnicianProfileResponse> results = technicianService.findSuggestions("New York",
                 Arrays.asList("Electrical"));
@@ -450,7 +567,7 @@ class TechnicianServiceTest {
         tech2.setLocation("New York");
         tech2.setSkills(Arrays.asList("Electrical"));
 
-        when(repository.findByIsAvailableTrue()).thenReturn(Arrays.asList(tech1, tech2));
+        when(repository.findAvailableAfter(anyInt(), anyString(), any(Pageable.class))).thenReturn(Arrays.asList(tech1, tech2));
 
         List<TechnicianProfileResponse> results = technicianService.findSuggestions("New York",
                 Arrays.asList("Electrical"));
@@ -482,7 +599,7 @@ class TechnicianServiceTest {
         tech2.setLocation("New York");
         tech2.setSkills(Arrays.asList("Electrical"));
 
-        when(repository.findByIsAvailableTrue()).thenReturn(Arrays.asList(tech1, tech2));
+        when(repository.findAvailableAfter(anyInt(), anyString(), any(Pageable.class))).thenReturn(Arrays.asList(tech1, tech2));
 
         List<TechnicianProfileResponse> results = technicianService.findSuggestions("New York", null);
 
@@ -501,7 +618,7 @@ class TechnicianServiceTest {
         tech1.setLocation("New York");
         tech1.setSkills(Arrays.asList("Electrical"));
 
-        when(repository.findByIsAvailableTrue()).thenReturn(Arrays.asList(tech1));
+        when(repository.findAvailableAfter(anyInt(), anyString(), any(Pageable.class))).thenReturn(Arrays.asList(tech1));
 
         List<TechnicianProfileResponse> results = technicianService.findSuggestions("", null);
 
@@ -520,7 +637,7 @@ class TechnicianServiceTest {
         tech1.setLocation("new york");
         tech1.setSkills(Arrays.asList("Electrical"));
 
-        when(repository.findByIsAvailableTrue()).thenReturn(Arrays.asList(tech1));
+        when(repository.findAvailableAfter(anyInt(), anyString(), any(Pageable.class))).thenReturn(Arrays.asList(tech1));
 
         List<TechnicianProfileResponse> results = technicianService.findSuggestions("NEW YORK", null);
 
@@ -539,7 +656,7 @@ class TechnicianServiceTest {
         tech1.setLocation("New York");
         tech1.setSkills(Arrays.asList("electrical"));
 
-        when(repository.findByIsAvailableTrue()).thenReturn(Arrays.asList(tech1));
+        when(repository.findAvailableAfter(anyInt(), anyString(), any(Pageable.class))).thenReturn(Arrays.asList(tech1));
 
         List<TechnicianProfileResponse> results = technicianService.findSuggestions(null, Arrays.asList("ELECTRICAL"));
 
@@ -726,4 +843,28 @@ class TechnicianServiceTest {
 
         assertThrows(BadRequestException.class, () -> technicianService.updateMyAvailability(testUser, request));
     }
+
+    @Test
+    void getByIds_ShouldReturnProfilesInRequestOrderSkippingUnknown() {
+        TechnicianProfile other = new TechnicianProfile();
+        other.setId("profile-2");
+        other.setUserId("user-2");
+        when(repository.findAllCachedById(List.of("profile-2", "missing", "profile-1")))
+                .thenReturn(List.of(profile, other));
+
+        List<TechnicianProfileResponse> result =
+                technicianService.getByIds(List.of("profile-2", "missing", "profile-1", "profile-2"));
+
+        assertEquals(List.of("profile-2", "profile-1"), result.stream().map(TechnicianProfileResponse::getId).toList());
+    }
+
+    @Test
+    void getByIds_ShouldRejectOversizedBatch() {
+        List<String> ids = java.util.stream.IntStream.rangeClosed(0, TechnicianService.MAX_BATCH_LOOKUP)
+                .mapToObj(i -> "profile-" + i)
+                .toList();
+
+        assertThrows(BadRequestException.class, () -> technicianService.getByIds(ids));
+        verifyNoInteractions(repository);
+    }
 }